@@ -0,0 +1,156 @@
+package liquibase.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Generates the changelog and data files used by the benchmarks.
+ * Every changeset alternates between a createTable, an addColumn, an insert and a raw sql change so the
+ * benchmarks exercise a realistic mix of change types.
+ */
+public final class BenchmarkChangeLogs {
+
+    private BenchmarkChangeLogs() {
+    }
+
+    public static Path createTempDirectory() throws IOException {
+        return Files.createTempDirectory("liquibase-benchmark");
+    }
+
+    public static void deleteDirectory(Path directory) throws IOException {
+        if (directory == null || !Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.delete(path);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Writes an XML changelog with the given number of changesets and returns its file name relative to the directory.
+     */
+    public static String writeXmlChangeLog(Path directory, int changeSetCount) throws IOException {
+        String fileName = "changelog-" + changeSetCount + ".xml";
+        try (BufferedWriter writer = Files.newBufferedWriter(directory.resolve(fileName), StandardCharsets.UTF_8)) {
+            writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+            writer.write("<databaseChangeLog xmlns=\"http://www.liquibase.org/xml/ns/dbchangelog\"\n");
+            writer.write("        xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n");
+            writer.write("        xsi:schemaLocation=\"http://www.liquibase.org/xml/ns/dbchangelog http://www.liquibase.org/xml/ns/dbchangelog/dbchangelog-latest.xsd\">\n");
+            for (int i = 0; i < changeSetCount; i++) {
+                int table = i / 4;
+                writer.write("    <changeSet id=\"" + i + "\" author=\"benchmark\">\n");
+                switch (i % 4) {
+                    case 0:
+                        writer.write("        <createTable tableName=\"table_" + table + "\">\n");
+                        writer.write("            <column name=\"id\" type=\"int\">\n");
+                        writer.write("                <constraints primaryKey=\"true\" nullable=\"false\"/>\n");
+                        writer.write("            </column>\n");
+                        writer.write("            <column name=\"name\" type=\"varchar(255)\"/>\n");
+                        writer.write("        </createTable>\n");
+                        break;
+                    case 1:
+                        writer.write("        <addColumn tableName=\"table_" + table + "\">\n");
+                        writer.write("            <column name=\"created\" type=\"datetime\"/>\n");
+                        writer.write("        </addColumn>\n");
+                        break;
+                    case 2:
+                        writer.write("        <insert tableName=\"table_" + table + "\">\n");
+                        writer.write("            <column name=\"id\" valueNumeric=\"" + i + "\"/>\n");
+                        writer.write("            <column name=\"name\" value=\"name " + i + "\"/>\n");
+                        writer.write("        </insert>\n");
+                        break;
+                    default:
+                        writer.write("        <sql>UPDATE table_" + table + " SET name = 'updated " + i + "' WHERE id = " + (i - 1) + "</sql>\n");
+                        break;
+                }
+                writer.write("    </changeSet>\n");
+            }
+            writer.write("</databaseChangeLog>\n");
+        }
+        return fileName;
+    }
+
+    /**
+     * Writes a YAML changelog with the same changesets as {@link #writeXmlChangeLog(Path, int)} and returns its file
+     * name relative to the directory.
+     */
+    public static String writeYamlChangeLog(Path directory, int changeSetCount) throws IOException {
+        String fileName = "changelog-" + changeSetCount + ".yaml";
+        try (BufferedWriter writer = Files.newBufferedWriter(directory.resolve(fileName), StandardCharsets.UTF_8)) {
+            writer.write("databaseChangeLog:\n");
+            for (int i = 0; i < changeSetCount; i++) {
+                int table = i / 4;
+                writer.write("  - changeSet:\n");
+                writer.write("      id: \"" + i + "\"\n");
+                writer.write("      author: benchmark\n");
+                writer.write("      changes:\n");
+                switch (i % 4) {
+                    case 0:
+                        writer.write("        - createTable:\n");
+                        writer.write("            tableName: table_" + table + "\n");
+                        writer.write("            columns:\n");
+                        writer.write("              - column:\n");
+                        writer.write("                  name: id\n");
+                        writer.write("                  type: int\n");
+                        writer.write("                  constraints:\n");
+                        writer.write("                    primaryKey: true\n");
+                        writer.write("                    nullable: false\n");
+                        writer.write("              - column:\n");
+                        writer.write("                  name: name\n");
+                        writer.write("                  type: varchar(255)\n");
+                        break;
+                    case 1:
+                        writer.write("        - addColumn:\n");
+                        writer.write("            tableName: table_" + table + "\n");
+                        writer.write("            columns:\n");
+                        writer.write("              - column:\n");
+                        writer.write("                  name: created\n");
+                        writer.write("                  type: datetime\n");
+                        break;
+                    case 2:
+                        writer.write("        - insert:\n");
+                        writer.write("            tableName: table_" + table + "\n");
+                        writer.write("            columns:\n");
+                        writer.write("              - column:\n");
+                        writer.write("                  name: id\n");
+                        writer.write("                  valueNumeric: " + i + "\n");
+                        writer.write("              - column:\n");
+                        writer.write("                  name: name\n");
+                        writer.write("                  value: name " + i + "\n");
+                        break;
+                    default:
+                        writer.write("        - sql:\n");
+                        writer.write("            sql: UPDATE table_" + table + " SET name = 'updated " + i + "' WHERE id = " + (i - 1) + "\n");
+                        break;
+                }
+            }
+        }
+        return fileName;
+    }
+
+    /**
+     * Writes a CSV file for loadData with an id, name and amount column and returns its file name relative to the directory.
+     */
+    public static String writeCsv(Path directory, int rowCount) throws IOException {
+        String fileName = "data-" + rowCount + ".csv";
+        try (BufferedWriter writer = Files.newBufferedWriter(directory.resolve(fileName), StandardCharsets.UTF_8)) {
+            writer.write("id,name,amount\n");
+            for (int i = 0; i < rowCount; i++) {
+                writer.write(i + ",name " + i + "," + (i * 1.5) + "\n");
+            }
+        }
+        return fileName;
+    }
+}
@@ -0,0 +1,32 @@
+package liquibase.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with GC profiling enabled so allocation rates are recorded next to the timings, and writes the
+ * results as JSON so they can be compared release to release.
+ * <p>
+ * Usage: {@code java -jar liquibase-benchmarks/target/benchmarks.jar [benchmark regex] [result file]}.
+ * The full JMH command line is available through {@code java -cp liquibase-benchmarks/target/benchmarks.jar org.openjdk.jmh.Main}.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String include = args.length > 0 ? args[0] : "liquibase\\.benchmark\\..*";
+        String resultFile = args.length > 1 ? args[1] : "liquibase-benchmarks.json";
+
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile);
+        new Runner(options.build()).run();
+    }
+}
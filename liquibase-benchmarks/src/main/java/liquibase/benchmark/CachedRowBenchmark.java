@@ -0,0 +1,98 @@
+package liquibase.benchmark;
+
+import liquibase.executor.jvm.ColumnMapRowMapper;
+import liquibase.executor.jvm.RowMapperResultSetExtractor;
+import liquibase.snapshot.CachedRow;
+import liquibase.snapshot.CachedRowMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the memory needed to hold the column metadata of a schema as one map per row, the way snapshot rows used
+ * to be stored, against {@link CachedRow}s read through {@link CachedRowMapper}.
+ * <p>
+ * Each invocation reads the columns of all tables and reports the heap still used by the rows afterwards as the
+ * {@code retainedBytes} secondary result. The collections needed to measure it make the timings meaningless.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CachedRowBenchmark {
+
+    private static final int COLUMNS_PER_TABLE = 10;
+
+    @Param({"100", "1000"})
+    public int tableCount;
+
+    private Connection connection;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        connection = DriverManager.getConnection("jdbc:h2:mem:cachedRowBenchmark;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            for (int table = 0; table < tableCount; table++) {
+                StringBuilder sql = new StringBuilder("CREATE TABLE TABLE_" + table + " (ID INT PRIMARY KEY");
+                for (int column = 1; column < COLUMNS_PER_TABLE; column++) {
+                    sql.append(", COLUMN_").append(column).append(" VARCHAR(255)");
+                }
+                statement.execute(sql.append(")").toString());
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public Object mapPerRow(RetainedHeap retainedHeap) throws Exception {
+        return readColumns(new ColumnMapRowMapper(false), retainedHeap);
+    }
+
+    @Benchmark
+    public Object cachedRows(RetainedHeap retainedHeap) throws Exception {
+        return readColumns(new CachedRowMapper(false), retainedHeap);
+    }
+
+    private Object readColumns(ColumnMapRowMapper rowMapper, RetainedHeap retainedHeap) throws Exception {
+        long before = usedHeap();
+        List<?> rows;
+        try (ResultSet resultSet = connection.getMetaData().getColumns(null, "PUBLIC", null, null)) {
+            rows = (List<?>) new RowMapperResultSetExtractor(rowMapper).extractData(resultSet);
+        }
+        retainedHeap.retainedBytes += usedHeap() - before;
+        return rows;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class RetainedHeap {
+        public long retainedBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            retainedBytes = 0;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package liquibase.benchmark;
+
+import liquibase.Contexts;
+import liquibase.LabelExpression;
+import liquibase.RuntimeEnvironment;
+import liquibase.changelog.*;
+import liquibase.changelog.filter.ChangeSetFilterResult;
+import liquibase.changelog.filter.ShouldRunChangeSetFilter;
+import liquibase.changelog.visitor.ChangeSetVisitor;
+import liquibase.database.Database;
+import liquibase.database.core.MockDatabase;
+import liquibase.parser.core.xml.XMLChangeLogSAXParser;
+import liquibase.resource.DirectoryResourceAccessor;
+import liquibase.resource.ResourceAccessor;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ChangeLogIterator#run(ChangeSetVisitor, RuntimeEnvironment)} the way status and update drive it,
+ * with a {@link ShouldRunChangeSetFilter} backed by a {@link MockChangeLogHistoryService} in which half of the
+ * changesets have already run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ChangeLogIteratorBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int changeSetCount;
+
+    private Path directory;
+    private DatabaseChangeLog changeLog;
+    private Database database;
+    private RuntimeEnvironment runtimeEnvironment;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        directory = BenchmarkChangeLogs.createTempDirectory();
+        String changeLogFile = BenchmarkChangeLogs.writeXmlChangeLog(directory, changeSetCount);
+        try (ResourceAccessor resourceAccessor = new DirectoryResourceAccessor(directory)) {
+            changeLog = new XMLChangeLogSAXParser().parse(changeLogFile, new ChangeLogParameters(), resourceAccessor);
+        }
+
+        database = new MockDatabase();
+        MockChangeLogHistoryService historyService = new MockChangeLogHistoryService();
+        List<RanChangeSet> ranChangeSets = new ArrayList<>();
+        List<ChangeSet> changeSets = changeLog.getChangeSets();
+        for (int i = 0; i < changeSets.size(); i += 2) {
+            ranChangeSets.add(new RanChangeSet(changeSets.get(i), ChangeSet.ExecType.EXECUTED, null, null));
+        }
+        historyService.ranChangeSets = ranChangeSets;
+        ChangeLogHistoryServiceFactory.getInstance().registerForDatabase(database, historyService);
+
+        runtimeEnvironment = new RuntimeEnvironment(database, new Contexts(), new LabelExpression());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        ChangeLogHistoryServiceFactory.getInstance().resetAll();
+        BenchmarkChangeLogs.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public int iterate() throws Exception {
+        CountingVisitor visitor = new CountingVisitor();
+        new ChangeLogIterator(changeLog, new ShouldRunChangeSetFilter(database)).run(visitor, runtimeEnvironment);
+        return visitor.visited;
+    }
+
+    private static class CountingVisitor implements ChangeSetVisitor {
+        private int visited;
+
+        @Override
+        public Direction getDirection() {
+            return Direction.FORWARD;
+        }
+
+        @Override
+        public void visit(ChangeSet changeSet, DatabaseChangeLog databaseChangeLog, Database database, Set<ChangeSetFilterResult> filterResults) {
+            visited++;
+        }
+    }
+}
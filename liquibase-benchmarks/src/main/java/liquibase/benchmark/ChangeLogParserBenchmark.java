@@ -0,0 +1,61 @@
+package liquibase.benchmark;
+
+import liquibase.changelog.ChangeLogParameters;
+import liquibase.changelog.DatabaseChangeLog;
+import liquibase.parser.ChangeLogParser;
+import liquibase.parser.core.xml.XMLChangeLogSAXParser;
+import liquibase.parser.core.yaml.YamlChangeLogParser;
+import liquibase.resource.DirectoryResourceAccessor;
+import liquibase.resource.ResourceAccessor;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing a generated changelog into a {@link DatabaseChangeLog} with {@link XMLChangeLogSAXParser} and
+ * {@link YamlChangeLogParser}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ChangeLogParserBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int changeSetCount;
+
+    @Param({"xml", "yaml"})
+    public String format;
+
+    private Path directory;
+    private ResourceAccessor resourceAccessor;
+    private ChangeLogParser parser;
+    private String changeLogFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        directory = BenchmarkChangeLogs.createTempDirectory();
+        resourceAccessor = new DirectoryResourceAccessor(directory);
+        if ("xml".equals(format)) {
+            changeLogFile = BenchmarkChangeLogs.writeXmlChangeLog(directory, changeSetCount);
+            parser = new XMLChangeLogSAXParser();
+        } else {
+            changeLogFile = BenchmarkChangeLogs.writeYamlChangeLog(directory, changeSetCount);
+            parser = new YamlChangeLogParser();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        resourceAccessor.close();
+        BenchmarkChangeLogs.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public DatabaseChangeLog parse() throws Exception {
+        return parser.parse(changeLogFile, new ChangeLogParameters(), resourceAccessor);
+    }
+}
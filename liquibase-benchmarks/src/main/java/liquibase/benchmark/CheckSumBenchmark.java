@@ -0,0 +1,71 @@
+package liquibase.benchmark;
+
+import liquibase.ChecksumVersion;
+import liquibase.change.CheckSum;
+import liquibase.changelog.ChangeLogParameters;
+import liquibase.changelog.ChangeSet;
+import liquibase.changelog.DatabaseChangeLog;
+import liquibase.parser.core.xml.XMLChangeLogSAXParser;
+import liquibase.resource.DirectoryResourceAccessor;
+import liquibase.resource.ResourceAccessor;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link CheckSum#compute(String)} and {@link ChangeSet#generateCheckSum(ChecksumVersion)} over every
+ * changeset of a generated changelog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CheckSumBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int changeSetCount;
+
+    private Path directory;
+    private List<ChangeSet> changeSets;
+    private String[] checksumInputs;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        directory = BenchmarkChangeLogs.createTempDirectory();
+        String changeLogFile = BenchmarkChangeLogs.writeXmlChangeLog(directory, changeSetCount);
+        try (ResourceAccessor resourceAccessor = new DirectoryResourceAccessor(directory)) {
+            DatabaseChangeLog changeLog = new XMLChangeLogSAXParser().parse(changeLogFile, new ChangeLogParameters(), resourceAccessor);
+            changeSets = changeLog.getChangeSets();
+        }
+        checksumInputs = new String[changeSets.size()];
+        for (int i = 0; i < checksumInputs.length; i++) {
+            checksumInputs[i] = changeSets.get(i).toString(false) + ":" + changeSets.get(i).getDescription();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        BenchmarkChangeLogs.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public void computeString(Blackhole blackhole) {
+        for (String input : checksumInputs) {
+            blackhole.consume(CheckSum.compute(input));
+        }
+    }
+
+    @Benchmark
+    public void generateChangeSetCheckSums(Blackhole blackhole) {
+        for (ChangeSet changeSet : changeSets) {
+            // generateCheckSum caches its result on the changeset
+            changeSet.clearCheckSum();
+            blackhole.consume(changeSet.generateCheckSum(ChecksumVersion.latest()));
+        }
+    }
+}
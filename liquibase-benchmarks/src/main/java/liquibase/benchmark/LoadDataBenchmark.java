@@ -0,0 +1,91 @@
+package liquibase.benchmark;
+
+import liquibase.GlobalConfiguration;
+import liquibase.change.core.LoadDataChange;
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.executor.ExecutorService;
+import liquibase.resource.DirectoryResourceAccessor;
+import liquibase.resource.ResourceAccessor;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures executing a {@link LoadDataChange} against an in-memory H2 database, with and without
+ * {@link GlobalConfiguration#LOAD_DATA_STREAMING}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LoadDataBenchmark {
+
+    private static final String TABLE_NAME = "LOAD_DATA_BENCHMARK";
+
+    @Param({"1000", "10000", "100000"})
+    public int rowCount;
+
+    @Param({"false", "true"})
+    public boolean streaming;
+
+    private Path directory;
+    private ResourceAccessor resourceAccessor;
+    private String csvFile;
+    private Connection connection;
+    private Database database;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        directory = BenchmarkChangeLogs.createTempDirectory();
+        csvFile = BenchmarkChangeLogs.writeCsv(directory, rowCount);
+        resourceAccessor = new DirectoryResourceAccessor(directory);
+
+        connection = DriverManager.getConnection("jdbc:h2:mem:loadDataBenchmark;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE " + TABLE_NAME + " (id INT PRIMARY KEY, name VARCHAR(255), amount DECIMAL(20, 2))");
+        }
+        database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection));
+    }
+
+    @Setup(Level.Invocation)
+    public void truncate() throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE TABLE " + TABLE_NAME);
+        }
+        connection.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE " + TABLE_NAME);
+        }
+        database.close();
+        resourceAccessor.close();
+        BenchmarkChangeLogs.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public void loadData() throws Exception {
+        Map<String, Object> scopeValues = new HashMap<>();
+        scopeValues.put(liquibase.Scope.Attr.resourceAccessor.name(), resourceAccessor);
+        scopeValues.put(GlobalConfiguration.LOAD_DATA_STREAMING.getKey(), streaming);
+        liquibase.Scope.child(scopeValues, () -> {
+            LoadDataChange change = new LoadDataChange();
+            change.setTableName(TABLE_NAME);
+            change.setFile(csvFile);
+            liquibase.Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", database).execute(change);
+            database.commit();
+        });
+    }
+}
@@ -0,0 +1,71 @@
+package liquibase.benchmark;
+
+import liquibase.change.Change;
+import liquibase.changelog.ChangeLogParameters;
+import liquibase.changelog.ChangeSet;
+import liquibase.changelog.DatabaseChangeLog;
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.parser.core.xml.XMLChangeLogSAXParser;
+import liquibase.resource.DirectoryResourceAccessor;
+import liquibase.resource.ResourceAccessor;
+import liquibase.sqlgenerator.SqlGeneratorFactory;
+import liquibase.statement.SqlStatement;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link SqlGeneratorFactory#generateSql(SqlStatement, Database)} for the statements of a generated changelog,
+ * which is the path update-sql and update take for every statement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SqlGeneratorBenchmark {
+
+    @Param({"1000", "10000"})
+    public int changeSetCount;
+
+    @Param({"h2", "postgresql", "oracle", "mssql"})
+    public String databaseShortName;
+
+    private Database database;
+    private SqlStatement[] statements;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        database = DatabaseFactory.getInstance().getDatabase(databaseShortName);
+
+        Path directory = BenchmarkChangeLogs.createTempDirectory();
+        try (ResourceAccessor resourceAccessor = new DirectoryResourceAccessor(directory)) {
+            String changeLogFile = BenchmarkChangeLogs.writeXmlChangeLog(directory, changeSetCount);
+            DatabaseChangeLog changeLog = new XMLChangeLogSAXParser().parse(changeLogFile, new ChangeLogParameters(), resourceAccessor);
+            List<SqlStatement> statementList = new ArrayList<>();
+            for (ChangeSet changeSet : changeLog.getChangeSets()) {
+                for (Change change : changeSet.getChanges()) {
+                    Collections.addAll(statementList, change.generateStatements(database));
+                }
+            }
+            statements = statementList.toArray(SqlStatement.EMPTY_SQL_STATEMENT);
+        } finally {
+            BenchmarkChangeLogs.deleteDirectory(directory);
+        }
+    }
+
+    @Benchmark
+    public void generateSql(Blackhole blackhole) {
+        SqlGeneratorFactory factory = SqlGeneratorFactory.getInstance();
+        for (SqlStatement statement : statements) {
+            blackhole.consume(factory.generateSql(statement, database));
+        }
+    }
+}
@@ -26,6 +26,14 @@ public class CommandLineArgumentValueProvider extends AbstractMapConfigurationVa
         return 250;
     }
 
+    /**
+     * The arguments are only read when this provider is created.
+     */
+    @Override
+    public Object getValuesVersion(String... keyAndAliases) {
+        return 0;
+    }
+
     @Override
     protected Map<?, ?> getMap() {
         return argumentValues;
@@ -15,7 +15,9 @@ import liquibase.integration.IntegrationDetails;
 import liquibase.license.LicenseInfo;
 import liquibase.license.LicenseService;
 import liquibase.license.LicenseServiceFactory;
+import liquibase.logging.LogFormat;
 import liquibase.logging.LogService;
+import liquibase.logging.core.AsyncLogService;
 import liquibase.logging.core.JavaLogService;
 import liquibase.logging.core.LogServiceFactory;
 import liquibase.logging.mdc.MdcKey;
@@ -69,6 +71,7 @@ public class LiquibaseCommandLine {
 
     private final CommandLine commandLine;
     private Handler fileHandler;
+    private AsyncLogService asyncLogService;
 
     private final ResourceBundle coreBundle = getBundle("liquibase/i18n/liquibase-core");
 
@@ -117,6 +120,10 @@ public class LiquibaseCommandLine {
     }
 
     private void cleanup() {
+        if (asyncLogService != null) {
+            asyncLogService.close();
+            asyncLogService = null;
+        }
         if (fileHandler != null) {
             fileHandler.flush();
         }
@@ -392,7 +399,16 @@ public class LiquibaseCommandLine {
 
             LogService newLogService = Scope.child(providerScopeValues, () -> {
                 // Get a new log service after registering the value providers, since the log service might need to load parameters using newly registered value providers.
-                return Scope.getCurrentScope().getSingleton(LogServiceFactory.class).getDefaultLogService();
+                LogService logService = Scope.getCurrentScope().getSingleton(LogServiceFactory.class).getDefaultLogService();
+                // structured log formats read the MDC of the logging thread, which the background writer does not have
+                if (logService instanceof JavaLogService && LiquibaseCommandLineConfiguration.ASYNC_LOGGING.getCurrentValue()
+                        && LiquibaseCommandLineConfiguration.LOG_FORMAT.getCurrentValue() == LogFormat.TEXT) {
+                    asyncLogService = new AsyncLogService(logService,
+                            LiquibaseCommandLineConfiguration.ASYNC_LOG_CAPACITY.getCurrentValue(),
+                            LiquibaseCommandLineConfiguration.ASYNC_LOG_OVERFLOW_POLICY.getCurrentValue());
+                    return asyncLogService;
+                }
+                return logService;
             });
 
             final Map<String, Object> executionScopeValues = new HashMap<>(providerScopeValues);
@@ -884,7 +900,10 @@ public class LiquibaseCommandLine {
     private void configureLogging(Level logLevel, String logFile, boolean wasDefaultLogLevelUsed) throws IOException {
         configuredLogLevel = logLevel;
 
-        final LogService logService = Scope.getCurrentScope().get(Scope.Attr.logService, LogService.class);
+        LogService logService = Scope.getCurrentScope().get(Scope.Attr.logService, LogService.class);
+        if (logService instanceof AsyncLogService) {
+            logService = ((AsyncLogService) logService).getDelegate();
+        }
         java.util.logging.Logger liquibaseLogger = java.util.logging.Logger.getLogger("liquibase");
         if (logService instanceof JavaLogService) {
             ((JavaLogService) logService).setParent(liquibaseLogger);
@@ -243,6 +243,30 @@ Global Options
                                environment variable:
                                'LIQUIBASE_ANALYTICS_ENABLED')
 
+      --async-log-capacity=PARAM
+                             Number of log messages buffered for the background
+                               thread when asyncLogging is enabled
+                             DEFAULT: 8192
+                             (defaults file: 'liquibase.asyncLogCapacity',
+                               environment variable:
+                               'LIQUIBASE_ASYNC_LOG_CAPACITY')
+
+      --async-log-overflow-policy=PARAM
+                             What to do when the asyncLogging buffer is full.
+                               BLOCK waits for space, DROP drops messages below
+                               WARNING and reports how many were dropped.
+                             DEFAULT: BLOCK
+                             (defaults file: 'liquibase.
+                               asyncLogOverflowPolicy', environment variable:
+                               'LIQUIBASE_ASYNC_LOG_OVERFLOW_POLICY')
+
+      --async-logging=PARAM  If true, log messages are written by a background
+                               thread so commands do not wait for log output.
+                               Only applies to the "TEXT" log format.
+                             DEFAULT: false
+                             (defaults file: 'liquibase.asyncLogging',
+                               environment variable: 'LIQUIBASE_ASYNC_LOGGING')
+
       --auto-reorg=PARAM     Should Liquibase automatically include REORG TABLE
                                commands when needed?
                              DEFAULT: true
@@ -257,6 +281,21 @@ Global Options
                                environment variable:
                                'LIQUIBASE_CHANGELOG_LOCK_POLL_RATE')
 
+      --changelog-lock-use-advisory-lock=PARAM
+                             If true, the changelog lock is also taken as a
+                               native advisory lock on PostgreSQL, MySQL,
+                               MariaDB, SQL Server and Oracle, so instances
+                               waiting for the lock block in the database
+                               instead of polling the lock table. If the
+                               advisory lock cannot be used, the lock table is
+                               polled with an exponential backoff up to
+                               changelogLockPollRate
+                             DEFAULT: false
+                             (defaults file: 'liquibase.
+                               changelogLockUseAdvisoryLock', environment
+                               variable:
+                               'LIQUIBASE_CHANGELOG_LOCK_USE_ADVISORY_LOCK')
+
       --changelog-lock-wait-time-in-minutes=PARAM
                              Number of minutes to wait for the changelog lock
                                to be available before giving up
@@ -276,6 +315,16 @@ Global Options
                                environment variable:
                                'LIQUIBASE_CHANGELOG_PARSE_MODE')
 
+      --checksum-cache-file=PARAM
+                             Path to a file used to cache the checksums of
+                               files referenced by sqlFile and loadData changes
+                               between runs. Cached values are reused while the
+                               referenced file keeps the same size and
+                               modification time. Not used if not set.
+                             (defaults file: 'liquibase.checksumCacheFile',
+                               environment variable:
+                               'LIQUIBASE_CHECKSUM_CACHE_FILE')
+
       --classpath=PARAM      Additional classpath entries to use
                              (defaults file: 'liquibase.classpath', environment
                                variable: 'LIQUIBASE_CLASSPATH')
@@ -343,6 +392,13 @@ Global Options
                                environment variable:
                                'LIQUIBASE_DIFF_COLUMN_ORDER')
 
+      --diff-threads=PARAM   Number of threads used to match and compare the
+                               objects of two snapshots in a diff. A value of 1
+                               compares them one at a time.
+                             DEFAULT: 1
+                             (defaults file: 'liquibase.diffThreads',
+                               environment variable: 'LIQUIBASE_DIFF_THREADS')
+
       --driver=PARAM         Database driver class
                              (defaults file: 'liquibase.driver', environment
                                variable: 'LIQUIBASE_DRIVER')
@@ -425,6 +481,21 @@ Global Options
                              (defaults file: 'liquibase.headless', environment
                                variable: 'LIQUIBASE_HEADLESS')
 
+      --history-batch-size=PARAM
+                             If greater than 1, rows are inserted into the
+                               databasechangelog table through a reused
+                               prepared statement instead of generated SQL.
+                               changelog-sync then also sends up to this many
+                               rows in one JDBC batch and commits them
+                               together. update still commits each row right
+                               after its changeset. The default of 1 inserts
+                               and commits every row with its own generated SQL
+                               statement.
+                             DEFAULT: 1
+                             (defaults file: 'liquibase.historyBatchSize',
+                               environment variable:
+                               'LIQUIBASE_HISTORY_BATCH_SIZE')
+
       --include-catalog-in-specification=PARAM
                              Should Liquibase include the catalog name when
                                determining equality?
@@ -434,6 +505,17 @@ Global Options
                                variable:
                                'LIQUIBASE_INCLUDE_CATALOG_IN_SPECIFICATION')
 
+      --include-parse-threads=PARAM
+                             Number of threads used to read the files of an
+                               include or includeAll ahead of time. The
+                               changelogs are still processed one after the
+                               other in the order they are included. 1 reads
+                               every file only when it is included.
+                             DEFAULT: 1
+                             (defaults file: 'liquibase.includeParseThreads',
+                               environment variable:
+                               'LIQUIBASE_INCLUDE_PARSE_THREADS')
+
       --include-relations-for-computed-columns=PARAM
                              If true, the parent relationship for computed
                                columns is preserved in snapshot-dependent
@@ -462,6 +544,19 @@ Global Options
                                includeSystemClasspath', environment variable:
                                'LIQUIBASE_INCLUDE_SYSTEM_CLASSPATH')
 
+      --incremental-history-read=PARAM
+                             If true, the contents of the databasechangelog
+                               table are cached per database for the lifetime
+                               of the JVM and later reads only fetch the rows
+                               added since. Changes to existing rows made
+                               outside of Liquibase that keep the number of
+                               rows, tags and checksums the same are not
+                               detected.
+                             DEFAULT: false
+                             (defaults file: 'liquibase.
+                               incrementalHistoryRead', environment variable:
+                               'LIQUIBASE_INCREMENTAL_HISTORY_READ')
+
       --liquibase-catalog-name=PARAM
                              Catalog to use for Liquibase objects
                              (defaults file: 'liquibase.liquibaseCatalogName',
@@ -480,6 +575,25 @@ Global Options
                                liquibaseTablespaceName', environment variable:
                                'LIQUIBASE_LIQUIBASE_TABLESPACE_NAME')
 
+      --load-data-streaming=PARAM
+                             If true, loadData and loadUpdateData read and
+                               execute their CSV file in chunks instead of
+                               loading the whole file into memory before
+                               executing it.
+                             DEFAULT: false
+                             (defaults file: 'liquibase.loadDataStreaming',
+                               environment variable:
+                               'LIQUIBASE_LOAD_DATA_STREAMING')
+
+      --load-data-streaming-chunk-size=PARAM
+                             Number of CSV rows sent to the database in each
+                               chunk when loadDataStreaming is enabled.
+                             DEFAULT: 1000
+                             (defaults file: 'liquibase.
+                               loadDataStreamingChunkSize', environment
+                               variable:
+                               'LIQUIBASE_LOAD_DATA_STREAMING_CHUNK_SIZE')
+
       --log-channels=PARAM   DEFAULT: Controls which log channels have their
                                level set by the liquibase.logLevel setting.
                                Comma separate multiple values. To set the level
@@ -583,6 +697,29 @@ Global Options
                                environment variable:
                                'LIQUIBASE_OUTPUT_LINE_SEPARATOR')
 
+      --parsed-changelog-cache-file=PARAM
+                             Path to a file used to cache the parsed contents
+                               of XML, YAML and JSON changelog files between
+                               runs. A cached file is only reused while its
+                               content is unchanged. Not used if not set.
+                             (defaults file: 'liquibase.
+                               parsedChangelogCacheFile', environment variable:
+                               'LIQUIBASE_PARSED_CHANGELOG_CACHE_FILE')
+
+      --precondition-metadata-cache=PARAM
+                             If true, the existence checks of preconditions run
+                               during an update share one snapshot of each
+                               schema and object type instead of querying the
+                               database metadata for every check. Objects
+                               changed by the update are checked against the
+                               database again, but changes made by other
+                               sessions meanwhile are not seen.
+                             DEFAULT: false
+                             (defaults file: 'liquibase.
+                               preconditionMetadataCache', environment
+                               variable:
+                               'LIQUIBASE_PRECONDITION_METADATA_CACHE')
+
       --preserve-classpath-prefix-in-normalized-paths=PARAM
                              If true 'classpath:' prefix will be preserved in
                                normalized paths, allowing to resolve
@@ -618,6 +755,18 @@ Global Options
                                environment variable:
                                'LIQUIBASE_PROPERTY_PROVIDER_CLASS')
 
+      --report-slowest-statements=PARAM
+                             Number of slowest SQL statements an update lists
+                               in its verbose summary and its report, with
+                               their duration and changeset. The report also
+                               gets the number of statements and affected rows
+                               of each changeset. Set to 0 to not measure
+                               statements for them.
+                             DEFAULT: 5
+                             (defaults file: 'liquibase.
+                               reportSlowestStatements', environment variable:
+                               'LIQUIBASE_REPORT_SLOWEST_STATEMENTS')
+
       --search-path=PARAM    Complete list of Location(s) to search for files
                                such as changelog files in. Multiple paths can
                                be specified by separating them with commas.
@@ -649,6 +798,20 @@ Global Options
                              (defaults file: 'liquibase.showBanner',
                                environment variable: 'LIQUIBASE_SHOW_BANNER')
 
+      --snapshot-threads=PARAM
+                             Number of threads, each with its own database
+                               connection, used to read table, view, column,
+                               index, foreign key and unique constraint
+                               metadata in parallel before a snapshot is built.
+                               Only used when Liquibase opened the database
+                               connection itself from a url. The default of 1
+                               reads all metadata through the main connection
+                               while the snapshot is built.
+                             DEFAULT: 1
+                             (defaults file: 'liquibase.snapshotThreads',
+                               environment variable:
+                               'LIQUIBASE_SNAPSHOT_THREADS')
+
       --sql-log-level=PARAM  Level to log SQL statements to
                              DEFAULT: FINE
                              (defaults file: 'liquibase.sql.logLevel',
@@ -720,6 +883,16 @@ Global Options
 
   -v, --version              Print version information and exit
 
+      --validate-checksum-threads=PARAM
+                             Number of threads used to compute the checksums of
+                               already ran changesets during validation. A
+                               value of 1 computes them one at a time while
+                               each changeset is validated.
+                             DEFAULT: 1
+                             (defaults file: 'liquibase.
+                               validateChecksumThreads', environment variable:
+                               'LIQUIBASE_VALIDATE_CHECKSUM_THREADS')
+
       --validate-xml-changelog-files=PARAM
                              Will perform XSD validation of XML changelog
                                files. When many XML changelog files are
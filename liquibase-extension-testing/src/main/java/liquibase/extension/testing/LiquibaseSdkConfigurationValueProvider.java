@@ -47,6 +47,14 @@ public class LiquibaseSdkConfigurationValueProvider extends AbstractMapConfigura
         return 40;
     }
 
+    /**
+     * The files are only read when this provider is created.
+     */
+    @Override
+    public Object getValuesVersion(String... keyAndAliases) {
+        return 0;
+    }
+
     @Override
     protected Map<?, ?> getMap() {
         return properties;
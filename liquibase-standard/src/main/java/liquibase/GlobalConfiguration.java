@@ -23,6 +23,7 @@ public class GlobalConfiguration implements AutoloadedConfigurations {
     public static final ConfigurationDefinition<Charset> FILE_ENCODING;
     public static final ConfigurationDefinition<Long> CHANGELOGLOCK_WAIT_TIME;
     public static final ConfigurationDefinition<Long> CHANGELOGLOCK_POLL_RATE;
+    public static final ConfigurationDefinition<Boolean> CHANGELOGLOCK_USE_ADVISORY_LOCK;
     public static final ConfigurationDefinition<Boolean> CONVERT_DATA_TYPES;
     public static final ConfigurationDefinition<Boolean> GENERATE_CHANGESET_CREATED_VALUES;
     public static final ConfigurationDefinition<Boolean> AUTO_REORG;
@@ -43,6 +44,16 @@ public class GlobalConfiguration implements AutoloadedConfigurations {
     public static final ConfigurationDefinition<Boolean> VALIDATE_XML_CHANGELOG_FILES;
 
     public static final ConfigurationDefinition<Boolean> TRIM_LOAD_DATA_FILE_HEADER;
+    public static final ConfigurationDefinition<Boolean> LOAD_DATA_STREAMING;
+    public static final ConfigurationDefinition<Integer> LOAD_DATA_STREAMING_CHUNK_SIZE;
+    public static final ConfigurationDefinition<Integer> VALIDATE_CHECKSUM_THREADS;
+    public static final ConfigurationDefinition<String> CHECKSUM_CACHE_FILE;
+    public static final ConfigurationDefinition<Boolean> INCREMENTAL_HISTORY_READ;
+    public static final ConfigurationDefinition<Integer> SNAPSHOT_THREADS;
+    public static final ConfigurationDefinition<Integer> DIFF_THREADS;
+    public static final ConfigurationDefinition<Integer> HISTORY_BATCH_SIZE;
+    public static final ConfigurationDefinition<Integer> REPORT_SLOWEST_STATEMENTS;
+    public static final ConfigurationDefinition<Boolean> PRECONDITION_METADATA_CACHE;
 
     /**
      * @deprecated No longer used
@@ -95,6 +106,12 @@ public class GlobalConfiguration implements AutoloadedConfigurations {
                 .setDefaultValue(10L)
                 .build();
 
+        CHANGELOGLOCK_USE_ADVISORY_LOCK = builder.define("changelogLockUseAdvisoryLock", Boolean.class)
+                .setDescription("If true, the changelog lock is also taken as a native advisory lock on PostgreSQL, MySQL, MariaDB, SQL Server and Oracle, so instances waiting for the lock block in the database instead of polling the lock table. " +
+                        "If the advisory lock cannot be used, the lock table is polled with an exponential backoff up to changelogLockPollRate")
+                .setDefaultValue(false)
+                .build();
+
         LIQUIBASE_TABLESPACE_NAME = builder.define("liquibaseTablespaceName", String.class)
                 .addAliasKey("liquibase.liquibaseTableSpaceName")
                 .addAliasKey("liquibase.databaseChangeLogTablespaceName")
@@ -377,6 +394,61 @@ public class GlobalConfiguration implements AutoloadedConfigurations {
                 .setDefaultValue(false)
                 .build();
 
+        LOAD_DATA_STREAMING = builder.define("loadDataStreaming", Boolean.class)
+                .setDescription("If true, loadData and loadUpdateData read and execute their CSV file in chunks instead of loading the whole file into memory before executing it.")
+                .setDefaultValue(false)
+                .build();
+
+        LOAD_DATA_STREAMING_CHUNK_SIZE = builder.define("loadDataStreamingChunkSize", Integer.class)
+                .setDescription("Number of CSV rows sent to the database in each chunk when loadDataStreaming is enabled.")
+                .setDefaultValue(1000)
+                .build();
+
+        VALIDATE_CHECKSUM_THREADS = builder.define("validateChecksumThreads", Integer.class)
+                .setDescription("Number of threads used to compute the checksums of already ran changesets during validation. A value of 1 computes them one at a time while each changeset is validated.")
+                .setDefaultValue(1)
+                .build();
+
+        CHECKSUM_CACHE_FILE = builder.define("checksumCacheFile", String.class)
+                .setDescription("Path to a file used to cache the checksums of files referenced by sqlFile and loadData changes between runs. Cached values are reused while the referenced file keeps the same size and modification time. Not used if not set.")
+                .build();
+
+        INCREMENTAL_HISTORY_READ = builder.define("incrementalHistoryRead", Boolean.class)
+                .setDescription("If true, the contents of the databasechangelog table are cached per database for the lifetime of the JVM and later reads only fetch the rows added since. Changes to existing rows made outside of Liquibase that keep the number of rows, tags and checksums the same are not detected.")
+                .setDefaultValue(false)
+                .build();
+
+        SNAPSHOT_THREADS = builder.define("snapshotThreads", Integer.class)
+                .setDescription("Number of threads, each with its own database connection, used to read table, view, column, index, foreign key and unique constraint metadata in parallel before a snapshot is built. " +
+                        "Only used when Liquibase opened the database connection itself from a url. The default of 1 reads all metadata through the main connection while the snapshot is built.")
+                .setDefaultValue(1)
+                .build();
+
+        DIFF_THREADS = builder.define("diffThreads", Integer.class)
+                .setDescription("Number of threads used to match and compare the objects of two snapshots in a diff. A value of 1 compares them one at a time.")
+                .setDefaultValue(1)
+                .build();
+
+        HISTORY_BATCH_SIZE = builder.define("historyBatchSize", Integer.class)
+                .setDescription("If greater than 1, rows are inserted into the databasechangelog table through a reused prepared statement instead of generated SQL. " +
+                        "changelog-sync then also sends up to this many rows in one JDBC batch and commits them together. update still commits each row right after its changeset. " +
+                        "The default of 1 inserts and commits every row with its own generated SQL statement.")
+                .setDefaultValue(1)
+                .build();
+
+        REPORT_SLOWEST_STATEMENTS = builder.define("reportSlowestStatements", Integer.class)
+                .setDescription("Number of slowest SQL statements an update lists in its verbose summary and its report, with their duration and changeset. " +
+                        "The report also gets the number of statements and affected rows of each changeset. Set to 0 to not measure statements for them.")
+                .setDefaultValue(5)
+                .build();
+
+        PRECONDITION_METADATA_CACHE = builder.define("preconditionMetadataCache", Boolean.class)
+                .setDescription("If true, the existence checks of preconditions run during an update share one snapshot of each schema and object type " +
+                        "instead of querying the database metadata for every check. Objects changed by the update are checked against the database again, " +
+                        "but changes made by other sessions meanwhile are not seen.")
+                .setDefaultValue(false)
+                .build();
+
         PRESERVE_CLASSPATH_PREFIX_IN_NORMALIZED_PATHS = builder.define("preserveClasspathPrefixInNormalizedPaths", Boolean.class)
                 .setDescription("If true 'classpath:' prefix will be preserved in normalized paths, allowing to resolve hierarchical resources under a classpath-based root.")
                 .setDefaultValue(false)
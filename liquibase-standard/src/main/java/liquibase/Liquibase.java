@@ -25,6 +25,9 @@ import liquibase.lockservice.DatabaseChangeLogLock;
 import liquibase.lockservice.LockServiceFactory;
 import liquibase.logging.Logger;
 import liquibase.logging.mdc.MdcKey;
+import liquibase.metrics.MetricTimer;
+import liquibase.metrics.MetricType;
+import liquibase.metrics.MetricsService;
 import liquibase.parser.ChangeLogParser;
 import liquibase.parser.ChangeLogParserFactory;
 import liquibase.parser.core.xml.XMLChangeLogSAXParser;
@@ -249,7 +252,15 @@ public class Liquibase implements AutoCloseable {
             if (parser instanceof XMLChangeLogSAXParser) {
                 ((XMLChangeLogSAXParser) parser).setShouldWarnOnMismatchedXsdVersion(shouldWarnOnMismatchedXsdVersion);
             }
-            databaseChangeLog = parser.parse(changeLogFile, changeLogParameters, resourceAccessor);
+            MetricTimer metricTimer = Scope.getCurrentScope().getSingleton(MetricsService.class).start(MetricType.CHANGELOG_PARSE, changeLogFile);
+            try {
+                databaseChangeLog = parser.parse(changeLogFile, changeLogParameters, resourceAccessor);
+            } catch (LiquibaseException | RuntimeException e) {
+                metricTimer.failed();
+                throw e;
+            } finally {
+                metricTimer.stop();
+            }
             Scope.getCurrentScope().getLog(Liquibase.class).info("Parsed changelog file '" + changeLogFile + "'");
             if (StringUtils.isNotEmpty(databaseChangeLog.getLogicalFilePath())) {
                 Scope.getCurrentScope().addMdcValue(MdcKey.CHANGELOG_FILE, databaseChangeLog.getLogicalFilePath());
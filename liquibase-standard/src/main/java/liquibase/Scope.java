@@ -145,6 +145,14 @@ public class Scope {
 
     public static Scope getCurrentScope() {
         InheritableThreadLocal<ScopeManager> manager = getScopeManagerThreadLocal();
+        // read the thread local only once when the scope is already set up, since this is called for every configuration read
+        ScopeManager currentManager = manager.get();
+        if (currentManager != null) {
+            Scope currentScope = currentManager.getCurrentScope();
+            if (currentScope != null) {
+                return currentScope;
+            }
+        }
         if (manager.get() == null) {
             SingletonScopeManager newManager = new SingletonScopeManager();
             Scope existingRoot = rootScope;
@@ -0,0 +1,33 @@
+package liquibase.change;
+
+import liquibase.database.Database;
+import liquibase.exception.DatabaseException;
+import liquibase.statement.SqlStatement;
+
+/**
+ * Marks a Change class as able to produce its {@link SqlStatement}s incrementally rather than all at once through
+ * {@link Change#generateStatements(Database)}. Executors use {@link #streamStatements(Database, StatementChunkHandler)}
+ * when {@link #supportsStatementStreaming(Database)} returns true, so only one chunk of statements is held in memory at a time.
+ */
+public interface ChangeWithStreamingStatements extends Change {
+
+    /**
+     * Return true if this change should be executed through {@link #streamStatements(Database, StatementChunkHandler)}
+     * against the given database.
+     */
+    boolean supportsStatementStreaming(Database database);
+
+    /**
+     * Generate the statements for this change in chunks, passing each chunk to the handler as soon as it is built.
+     * Chunks are passed in the same order {@link Change#generateStatements(Database)} would return the statements.
+     */
+    void streamStatements(Database database, StatementChunkHandler handler) throws DatabaseException;
+
+    /**
+     * Receives the chunks generated by {@link #streamStatements(Database, StatementChunkHandler)}.
+     */
+    @FunctionalInterface
+    interface StatementChunkHandler {
+        void handleChunk(SqlStatement[] statements) throws DatabaseException;
+    }
+}
@@ -0,0 +1,204 @@
+package liquibase.change;
+
+import liquibase.GlobalConfiguration;
+import liquibase.Scope;
+import liquibase.SingletonObject;
+import liquibase.resource.Resource;
+import liquibase.util.MD5Util;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Caches the checksums computed from the contents of files referenced by changes such as sqlFile and loadData, so
+ * unchanged files do not need to be read and hashed again on every run.
+ * <p>
+ * The cache is only used when {@link GlobalConfiguration#CHECKSUM_CACHE_FILE} is set. Entries are keyed by the file's
+ * location, size and last modified time plus the checksum version and a change-specific description of how the
+ * content is normalized, so a file that is edited in place gets a new entry rather than a stale checksum.
+ * Resources that are not plain files, such as entries inside jar files, are never cached.
+ */
+public class ResourceCheckSumCache implements SingletonObject {
+
+    private static final String SEPARATOR = "\t";
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, String> currentFileStates = new ConcurrentHashMap<>();
+    private Path loadedFrom;
+    private volatile boolean modified;
+
+    private ResourceCheckSumCache() {
+    }
+
+    /**
+     * Returns the cached checksum for the given resource, or calls the computation and remembers its result.
+     * If the cache is disabled or the resource is not a local file, the computation is always called.
+     *
+     * @param resource    the file the checksum is computed from
+     * @param variant     describes everything besides the file content that affects the computed checksum
+     * @param computation computes the checksum when there is no usable cached value
+     */
+    public CheckSum getCheckSum(Resource resource, String variant, Supplier<CheckSum> computation) {
+        Path cacheFile = getConfiguredCacheFile();
+        if (cacheFile == null) {
+            return computation.get();
+        }
+        Path file = toLocalFile(resource);
+        if (file == null) {
+            return computation.get();
+        }
+
+        String fileKey;
+        String stateKey;
+        try {
+            fileKey = MD5Util.computeMD5(file.toAbsolutePath().toString());
+            stateKey = MD5Util.computeMD5(Files.size(file) + ":" + Files.getLastModifiedTime(file).toMillis());
+        } catch (IOException e) {
+            Scope.getCurrentScope().getLog(getClass()).fine("Cannot read attributes of " + file + ", not caching its checksum", e);
+            return computation.get();
+        }
+        String variantKey = MD5Util.computeMD5(Scope.getCurrentScope().getChecksumVersion().getVersion() + ":" + variant);
+
+        synchronized (this) {
+            load(cacheFile);
+        }
+        currentFileStates.put(fileKey, stateKey);
+
+        String key = fileKey + SEPARATOR + stateKey + SEPARATOR + variantKey;
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            return CheckSum.parse(entry.checkSum);
+        }
+
+        CheckSum checkSum = computation.get();
+        if (checkSum != null) {
+            entries.put(key, new Entry(fileKey, stateKey, checkSum.toString()));
+            modified = true;
+        }
+        return checkSum;
+    }
+
+    /**
+     * Writes the cache back to {@link GlobalConfiguration#CHECKSUM_CACHE_FILE} if anything was added since it was loaded.
+     * Entries for files whose size or modification time changed since they were cached are dropped.
+     * Failures are logged rather than thrown since the cache only affects performance.
+     */
+    public synchronized void save() {
+        if (!modified || loadedFrom == null) {
+            return;
+        }
+        try {
+            Path parent = loadedFrom.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path tempFile = Files.createTempFile(parent, loadedFrom.getFileName().toString(), ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, Entry> mapEntry : entries.entrySet()) {
+                    Entry entry = mapEntry.getValue();
+                    String currentState = currentFileStates.get(entry.fileKey);
+                    if (currentState != null && !currentState.equals(entry.stateKey)) {
+                        continue;
+                    }
+                    writer.write(mapEntry.getKey());
+                    writer.write(SEPARATOR);
+                    writer.write(entry.checkSum);
+                    writer.newLine();
+                }
+            }
+            try {
+                Files.move(tempFile, loadedFrom, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, loadedFrom, StandardCopyOption.REPLACE_EXISTING);
+            }
+            modified = false;
+        } catch (IOException e) {
+            Scope.getCurrentScope().getLog(getClass()).warning("Cannot write checksum cache file " + loadedFrom + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Discards all cached checksums held in memory. The cache file is read again on next use.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        currentFileStates.clear();
+        loadedFrom = null;
+        modified = false;
+    }
+
+    private Path getConfiguredCacheFile() {
+        String configured = GlobalConfiguration.CHECKSUM_CACHE_FILE.getCurrentValue();
+        if (configured == null || configured.trim().isEmpty()) {
+            return null;
+        }
+        return Paths.get(configured.trim());
+    }
+
+    private void load(Path cacheFile) {
+        if (cacheFile.equals(loadedFrom)) {
+            return;
+        }
+        if (loadedFrom != null) {
+            save();
+            entries.clear();
+            currentFileStates.clear();
+        }
+        loadedFrom = cacheFile;
+        modified = false;
+        if (!Files.isRegularFile(cacheFile)) {
+            return;
+        }
+
+        Map<String, Entry> loaded = new HashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(cacheFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split(SEPARATOR);
+                if (parts.length != 4) {
+                    continue;
+                }
+                loaded.put(parts[0] + SEPARATOR + parts[1] + SEPARATOR + parts[2], new Entry(parts[0], parts[1], parts[3]));
+            }
+            entries.putAll(loaded);
+        } catch (IOException e) {
+            Scope.getCurrentScope().getLog(getClass()).warning("Cannot read checksum cache file " + cacheFile + ", ignoring it: " + e.getMessage(), e);
+        }
+    }
+
+    private static Path toLocalFile(Resource resource) {
+        if (resource == null) {
+            return null;
+        }
+        URI uri = resource.getUri();
+        if (uri == null || !"file".equalsIgnoreCase(uri.getScheme())) {
+            return null;
+        }
+        try {
+            Path path = Paths.get(uri);
+            return Files.isRegularFile(path) ? path : null;
+        } catch (IllegalArgumentException | FileSystemNotFoundException e) {
+            return null;
+        }
+    }
+
+    private static class Entry {
+        private final String fileKey;
+        private final String stateKey;
+        private final String checkSum;
+
+        private Entry(String fileKey, String stateKey, String checkSum) {
+            this.fileKey = fileKey;
+            this.stateKey = stateKey;
+            this.checkSum = checkSum;
+        }
+    }
+}
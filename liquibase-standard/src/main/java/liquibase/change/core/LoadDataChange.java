@@ -56,7 +56,7 @@ import static liquibase.change.ChangeParameterMetaData.ALL;
         priority = ChangeMetaData.PRIORITY_DEFAULT, appliesTo = "table",
         since = "1.7")
 @SuppressWarnings("java:S2583")
-public class LoadDataChange extends AbstractTableChange implements ChangeWithColumns<LoadDataColumnConfig> {
+public class LoadDataChange extends AbstractTableChange implements ChangeWithColumns<LoadDataColumnConfig>, ChangeWithStreamingStatements {
     /**
      * CSV Lines starting with that sign(s) will be treated as comments by default
      */
@@ -237,6 +237,83 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
     public SqlStatement[] generateStatements(Database database) {
         supportsBatchUpdates(database);
 
+        try {
+            List<LoadDataRowConfig> rows = new ArrayList<>();
+            readRows(database, rows::add);
+            return generateStatementsFromRows(database, rows);
+        } catch (IOException | LiquibaseException e) {
+            throw new RuntimeException(e);
+        } catch (UnexpectedLiquibaseException ule) {
+            if (isFailOnErrorDisabled()) {
+                logFailOnErrorDisabled(ule);
+                return SqlStatement.EMPTY_SQL_STATEMENT;
+            } else {
+                throw ule;
+            }
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+        // Do nothing
+    }
+
+    /**
+     * Streaming is enabled through {@link GlobalConfiguration#LOAD_DATA_STREAMING}.
+     */
+    @Override
+    public boolean supportsStatementStreaming(Database database) {
+        return GlobalConfiguration.LOAD_DATA_STREAMING.getCurrentValue();
+    }
+
+    /**
+     * Reads the CSV file {@link GlobalConfiguration#LOAD_DATA_STREAMING_CHUNK_SIZE} rows at a time and passes the
+     * statements for each chunk to the handler, so the number of rows held in memory does not depend on the file size.
+     */
+    @Override
+    public void streamStatements(Database database, StatementChunkHandler handler) throws DatabaseException {
+        supportsBatchUpdates(database);
+
+        int chunkSize = Math.max(1, GlobalConfiguration.LOAD_DATA_STREAMING_CHUNK_SIZE.getCurrentValue());
+        List<LoadDataRowConfig> rows = new ArrayList<>(chunkSize);
+        try {
+            readRows(database, row -> {
+                rows.add(row);
+                if (rows.size() >= chunkSize) {
+                    handler.handleChunk(generateStatementsFromRows(database, rows));
+                    rows.clear();
+                }
+            });
+            if (!rows.isEmpty()) {
+                handler.handleChunk(generateStatementsFromRows(database, rows));
+            }
+        } catch (DatabaseException e) {
+            throw e;
+        } catch (UnexpectedLiquibaseException ule) {
+            if (isFailOnErrorDisabled()) {
+                logFailOnErrorDisabled(ule);
+            } else {
+                throw ule;
+            }
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DatabaseException(e);
+        }
+    }
+
+    private boolean isFailOnErrorDisabled() {
+        return (getChangeSet() != null) && (getChangeSet().getFailOnError() != null) && !getChangeSet().getFailOnError();
+    }
+
+    private void logFailOnErrorDisabled(UnexpectedLiquibaseException ule) {
+        Logger log = Scope.getCurrentScope().getLog(LoadDataChange.class);
+        log.info("Changeset " + getChangeSet().toString(false) +
+                 " failed, but failOnError was false.  Error: " + ule.getMessage());
+    }
+
+    /**
+     * Reads the CSV file and passes a {@link LoadDataRowConfig} for each data line to the handler, in file order.
+     */
+    private void readRows(Database database, RowHandler rowHandler) throws Exception {
         try (CSVReader reader = getCSVReader()) {
 
             if (reader == null) {
@@ -264,7 +341,6 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
 
             boolean isCommentingEnabled = StringUtils.isNotEmpty(commentLineStartsWith);
 
-            List<LoadDataRowConfig> rows = new ArrayList<>();
             while ((line = reader.readNext()) != null) {
                 lineNumber++;
                 if
@@ -471,25 +547,9 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
                         actuallyUsePreparedStatements = needsPreparedStatement || (!isLoggingExecutor(database) && preferPreparedStatements(database));
                     }
                 }
-                rows.add(new LoadDataRowConfig(actuallyUsePreparedStatements, columnsFromCsv));
+                rowHandler.handleRow(new LoadDataRowConfig(actuallyUsePreparedStatements, columnsFromCsv));
             }
-            return generateStatementsFromRows(database, rows);
-        } catch (IOException | LiquibaseException e) {
-            throw new RuntimeException(e);
-        } catch (UnexpectedLiquibaseException ule) {
-            if ((getChangeSet() != null) && (getChangeSet().getFailOnError() != null) && !getChangeSet()
-                    .getFailOnError()) {
-                Logger log = Scope.getCurrentScope().getLog(LoadDataChange.class);
-                log.info("Changeset " + getChangeSet().toString(false) +
-                         " failed, but failOnError was false.  Error: " + ule.getMessage());
-                return SqlStatement.EMPTY_SQL_STATEMENT;
-            } else {
-                throw ule;
-            }
-        } catch (Exception e) {
-            throw new RuntimeException(e);
         }
-        // Do nothing
     }
 
     /**
@@ -800,7 +860,6 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
 
     @Override
     public CheckSum generateCheckSum() {
-        InputStream stream = null;
         try {
             ResourceAccessor resourceAccessor = Scope.getCurrentScope().getResourceAccessor();
             Resource resource;
@@ -810,18 +869,19 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
                 resource = resourceAccessor.get(getRelativeTo()).resolveSibling(file);
             }
 
-            stream = new EmptyLineAndCommentSkippingInputStream(resource.openInputStream(), commentLineStartsWith);
-            return CheckSum.compute(getTableName() + ":" + CheckSum.compute(stream, /*standardizeLineEndings*/ true));
+            CheckSum fileCheckSum = Scope.getCurrentScope().getSingleton(ResourceCheckSumCache.class)
+                    .getCheckSum(resource, "loadData:" + commentLineStartsWith, () -> computeFileCheckSum(resource));
+            return CheckSum.compute(getTableName() + ":" + fileCheckSum);
+        } catch (IOException e) {
+            throw new UnexpectedLiquibaseException(e);
+        }
+    }
+
+    private CheckSum computeFileCheckSum(Resource resource) {
+        try (InputStream stream = new EmptyLineAndCommentSkippingInputStream(resource.openInputStream(), commentLineStartsWith)) {
+            return CheckSum.compute(stream, /*standardizeLineEndings*/ true);
         } catch (IOException e) {
             throw new UnexpectedLiquibaseException(e);
-        } finally {
-            if (stream != null) {
-                try {
-                    stream.close();
-                } catch (IOException ignore) {
-                    // Do nothing
-                }
-            }
         }
     }
 
@@ -936,6 +996,11 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
         BOOLEAN, NUMERIC, DATE, STRING, COMPUTED, SEQUENCE, BLOB, CLOB, SKIP, UUID, OTHER, UNKNOWN
     }
 
+    @FunctionalInterface
+    private interface RowHandler {
+        void handleRow(LoadDataRowConfig row) throws DatabaseException;
+    }
+
     protected static class LoadDataRowConfig {
 
         private final boolean needsPreparedStatement;
@@ -17,10 +17,13 @@ import liquibase.resource.ResourceAccessor;
 import liquibase.util.FileUtil;
 import liquibase.util.StreamUtil;
 import liquibase.util.StringUtil;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.ReaderInputStream;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Reader;
 import java.nio.charset.Charset;
 
 /**
@@ -188,18 +191,11 @@ public class SQLFileChange extends AbstractSQLChange {
     public String getSql(boolean doExpandExpressions) {
         String sql = super.getSql();
         if (sql == null) {
-            try (InputStream sqlStream = openSqlStream()) {
-                if (sqlStream == null) {
+            try (Reader sqlReader = openSqlReader(doExpandExpressions)) {
+                if (sqlReader == null) {
                     return null;
                 }
-                String content = StreamUtil.readStreamAsString(sqlStream, getEncoding());
-                if (doExpandExpressions && getChangeSet() != null) {
-                    ChangeLogParameters parameters = getChangeSet().getChangeLogParameters();
-                    if (parameters != null) {
-                        content = parameters.expandExpressions(content, getChangeSet().getChangeLog());
-                    }
-                }
-                return content;
+                return IOUtils.toString(sqlReader);
             } catch (IOException e) {
                 throw new UnexpectedLiquibaseException(e);
             }
@@ -208,6 +204,25 @@ public class SQLFileChange extends AbstractSQLChange {
         }
     }
 
+    /**
+     * Opens the file with its encoding, expanding the changelog parameters in it while it is read if doExpandExpressions
+     * is true. Returns null if there is no file.
+     */
+    private Reader openSqlReader(boolean doExpandExpressions) throws IOException {
+        InputStream sqlStream = openSqlStream();
+        if (sqlStream == null) {
+            return null;
+        }
+        Reader reader = StreamUtil.readStreamWithReader(sqlStream, getEncoding());
+        if (doExpandExpressions && getChangeSet() != null) {
+            ChangeLogParameters parameters = getChangeSet().getChangeLogParameters();
+            if (parameters != null) {
+                reader = parameters.expandingReader(reader, getChangeSet().getChangeLog());
+            }
+        }
+        return reader;
+    }
+
     @Override
     public void setSql(String sql) {
         if ((getChangeSet() != null) && (getChangeSet().getChangeLogParameters() != null)) {
@@ -231,16 +246,57 @@ public class SQLFileChange extends AbstractSQLChange {
 
     @Override
     public CheckSum generateCheckSum() {
+        String cacheVariant = getCheckSumCacheVariant();
+        if (cacheVariant != null) {
+            try {
+                return Scope.getCurrentScope().getSingleton(ResourceCheckSumCache.class)
+                        .getCheckSum(getResource(), cacheVariant, this::computeCheckSum);
+            } catch (IOException e) {
+                Scope.getCurrentScope().getLog(getClass()).fine("Cannot resolve sqlFile '" + path + "' for the checksum cache", e);
+            }
+        }
+        return computeCheckSum();
+    }
+
+    /**
+     * Describes the settings besides the file content that the checksum depends on, or returns null if the checksum
+     * cannot be cached because it also depends on the changelog, such as when properties are expanded in the SQL.
+     */
+    private String getCheckSumCacheVariant() {
+        if (path == null || super.getSql() != null) {
+            return null;
+        }
+        if (Scope.getCurrentScope().getChecksumVersion().lowerOrEqualThan(ChecksumVersion.V8)) {
+            if (getChangeSet() != null && getChangeSet().getRunWith() != null) {
+                return null;
+            }
+            return "sqlFile:" + getEndDelimiter() + ":" + isSplitStatements() + ":" + isStripComments();
+        }
+        if (Boolean.TRUE.equals(doExpandExpressionsInGenerateChecksum)) {
+            return null;
+        }
+        return "sqlFile:" + getEncoding() + ":" + GlobalConfiguration.FILE_ENCODING.getCurrentValue();
+    }
+
+    private CheckSum computeCheckSum() {
         ChecksumVersion version = Scope.getCurrentScope().getChecksumVersion();
         if (version.lowerOrEqualThan(ChecksumVersion.V8)) {
             return super.generateCheckSum();
         }
         InputStream stream = null;
         try {
-            String sqlContent = getSql(doExpandExpressionsInGenerateChecksum);
             Charset encoding = GlobalConfiguration.FILE_ENCODING.getCurrentValue();
-            stream = new ByteArrayInputStream(sqlContent.getBytes(encoding));
+            Reader sqlReader = super.getSql() == null ? openSqlReader(doExpandExpressionsInGenerateChecksum) : null;
+            if (sqlReader == null) {
+                String sqlContent = getSql(doExpandExpressionsInGenerateChecksum);
+                stream = new ByteArrayInputStream(sqlContent.getBytes(encoding));
+            } else {
+                // the file is read, expanded and encoded while the checksum is computed
+                stream = ReaderInputStream.builder().setReader(sqlReader).setCharset(encoding).get();
+            }
             return CheckSum.compute(new AbstractSQLChange.NormalizingStream(stream), false);
+        } catch (IOException e) {
+            throw new UnexpectedLiquibaseException(e);
         }
         finally {
             if (stream != null) {
@@ -0,0 +1,130 @@
+package liquibase.changelog;
+
+import liquibase.ChecksumVersion;
+import liquibase.Scope;
+import liquibase.database.Database;
+import liquibase.database.ObjectQuotingStrategy;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.DatabaseException;
+import liquibase.sqlgenerator.core.MarkChangeSetRanGenerator;
+import liquibase.util.StringUtil;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.StringJoiner;
+
+/**
+ * Inserts rows into the databasechangelog table through one reused {@link PreparedStatement}. Rows are collected in a
+ * JDBC batch by {@link #add(ChangeSet, ChangeSet.ExecType, int)} and sent and committed by {@link #flush()}.
+ * <p>
+ * The inserted values are the same as the ones {@link MarkChangeSetRanGenerator} would insert.
+ */
+class ChangeLogHistoryBatch {
+
+    private static final String[] COLUMNS = {"ID", "AUTHOR", "FILENAME", "DATEEXECUTED", "ORDEREXECUTED", "MD5SUM",
+            "DESCRIPTION", "COMMENTS", "EXECTYPE", "CONTEXTS", "LABELS", "LIQUIBASE", "DEPLOYMENT_ID", "TAG"};
+
+    private final Database database;
+    private final PreparedStatement statement;
+    private int pendingRows;
+
+    ChangeLogHistoryBatch(Database database) throws DatabaseException {
+        this.database = database;
+        this.statement = ((JdbcConnection) database.getConnection()).prepareStatement(createSql(database));
+    }
+
+    /**
+     * Adds the row for the given changeset to the batch. Nothing is sent to the database until {@link #flush()}.
+     */
+    void add(ChangeSet changeSet, ChangeSet.ExecType execType, int orderExecuted) throws DatabaseException {
+        try {
+            int index = 1;
+            setString(index++, changeSet.getId());
+            setString(index++, changeSet.getAuthor());
+            setString(index++, changeSet.getFilePath());
+            statement.setInt(index++, orderExecuted);
+            setString(index++, changeSet.generateCheckSum(ChecksumVersion.latest()).toString());
+            setString(index++, StringUtil.limitSize(changeSet.getDescription(), 250));
+            setString(index++, StringUtil.limitSize(StringUtil.trimToEmpty(changeSet.getComments()), 250));
+            setString(index++, execType.value);
+            setString(index++, changeSet.buildFullContext());
+            setString(index++, changeSet.buildFullLabels());
+            setString(index++, MarkChangeSetRanGenerator.getLiquibaseBuildVersion());
+            setString(index++, Scope.getCurrentScope().getDeploymentId());
+            setString(index, MarkChangeSetRanGenerator.getTagFromChangeset(changeSet));
+            statement.addBatch();
+            pendingRows++;
+        } catch (SQLException e) {
+            throw new DatabaseException(e);
+        }
+    }
+
+    /**
+     * Returns the number of rows added since the last {@link #flush()}.
+     */
+    int getPendingRows() {
+        return pendingRows;
+    }
+
+    /**
+     * Sends all pending rows in one batch and commits them. The pending rows are dropped even if that fails.
+     */
+    void flush() throws DatabaseException {
+        if (pendingRows == 0) {
+            return;
+        }
+        try {
+            statement.executeBatch();
+        } catch (SQLException e) {
+            throw new DatabaseException("Error inserting " + pendingRows + " rows into the databasechangelog table: " + e.getMessage(), e);
+        } finally {
+            pendingRows = 0;
+            try {
+                statement.clearBatch();
+            } catch (SQLException e) {
+                Scope.getCurrentScope().getLog(getClass()).fine("Cannot clear batch: " + e.getMessage(), e);
+            }
+        }
+        database.commit();
+    }
+
+    /**
+     * Closes the statement. Rows that were not flushed are lost.
+     */
+    void close() {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            Scope.getCurrentScope().getLog(getClass()).fine("Cannot close statement: " + e.getMessage(), e);
+        }
+    }
+
+    private void setString(int index, String value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.VARCHAR);
+        } else {
+            statement.setString(index, value);
+        }
+    }
+
+    private static String createSql(Database database) {
+        // use LEGACY quoting since we're dealing with system objects
+        ObjectQuotingStrategy currentStrategy = database.getObjectQuotingStrategy();
+        database.setObjectQuotingStrategy(ObjectQuotingStrategy.LEGACY);
+        try {
+            String catalogName = database.getLiquibaseCatalogName();
+            String schemaName = database.getLiquibaseSchemaName();
+            String tableName = database.getDatabaseChangeLogTableName();
+            StringJoiner columns = new StringJoiner(", ");
+            StringJoiner values = new StringJoiner(", ");
+            for (String column : COLUMNS) {
+                columns.add(database.escapeColumnName(catalogName, schemaName, tableName, column));
+                values.add("DATEEXECUTED".equals(column) ? database.getCurrentDateTimeFunction() : "?");
+            }
+            return "INSERT INTO " + database.escapeTableName(catalogName, schemaName, tableName) + " (" + columns + ") VALUES (" + values + ")";
+        } finally {
+            database.setObjectQuotingStrategy(currentStrategy);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package liquibase.changelog;
+
+import liquibase.SingletonObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the last read contents of each databasechangelog table so {@link StandardChangeLogHistoryService} can read only
+ * the rows added since then. Entries are keyed by the connection URL and the schema and table name of the history
+ * table. Only used when {@link liquibase.GlobalConfiguration#INCREMENTAL_HISTORY_READ} is enabled.
+ * <p>
+ * The cache is shared by all services reading the same table, so it keeps its own copies of the rows and only hands
+ * out copies of them.
+ */
+public class ChangeLogHistoryCache implements SingletonObject {
+
+    private final Map<String, CachedHistory> cachedHistories = new ConcurrentHashMap<>();
+
+    private ChangeLogHistoryCache() {
+    }
+
+    /**
+     * Returns the history last stored for the given key, or null if there is none.
+     */
+    public CachedHistory get(String key) {
+        return cachedHistories.get(key);
+    }
+
+    /**
+     * Stores the given rows of the history table, in the order they were read.
+     */
+    public void put(String key, List<RanChangeSet> ranChangeSets) {
+        cachedHistories.put(key, new CachedHistory(ranChangeSets));
+    }
+
+    /**
+     * Forgets the history stored for the given key. Must be called after changes to the history table that
+     * {@link Summary} cannot detect, such as updating a checksum or a tag.
+     */
+    public void invalidate(String key) {
+        if (key != null) {
+            cachedHistories.remove(key);
+        }
+    }
+
+    /**
+     * Forgets all stored histories.
+     */
+    public void clear() {
+        cachedHistories.clear();
+    }
+
+    private static List<RanChangeSet> copy(List<RanChangeSet> ranChangeSets) {
+        List<RanChangeSet> copies = new ArrayList<>(ranChangeSets.size());
+        for (RanChangeSet ranChangeSet : ranChangeSets) {
+            copies.add(new RanChangeSet(ranChangeSet));
+        }
+        return copies;
+    }
+
+    /**
+     * The rows of a history table together with the {@link Summary} they produce.
+     */
+    public static class CachedHistory {
+        private final List<RanChangeSet> ranChangeSets;
+        private final Summary summary;
+
+        private CachedHistory(List<RanChangeSet> ranChangeSets) {
+            this.ranChangeSets = Collections.unmodifiableList(copy(ranChangeSets));
+            this.summary = Summary.of(this.ranChangeSets);
+        }
+
+        /**
+         * Returns copies of the cached rows, which can be changed without changing the cache.
+         */
+        public List<RanChangeSet> getRanChangeSets() {
+            return copy(ranChangeSets);
+        }
+
+        public Summary getSummary() {
+            return summary;
+        }
+
+        /**
+         * Returns copies of the cached rows followed by the given newer rows, or null if the newer rows would not sort
+         * after the cached ones, in which case the history has to be read again.
+         */
+        public List<RanChangeSet> append(List<RanChangeSet> newerRanChangeSets) {
+            if (!newerRanChangeSets.isEmpty() && !ranChangeSets.isEmpty()) {
+                RanChangeSet last = ranChangeSets.get(ranChangeSets.size() - 1);
+                RanChangeSet first = newerRanChangeSets.get(0);
+                if (last.getDateExecuted() == null || first.getDateExecuted() == null
+                        || first.getDateExecuted().before(last.getDateExecuted())) {
+                    return null;
+                }
+            }
+            List<RanChangeSet> merged = new ArrayList<>(ranChangeSets.size() + newerRanChangeSets.size());
+            merged.addAll(copy(ranChangeSets));
+            merged.addAll(newerRanChangeSets);
+            return merged;
+        }
+    }
+
+    /**
+     * Cheap to query aggregates over a history table. When the aggregates of the table still match the ones of the
+     * cached rows, rows were neither removed nor re-executed and no tags or checksums were set or cleared.
+     */
+    public static class Summary {
+        private final int rowCount;
+        private final Integer maxOrderExecuted;
+        private final int tagCount;
+        private final int checkSumCount;
+
+        public Summary(int rowCount, Integer maxOrderExecuted, int tagCount, int checkSumCount) {
+            this.rowCount = rowCount;
+            this.maxOrderExecuted = maxOrderExecuted;
+            this.tagCount = tagCount;
+            this.checkSumCount = checkSumCount;
+        }
+
+        public static Summary of(List<RanChangeSet> ranChangeSets) {
+            Integer maxOrderExecuted = null;
+            int tagCount = 0;
+            int checkSumCount = 0;
+            for (RanChangeSet ranChangeSet : ranChangeSets) {
+                Integer orderExecuted = ranChangeSet.getOrderExecuted();
+                if (orderExecuted != null && (maxOrderExecuted == null || orderExecuted > maxOrderExecuted)) {
+                    maxOrderExecuted = orderExecuted;
+                }
+                if (ranChangeSet.getTag() != null) {
+                    tagCount++;
+                }
+                if (ranChangeSet.getLastCheckSum() != null) {
+                    checkSumCount++;
+                }
+            }
+            return new Summary(ranChangeSets.size(), maxOrderExecuted, tagCount, checkSumCount);
+        }
+
+        public int getRowCount() {
+            return rowCount;
+        }
+
+        public Integer getMaxOrderExecuted() {
+            return maxOrderExecuted;
+        }
+
+        public int getTagCount() {
+            return tagCount;
+        }
+
+        public int getCheckSumCount() {
+            return checkSumCount;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Summary)) {
+                return false;
+            }
+            Summary summary = (Summary) o;
+            return rowCount == summary.rowCount && tagCount == summary.tagCount && checkSumCount == summary.checkSumCount
+                    && Objects.equals(maxOrderExecuted, summary.maxOrderExecuted);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(rowCount, maxOrderExecuted, tagCount, checkSumCount);
+        }
+
+        @Override
+        public String toString() {
+            return "rows=" + rowCount + ", maxOrderExecuted=" + maxOrderExecuted + ", tags=" + tagCount + ", checksums=" + checkSumCount;
+        }
+    }
+}
@@ -94,33 +94,42 @@ public class ChangeLogIterator {
                 if (visitor.getDirection().equals(ChangeSetVisitor.Direction.REVERSE)) {
                     Collections.reverse(changeSetList);
                 }
+                // reused for every changeset, a scope is only created for changesets passed to the visitor
+                List<ChangeSetFilterResult> acceptedResults = new ArrayList<>();
+                Map<String, Object> scopeValues = new HashMap<>();
+                scopeValues.put(Scope.Attr.database.name(), env.getTargetDatabase());
                 for (int i = 0; i < changeSetList.size(); i++) {
                     ChangeSet changeSet = changeSetList.get(i);
-                    boolean shouldVisit = true;
-                    Set<ChangeSetFilterResult> reasonsAccepted = new HashSet<>();
-                    Set<ChangeSetFilterResult> reasonsDenied = new HashSet<>();
+                    acceptedResults.clear();
+                    ChangeSetFilterResult deniedResult = null;
                     if (changeSetFilters != null) {
                         for (ChangeSetFilter filter : changeSetFilters) {
                             ChangeSetFilterResult acceptsResult = filter.accepts(changeSet);
                             if (acceptsResult.isAccepted()) {
-                                reasonsAccepted.add(acceptsResult);
+                                acceptedResults.add(acceptsResult);
                             } else {
-                                shouldVisit = false;
-                                reasonsDenied.add(acceptsResult);
+                                deniedResult = acceptsResult;
                                 break;
                             }
                         }
                     }
 
-                    boolean finalShouldVisit = shouldVisit;
+                    boolean visit = deniedResult == null && !alreadySaw(changeSet);
+                    if (!visit && !(visitor instanceof SkippedChangeSetVisitor)) {
+                        continue;
+                    }
 
-                    Map<String, Object> scopeValues = new HashMap<>();
                     scopeValues.put(Scope.Attr.changeSet.name(), changeSet);
-                    scopeValues.put(Scope.Attr.database.name(), env.getTargetDatabase());
+                    Set<ChangeSetFilterResult> reasons = new HashSet<>();
+                    if (visit) {
+                        reasons.addAll(acceptedResults);
+                    } else if (deniedResult != null) {
+                        reasons.add(deniedResult);
+                    }
 
                     int finalI = i;
                     Scope.child(scopeValues, () -> {
-                        if (finalShouldVisit && !alreadySaw(changeSet)) {
+                        if (visit) {
                             //
                             // Go validate any changesets with an Executor if
                             // we are using a ValidatingVisitor
@@ -130,7 +139,7 @@ public class ChangeLogIterator {
                             }
 
                             try {
-                                visitor.visit(changeSet, databaseChangeLog, env.getTargetDatabase(), reasonsAccepted);
+                                visitor.visit(changeSet, databaseChangeLog, env.getTargetDatabase(), reasons);
                                 if (visitor instanceof UpdateVisitor &&
                                     ChangeSet.ExecType.FAILED.equals(changeSet.getExecType()) &&
                                     BooleanUtils.isFalse(changeSet.getFailOnError())) {
@@ -144,9 +153,7 @@ public class ChangeLogIterator {
                             }
                             markSeen(changeSet);
                         } else {
-                            if (visitor instanceof SkippedChangeSetVisitor) {
-                                ((SkippedChangeSetVisitor) visitor).skipped(changeSet, databaseChangeLog, env.getTargetDatabase(), reasonsDenied);
-                            }
+                            ((SkippedChangeSetVisitor) visitor).skipped(changeSet, databaseChangeLog, env.getTargetDatabase(), reasons);
                         }
                     });
                 }
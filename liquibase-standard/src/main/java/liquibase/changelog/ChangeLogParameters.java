@@ -17,6 +17,7 @@ import lombok.Getter;
 import org.apache.commons.collections4.IterableUtils;
 import org.apache.commons.lang3.stream.Streams;
 
+import java.io.Reader;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -292,6 +293,15 @@ public class ChangeLogParameters {
         return expressionExpander.expandExpressions(string, changeLog);
     }
 
+    /**
+     * Returns a reader that expands the expressions in the text of the given reader like
+     * {@link #expandExpressions(String, DatabaseChangeLog)} while it is read, so large files do not need to be held in
+     * memory. An {@link UnknownChangeLogParameterException} is thrown from the read call that reaches the expression.
+     */
+    public Reader expandingReader(Reader reader, DatabaseChangeLog changeLog) {
+        return expressionExpander.expandingReader(reader, changeLog);
+    }
+
     /**
      * Gets the contexts to filter calls to {@link #getValue(String, DatabaseChangeLog)} etc. with.
      */
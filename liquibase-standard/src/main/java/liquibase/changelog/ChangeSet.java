@@ -23,6 +23,8 @@ import liquibase.executor.LoggingExecutor;
 import liquibase.logging.Logger;
 import liquibase.logging.mdc.MdcKey;
 import liquibase.logging.mdc.customobjects.RollbackSqlFile;
+import liquibase.metrics.MetricTimer;
+import liquibase.metrics.MetricsService;
 import liquibase.parser.ChangeLogParserConfiguration;
 import liquibase.parser.core.ParsedNode;
 import liquibase.parser.core.ParsedNodeException;
@@ -31,6 +33,7 @@ import liquibase.precondition.ErrorPrecondition;
 import liquibase.precondition.FailedPrecondition;
 import liquibase.precondition.core.PreconditionContainer;
 import liquibase.resource.ResourceAccessor;
+import liquibase.snapshot.PreconditionMetadataCache;
 import liquibase.sql.visitor.SqlVisitor;
 import liquibase.sql.visitor.SqlVisitorFactory;
 import liquibase.statement.SqlStatement;
@@ -747,6 +750,8 @@ public class ChangeSet implements Conditional, ChangeLogChild {
         boolean skipChange = false;
 
         Executor originalExecutor = setupCustomExecutorIfNecessary(database);
+        // started only once nothing can fail before the finally block that stops it
+        MetricTimer metricTimer = getCurrentScope().getSingleton(MetricsService.class).startChangeSet(this);
         try {
             Executor executor = getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", database);
             // set object quoting strategy
@@ -861,6 +866,7 @@ public class ChangeSet implements Conditional, ChangeLogChild {
                         String sql = addSqlMdc(change, database, false);
                         this.getGeneratedSql().add(sql);
 
+                        invalidatePreconditionMetadata(change, database);
                         database.executeStatements(change, databaseChangeLog, sqlVisitors);
                         log.info(change.getConfirmationMessage());
                         if (listener != null) {
@@ -883,6 +889,7 @@ public class ChangeSet implements Conditional, ChangeLogChild {
 
                 setStopTime();
                 getCurrentScope().addMdcValue(MdcKey.CHANGESET_OPERATION_STOP_TIME, stopInstant.toString());
+                getCurrentScope().addMdcValue(MdcKey.CHANGESET_OPERATION_DURATION, String.valueOf(getExecutionMilliseconds()));
                 getCurrentScope().addMdcValue(MdcKey.CHANGESET_OUTCOME, execType.value.toLowerCase());
                 if (execType != ExecType.SKIPPED) {
                     log.info("ChangeSet " + toString(false) + " ran successfully in " + getExecutionMilliseconds() + "ms");
@@ -896,7 +903,9 @@ public class ChangeSet implements Conditional, ChangeLogChild {
         } catch (Exception e) {
             setStopTime();
             getCurrentScope().addMdcValue(MdcKey.CHANGESET_OPERATION_STOP_TIME, stopInstant.toString());
+            getCurrentScope().addMdcValue(MdcKey.CHANGESET_OPERATION_DURATION, String.valueOf(getExecutionMilliseconds()));
             getCurrentScope().addMdcValue(MdcKey.CHANGESET_OUTCOME, ExecType.FAILED.value.toLowerCase());
+            metricTimer.failed();
             // Drop the throwable: (1) this catch block rethrows, so attaching the exception here
             // would report the same failure twice (once here, once at the rethrow site);
             // (2) Logback appends the full stack trace to any log record carrying a Throwable
@@ -940,10 +949,27 @@ public class ChangeSet implements Conditional, ChangeLogChild {
                     getCurrentScope().getLog(getClass()).warning("Could not resetInternalState autocommit", e);
                 }
             }
+            metricTimer.stop();
         }
         return execType;
     }
 
+    /**
+     * Tells the precondition metadata cache of the running update, if there is one, that the given change is about to
+     * run. A null change, or SQL visitors that may rewrite what the change does, make it drop everything it knows.
+     */
+    private void invalidatePreconditionMetadata(Change change, Database database) {
+        PreconditionMetadataCache preconditionMetadataCache = getCurrentScope().get(PreconditionMetadataCache.SCOPE_KEY, PreconditionMetadataCache.class);
+        if (preconditionMetadataCache == null) {
+            return;
+        }
+        if (change == null || !sqlVisitors.isEmpty()) {
+            preconditionMetadataCache.clear();
+        } else {
+            preconditionMetadataCache.changeExecuting(change, database);
+        }
+    }
+
     private void setStartTime() {
         startInstant = Instant.now();
         operationStartTime = Date.from(startInstant);
@@ -1018,6 +1044,7 @@ public class ChangeSet implements Conditional, ChangeLogChild {
         try {
             Executor executor = getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", database);
             executor.comment("Rolling Back ChangeSet: " + this);
+            invalidatePreconditionMetadata(null, database);
 
             database.setObjectQuotingStrategy(objectQuotingStrategy);
 
@@ -1745,6 +1772,14 @@ public class ChangeSet implements Conditional, ChangeLogChild {
             return null;
         }
 
+        //
+        // Streamed changes never hold all their statements in memory, so don't generate them just for the MDC
+        //
+        if (!generateRollbackStatements && (change instanceof ChangeWithStreamingStatements) &&
+                ((ChangeWithStreamingStatements) change).supportsStatementStreaming(database)) {
+            return null;
+        }
+
         AtomicReference<SqlStatement[]> statementsReference = new AtomicReference<>();
         Map<String, Object> scopeValues = new HashMap<>();
         scopeValues.put(Change.SHOULD_EXECUTE, Boolean.FALSE);
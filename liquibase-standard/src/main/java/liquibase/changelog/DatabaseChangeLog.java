@@ -1,8 +1,10 @@
 package liquibase.changelog;
 
 import liquibase.*;
+import liquibase.change.ResourceCheckSumCache;
 import liquibase.change.visitor.ChangeVisitor;
 import liquibase.change.visitor.ChangeVisitorFactory;
+import liquibase.changelog.filter.ChangeSetFilter;
 import liquibase.changelog.filter.ContextChangeSetFilter;
 import liquibase.changelog.filter.DbmsChangeSetFilter;
 import liquibase.changelog.filter.LabelChangeSetFilter;
@@ -20,9 +22,13 @@ import liquibase.logging.mdc.MdcKey;
 import liquibase.logging.mdc.MdcValue;
 import liquibase.logging.mdc.customobjects.DuplicateChangesets;
 import liquibase.logging.mdc.customobjects.MdcChangeset;
+import liquibase.metrics.MetricTimer;
+import liquibase.metrics.MetricType;
+import liquibase.metrics.MetricsService;
 import liquibase.parser.ChangeLogParser;
 import liquibase.parser.ChangeLogParserConfiguration;
 import liquibase.parser.ChangeLogParserFactory;
+import liquibase.parser.ParsedChangeLogCache;
 import liquibase.parser.core.ParsedNode;
 import liquibase.parser.core.ParsedNodeException;
 import liquibase.parser.core.ParserSupportedFileExtension;
@@ -366,18 +372,20 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
 
         database.setObjectQuotingStrategy(objectQuotingStrategy);
 
-        ChangeLogIterator logIterator = new ChangeLogIterator(
-                this,
+        List<ChangeSetFilter> changeSetFilters = Arrays.asList(
                 new DbmsChangeSetFilter(database),
                 new ContextChangeSetFilter(contexts),
                 new LabelChangeSetFilter(labelExpression)
         );
+        ChangeLogIterator logIterator = new ChangeLogIterator(this, changeSetFilters.toArray(new ChangeSetFilter[0]));
 
         ValidatingVisitorGeneratorFactory validatingVisitorGeneratorFactory = Scope.getCurrentScope().getSingleton(ValidatingVisitorGeneratorFactory.class);
         ValidatingVisitorGenerator generator = validatingVisitorGeneratorFactory.getValidatingVisitorGenerator();
         ValidatingVisitor validatingVisitor = generator.generateValidatingVisitor(database.getRanChangeSetList());
         validatingVisitor.validate(database, this);
+        validatingVisitor.precomputeCheckSums(this, database, changeSetFilters);
         logIterator.run(validatingVisitor, new RuntimeEnvironment(database, contexts, labelExpression));
+        Scope.getCurrentScope().getSingleton(ResourceCheckSumCache.class).save();
 
         final Logger log = Scope.getCurrentScope().getLog(getClass());
         for (String message : validatingVisitor.getWarnings().getMessages()) {
@@ -430,6 +438,7 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
         if (nodeObjectQuotingStrategy != null) {
             setObjectQuotingStrategy(ObjectQuotingStrategy.valueOf(nodeObjectQuotingStrategy));
         }
+        readIncludesAhead(parsedNode.getChildren(), resourceAccessor);
         for (ParsedNode childNode : parsedNode.getChildren()) {
             if (childNode.getName().equals((new ChangeSet(null)).getSerializedObjectName())) {
                 this.currentlyLoadedChangeSetNode = childNode;
@@ -439,6 +448,41 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
         this.currentlyLoadedChangeSetNode = null;
     }
 
+    /**
+     * With {@link ChangeLogParserConfiguration#INCLUDE_PARSE_THREADS} above 1, reads the files of the given include
+     * nodes ahead of time. They are still loaded one after the other when the nodes are handled, so earlier nodes can
+     * define properties used in later ones. Includes with a path depending on changelog parameters are not read ahead.
+     */
+    private void readIncludesAhead(List<ParsedNode> nodes, ResourceAccessor resourceAccessor) {
+        int threads = ChangeLogParserConfiguration.INCLUDE_PARSE_THREADS.getCurrentValue();
+        if (threads <= 1) {
+            return;
+        }
+        List<String> paths = new ArrayList<>();
+        for (ParsedNode node : nodes) {
+            if (!INCLUDE_CHANGELOG.equals(node.getName())) {
+                continue;
+            }
+            try {
+                String path = node.getChildValue(null, FILE, String.class);
+                if (path == null || path.contains("${")) {
+                    continue;
+                }
+                path = path.replace('\\', '/');
+                boolean relativeToChangelogFile = node.getChildValue(null, RELATIVE_TO_CHANGELOG_FILE, false);
+                requireRelativeChangelogPathOrThrow(path, relativeToChangelogFile, INCLUDE_CHANGELOG);
+                if (relativeToChangelogFile) {
+                    path = resourceAccessor.get(this.getPhysicalFilePath()).resolveSibling(path).getPath();
+                    path = normalizePath(normalizePathViaPaths(path, false));
+                }
+                paths.add(path);
+            } catch (Exception e) {
+                // the include reports this when it is handled
+            }
+        }
+        Scope.getCurrentScope().getSingleton(ParsedChangeLogCache.class).readAhead(paths, resourceAccessor, threads);
+    }
+
     protected void expandExpressions(ParsedNode parsedNode) throws UnknownChangeLogParameterException {
         if (changeLogParameters == null) {
             return;
@@ -910,6 +954,11 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
             throw new SetupException(
                     "Could not find directory or directory was empty for includeAll '" + pathName + "'");
         }
+        int threads = ChangeLogParserConfiguration.INCLUDE_PARSE_THREADS.getCurrentValue();
+        if (threads > 1) {
+            List<String> paths = resources.stream().map(Resource::getPath).collect(Collectors.toList());
+            Scope.getCurrentScope().getSingleton(ParsedChangeLogCache.class).readAhead(paths, resourceAccessor, threads);
+        }
         try {
             Set<String> seenChangelogPaths = Scope.getCurrentScope().get(SEEN_CHANGELOGS_PATHS_SCOPE_KEY, new HashSet<>());
             Scope.child(Collections.singletonMap(SEEN_CHANGELOGS_PATHS_SCOPE_KEY, seenChangelogPaths), () -> {
@@ -1166,13 +1215,21 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
                 }
                 parser = ChangeLogParserFactory.getInstance().getParser(normalizedFilePath, resourceAccessor);
 
-                if (modifyChangeSets != null) {
-                    // Some parser need to know it's not a top level changelog, in modifyChangeSets flow 'runWith' attributes are added later on
-                    ChangeLogParser finalParser = parser;
-                    changeLog = Scope.child(Collections.singletonMap(MODIFY_CHANGE_SETS, true),
-                            () -> finalParser.parse(normalizedFilePath, changeLogParameters, resourceAccessor));
-                } else {
-                    changeLog = parser.parse(normalizedFilePath, changeLogParameters, resourceAccessor);
+                MetricTimer metricTimer = Scope.getCurrentScope().getSingleton(MetricsService.class).start(MetricType.CHANGELOG_PARSE, normalizedFilePath);
+                try {
+                    if (modifyChangeSets != null) {
+                        // Some parser need to know it's not a top level changelog, in modifyChangeSets flow 'runWith' attributes are added later on
+                        ChangeLogParser finalParser = parser;
+                        changeLog = Scope.child(Collections.singletonMap(MODIFY_CHANGE_SETS, true),
+                                () -> finalParser.parse(normalizedFilePath, changeLogParameters, resourceAccessor));
+                    } else {
+                        changeLog = parser.parse(normalizedFilePath, changeLogParameters, resourceAccessor);
+                    }
+                } catch (Exception e) {
+                    metricTimer.failed();
+                    throw e;
+                } finally {
+                    metricTimer.stop();
                 }
                 changeLog.setIncludeContextFilter(includeContextFilter);
                 changeLog.setIncludeLabels(labels);
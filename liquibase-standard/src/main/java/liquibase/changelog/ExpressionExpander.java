@@ -7,7 +7,9 @@ import liquibase.logging.mdc.MdcKey;
 import liquibase.parser.ChangeLogParserConfiguration;
 
 import java.io.IOException;
+import java.io.Reader;
 import java.io.StringReader;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -42,38 +44,7 @@ class ExpressionExpander {
                     reader.mark(1);
                     if (reader.read() == '{') {
                         String paramExpression = expandExpressions(reader, changeLog, true);
-
-                        Object paramValue;
-                        if (paramExpression.startsWith("${")) {
-                            paramValue = paramExpression; //was not actually a valid expression
-                        } else if (paramExpression.startsWith(":") && enableEscaping) {
-                            paramValue = "${" + paramExpression.substring(1).trim() + "}";
-                        } else {
-                            paramValue = parameters.getValue(paramExpression.trim(), changeLog);
-
-                            if (paramValue == null) {
-                                final ChangeLogParserConfiguration.MissingPropertyMode missingPropertyMode = ChangeLogParserConfiguration.MISSING_PROPERTY_MODE.getCurrentValue();
-                                switch (missingPropertyMode) {
-                                    case EMPTY:
-                                        paramValue = "";
-                                        break;
-                                    case ERROR:
-                                        throw new UnknownChangeLogParameterException("Could not resolve expression `${" + paramExpression + "}` in file " + changeLog.getPhysicalFilePath());
-                                    case PRESERVE:
-                                        paramValue = "${" + paramExpression + "}";
-                                        break;
-                                    default:
-                                        throw new UnexpectedLiquibaseException("Unknown MissingPropertyMode: " + missingPropertyMode);
-                                }
-                            } else {
-                                if (paramValue instanceof String) {
-                                    paramValue = expandExpressions((String) paramValue, changeLog);
-                                    expandedParameters.put(paramExpression, String.valueOf(paramValue));
-                                }
-                            }
-                        }
-
-                        stringBuilder.append(paramValue);
+                        stringBuilder.append(resolve(paramExpression, changeLog));
                     } else {
                         stringBuilder.append("$");
                         reader.reset();
@@ -102,4 +73,165 @@ class ExpressionExpander {
             return stringBuilder.toString();
         }
     }
+
+    /**
+     * Returns a reader over the text of the given reader with the expressions expanded like
+     * {@link #expandExpressions(String, DatabaseChangeLog)} does. Only the expression being expanded is held in memory.
+     */
+    public Reader expandingReader(Reader reader, DatabaseChangeLog changeLog) {
+        return new ExpandingReader(reader, changeLog);
+    }
+
+    /**
+     * Returns the value of the given expression, the text between `${` and `}` with the expressions within it expanded.
+     */
+    private Object resolve(String paramExpression, DatabaseChangeLog changeLog) throws UnknownChangeLogParameterException {
+        Object paramValue;
+        if (paramExpression.startsWith("${")) {
+            paramValue = paramExpression; //was not actually a valid expression
+        } else if (paramExpression.startsWith(":") && enableEscaping) {
+            paramValue = "${" + paramExpression.substring(1).trim() + "}";
+        } else {
+            paramValue = parameters.getValue(paramExpression.trim(), changeLog);
+
+            if (paramValue == null) {
+                final ChangeLogParserConfiguration.MissingPropertyMode missingPropertyMode = ChangeLogParserConfiguration.MISSING_PROPERTY_MODE.getCurrentValue();
+                switch (missingPropertyMode) {
+                    case EMPTY:
+                        paramValue = "";
+                        break;
+                    case ERROR:
+                        throw new UnknownChangeLogParameterException("Could not resolve expression `${" + paramExpression + "}` in file " + changeLog.getPhysicalFilePath());
+                    case PRESERVE:
+                        paramValue = "${" + paramExpression + "}";
+                        break;
+                    default:
+                        throw new UnexpectedLiquibaseException("Unknown MissingPropertyMode: " + missingPropertyMode);
+                }
+            } else {
+                if (paramValue instanceof String) {
+                    paramValue = expandExpressions((String) paramValue, changeLog);
+                    expandedParameters.put(paramExpression, String.valueOf(paramValue));
+                }
+            }
+        }
+        return paramValue;
+    }
+
+    /**
+     * Expands expressions while the text is read. Text outside of expressions is passed on as it is read, an expression
+     * is collected until its closing `}` and replaced by its value. The value of each expression is only looked up once.
+     */
+    private class ExpandingReader extends Reader {
+        private final Reader reader;
+        private final DatabaseChangeLog changeLog;
+        private final Map<String, String> values = new HashMap<>();
+        private final char[] buffer = new char[8192];
+        private int position;
+        private int limit;
+        private String pending;
+        private int pendingPosition;
+        private boolean finished;
+
+        ExpandingReader(Reader reader, DatabaseChangeLog changeLog) {
+            this.reader = reader;
+            this.changeLog = changeLog;
+        }
+
+        @Override
+        public int read(char[] target, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            while (true) {
+                if (pending != null) {
+                    int count = Math.min(length, pending.length() - pendingPosition);
+                    pending.getChars(pendingPosition, pendingPosition + count, target, offset);
+                    pendingPosition += count;
+                    if (pendingPosition == pending.length()) {
+                        pending = null;
+                    }
+                    return count;
+                }
+                if (!fill()) {
+                    if (!finished) {
+                        finished = true;
+                        if (!expandedParameters.isEmpty()) {
+                            Scope.getCurrentScope().addMdcValue(MdcKey.CHANGELOG_PROPERTIES, expandedParameters);
+                        }
+                    }
+                    return -1;
+                }
+                int count = 0;
+                while (count < length && position < limit && buffer[position] != '$') {
+                    target[offset + count++] = buffer[position++];
+                }
+                if (count > 0) {
+                    return count;
+                }
+
+                position++;
+                if (peek() != '{') {
+                    target[offset] = '$';
+                    return 1;
+                }
+                position++;
+                pending = valueOf(readExpression());
+                pendingPosition = 0;
+                if (pending.isEmpty()) {
+                    pending = null;
+                }
+            }
+        }
+
+        /**
+         * Reads the rest of an expression after its `${`, expanding the expressions nested in it.
+         */
+        private String readExpression() throws IOException {
+            StringBuilder expression = new StringBuilder();
+            while (fill()) {
+                char next = buffer[position++];
+                if (next == '$' && peek() == '{') {
+                    position++;
+                    expression.append(valueOf(readExpression()));
+                } else if (next == '}') {
+                    return expression.toString();
+                } else {
+                    expression.append(next);
+                }
+            }
+            //never got to the trailing `}`, return the string as-is
+            return "${" + expression;
+        }
+
+        private String valueOf(String paramExpression) {
+            String value = values.get(paramExpression);
+            if (value == null) {
+                value = String.valueOf(resolve(paramExpression, changeLog));
+                values.put(paramExpression, value);
+            }
+            return value;
+        }
+
+        private int peek() throws IOException {
+            return fill() ? buffer[position] : -1;
+        }
+
+        private boolean fill() throws IOException {
+            while (position == limit) {
+                int read = reader.read(buffer, 0, buffer.length);
+                if (read < 0) {
+                    return false;
+                }
+                position = 0;
+                limit = read;
+            }
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
 }
@@ -23,10 +23,16 @@ import liquibase.util.csv.CSVWriter;
 
 import java.io.*;
 import java.nio.file.Files;
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.List;
-
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * {@link ChangeLogHistoryService} for {@link OfflineConnection}s, which keeps the history in a CSV file.
+ * <p>
+ * By default every change to the history rewrites the whole file. In {@link #isAppendOnly() append-only mode} the
+ * history is read once and each change is appended as one entry to a journal file next to it instead. The journal is
+ * compacted into the CSV file on {@link #reset()}, or on the next run if it was left behind.
+ */
 @LiquibaseService(skip = true)
 @SuppressWarnings("java:S899")
 public class OfflineChangeLogHistoryService extends AbstractChangeLogHistoryService {
@@ -39,6 +45,22 @@ public class OfflineChangeLogHistoryService extends AbstractChangeLogHistoryServ
     private boolean executeDdlAgainstDatabase = true;
 
     private Integer lastChangeSetSequenceValue;
+
+    private boolean appendOnly;
+    private final File journalFile;
+    /**
+     * The current history in append-only mode, with the journal applied. Null until first used.
+     */
+    private List<String[]> history;
+    private Map<List<String>, List<String[]>> historyByChangeSet;
+    private CSVWriter journalWriter;
+
+    private enum JournalEntry {
+        APPEND,
+        REPLACE,
+        REMOVE,
+    }
+
     private enum Columns {
         ID,
         AUTHOR,
@@ -63,6 +85,7 @@ public class OfflineChangeLogHistoryService extends AbstractChangeLogHistoryServ
 
         changeLogFile = changeLogFile.getAbsoluteFile();
         this.changeLogFile = changeLogFile;
+        this.journalFile = new File(changeLogFile.getParentFile(), changeLogFile.getName() + ".journal");
     }
 
     @Override
@@ -91,10 +114,25 @@ public class OfflineChangeLogHistoryService extends AbstractChangeLogHistoryServ
         this.executeDdlAgainstDatabase = executeDdlAgainstDatabase;
     }
 
+    /**
+     * If true, changes to the history are appended to a journal file and only written to the CSV file on
+     * {@link #reset()}, instead of rewriting the CSV file for every changeset.
+     */
+    public boolean isAppendOnly() {
+        return appendOnly;
+    }
+
+    public void setAppendOnly(boolean appendOnly) {
+        this.appendOnly = appendOnly;
+    }
 
     @Override
     public void reset() {
-        // nothing to do.
+        try {
+            compactJournal();
+        } catch (DatabaseException e) {
+            throw new UnexpectedLiquibaseException(e);
+        }
     }
 
     @Override
@@ -113,6 +151,9 @@ public class OfflineChangeLogHistoryService extends AbstractChangeLogHistoryServ
             } catch (Exception e) {
                 throw new UnexpectedLiquibaseException(e);
             }
+        } else if (journalFile.exists()) {
+            // left behind by an append-only run that did not finish
+            compactJournal();
         }
 
     }
@@ -145,6 +186,19 @@ public class OfflineChangeLogHistoryService extends AbstractChangeLogHistoryServ
 
     @Override
     public List<RanChangeSet> getRanChangeSets() throws DatabaseException {
+        if (isAppendOnly()) {
+            List<RanChangeSet> returnList = new ArrayList<>();
+            try {
+                for (String[] line : getHistory()) {
+                    returnList.add(toRanChangeSet(line));
+                }
+            } catch (DatabaseException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new DatabaseException(e);
+            }
+            return returnList;
+        }
         try (
                 Reader reader = new InputStreamReader(Files.newInputStream(this.changeLogFile.toPath()), GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue())
         )
@@ -162,33 +216,7 @@ public class OfflineChangeLogHistoryService extends AbstractChangeLogHistoryServ
 
             List<RanChangeSet> returnList = new ArrayList<>();
             while ((line = csvReader.readNext()) != null) {
-                ContextExpression contexts = new ContextExpression();
-                if (line.length > Columns.CONTEXTS.ordinal()) {
-                    contexts = new ContextExpression(line[Columns.CONTEXTS.ordinal()]);
-                }
-                Labels labels = new Labels();
-                if (line.length > Columns.LABELS.ordinal()) {
-                    labels = new Labels(line[Columns.LABELS.ordinal()]);
-                }
-
-                String deploymentId = null;
-                if (line.length > Columns.DEPLOYMENT_ID.ordinal()) {
-                    deploymentId = line[Columns.DEPLOYMENT_ID.ordinal()];
-                }
-
-                returnList.add(new RanChangeSet(
-                        line[Columns.FILENAME.ordinal()],
-                        line[Columns.ID.ordinal()],
-                        line[Columns.AUTHOR.ordinal()],
-                        CheckSum.parse(line[Columns.MD5SUM.ordinal()]),
-                        new ISODateFormat().parse(line[Columns.DATEEXECUTED.ordinal()]),
-                        line[Columns.TAG.ordinal()],
-                        ChangeSet.ExecType.valueOf(line[Columns.EXECTYPE.ordinal()]),
-                        line[Columns.DESCRIPTION.ordinal()],
-                        line[Columns.COMMENTS.ordinal()],
-                        contexts,
-                        labels,
-                        deploymentId));
+                returnList.add(toRanChangeSet(line));
             }
 
             return returnList;
@@ -197,7 +225,45 @@ public class OfflineChangeLogHistoryService extends AbstractChangeLogHistoryServ
         }
     }
 
+    private RanChangeSet toRanChangeSet(String[] line) throws Exception {
+        ContextExpression contexts = new ContextExpression();
+        if (line.length > Columns.CONTEXTS.ordinal()) {
+            contexts = new ContextExpression(line[Columns.CONTEXTS.ordinal()]);
+        }
+        Labels labels = new Labels();
+        if (line.length > Columns.LABELS.ordinal()) {
+            labels = new Labels(line[Columns.LABELS.ordinal()]);
+        }
+
+        String deploymentId = null;
+        if (line.length > Columns.DEPLOYMENT_ID.ordinal()) {
+            deploymentId = line[Columns.DEPLOYMENT_ID.ordinal()];
+        }
+
+        return new RanChangeSet(
+                line[Columns.FILENAME.ordinal()],
+                line[Columns.ID.ordinal()],
+                line[Columns.AUTHOR.ordinal()],
+                CheckSum.parse(line[Columns.MD5SUM.ordinal()]),
+                new ISODateFormat().parse(line[Columns.DATEEXECUTED.ordinal()]),
+                line[Columns.TAG.ordinal()],
+                ChangeSet.ExecType.valueOf(line[Columns.EXECTYPE.ordinal()]),
+                line[Columns.DESCRIPTION.ordinal()],
+                line[Columns.COMMENTS.ordinal()],
+                contexts,
+                labels,
+                deploymentId);
+    }
+
     protected void replaceChangeSet(ChangeSet changeSet, ReplaceChangeSetLogic replaceLogic) throws DatabaseException {
+        if (isAppendOnly()) {
+            if (changeSet != null) {
+                replaceInHistory(changeSet, replaceLogic);
+                return;
+            }
+            // changes to every line are rare, so just write the journal out and rewrite the file as usual
+            compactJournal();
+        }
         File oldFile = this.changeLogFile;
         File newFile = new File(oldFile.getParentFile(), oldFile.getName()+".new");
 
@@ -226,6 +292,17 @@ public class OfflineChangeLogHistoryService extends AbstractChangeLogHistoryServ
     }
 
     protected void appendChangeSet(ChangeSet changeSet, ChangeSet.ExecType execType) throws DatabaseException {
+        if (isAppendOnly()) {
+            String[] newLine;
+            try {
+                newLine = createLine(changeSet, execType);
+            } catch (Exception e) {
+                throw new DatabaseException(e);
+            }
+            addToHistory(newLine);
+            writeJournal(JournalEntry.APPEND, newLine);
+            return;
+        }
         File oldFile = this.changeLogFile;
         File newFile = new File(oldFile.getParentFile(), oldFile.getName()+".new");
 
@@ -241,40 +318,227 @@ public class OfflineChangeLogHistoryService extends AbstractChangeLogHistoryServ
                 csvWriter.writeNext(line);
             }
 
-            String tag = "";
-            for (Change change : changeSet.getChanges()) {
-                if (change instanceof TagDatabaseChange) {
-                    TagDatabaseChange tagChange = (TagDatabaseChange) change;
-                    tag = tagChange.getTag();
+            csvWriter.writeNext(createLine(changeSet, execType));
+
+        } catch (Exception e) {
+            throw new DatabaseException(e);
+        }
+
+        oldFile.delete();
+        newFile.renameTo(oldFile);
+    }
+
+    private String[] createLine(ChangeSet changeSet, ChangeSet.ExecType execType) throws LiquibaseException {
+        String tag = "";
+        for (Change change : changeSet.getChanges()) {
+            if (change instanceof TagDatabaseChange) {
+                TagDatabaseChange tagChange = (TagDatabaseChange) change;
+                tag = tagChange.getTag();
+            }
+        }
+
+        String[] newLine = new String[Columns.values().length];
+        newLine[Columns.ID.ordinal()] = changeSet.getId();
+        newLine[Columns.AUTHOR.ordinal()] = changeSet.getAuthor();
+        newLine[Columns.FILENAME.ordinal()] =  changeSet.getFilePath();
+        newLine[Columns.DATEEXECUTED.ordinal()] = new ISODateFormat().format(new java.sql.Timestamp(new Date().getTime()));
+        newLine[Columns.ORDEREXECUTED.ordinal()] = String.valueOf(getNextSequenceValue());
+        newLine[Columns.EXECTYPE.ordinal()] = execType.value;
+        newLine[Columns.MD5SUM.ordinal()] = changeSet.generateCheckSum(ChecksumVersion.latest()).toString();
+        newLine[Columns.DESCRIPTION.ordinal()] = changeSet.getDescription();
+        newLine[Columns.COMMENTS.ordinal()] = changeSet.getComments();
+        newLine[Columns.TAG.ordinal()] = tag;
+        newLine[Columns.LIQUIBASE.ordinal()] = LiquibaseUtil.getBuildVersion();
+
+        newLine[Columns.CONTEXTS.ordinal()] = (changeSet.getContextFilter() == null) ? null : changeSet.getContextFilter().toString();
+        newLine[Columns.LABELS.ordinal()] = (changeSet.getLabels() == null) ? null : changeSet.getLabels().toString();
+
+        newLine[Columns.DEPLOYMENT_ID.ordinal()] = Scope.getCurrentScope().getDeploymentId();
+        return newLine;
+    }
+
+    /**
+     * Returns the history for append-only mode, reading the CSV file and replaying a journal left behind by a previous
+     * run the first time it is called.
+     */
+    private List<String[]> getHistory() throws DatabaseException {
+        if (history != null) {
+            return history;
+        }
+        history = new ArrayList<>();
+        historyByChangeSet = new HashMap<>();
+        try (
+                Reader reader = new InputStreamReader(Files.newInputStream(this.changeLogFile.toPath()), GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue());
+                CSVReader csvReader = new CSVReader(reader)
+        )
+        {
+            String[] line = csvReader.readNext();
+            if (line == null) { //empty file
+                writeHeader(this.changeLogFile);
+            } else if (!"ID".equals(line[Columns.ID.ordinal()])) {
+                throw new DatabaseException("Missing header in file "+this.changeLogFile.getAbsolutePath());
+            }
+            while ((line = csvReader.readNext()) != null) {
+                addToHistory(line);
+            }
+        } catch (DatabaseException e) {
+            history = null;
+            throw e;
+        } catch (Exception e) {
+            history = null;
+            throw new DatabaseException(e);
+        }
+        if (journalFile.exists()) {
+            replayJournal();
+        }
+        return history;
+    }
+
+    /**
+     * Applies the journal entries to the history read from the CSV file. Entries only affect the line of the same
+     * changeset with the same ORDEREXECUTED value, and lines that are already there are not appended again, so a
+     * journal that was already compacted into the CSV file can be replayed again without changing the history.
+     */
+    private void replayJournal() throws DatabaseException {
+        try (
+                Reader reader = new InputStreamReader(Files.newInputStream(journalFile.toPath()), GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue());
+                CSVReader csvReader = new CSVReader(reader)
+        )
+        {
+            String[] entry;
+            while ((entry = csvReader.readNext()) != null) {
+                String[] line = Arrays.copyOfRange(entry, 1, entry.length);
+                JournalEntry type = JournalEntry.valueOf(entry[0]);
+                String[] existingLine = findInHistory(line);
+                if (type == JournalEntry.APPEND) {
+                    if (existingLine == null) {
+                        addToHistory(line);
+                    }
+                } else if (existingLine != null) {
+                    replaceInHistory(existingLine, type == JournalEntry.REPLACE ? line : null);
                 }
             }
+        } catch (Exception e) {
+            history = null;
+            throw new DatabaseException("Cannot replay changelog history journal " + journalFile.getAbsolutePath(), e);
+        }
+    }
+
+    private void replaceInHistory(ChangeSet changeSet, ReplaceChangeSetLogic replaceLogic) throws DatabaseException {
+        getHistory();
+        List<String> key = Arrays.asList(changeSet.getId(), changeSet.getAuthor(), changeSet.getFilePath());
+        for (String[] line : new ArrayList<>(historyByChangeSet.getOrDefault(key, Collections.emptyList()))) {
+            String[] removedLine = line.clone();
+            String[] newLine = replaceLogic.execute(line);
+            replaceInHistory(line, newLine);
+            if (newLine == null) {
+                writeJournal(JournalEntry.REMOVE, removedLine);
+            } else {
+                writeJournal(JournalEntry.REPLACE, newLine);
+            }
+        }
+    }
 
-            String[] newLine = new String[Columns.values().length];
-            newLine[Columns.ID.ordinal()] = changeSet.getId();
-            newLine[Columns.AUTHOR.ordinal()] = changeSet.getAuthor();
-            newLine[Columns.FILENAME.ordinal()] =  changeSet.getFilePath();
-            newLine[Columns.DATEEXECUTED.ordinal()] = new ISODateFormat().format(new java.sql.Timestamp(new Date().getTime()));
-            newLine[Columns.ORDEREXECUTED.ordinal()] = String.valueOf(getNextSequenceValue());
-            newLine[Columns.EXECTYPE.ordinal()] = execType.value;
-            newLine[Columns.MD5SUM.ordinal()] = changeSet.generateCheckSum(ChecksumVersion.latest()).toString();
-            newLine[Columns.DESCRIPTION.ordinal()] = changeSet.getDescription();
-            newLine[Columns.COMMENTS.ordinal()] = changeSet.getComments();
-            newLine[Columns.TAG.ordinal()] = tag;
-            newLine[Columns.LIQUIBASE.ordinal()] = LiquibaseUtil.getBuildVersion();
+    private void replaceInHistory(String[] line, String[] newLine) {
+        List<String[]> lines = historyByChangeSet.get(getHistoryKey(line));
+        if (newLine == null) {
+            history.remove(line);
+            lines.remove(line);
+            if (lines.isEmpty()) {
+                historyByChangeSet.remove(getHistoryKey(line));
+            }
+        } else if (newLine != line) {
+            history.set(history.indexOf(line), newLine);
+            lines.set(lines.indexOf(line), newLine);
+        }
+    }
 
-            newLine[Columns.CONTEXTS.ordinal()] = (changeSet.getContextFilter() == null) ? null : changeSet.getContextFilter().toString();
-            newLine[Columns.LABELS.ordinal()] = (changeSet.getLabels() == null) ? null : changeSet.getLabels().toString();
+    /**
+     * Returns the line of the history for the same changeset and with the same ORDEREXECUTED value as the given one.
+     */
+    private String[] findInHistory(String[] line) {
+        for (String[] existingLine : historyByChangeSet.getOrDefault(getHistoryKey(line), Collections.emptyList())) {
+            if (Objects.equals(existingLine[Columns.ORDEREXECUTED.ordinal()], line[Columns.ORDEREXECUTED.ordinal()])) {
+                return existingLine;
+            }
+        }
+        return null;
+    }
+
+    private void addToHistory(String[] line) {
+        history.add(line);
+        historyByChangeSet.computeIfAbsent(getHistoryKey(line), key -> new ArrayList<>(1)).add(line);
+    }
 
-            newLine[Columns.DEPLOYMENT_ID.ordinal()] = Scope.getCurrentScope().getDeploymentId();
+    private static List<String> getHistoryKey(String[] line) {
+        return Arrays.asList(line[Columns.ID.ordinal()], line[Columns.AUTHOR.ordinal()], line[Columns.FILENAME.ordinal()]);
+    }
 
-            csvWriter.writeNext(newLine);
+    private void writeJournal(JournalEntry type, String[] line) throws DatabaseException {
+        String[] entry = new String[line.length + 1];
+        entry[0] = type.name();
+        System.arraycopy(line, 0, entry, 1, line.length);
+        try {
+            if (journalWriter == null) {
+                journalWriter = new CSVWriter(new OutputStreamWriter(Files.newOutputStream(journalFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.APPEND),
+                        GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue()));
+            }
+            journalWriter.writeNext(entry);
+            journalWriter.flush();
+        } catch (IOException e) {
+            throw new DatabaseException(e);
+        }
+    }
 
+    /**
+     * Writes the history with the journal applied to the CSV file and deletes the journal. If this is interrupted
+     * before the journal is deleted, replaying it again on the next run leaves the history unchanged.
+     */
+    private void compactJournal() throws DatabaseException {
+        closeJournalWriter();
+        if (history == null && !journalFile.exists()) {
+            return;
+        }
+        List<String[]> lines = getHistory();
+        File oldFile = this.changeLogFile;
+        File newFile = new File(oldFile.getParentFile(), oldFile.getName()+".new");
+        try {
+            writeHeader(newFile);
+            try (
+                    Writer writer = new OutputStreamWriter(Files.newOutputStream(newFile.toPath(), StandardOpenOption.APPEND), GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue());
+                    CSVWriter csvWriter = new CSVWriter(writer)
+            )
+            {
+                for (String[] line : lines) {
+                    csvWriter.writeNext(line);
+                }
+            }
         } catch (Exception e) {
             throw new DatabaseException(e);
         }
+        if (!oldFile.delete()) {
+            throw new DatabaseException("Could not delete changelog history file "+oldFile.getAbsolutePath());
+        }
+        if (!newFile.renameTo(oldFile)) {
+            throw new DatabaseException("Could not rename "+newFile.getAbsolutePath()+" to "+oldFile.getAbsolutePath());
+        }
+        if (journalFile.exists() && !journalFile.delete()) {
+            throw new DatabaseException("Could not delete changelog history journal "+journalFile.getAbsolutePath());
+        }
+        history = null;
+        historyByChangeSet = null;
+    }
 
-        oldFile.delete();
-        newFile.renameTo(oldFile);
+    private void closeJournalWriter() throws DatabaseException {
+        if (journalWriter != null) {
+            try {
+                journalWriter.close();
+            } catch (Exception e) {
+                throw new DatabaseException(e);
+            } finally {
+                journalWriter = null;
+            }
+        }
     }
 
     @Override
@@ -311,6 +575,16 @@ public class OfflineChangeLogHistoryService extends AbstractChangeLogHistoryServ
 
     @Override
     public int getNextSequenceValue() throws LiquibaseException {
+        if (lastChangeSetSequenceValue == null && isAppendOnly()) {
+            lastChangeSetSequenceValue = 0;
+            for (String[] line : getHistory()) {
+                try {
+                    lastChangeSetSequenceValue = Integer.valueOf(line[Columns.ORDEREXECUTED.ordinal()]);
+                } catch (NumberFormatException ignore) {
+                    // ignore.
+                }
+            }
+        }
         if (lastChangeSetSequenceValue == null) {
             lastChangeSetSequenceValue = 0;
 
@@ -384,6 +658,12 @@ public class OfflineChangeLogHistoryService extends AbstractChangeLogHistoryServ
 
     @Override
     public void destroy() throws DatabaseException {
+        closeJournalWriter();
+        history = null;
+        historyByChangeSet = null;
+        if (journalFile.exists() && !journalFile.delete()) {
+            throw new DatabaseException("Could not delete changelog history journal "+journalFile.getAbsolutePath());
+        }
         if (changeLogFile.exists() && !changeLogFile.delete()) {
             throw new DatabaseException("Could not delete changelog history file "+changeLogFile.getAbsolutePath());
         }
@@ -3,10 +3,11 @@ package liquibase.changelog;
 import liquibase.GlobalConfiguration;
 import liquibase.exception.UnexpectedLiquibaseException;
 import liquibase.util.StreamUtil;
+import org.apache.commons.io.input.ReaderInputStream;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Reader;
 import java.nio.charset.Charset;
 
 public class PropertyExpandingStream extends InputStream {
@@ -16,6 +17,7 @@ public class PropertyExpandingStream extends InputStream {
     /**
      * This method will read the content of the given stream and make any parameter update on the content. For example,
      * making a property replacement into procedure text read from the sql file.
+     * The content is expanded while it is read, so only the expression currently being expanded is held in memory.
      * @param stream
      * @return an updated {@link InputStream} if any replacement has been performed in the content of the original stream.
      */
@@ -26,12 +28,12 @@ public class PropertyExpandingStream extends InputStream {
             }
             else {
                 Charset encoding = GlobalConfiguration.FILE_ENCODING.getCurrentValue();
-                String streamContent = StreamUtil.readStreamAsString(stream, encoding.toString());
+                Reader reader = StreamUtil.readStreamWithReader(stream, encoding.toString());
                 ChangeLogParameters parameters = changeSet.getChangeLogParameters();
                 if (parameters != null) {
-                    streamContent = parameters.expandExpressions(streamContent, changeSet.getChangeLog());
+                    reader = parameters.expandingReader(reader, changeSet.getChangeLog());
                 }
-                this.stream = new ByteArrayInputStream(streamContent.getBytes(encoding));
+                this.stream = ReaderInputStream.builder().setReader(reader).setCharset(encoding).get();
             }
         }
         catch (IOException e) {
@@ -44,6 +46,11 @@ public class PropertyExpandingStream extends InputStream {
         return this.stream.read();
     }
 
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        return this.stream.read(b, off, len);
+    }
+
     @Override
     public int available() throws IOException {
         return stream.available();
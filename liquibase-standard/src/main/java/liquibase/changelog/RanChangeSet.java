@@ -79,6 +79,17 @@ public class RanChangeSet {
         this.deploymentId = deploymentId;
     }
 
+    /**
+     * Creates a copy of the given instance that can be changed without changing the original.
+     */
+    RanChangeSet(RanChangeSet ranChangeSet) {
+        this(ranChangeSet.changeLog, ranChangeSet.id, ranChangeSet.author, ranChangeSet.lastCheckSum, ranChangeSet.dateExecuted,
+                ranChangeSet.tag, ranChangeSet.execType, ranChangeSet.description, ranChangeSet.comments,
+                ranChangeSet.contextExpression, ranChangeSet.labels, ranChangeSet.deploymentId, ranChangeSet.storedChangeLog);
+        this.orderExecuted = ranChangeSet.orderExecuted;
+        this.liquibaseVersion = ranChangeSet.liquibaseVersion;
+    }
+
     public Date getDateExecuted() {
         if (dateExecuted == null) {
             return null;
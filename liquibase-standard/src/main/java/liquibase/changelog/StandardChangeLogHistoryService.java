@@ -6,6 +6,9 @@ import liquibase.change.CheckSum;
 import liquibase.change.ColumnConfig;
 import liquibase.command.core.TagCommandStep;
 import liquibase.database.Database;
+import liquibase.database.DatabaseConnection;
+import liquibase.database.OfflineConnection;
+import liquibase.database.jvm.JdbcConnection;
 import liquibase.database.core.DB2Database;
 import liquibase.database.core.MSSQLDatabase;
 import liquibase.database.core.SQLiteDatabase;
@@ -18,10 +21,16 @@ import liquibase.exception.UnexpectedLiquibaseException;
 import liquibase.executor.Executor;
 import liquibase.executor.ExecutorService;
 import liquibase.executor.jvm.ChangelogJdbcMdcListener;
+import liquibase.executor.jvm.JdbcExecutor;
+import liquibase.metrics.MetricTimer;
+import liquibase.metrics.MetricType;
+import liquibase.metrics.MetricsService;
 import liquibase.snapshot.InvalidExampleException;
 import liquibase.snapshot.SnapshotControl;
 import liquibase.snapshot.SnapshotGeneratorFactory;
+import liquibase.sqlgenerator.SqlGenerator;
 import liquibase.sqlgenerator.SqlGeneratorFactory;
+import liquibase.sqlgenerator.core.MarkChangeSetRanGenerator;
 import liquibase.statement.SqlStatement;
 import liquibase.statement.core.*;
 import liquibase.structure.DatabaseObject;
@@ -40,11 +49,30 @@ import static liquibase.executor.jvm.JdbcExecutor.SHOULD_UPDATE_ROWS_AFFECTED_SC
 
 public class StandardChangeLogHistoryService extends AbstractChangeLogHistoryService {
 
+    /**
+     * Scope key that, while true and {@link GlobalConfiguration#HISTORY_BATCH_SIZE} is above 1, lets
+     * {@link #setExecType(ChangeSet, ChangeSet.ExecType)} collect that many rows before they are inserted and
+     * committed together. Whoever sets it must call {@link #flushHistoryBatch()} once done.
+     */
+    public static final String BATCH_HISTORY_WRITES_SCOPE_KEY = "batchHistoryWrites";
+
     private List<RanChangeSet> ranChangeSetList;
+    /**
+     * Index over {@link #ranChangeSetList} keyed by {@link #ranChangeSetKey(String, String, String)} so
+     * {@link #getRanChangeSet(ChangeSet)} does not have to scan the whole history for every changeset.
+     * Built lazily and dropped whenever {@link #ranChangeSetList} is.
+     */
+    private Map<List<String>, RanChangeSet> ranChangeSetIndex;
+    private boolean ranChangeSetIndexHasDuplicates;
     private boolean serviceInitialized;
     private Boolean hasDatabaseChangeLogTable;
     private boolean databaseChecksumsCompatible = true;
     private Integer lastChangeSetSequenceValue;
+    /**
+     * Prepared insert used instead of {@link MarkChangeSetRanStatement} when {@link GlobalConfiguration#HISTORY_BATCH_SIZE}
+     * is above 1. Created on first use and closed by {@link #reset()}.
+     */
+    private ChangeLogHistoryBatch historyBatch;
 
     protected static final String LABELS_SIZE = "255";
     protected static final String CONTEXTS_SIZE = "255";
@@ -77,7 +105,18 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
 
     @Override
     public void reset() {
+        if (historyBatch != null) {
+            try {
+                flushHistoryBatch();
+            } catch (DatabaseException e) {
+                throw new UnexpectedLiquibaseException(e);
+            } finally {
+                historyBatch.close();
+                historyBatch = null;
+            }
+        }
         this.ranChangeSetList = null;
+        this.ranChangeSetIndex = null;
         this.serviceInitialized = false;
         this.hasDatabaseChangeLogTable = null;
         // Cached MAX(ORDEREXECUTED), incremented in memory by getNextSequenceValue(). Unlike
@@ -296,6 +335,8 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
             //reset the cache if there was a change to the table. Especially catches things like md5 changes
             // which might have been updated but would still be wrong in the cache
             this.ranChangeSetList = null;
+            this.ranChangeSetIndex = null;
+            invalidateHistoryCache();
             Scope.getCurrentScope().getSingleton(FastCheckService.class).clearCache();
         }
         serviceInitialized = true;
@@ -314,56 +355,190 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
     @Override
     public List<RanChangeSet> getRanChangeSets() throws DatabaseException {
         if (this.ranChangeSetList == null) {
+            flushHistoryBatch();
             Database database = getDatabase();
-            String databaseChangeLogTableName = getDatabase().escapeTableName(getLiquibaseCatalogName(),
-                    getLiquibaseSchemaName(), getDatabaseChangeLogTableName());
             List<RanChangeSet> ranChangeSets = new ArrayList<>();
             if (hasDatabaseChangeLogTable()) {
-                Scope.getCurrentScope().getLog(getClass()).info("Reading from " + databaseChangeLogTableName);
-                List<Map<String, ?>> results = queryDatabaseChangeLogTable(database);
-                for (Map rs : results) {
-                    Object storedFileNameObj = rs.get("FILENAME");
-                    String storedFileName = (storedFileNameObj == null) ? null : storedFileNameObj.toString();
-                    String fileName = DatabaseChangeLog.normalizePath(storedFileName);
-                    Object authorObj = rs.get("AUTHOR");
-                    String author = (authorObj == null) ? null : authorObj.toString();
-                    Object idObj = rs.get("ID");
-                    String id = (idObj == null) ? null : idObj.toString();
-                    String md5sum = ((rs.get("MD5SUM") == null)) ? null : rs.get("MD5SUM").toString();
-                    String description = (rs.get("DESCRIPTION") == null) ? null : rs.get("DESCRIPTION").toString();
-                    String comments = (rs.get("COMMENTS") == null) ? null : rs.get("COMMENTS").toString();
-                    Object tmpDateExecuted = rs.get("DATEEXECUTED");
-                    Date dateExecuted = convertDate(tmpDateExecuted);
-                    Object tmpOrderExecutedObj = rs.get("ORDEREXECUTED");
-                    String tmpOrderExecuted = (tmpOrderExecutedObj == null) ? null : tmpOrderExecutedObj.toString();
-                    Integer orderExecuted = ((tmpOrderExecuted == null) ? null : Integer.valueOf(tmpOrderExecuted));
-                    String tag = (rs.get("TAG") == null) ? null : rs.get("TAG").toString();
-                    String execType = (rs.get("EXECTYPE") == null) ? null : rs.get("EXECTYPE").toString();
-                    ContextExpression contexts = new ContextExpression((String) rs.get("CONTEXTS"));
-                    Labels labels = new Labels((String) rs.get("LABELS"));
-                    String deploymentId = (String) rs.get("DEPLOYMENT_ID");
-                    String liquibaseVersion =  (rs.get("LIQUIBASE") == null) ? null : rs.get("LIQUIBASE").toString();
-
-                    try {
-                        RanChangeSet ranChangeSet = new RanChangeSet(fileName, id, author, CheckSum.parse(md5sum),
-                            dateExecuted, tag, ChangeSet.ExecType.valueOf(execType), description, comments, contexts,
-                            labels, deploymentId, storedFileName);
-                        ranChangeSet.setOrderExecuted(orderExecuted);
-                        ranChangeSet.setLiquibaseVersion(liquibaseVersion);
-                        ranChangeSets.add(ranChangeSet);
-                    } catch (IllegalArgumentException e) {
-                        Scope.getCurrentScope().getLog(getClass()).severe("Unknown EXECTYPE from database: " +
-                            execType);
-                        throw e;
+                MetricTimer metricTimer = Scope.getCurrentScope().getSingleton(MetricsService.class)
+                        .start(MetricType.HISTORY_READ, getDatabaseChangeLogTableName());
+                try {
+                    String historyCacheKey = getHistoryCacheKey();
+                    if (historyCacheKey == null) {
+                        ranChangeSets.addAll(readRanChangeSets(database));
+                    } else {
+                        ranChangeSets.addAll(readRanChangeSetsIncrementally(database, historyCacheKey));
                     }
+                    metricTimer.setRowCount(ranChangeSets.size());
+                } catch (DatabaseException | RuntimeException e) {
+                    metricTimer.failed();
+                    throw e;
+                } finally {
+                    metricTimer.stop();
                 }
             }
 
             this.ranChangeSetList = ranChangeSets;
+            this.ranChangeSetIndex = null;
         }
         return Collections.unmodifiableList(ranChangeSetList);
     }
 
+    private List<RanChangeSet> readRanChangeSets(Database database) throws DatabaseException {
+        Scope.getCurrentScope().getLog(getClass()).info("Reading from " + getEscapedDatabaseChangeLogTableName());
+        return toRanChangeSets(queryDatabaseChangeLogTable(database));
+    }
+
+    /**
+     * Reads the history through the {@link ChangeLogHistoryCache}. If the table still has the same {@link ChangeLogHistoryCache.Summary}
+     * as the cached rows, they are used as they are. If rows were only added, just those rows are read. Otherwise the whole
+     * table is read again.
+     */
+    private List<RanChangeSet> readRanChangeSetsIncrementally(Database database, String historyCacheKey) throws DatabaseException {
+        ChangeLogHistoryCache historyCache = Scope.getCurrentScope().getSingleton(ChangeLogHistoryCache.class);
+        ChangeLogHistoryCache.CachedHistory cachedHistory = historyCache.get(historyCacheKey);
+        List<RanChangeSet> ranChangeSets = null;
+        if (cachedHistory != null) {
+            ChangeLogHistoryCache.Summary cachedSummary = cachedHistory.getSummary();
+            ChangeLogHistoryCache.Summary currentSummary = queryDatabaseChangeLogSummary();
+            if (cachedSummary.equals(currentSummary)) {
+                Scope.getCurrentScope().getLog(getClass()).fine("Using cached contents of " + getEscapedDatabaseChangeLogTableName());
+                return cachedHistory.getRanChangeSets();
+            } else if (cachedSummary.getMaxOrderExecuted() != null && currentSummary.getRowCount() > cachedSummary.getRowCount()) {
+                Scope.getCurrentScope().getLog(getClass()).info("Reading new rows from " + getEscapedDatabaseChangeLogTableName());
+                List<RanChangeSet> merged = cachedHistory.append(toRanChangeSets(queryDatabaseChangeLogTable(database, cachedSummary.getMaxOrderExecuted())));
+                if (merged != null && ChangeLogHistoryCache.Summary.of(merged).equals(currentSummary)) {
+                    ranChangeSets = merged;
+                }
+            }
+        }
+        if (ranChangeSets == null) {
+            ranChangeSets = readRanChangeSets(database);
+        }
+        historyCache.put(historyCacheKey, ranChangeSets);
+        return ranChangeSets;
+    }
+
+    private List<RanChangeSet> toRanChangeSets(List<Map<String, ?>> results) {
+        List<RanChangeSet> ranChangeSets = new ArrayList<>(results.size());
+        for (Map rs : results) {
+            Object storedFileNameObj = rs.get("FILENAME");
+            String storedFileName = (storedFileNameObj == null) ? null : storedFileNameObj.toString();
+            String fileName = DatabaseChangeLog.normalizePath(storedFileName);
+            Object authorObj = rs.get("AUTHOR");
+            String author = (authorObj == null) ? null : authorObj.toString();
+            Object idObj = rs.get("ID");
+            String id = (idObj == null) ? null : idObj.toString();
+            String md5sum = ((rs.get("MD5SUM") == null)) ? null : rs.get("MD5SUM").toString();
+            String description = (rs.get("DESCRIPTION") == null) ? null : rs.get("DESCRIPTION").toString();
+            String comments = (rs.get("COMMENTS") == null) ? null : rs.get("COMMENTS").toString();
+            Object tmpDateExecuted = rs.get("DATEEXECUTED");
+            Date dateExecuted = convertDate(tmpDateExecuted);
+            Object tmpOrderExecutedObj = rs.get("ORDEREXECUTED");
+            String tmpOrderExecuted = (tmpOrderExecutedObj == null) ? null : tmpOrderExecutedObj.toString();
+            Integer orderExecuted = ((tmpOrderExecuted == null) ? null : Integer.valueOf(tmpOrderExecuted));
+            String tag = (rs.get("TAG") == null) ? null : rs.get("TAG").toString();
+            String execType = (rs.get("EXECTYPE") == null) ? null : rs.get("EXECTYPE").toString();
+            ContextExpression contexts = new ContextExpression((String) rs.get("CONTEXTS"));
+            Labels labels = new Labels((String) rs.get("LABELS"));
+            String deploymentId = (String) rs.get("DEPLOYMENT_ID");
+            String liquibaseVersion =  (rs.get("LIQUIBASE") == null) ? null : rs.get("LIQUIBASE").toString();
+
+            try {
+                RanChangeSet ranChangeSet = new RanChangeSet(fileName, id, author, CheckSum.parse(md5sum),
+                    dateExecuted, tag, ChangeSet.ExecType.valueOf(execType), description, comments, contexts,
+                    labels, deploymentId, storedFileName);
+                ranChangeSet.setOrderExecuted(orderExecuted);
+                ranChangeSet.setLiquibaseVersion(liquibaseVersion);
+                ranChangeSets.add(ranChangeSet);
+            } catch (IllegalArgumentException e) {
+                Scope.getCurrentScope().getLog(getClass()).severe("Unknown EXECTYPE from database: " +
+                    execType);
+                throw e;
+            }
+        }
+        return ranChangeSets;
+    }
+
+    private String getEscapedDatabaseChangeLogTableName() {
+        return getDatabase().escapeTableName(getLiquibaseCatalogName(), getLiquibaseSchemaName(), getDatabaseChangeLogTableName());
+    }
+
+    /**
+     * Returns the key of this database's history in the {@link ChangeLogHistoryCache}, or null if
+     * {@link GlobalConfiguration#INCREMENTAL_HISTORY_READ} is disabled or the database is not reached through a live connection.
+     */
+    protected String getHistoryCacheKey() {
+        if (!Boolean.TRUE.equals(GlobalConfiguration.INCREMENTAL_HISTORY_READ.getCurrentValue())) {
+            return null;
+        }
+        Database database = getDatabase();
+        DatabaseConnection connection = database.getConnection();
+        if (connection == null || connection instanceof OfflineConnection || connection.getURL() == null) {
+            return null;
+        }
+        return String.format("%s/%s/%s/%s/%s/%s", connection.getURL(), getLiquibaseCatalogName(), getLiquibaseSchemaName(),
+                database.getDefaultCatalogName(), database.getDefaultSchemaName(), getDatabaseChangeLogTableName());
+    }
+
+    private void invalidateHistoryCache() {
+        String historyCacheKey = getHistoryCacheKey();
+        if (historyCacheKey != null) {
+            Scope.getCurrentScope().getSingleton(ChangeLogHistoryCache.class).invalidate(historyCacheKey);
+        }
+    }
+
+    /**
+     * Returns the lookup key for a changeset identified by the given path, id and author. For non-null parts it matches
+     * the same entries as {@link RanChangeSet#isSameAs(ChangeSet)}: the path is normalized and all parts are compared
+     * case-insensitively. The parts are kept apart, so no combination of values can produce the key of another one,
+     * and a null part only matches null.
+     */
+    protected static List<String> ranChangeSetKey(String filePath, String id, String author) {
+        return Arrays.asList(foldCase(DatabaseChangeLog.normalizePath(filePath)), foldCase(id), foldCase(author));
+    }
+
+    /**
+     * Folds case the same way {@link String#equalsIgnoreCase(String)} compares characters, so two strings fold to the
+     * same value exactly when they are equal ignoring case.
+     */
+    private static String foldCase(String value) {
+        if (value == null) {
+            return null;
+        }
+        char[] chars = value.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Returns the index over the cached history, or null if {@link #getRanChangeSets()} is overridden and does not use the cache.
+     */
+    private Map<List<String>, RanChangeSet> getRanChangeSetIndex() throws DatabaseException {
+        List<RanChangeSet> ranChangeSets = getRanChangeSets();
+        if (this.ranChangeSetList == null) {
+            return null;
+        }
+        if (this.ranChangeSetIndex == null) {
+            Map<List<String>, RanChangeSet> index = new HashMap<>(Math.max(16, (int) (ranChangeSets.size() / 0.75f) + 1));
+            boolean hasDuplicates = false;
+            for (RanChangeSet ranChangeSet : ranChangeSets) {
+                // keep the first match, the same one a scan of the list would find
+                if (index.putIfAbsent(ranChangeSetKey(ranChangeSet), ranChangeSet) != null) {
+                    hasDuplicates = true;
+                }
+            }
+            this.ranChangeSetIndex = index;
+            this.ranChangeSetIndexHasDuplicates = hasDuplicates;
+        }
+        return this.ranChangeSetIndex;
+    }
+
+    private static List<String> ranChangeSetKey(RanChangeSet ranChangeSet) {
+        return ranChangeSetKey(ranChangeSet.getChangeLog(), ranChangeSet.getId(), ranChangeSet.getAuthor());
+    }
+
     public static Date convertDate(Object tmpDateExecuted) {
         Date dateExecuted = null;
         if (tmpDateExecuted instanceof Date) {
@@ -382,45 +557,169 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
     }
 
     public List<Map<String, ?>> queryDatabaseChangeLogTable(Database database) throws DatabaseException {
+        flushHistoryBatch();
         SelectFromDatabaseChangeLogStatement select = new SelectFromDatabaseChangeLogStatement(new ColumnConfig()
             .setName("*").setComputed(true)).setOrderBy("DATEEXECUTED ASC", "ORDEREXECUTED ASC");
         return ChangelogJdbcMdcListener.query(getDatabase(), executor -> executor.queryForList(select));
     }
 
+    /**
+     * Returns the rows of the databasechangelog table with an ORDEREXECUTED value greater than the given one, in the
+     * same order as {@link #queryDatabaseChangeLogTable(Database)}.
+     */
+    protected List<Map<String, ?>> queryDatabaseChangeLogTable(Database database, int afterOrderExecuted) throws DatabaseException {
+        SelectFromDatabaseChangeLogStatement select = new SelectFromDatabaseChangeLogStatement(
+            new SelectFromDatabaseChangeLogStatement.ByOrderExecutedGreaterThan(afterOrderExecuted),
+            new ColumnConfig().setName("*").setComputed(true)).setOrderBy("DATEEXECUTED ASC", "ORDEREXECUTED ASC");
+        return ChangelogJdbcMdcListener.query(getDatabase(), executor -> executor.queryForList(select));
+    }
+
+    /**
+     * Returns the {@link ChangeLogHistoryCache.Summary} of the databasechangelog table using a single aggregate query.
+     */
+    protected ChangeLogHistoryCache.Summary queryDatabaseChangeLogSummary() throws DatabaseException {
+        Database database = getDatabase();
+        SelectFromDatabaseChangeLogStatement select = new SelectFromDatabaseChangeLogStatement(
+            new ColumnConfig().setName("COUNT(*) AS ROW_CNT", true),
+            new ColumnConfig().setName("MAX(" + database.escapeColumnName(null, null, null, "ORDEREXECUTED") + ") AS MAX_ORDER", true),
+            new ColumnConfig().setName("COUNT(" + database.escapeColumnName(null, null, null, "TAG") + ") AS TAG_CNT", true),
+            new ColumnConfig().setName("COUNT(" + database.escapeColumnName(null, null, null, "MD5SUM") + ") AS MD5_CNT", true));
+        List<Map<String, ?>> results = ChangelogJdbcMdcListener.query(database, executor -> executor.queryForList(select));
+        if (results.size() != 1) {
+            throw new DatabaseException("Unexpected result summarizing " + getEscapedDatabaseChangeLogTableName() + ": " + results);
+        }
+        // the aliases are looked up ignoring case since some databases return them in lower case
+        Map<String, Object> row = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        row.putAll(results.get(0));
+        Object rowCount = row.get("ROW_CNT");
+        Object maxOrderExecuted = row.get("MAX_ORDER");
+        Object tagCount = row.get("TAG_CNT");
+        Object md5Count = row.get("MD5_CNT");
+        if ((rowCount == null) || (tagCount == null) || (md5Count == null)) {
+            throw new DatabaseException("Unexpected result summarizing " + getEscapedDatabaseChangeLogTableName() + ": " + results);
+        }
+        return new ChangeLogHistoryCache.Summary(Integer.parseInt(rowCount.toString()),
+            (maxOrderExecuted == null) ? null : Integer.valueOf(maxOrderExecuted.toString()),
+            Integer.parseInt(tagCount.toString()), Integer.parseInt(md5Count.toString()));
+    }
+
     @Override
     public RanChangeSet getRanChangeSet(final ChangeSet changeSet) throws DatabaseException, DatabaseHistoryException {
         if (!hasDatabaseChangeLogTable()) {
             return null;
         }
 
-        return super.getRanChangeSet(changeSet);
+        Map<List<String>, RanChangeSet> index = getRanChangeSetIndex();
+        if (index == null) {
+            return super.getRanChangeSet(changeSet);
+        }
+        return index.get(ranChangeSetKey(changeSet.getFilePath(), changeSet.getId(), changeSet.getAuthor()));
     }
 
     @Override
     public void setExecType(ChangeSet changeSet, ChangeSet.ExecType execType) throws DatabaseException {
         SqlStatement markChangeSetRanStatement = new MarkChangeSetRanStatement(changeSet, execType);
-        try {
-            Scope.child(Collections.singletonMap(SHOULD_UPDATE_ROWS_AFFECTED_SCOPE_KEY, false), () -> {
-                ChangelogJdbcMdcListener.execute(getDatabase(), executor -> executor.execute(markChangeSetRanStatement));
-                getDatabase().commit();
-            });
-        } catch (Exception e) {
-            throw new DatabaseException(e);
+        if (canUseHistoryBatch(markChangeSetRanStatement, execType)) {
+            addToHistoryBatch(changeSet, execType);
+        } else {
+            flushHistoryBatch();
+            try {
+                Scope.child(Collections.singletonMap(SHOULD_UPDATE_ROWS_AFFECTED_SCOPE_KEY, false), () -> {
+                    ChangelogJdbcMdcListener.execute(getDatabase(), executor -> executor.execute(markChangeSetRanStatement));
+                    getDatabase().commit();
+                });
+            } catch (Exception e) {
+                throw new DatabaseException(e);
+            }
         }
         if (this.ranChangeSetList != null) {
-            this.ranChangeSetList.add(new RanChangeSet(changeSet, execType, null, null));
+            RanChangeSet ranChangeSet = new RanChangeSet(changeSet, execType, null, null);
+            this.ranChangeSetList.add(ranChangeSet);
+            if ((this.ranChangeSetIndex != null) && (this.ranChangeSetIndex.putIfAbsent(ranChangeSetKey(ranChangeSet), ranChangeSet) != null)) {
+                this.ranChangeSetIndexHasDuplicates = true;
+            }
+        }
+
+    }
+
+    /**
+     * Inserts and commits the rows {@link #setExecType(ChangeSet, ChangeSet.ExecType)} collected while
+     * {@link #BATCH_HISTORY_WRITES_SCOPE_KEY} was set. Does nothing if there are none.
+     */
+    public void flushHistoryBatch() throws DatabaseException {
+        if ((historyBatch == null) || (historyBatch.getPendingRows() == 0)) {
+            return;
+        }
+        try {
+            historyBatch.flush();
+        } catch (DatabaseException e) {
+            // the in-memory history may contain rows that never made it to the table
+            this.ranChangeSetList = null;
+            this.ranChangeSetIndex = null;
+            this.lastChangeSetSequenceValue = null;
+            invalidateHistoryCache();
+            throw e;
+        }
+    }
+
+    /**
+     * Only plain inserts into the history table are prepared, and only if they would be generated by the standard
+     * {@link MarkChangeSetRanGenerator} and actually run against a JDBC connection rather than written out as SQL.
+     */
+    private boolean canUseHistoryBatch(SqlStatement markChangeSetRanStatement, ChangeSet.ExecType execType) {
+        if (execType.ranBefore || (execType == ChangeSet.ExecType.FAILED) || (execType == ChangeSet.ExecType.SKIPPED)) {
+            return false;
+        }
+        if (GlobalConfiguration.HISTORY_BATCH_SIZE.getCurrentValue() <= 1) {
+            return false;
+        }
+        Database database = getDatabase();
+        if (!(database.getConnection() instanceof JdbcConnection)
+                || !(Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", database) instanceof JdbcExecutor)) {
+            return false;
+        }
+        SortedSet<SqlGenerator> generators = SqlGeneratorFactory.getInstance().getGenerators(markChangeSetRanStatement, database);
+        return !generators.isEmpty() && (generators.first().getClass() == MarkChangeSetRanGenerator.class);
+    }
+
+    private void addToHistoryBatch(ChangeSet changeSet, ChangeSet.ExecType execType) throws DatabaseException {
+        if (historyBatch == null) {
+            historyBatch = new ChangeLogHistoryBatch(getDatabase());
         }
+        int orderExecuted;
+        try {
+            orderExecuted = getNextSequenceValue();
+        } catch (LiquibaseException e) {
+            throw new DatabaseException(e);
+        }
+        historyBatch.add(changeSet, execType, orderExecuted);
 
+        boolean batching = Scope.getCurrentScope().get(BATCH_HISTORY_WRITES_SCOPE_KEY, false);
+        if (!batching || (historyBatch.getPendingRows() >= GlobalConfiguration.HISTORY_BATCH_SIZE.getCurrentValue())) {
+            flushHistoryBatch();
+        }
     }
 
     @Override
     public void removeFromHistory(final ChangeSet changeSet) throws DatabaseException {
+        flushHistoryBatch();
         SqlStatement removeChangeSetRanStatusStatement = new RemoveChangeSetRanStatusStatement(changeSet);
         ChangelogJdbcMdcListener.execute(getDatabase(), executor -> executor.execute(removeChangeSetRanStatusStatement));
         getDatabase().commit();
 
         if (this.ranChangeSetList != null) {
-            this.ranChangeSetList.remove(new RanChangeSet(changeSet));
+            int removedIndex = this.ranChangeSetList.indexOf(new RanChangeSet(changeSet));
+            if (removedIndex >= 0) {
+                RanChangeSet removed = this.ranChangeSetList.remove(removedIndex);
+                if (this.ranChangeSetIndex != null) {
+                    if (this.ranChangeSetIndexHasDuplicates) {
+                        // another entry may now be the first match for the key, so rebuild on next lookup
+                        this.ranChangeSetIndex = null;
+                    } else {
+                        this.ranChangeSetIndex.remove(ranChangeSetKey(removed), removed);
+                    }
+                }
+            }
         }
     }
 
@@ -443,6 +742,7 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
      */
     @Override
     public void tag(final String tagString) throws DatabaseException {
+        flushHistoryBatch();
         SqlStatement totalRowsStatement = new SelectFromDatabaseChangeLogStatement(new ColumnConfig().setName("COUNT(*)", true));
         int totalRows = ChangelogJdbcMdcListener.query(getDatabase(), executor -> executor.queryForInt(totalRowsStatement));
         if (totalRows == 0) {
@@ -453,6 +753,9 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
         ChangelogJdbcMdcListener.execute(getDatabase(), executor -> executor.execute(tagStatement));
         getDatabase().commit();
 
+        // replacing an existing tag does not change the summary of the table
+        invalidateHistoryCache();
+
         if (this.ranChangeSetList != null) {
             ranChangeSetList.get(ranChangeSetList.size() - 1).setTag(tagString);
         }
@@ -460,6 +763,7 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
 
     @Override
     public boolean tagExists(final String tag) throws DatabaseException {
+        flushHistoryBatch();
         SqlStatement selectChangelogStatement = new SelectFromDatabaseChangeLogStatement(new SelectFromDatabaseChangeLogStatement.ByTag(tag),
                 new ColumnConfig().setName("COUNT(*)", true));
         int count = ChangelogJdbcMdcListener.query(getDatabase(), executor -> executor.queryForInt(selectChangelogStatement));
@@ -468,6 +772,7 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
 
     @Override
     public void clearAllCheckSums() throws LiquibaseException {
+        flushHistoryBatch();
         Database database = getDatabase();
         UpdateStatement updateStatement = new UpdateStatement(database.getLiquibaseCatalogName(), database
             .getLiquibaseSchemaName(), database.getDatabaseChangeLogTableName());
@@ -477,11 +782,28 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
 
         // Clear the in-memory cache and FastCheck cache to ensure checksums are re-evaluated
         this.ranChangeSetList = null;
+        this.ranChangeSetIndex = null;
+        invalidateHistoryCache();
         Scope.getCurrentScope().getSingleton(FastCheckService.class).clearCache();
     }
 
+    @Override
+    public void replaceChecksum(ChangeSet changeSet) throws DatabaseException {
+        flushHistoryBatch();
+        super.replaceChecksum(changeSet);
+        invalidateHistoryCache();
+    }
+
+    @Override
+    public void replaceFilePath(ChangeSet changeSet, String oldPath) throws DatabaseException {
+        flushHistoryBatch();
+        super.replaceFilePath(changeSet, oldPath);
+        invalidateHistoryCache();
+    }
+
     @Override
     public void destroy() throws DatabaseException {
+        flushHistoryBatch();
         Database database = getDatabase();
         try {
             //
@@ -505,6 +827,7 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
                 SqlStatement[] sqlStatement = change[0].generateStatements(database);
                 ChangelogJdbcMdcListener.execute(getDatabase(), executor -> executor.execute(sqlStatement[0]));
             }
+            invalidateHistoryCache();
             reset();
         } catch (InvalidExampleException e) {
             throw new UnexpectedLiquibaseException(e);
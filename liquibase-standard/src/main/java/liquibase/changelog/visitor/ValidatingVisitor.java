@@ -4,7 +4,9 @@ import liquibase.ChecksumVersion;
 import liquibase.GlobalConfiguration;
 import liquibase.Scope;
 import liquibase.change.Change;
+import liquibase.change.CheckSum;
 import liquibase.changelog.*;
+import liquibase.changelog.filter.ChangeSetFilter;
 import liquibase.changelog.filter.ChangeSetFilterResult;
 import liquibase.database.Database;
 import liquibase.database.DatabaseList;
@@ -18,6 +20,11 @@ import lombok.Getter;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 @Getter
 public class ValidatingVisitor implements ChangeSetVisitor {
@@ -85,6 +92,55 @@ public class ValidatingVisitor implements ChangeSetVisitor {
         }
     }
 
+    /**
+     * Computes the checksums of the changesets accepted by all the given filters that were already ran against the database on up to
+     * {@link GlobalConfiguration#VALIDATE_CHECKSUM_THREADS} threads. Each changeset caches its checksum, so the
+     * following {@link #visit(ChangeSet, DatabaseChangeLog, Database, Set)} calls reuse the values computed here.
+     * Does nothing when a single thread is configured. Failures are not reported here since computing the checksum
+     * again while visiting the changeset reports them.
+     */
+    public void precomputeCheckSums(DatabaseChangeLog databaseChangeLog, Database database, List<ChangeSetFilter> changeSetFilters) {
+        Integer threads = GlobalConfiguration.VALIDATE_CHECKSUM_THREADS.getCurrentValue();
+        if (ranIndex == null || threads == null || threads <= 1) {
+            return;
+        }
+
+        List<Callable<CheckSum>> tasks = new ArrayList<>();
+        for (ChangeSet changeSet : databaseChangeLog.getChangeSets()) {
+            if (changeSet.isIgnore() || !changeSetFilters.stream().allMatch(filter -> filter.accepts(changeSet).isAccepted())) {
+                continue;
+            }
+            RanChangeSet ranChangeSet = ranIndex.get(changeSet.toNormalizedString());
+            if (ranChangeSet == null || ranChangeSet.getLastCheckSum() == null) {
+                continue;
+            }
+            int version = ranChangeSet.getLastCheckSum().getVersion();
+            Map<String, Object> scopeValues = new HashMap<>();
+            scopeValues.put(Scope.Attr.databaseChangeLog.name(), databaseChangeLog);
+            scopeValues.put(Scope.Attr.changeSet.name(), changeSet);
+            scopeValues.put(Scope.Attr.database.name(), database);
+            tasks.add(() -> Scope.child(scopeValues, () -> changeSet.generateCheckSum(ChecksumVersion.enumFromChecksumVersion(version))));
+        }
+        if (tasks.size() < 2) {
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, tasks.size()));
+        try {
+            for (Future<CheckSum> future : executor.invokeAll(tasks)) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    Scope.getCurrentScope().getLog(getClass()).fine("Error precomputing checksum, it will be computed again during validation", e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Override
     public Direction getDirection() {
         return ChangeSetVisitor.Direction.FORWARD;
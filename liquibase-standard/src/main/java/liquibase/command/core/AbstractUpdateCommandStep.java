@@ -22,7 +22,10 @@ import liquibase.logging.mdc.MdcKey;
 import liquibase.logging.mdc.MdcObject;
 import liquibase.logging.mdc.MdcValue;
 import liquibase.logging.mdc.customobjects.ChangesetsUpdated;
+import liquibase.metrics.ExecutionTimings;
+import liquibase.metrics.MetricsService;
 import liquibase.report.UpdateReportParameters;
+import liquibase.snapshot.PreconditionMetadataCache;
 import liquibase.util.ShowSummaryUtil;
 import liquibase.util.StringUtil;
 import liquibase.util.UpdateSummaryDetails;
@@ -92,6 +95,7 @@ public abstract class AbstractUpdateCommandStep extends AbstractCommandStep impl
 
         ChangeExecListener changeExecListener = getChangeExecListener(resultsBuilder, commandScope);
         ChangeLogIterator runChangeLogIterator = null;
+        ExecutionTimings executionTimings = null;
         try {
             DatabaseChangeLog databaseChangeLog = (DatabaseChangeLog) commandScope.getDependency(DatabaseChangeLog.class);
             updateReportParameters.setChangelogArgValue(databaseChangeLog.getFilePath());
@@ -116,12 +120,28 @@ public abstract class AbstractUpdateCommandStep extends AbstractCommandStep impl
             HashMap<String, Object> scopeValues = new HashMap<>();
             scopeValues.put("showSummary", getShowSummary(commandScope));
             scopeValues.put(ROWS_AFFECTED_SCOPE_KEY, rowsAffected);
+            int slowestStatements = GlobalConfiguration.REPORT_SLOWEST_STATEMENTS.getCurrentValue();
+            if (slowestStatements > 0) {
+                executionTimings = new ExecutionTimings(slowestStatements);
+                scopeValues.put(ExecutionTimings.SCOPE_KEY, executionTimings);
+            }
+            if (GlobalConfiguration.PRECONDITION_METADATA_CACHE.getCurrentValue()) {
+                scopeValues.put(PreconditionMetadataCache.SCOPE_KEY, new PreconditionMetadataCache(database));
+            }
             ChangeLogIterator finalRunChangeLogIterator = runChangeLogIterator;
+            ExecutionTimings finalExecutionTimings = executionTimings;
             Scope.child(scopeValues, () -> {
+                MetricsService metricsService = Scope.getCurrentScope().getSingleton(MetricsService.class);
+                if (finalExecutionTimings != null) {
+                    metricsService.addListener(finalExecutionTimings);
+                }
                 try {
                     finalRunChangeLogIterator.run(new UpdateVisitor(database, changeExecListener, new ShouldRunChangeSetFilter(database)),
                             new RuntimeEnvironment(database, contexts, labelExpression));
                 } finally {
+                    if (finalExecutionTimings != null) {
+                        metricsService.removeListener(finalExecutionTimings);
+                    }
                     UpdateSummaryDetails details = ShowSummaryUtil.buildSummaryDetails(databaseChangeLog, getShowSummary(commandScope), getShowSummaryOutput(commandScope), statusVisitor, resultsBuilder.getOutputStream(), finalRunChangeLogIterator, changeExecListener);
                     if (details != null) {
                         updateReportParameters.getOperationInfo().setUpdateSummaryMsg(details.getOutput());
@@ -135,12 +155,12 @@ public abstract class AbstractUpdateCommandStep extends AbstractCommandStep impl
             resultsBuilder.addResult("statusCode", 0);
             addChangelogFileToMdc(getChangelogFileArg(commandScope), databaseChangeLog);
             Scope.getCurrentScope().addMdcValue(MdcKey.ROWS_AFFECTED, String.valueOf(rowsAffected.get()));
-            logDeploymentOutcomeMdc(changeExecListener, true, updateReportParameters, runChangeLogIterator);
+            logDeploymentOutcomeMdc(changeExecListener, true, updateReportParameters, runChangeLogIterator, executionTimings);
             postUpdateLog(rowsAffected.get());
         } catch (Exception e) {
             DatabaseChangeLog databaseChangeLog = (DatabaseChangeLog) commandScope.getDependency(DatabaseChangeLog.class);
             addChangelogFileToMdc(getChangelogFileArg(commandScope), databaseChangeLog);
-            logDeploymentOutcomeMdc(changeExecListener, false, updateReportParameters, runChangeLogIterator);
+            logDeploymentOutcomeMdc(changeExecListener, false, updateReportParameters, runChangeLogIterator, executionTimings);
             updateReportParameters.getOperationInfo().setException(e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
             resultsBuilder.addResult("statusCode", 1);
             throw e;
@@ -217,7 +237,7 @@ public abstract class AbstractUpdateCommandStep extends AbstractCommandStep impl
     }
 
     private void logDeploymentOutcomeMdc(ChangeExecListener defaultListener, boolean success, UpdateReportParameters updateReportParameters,
-                                         ChangeLogIterator runChangeLogIterator) {
+                                         ChangeLogIterator runChangeLogIterator, ExecutionTimings executionTimings) {
         String successLog = "Update command completed successfully.";
         String failureLog = "Update command encountered an exception.";
         if (defaultListener instanceof DefaultChangeExecListener) {
@@ -243,8 +263,8 @@ public abstract class AbstractUpdateCommandStep extends AbstractCommandStep impl
             ChangesetsUpdated changesetsUpdated = new ChangesetsUpdated(deployedChangeSets);
             updateReportParameters.getChangesetInfo().setChangesetCount(deployedChangeSetCount + failedChangeSetCount - exceptionChangeSetsCount);
             updateReportParameters.getChangesetInfo().setFailedChangesetCount(failedChangeSetCount);
-            updateReportParameters.getChangesetInfo().addAllToChangesetInfoList(deployedChangeSets, false);
-            updateReportParameters.getChangesetInfo().addAllToChangesetInfoList(failedChangeSets, false);
+            updateReportParameters.getChangesetInfo().addAllToChangesetInfoList(deployedChangeSets, false, executionTimings);
+            updateReportParameters.getChangesetInfo().addAllToChangesetInfoList(failedChangeSets, false, executionTimings);
             if (!updateReportParameters.getChangesetInfo().getPendingChangesetInfoList().isEmpty()) {
                 // If there are failures remove these changes from the pending changeset list
                 // and update the count to reflect only skipped(pending) changes by removing the failed count
@@ -261,6 +281,9 @@ public abstract class AbstractUpdateCommandStep extends AbstractCommandStep impl
             // like during update-testing-rollback
             deployedChangeSets.forEach(changeSet -> changeSet.setGeneratedSql(new ArrayList<>()));
         }
+        if (executionTimings != null) {
+            updateReportParameters.getChangesetInfo().setSlowestStatements(executionTimings);
+        }
         String deploymentOutcome = success ? MdcValue.COMMAND_SUCCESSFUL : MdcValue.COMMAND_FAILED;
         updateReportParameters.setSuccess(success);
         updateReportParameters.getOperationInfo().setOperationOutcome(deploymentOutcome);
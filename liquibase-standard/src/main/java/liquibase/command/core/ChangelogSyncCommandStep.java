@@ -63,11 +63,20 @@ public class ChangelogSyncCommandStep extends AbstractCommandStep {
         try {
             ChangeLogIterator runChangeLogIterator = buildChangeLogIterator(tag, changeLog, changeLogParameters.getContexts(), changeLogParameters.getLabels(), database);
             AtomicInteger changesetCount = new AtomicInteger(0);
-            Map<String, Object> scopeVars = new HashMap<>(1);
+            Map<String, Object> scopeVars = new HashMap<>(2);
             scopeVars.put("changesetCount", changesetCount);
-            Scope.child(scopeVars, () ->
+            // nothing else is executed between the history rows, so they can be sent and committed in batches
+            scopeVars.put(StandardChangeLogHistoryService.BATCH_HISTORY_WRITES_SCOPE_KEY, true);
+            Scope.child(scopeVars, () -> {
+                try {
                     runChangeLogIterator.run(new ChangeLogSyncVisitor(database, getChangeExecListener()),
-                    new RuntimeEnvironment(database, changeLogParameters.getContexts(), changeLogParameters.getLabels())));
+                            new RuntimeEnvironment(database, changeLogParameters.getContexts(), changeLogParameters.getLabels()));
+                } finally {
+                    if (changeLogHistoryService instanceof StandardChangeLogHistoryService) {
+                        ((StandardChangeLogHistoryService) changeLogHistoryService).flushHistoryBatch();
+                    }
+                }
+            });
             Scope.getCurrentScope().addMdcValue(MdcKey.CHANGESET_SYNC_COUNT, changesetCount.toString());
 
             addChangelogToMdc(changelogFile, changeLog);
@@ -14,6 +14,7 @@ import liquibase.integration.commandline.LiquibaseCommandLineConfiguration;
 import liquibase.license.LicenseTrack;
 import liquibase.license.LicenseTrackingArgs;
 import liquibase.resource.ResourceAccessor;
+import liquibase.snapshot.SnapshotConnectionRegistry;
 import liquibase.structure.core.Schema;
 import liquibase.util.StringUtil;
 import org.apache.commons.lang3.StringUtils;
@@ -61,6 +62,25 @@ public abstract class AbstractDatabaseConnectionCommandStep extends AbstractHelp
                                         String driverPropertiesFile,
                                         String liquibaseCatalogName,
                                         String liquibaseSchemaName) throws DatabaseException {
+        database = openDatabase(url, username, password, defaultSchemaName, defaultCatalogName, driver, driverPropertiesFile,
+                liquibaseCatalogName, liquibaseSchemaName);
+        // lets parallel snapshots open more connections with the same settings
+        Scope.getCurrentScope().getSingleton(SnapshotConnectionRegistry.class).register(database,
+                () -> openDatabase(url, username, password, defaultSchemaName, defaultCatalogName, driver,
+                        driverPropertiesFile, liquibaseCatalogName, liquibaseSchemaName));
+        return database;
+    }
+
+    @SuppressWarnings("java:S2095")
+    private Database openDatabase(String url,
+                                  String username,
+                                  String password,
+                                  String defaultSchemaName,
+                                  String defaultCatalogName,
+                                  String driver,
+                                  String driverPropertiesFile,
+                                  String liquibaseCatalogName,
+                                  String liquibaseSchemaName) throws DatabaseException {
         ResourceAccessor resourceAccessor = Scope.getCurrentScope().getResourceAccessor();
         String databaseClassName = null;
         Class<?> databaseClass = LiquibaseCommandLineConfiguration.DATABASE_CLASS.getCurrentValue();
@@ -76,6 +96,7 @@ public abstract class AbstractDatabaseConnectionCommandStep extends AbstractHelp
         String databaseChangeLogLockTableName = StringUtil.trimToNull(GlobalConfiguration.DATABASECHANGELOGLOCK_TABLE_NAME.getCurrentValue());
         String databaseChangeLogTableName = StringUtil.trimToNull(GlobalConfiguration.DATABASECHANGELOG_TABLE_NAME.getCurrentValue());
 
+        Database database;
         try {
             defaultCatalogName = StringUtil.trimToNull(defaultCatalogName);
             defaultSchemaName = StringUtil.trimToNull(defaultSchemaName);
@@ -122,6 +143,7 @@ public abstract class AbstractDatabaseConnectionCommandStep extends AbstractHelp
         // this class only closes a database that it created
         if (database != null) {
             try {
+                Scope.getCurrentScope().getSingleton(SnapshotConnectionRegistry.class).unregister(database);
                 database.close();
                 database = null;
             } catch (Exception e) {
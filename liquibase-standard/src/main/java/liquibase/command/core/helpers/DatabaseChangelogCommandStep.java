@@ -13,6 +13,9 @@ import liquibase.database.Database;
 import liquibase.exception.LiquibaseException;
 import liquibase.lockservice.LockServiceFactory;
 import liquibase.logging.mdc.MdcKey;
+import liquibase.metrics.MetricTimer;
+import liquibase.metrics.MetricType;
+import liquibase.metrics.MetricsService;
 import liquibase.parser.ChangeLogParser;
 import liquibase.parser.ChangeLogParserFactory;
 import liquibase.parser.core.xml.XMLChangeLogSAXParser;
@@ -182,7 +185,15 @@ public class DatabaseChangelogCommandStep extends AbstractHelperCommandStep impl
             if (parser instanceof XMLChangeLogSAXParser) {
                 ((XMLChangeLogSAXParser) parser).setShouldWarnOnMismatchedXsdVersion(false);
             }
-            changelog.set(parser.parse(changeLogFile, changeLogParameters, resourceAccessor));
+            MetricTimer metricTimer = Scope.getCurrentScope().getSingleton(MetricsService.class).start(MetricType.CHANGELOG_PARSE, changeLogFile);
+            try {
+                changelog.set(parser.parse(changeLogFile, changeLogParameters, resourceAccessor));
+            } catch (LiquibaseException | RuntimeException e) {
+                metricTimer.failed();
+                throw e;
+            } finally {
+                metricTimer.stop();
+            }
         });
         if (StringUtils.isNotEmpty(changelog.get().getLogicalFilePath())) {
             Scope.getCurrentScope().addMdcValue(MdcKey.CHANGELOG_FILE, changelog.get().getLogicalFilePath());
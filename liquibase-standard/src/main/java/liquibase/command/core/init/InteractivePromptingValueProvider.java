@@ -5,6 +5,7 @@ import liquibase.configuration.AbstractMapConfigurationValueProvider;
 import java.util.Map;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This value provider handles values obtained during interactive CLI prompting.
@@ -12,6 +13,7 @@ import java.util.TreeMap;
 public class InteractivePromptingValueProvider extends AbstractMapConfigurationValueProvider {
 
     private final SortedMap<String, Object> values = new TreeMap<>();
+    private final AtomicInteger valuesVersion = new AtomicInteger();
 
     @Override
     protected Map<?, ?> getMap() {
@@ -30,5 +32,11 @@ public class InteractivePromptingValueProvider extends AbstractMapConfigurationV
 
     public void addValue(String key, Object value) {
         values.put(key, value);
+        valuesVersion.incrementAndGet();
+    }
+
+    @Override
+    public Object getValuesVersion(String... keyAndAliases) {
+        return valuesVersion.get();
     }
 }
\ No newline at end of file
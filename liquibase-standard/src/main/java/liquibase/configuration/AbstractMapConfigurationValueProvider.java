@@ -18,6 +18,7 @@ public abstract class AbstractMapConfigurationValueProvider extends AbstractConf
     private final Map<String, ProvidedValue> knownValues = new HashMap<>();
     private int knownValuesForHash = 0;
     private final Lock knownValuesLock = new ReentrantLock();
+    private volatile Boolean mapBased;
 
     protected abstract Map<?, ?> getMap();
 
@@ -64,6 +65,25 @@ public abstract class AbstractMapConfigurationValueProvider extends AbstractConf
         return providedValue;
     }
 
+    /**
+     * Returns the {@link #getMapHash()}, unless a subclass looks up values its own way by overriding
+     * {@link #getProvidedValue(String...)}. Then the map may not be all the values depend on, so null is returned.
+     * Subclasses that know when their map changes should override this to return a counter instead.
+     */
+    @Override
+    public Object getValuesVersion(String... keyAndAliases) {
+        Boolean mapBased = this.mapBased;
+        if (mapBased == null) {
+            try {
+                mapBased = getClass().getMethod("getProvidedValue", String[].class).getDeclaringClass() == AbstractMapConfigurationValueProvider.class;
+            } catch (NoSuchMethodException e) {
+                mapBased = false;
+            }
+            this.mapBased = mapBased;
+        }
+        return mapBased ? getMapHash() : null;
+    }
+
     /**
      * Used by {@link #getProvidedValue(String...)} to determine if the underlying data has changed vs. the cached results.
      */
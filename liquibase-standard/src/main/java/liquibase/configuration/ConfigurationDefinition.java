@@ -58,6 +58,12 @@ public class ConfigurationDefinition<DataType> implements Comparable<Configurati
     private boolean loggedUsingDefault = false;
     private boolean hidden = false;
 
+    /**
+     * Incremented whenever the {@link Builder} changes something the current value depends on, so values resolved
+     * before are not used anymore.
+     */
+    private volatile int revision;
+
     /**
      * Constructor private to force {@link Builder} usage
      *
@@ -77,7 +83,7 @@ public class ConfigurationDefinition<DataType> implements Comparable<Configurati
      * Convenience method around {@link #getCurrentConfiguredValue(ConfigurationValueProvider...)} to return the value.
      */
     public DataType getCurrentValue() {
-        final Object value = getCurrentConfiguredValue().getProvidedValue().getValue();
+        final Object value = getResolvedValue().getProvidedValue().getValue();
         try {
             return (DataType) value;
         } catch (ClassCastException e) {
@@ -95,7 +101,7 @@ public class ConfigurationDefinition<DataType> implements Comparable<Configurati
      * @return the obfuscated value, or the plain-text value if no obfuscator is defined for this definition.
      */
     public DataType getCurrentValueObfuscated() {
-        return getCurrentConfiguredValue().getValueObfuscated();
+        return getResolvedValue().getValueObfuscated();
     }
 
     /**
@@ -103,7 +109,34 @@ public class ConfigurationDefinition<DataType> implements Comparable<Configurati
      * Will always return a {@link ConfiguredValue},
      */
     public ConfiguredValue<DataType> getCurrentConfiguredValue() {
-        return getCurrentConfiguredValue(new ConfigurationValueProvider[]{});
+        return getResolvedValue().copy();
+    }
+
+    /**
+     * Returns a number that changes whenever the {@link Builder} changes how the current value is resolved.
+     */
+    int getRevision() {
+        return revision;
+    }
+
+    /**
+     * Returns the current value through {@link LiquibaseConfiguration#getResolvedValue}, so it is only resolved again
+     * when the configured values changed. The returned instance is shared and must not be overridden.
+     */
+    private ConfiguredValue<DataType> getResolvedValue() {
+        if (referenceKey != null && isReferenceConnectionScope()) {
+            // only resolved like this while a reference connection is opened
+            return getCurrentConfiguredValue(new ConfigurationValueProvider[]{});
+        }
+        return Scope.getCurrentScope().getSingleton(LiquibaseConfiguration.class)
+                .getResolvedValue(this, getKeyAndAliases(), () -> getCurrentConfiguredValue(new ConfigurationValueProvider[]{}));
+    }
+
+    private String[] getKeyAndAliases() {
+        List<String> keyList = new ArrayList<>();
+        keyList.add(this.getKey());
+        keyList.addAll(this.getAliasKeys());
+        return keyList.toArray(new String[0]);
     }
 
     /**
@@ -131,11 +164,7 @@ public class ConfigurationDefinition<DataType> implements Comparable<Configurati
             // No `.reference.` value set → fall through and inherit the primary value below.
         }
 
-        List<String> keyList = new ArrayList<>();
-        keyList.add(this.getKey());
-        keyList.addAll(this.getAliasKeys());
-
-        ConfiguredValue<?> configurationValue = liquibaseConfiguration.getCurrentConfiguredValue(valueConverter, valueObfuscator, additionalValueProviders, keyList.toArray(new String[0]));
+        ConfiguredValue<?> configurationValue = liquibaseConfiguration.getCurrentConfiguredValue(valueConverter, valueObfuscator, additionalValueProviders, getKeyAndAliases());
 
         return applyDefaultAndConvert(configurationValue);
     }
@@ -338,6 +367,7 @@ public class ConfigurationDefinition<DataType> implements Comparable<Configurati
             }
 
             definition.aliasKeys.add(alias);
+            definition.revision++;
 
             return this;
         }
@@ -350,6 +380,7 @@ public class ConfigurationDefinition<DataType> implements Comparable<Configurati
         public Building<DataType> setDefaultValue(DataType defaultValue, String defaultValueDescription) {
             definition.defaultValue = defaultValue;
             definition.defaultValueDescription = defaultValueDescription;
+            definition.revision++;
 
             if (defaultValue != null && defaultValueDescription == null) {
                 definition.defaultValueDescription = String.valueOf(defaultValue);
@@ -360,17 +391,20 @@ public class ConfigurationDefinition<DataType> implements Comparable<Configurati
 
         public Building<DataType> setDefaultValue(DataType defaultValue) {
             definition.defaultValue = defaultValue;
+            definition.revision++;
             return this;
         }
 
         public Building<DataType> setValueHandler(ConfigurationValueConverter<DataType> handler) {
             definition.valueConverter = handler;
+            definition.revision++;
 
             return this;
         }
 
         public Building<DataType> setValueObfuscator(ConfigurationValueObfuscator<DataType> handler) {
             definition.valueObfuscator = handler;
+            definition.revision++;
 
             return this;
         }
@@ -419,6 +453,7 @@ public class ConfigurationDefinition<DataType> implements Comparable<Configurati
             }
             final String suffix = fullKey.substring(expectedPrefix.length());
             definition.referenceKey = defaultKeyPrefix + ".reference." + suffix;
+            definition.revision++;
 
             return this;
         }
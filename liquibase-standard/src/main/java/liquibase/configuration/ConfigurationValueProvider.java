@@ -37,6 +37,18 @@ public interface ConfigurationValueProvider {
      */
     ProvidedValue getProvidedValue(String... keyAndAliases);
 
+    /**
+     * Returns an object that stays equal to the one returned before for as long as this provider returns the same value
+     * for the given keys. {@link LiquibaseConfiguration} uses it to tell whether a value it resolved can be used again,
+     * so it is called on every read: providers whose values change should count the changes rather than compare
+     * all their values.
+     *
+     * @return null, the default, if the provider cannot tell. Values are then looked up again on every read.
+     */
+    default Object getValuesVersion(String... keyAndAliases) {
+        return null;
+    }
+
     /**
      * Perform any validation of keys/values stored in this provider for the given commandScope.
      * For example, check for keys that do not match anything expected.
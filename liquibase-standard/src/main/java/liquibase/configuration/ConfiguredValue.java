@@ -31,6 +31,15 @@ public class ConfiguredValue<DataType> {
         }
     }
 
+    /**
+     * Returns a new instance with the same provided values, which can be overridden without changing this one.
+     */
+    ConfiguredValue<DataType> copy() {
+        ConfiguredValue<DataType> copy = new ConfiguredValue<>(key, valueConverter, valueObfuscator);
+        copy.providedValues.addAll(providedValues);
+        return copy;
+    }
+
     public DataType getValue() {
         final ProvidedValue providedValue = getProvidedValue();
         if (providedValue == null) {
@@ -76,6 +76,13 @@ public class ConfiguredValueModifierFactory  implements SingletonObject {
         return configuredValue;
     }
 
+    /**
+     * Returns the registered modifiers in the order they are applied. A new list is returned after every change.
+     */
+    List<ConfiguredValueModifier> getModifiers() {
+        return sorted.get();
+    }
+
     private void publish() {
         List<ConfiguredValueModifier> copy = new ArrayList<>(registered);
         copy.sort(ORDER_COMPARATOR);
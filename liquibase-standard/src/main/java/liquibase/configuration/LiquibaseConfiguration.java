@@ -7,6 +7,8 @@ import liquibase.servicelocator.ServiceLocator;
 import liquibase.util.StringUtil;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * Provides unified management of configuration properties within Liquibase core and in extensions.
@@ -65,6 +67,14 @@ public class LiquibaseConfiguration implements SingletonObject {
      */
     private final Map<String, String> lastLoggedKeyValues = new HashMap<>();
 
+    /**
+     * Last resolved value of each {@link ConfigurationDefinition}, with the versions of the providers and modifiers it
+     * was resolved from. The scope is not part of the key: {@link liquibase.configuration.core.ScopeValueProvider}
+     * reports the scoped values of the definition's keys as its version, so nested scopes that do not set them share
+     * the value.
+     */
+    private final Map<ConfigurationDefinition<?>, ResolvedValue> resolvedValues = new ConcurrentHashMap<>();
+
     protected LiquibaseConfiguration() {
         configurationValueProviders = new TreeSet<>(PROVIDER_ORDER);
     }
@@ -249,6 +259,62 @@ public class LiquibaseConfiguration implements SingletonObject {
         return details;
     }
 
+    /**
+     * Returns the value of the given definition in the current scope, calling the resolver only if the value was not
+     * resolved before, or if since then the definition was changed, a provider or modifier was added or removed, or a
+     * provider reports that its values for the keys changed. If a provider cannot tell whether its values changed, the
+     * resolver is always called.
+     * <p>
+     * The returned value is shared and must not be overridden.
+     */
+    <DataType> ConfiguredValue<DataType> getResolvedValue(ConfigurationDefinition<DataType> definition, String[] keyAndAliases, Supplier<ConfiguredValue<DataType>> resolver) {
+        Object[] versions = getValuesVersions(Scope.getCurrentScope(), keyAndAliases);
+        if (versions == null) {
+            return resolver.get();
+        }
+        ResolvedValue resolved = resolvedValues.get(definition);
+        // definitions are equal by key, so also check that the value was resolved for this very definition
+        if (resolved == null || resolved.definition != definition || resolved.revision != definition.getRevision()
+                || !Arrays.equals(resolved.versions, versions)) {
+            int revision = definition.getRevision();
+            resolved = new ResolvedValue(definition, revision, versions, resolver.get());
+            resolvedValues.put(definition, resolved);
+        }
+        //noinspection unchecked
+        return (ConfiguredValue<DataType>) resolved.value;
+    }
+
+    /**
+     * Returns what the current values of all providers and modifiers for the given keys depend on, or null if a
+     * provider cannot tell. The sets of providers and modifiers are replaced on every change, so they are compared by
+     * identity.
+     */
+    @SuppressWarnings("unchecked")
+    private Object[] getValuesVersions(Scope scope, String[] keyAndAliases) {
+        SortedSet<ConfigurationValueProvider> providers = this.configurationValueProviders;
+        List<ConfigurationValueProvider> scoped = scope.get(SCOPED_VALUE_PROVIDERS_KEY, List.class);
+        Object[] versions = new Object[3 + providers.size() + (scoped == null ? 0 : scoped.size())];
+        versions[0] = new Identity(providers);
+        versions[1] = new Identity(scoped);
+        versions[2] = new Identity(scope.getSingleton(ConfiguredValueModifierFactory.class).getModifiers());
+        int index = 3;
+        for (ConfigurationValueProvider provider : providers) {
+            versions[index] = provider.getValuesVersion(keyAndAliases);
+            if (versions[index++] == null) {
+                return null;
+            }
+        }
+        if (scoped != null) {
+            for (ConfigurationValueProvider provider : scoped) {
+                versions[index] = provider.getValuesVersion(keyAndAliases);
+                if (versions[index++] == null) {
+                    return null;
+                }
+            }
+        }
+        return versions;
+    }
+
     /**
      * Registers a {@link ConfigurationDefinition} so it will be returned by {@link #getRegisteredDefinitions(boolean)}
      */
@@ -292,4 +358,40 @@ public class LiquibaseConfiguration implements SingletonObject {
         }
         return null;
     }
+
+    /**
+     * Compares the wrapped object by identity rather than {@link Object#equals(Object)}, which for collections would
+     * compare every element.
+     */
+    private static final class Identity {
+        private final Object object;
+
+        private Identity(Object object) {
+            this.object = object;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Identity && ((Identity) other).object == object;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(object);
+        }
+    }
+
+    private static final class ResolvedValue {
+        private final ConfigurationDefinition<?> definition;
+        private final int revision;
+        private final Object[] versions;
+        private final ConfiguredValue<?> value;
+
+        private ResolvedValue(ConfigurationDefinition<?> definition, int revision, Object[] versions, ConfiguredValue<?> value) {
+            this.definition = definition;
+            this.revision = revision;
+            this.versions = versions;
+            this.value = value;
+        }
+    }
 }
@@ -136,6 +136,14 @@ public class DefaultsFileValueProvider extends AbstractMapConfigurationValueProv
         return 50;
     }
 
+    /**
+     * The properties are only read when this provider is created.
+     */
+    @Override
+    public Object getValuesVersion(String... keyAndAliases) {
+        return 0;
+    }
+
     @Override
     public Map<?, ?> getMap() {
         return properties;
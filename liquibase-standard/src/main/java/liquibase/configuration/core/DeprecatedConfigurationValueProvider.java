@@ -5,6 +5,7 @@ import liquibase.configuration.ConfigurationDefinition;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * {@link liquibase.configuration.ConfigurationValueProvider} that simulates the behavior from pre-4.4 methods like {@link liquibase.configuration.GlobalConfiguration#setOutputEncoding(String)}.
@@ -16,6 +17,7 @@ import java.util.Map;
 public class DeprecatedConfigurationValueProvider extends AbstractMapConfigurationValueProvider {
 
     private static final Map<String, Object> data = new HashMap<>();
+    private static final AtomicInteger dataVersion = new AtomicInteger();
 
     @Override
     protected Map<?, ?> getMap() {
@@ -32,6 +34,7 @@ public class DeprecatedConfigurationValueProvider extends AbstractMapConfigurati
      */
     public static void setData(String key, Object value) {
         data.put(key, value);
+        dataVersion.incrementAndGet();
     }
 
     /**
@@ -39,6 +42,7 @@ public class DeprecatedConfigurationValueProvider extends AbstractMapConfigurati
      */
     public static <T> void setData(ConfigurationDefinition<T> configuration, T value) {
         data.put(configuration.getKey(), value);
+        dataVersion.incrementAndGet();
     }
 
     /**
@@ -47,6 +51,15 @@ public class DeprecatedConfigurationValueProvider extends AbstractMapConfigurati
      */
     public static void clearData() {
         data.clear();
+        dataVersion.incrementAndGet();
+    }
+
+    /**
+     * The data only changes through the static methods of this class, which count the changes.
+     */
+    @Override
+    public Object getValuesVersion(String... keyAndAliases) {
+        return dataVersion.get();
     }
 
     @Override
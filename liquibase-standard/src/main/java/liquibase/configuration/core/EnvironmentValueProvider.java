@@ -29,6 +29,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 public class EnvironmentValueProvider extends AbstractMapConfigurationValueProvider {
 
     private final Map<String, String> environment = System.getenv();
+    private final int environmentHash = environment.hashCode();
     private static final AtomicBoolean printedInvalidEnvironmentVariablesMessage = new AtomicBoolean(false);
 
     @Override
@@ -41,6 +42,18 @@ public class EnvironmentValueProvider extends AbstractMapConfigurationValueProvi
         return environment;
     }
 
+    /**
+     * The environment cannot change while the JVM runs, so its hash is only computed once.
+     */
+    @Override
+    protected int getMapHash() {
+        final Map<?, ?> map = getMap();
+        if (map == environment) {
+            return environmentHash;
+        }
+        return super.getMapHash();
+    }
+
     @Override
     public void validate(CommandScope commandScope) throws IllegalArgumentException {
         //
@@ -4,6 +4,8 @@ import liquibase.Scope;
 import liquibase.configuration.AbstractConfigurationValueProvider;
 import liquibase.configuration.ProvidedValue;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 
 /**
@@ -34,4 +36,17 @@ public class ScopeValueProvider extends AbstractConfigurationValueProvider {
         return null;
     }
 
+    /**
+     * Returns the values of the keys in the current scope, so a value resolved in one scope is used again in the scopes
+     * it contains unless they set one of the keys.
+     */
+    @Override
+    public Object getValuesVersion(String... keyAndAliases) {
+        final Scope scope = Scope.getCurrentScope();
+        final List<Object> values = new ArrayList<>(keyAndAliases.length);
+        for (String key : keyAndAliases) {
+            values.add(scope.get(key, Object.class));
+        }
+        return values;
+    }
 }
@@ -1,9 +1,14 @@
 package liquibase.configuration.core;
 
 import liquibase.configuration.AbstractMapConfigurationValueProvider;
+import liquibase.configuration.ProvidedValue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Searches for the configuration values in the system properties {@link System#getProperties()}.
@@ -12,6 +17,11 @@ import java.util.Properties;
  */
 public class SystemPropertyValueProvider extends AbstractMapConfigurationValueProvider {
 
+    /**
+     * The property each key was last found in, if it is spelled differently than the key and its aliases.
+     */
+    private final Map<String, String> foundKeys = new ConcurrentHashMap<>();
+
     @Override
     public int getPrecedence() {
         return 200;
@@ -26,4 +36,49 @@ public class SystemPropertyValueProvider extends AbstractMapConfigurationValuePr
     protected Map<?, ?> getMap() {
         return (Properties) System.getProperties().clone();
     }
+
+    /**
+     * Hashes the system properties directly rather than a copy of them.
+     */
+    @Override
+    protected int getMapHash() {
+        return System.getProperties().hashCode();
+    }
+
+    @Override
+    protected ProvidedValue lookupProvidedValue(String... keyAndAliases) {
+        final ProvidedValue providedValue = super.lookupProvidedValue(keyAndAliases);
+        if (keyAndAliases != null && keyAndAliases.length > 0) {
+            if (providedValue == null || Arrays.asList(keyAndAliases).contains(providedValue.getActualKey())) {
+                foundKeys.remove(keyAndAliases[0]);
+            } else {
+                foundKeys.put(keyAndAliases[0], providedValue.getActualKey());
+            }
+        }
+        return providedValue;
+    }
+
+    /**
+     * System properties can be changed from anywhere without notice, and hashing all of them on every read is too slow.
+     * Instead, this looks at the number of properties, the properties named like the keys, and the property the value
+     * was last found in. That notices properties being set, changed and cleared, except for a property that only
+     * matches in another spelling replacing an unrelated one.
+     */
+    @Override
+    public Object getValuesVersion(String... keyAndAliases) {
+        final Properties properties = System.getProperties();
+        final List<Object> version = new ArrayList<>(keyAndAliases.length + 3);
+        version.add(System.identityHashCode(properties));
+        version.add(properties.size());
+        for (String key : keyAndAliases) {
+            version.add(properties.get(key));
+        }
+        if (keyAndAliases.length > 0) {
+            final String foundKey = foundKeys.get(keyAndAliases[0]);
+            if (foundKey != null) {
+                version.add(properties.get(foundKey));
+            }
+        }
+        return version;
+    }
 }
@@ -78,8 +78,13 @@ public abstract class AbstractJdbcDatabase implements Database {
     private static final Pattern NAME_WITH_ASC_PATTERN = Pattern.compile(NAME_WITH_ASC_REGEX);
 
     private final Set<String> reservedWords = new HashSet<>();
-    protected String defaultCatalogName;
-    protected String defaultSchemaName;
+    /*
+     * The default catalog and schema and the case sensitivity are looked up lazily and may be read by several threads at
+     * once, for example while a diff compares objects in parallel. They are looked up while holding the lock on the
+     * database, so the connection is not used by two threads at the same time.
+     */
+    protected volatile String defaultCatalogName;
+    protected volatile String defaultSchemaName;
     protected String currentDateTimeFunction;
     /**
      * The sequence name will be substituted into the string e.g. NEXTVAL('%s')
@@ -96,7 +101,7 @@ public abstract class AbstractJdbcDatabase implements Database {
     protected Boolean unquotedObjectsAreUppercased;
     // whether object names should be quoted
     protected ObjectQuotingStrategy quotingStrategy = ObjectQuotingStrategy.LEGACY;
-    protected Boolean caseSensitive;
+    protected volatile Boolean caseSensitive;
     private String databaseChangeLogTableName;
     private String databaseChangeLogLockTableName;
     private String liquibaseTablespaceName;
@@ -245,10 +250,14 @@ public abstract class AbstractJdbcDatabase implements Database {
             }
 
             if (connection != null) {
-                try {
-                    defaultCatalogName = getConnectionCatalogName();
-                } catch (DatabaseException e) {
-                    Scope.getCurrentScope().getLog(getClass()).info("Error getting default catalog", e);
+                synchronized (this) {
+                    if (defaultCatalogName == null) {
+                        try {
+                            defaultCatalogName = getConnectionCatalogName();
+                        } catch (DatabaseException e) {
+                            Scope.getCurrentScope().getLog(getClass()).info("Error getting default catalog", e);
+                        }
+                    }
                 }
             }
         }
@@ -319,9 +328,13 @@ public abstract class AbstractJdbcDatabase implements Database {
         }
 
         if ((defaultSchemaName == null) && (connection != null)) {
-            defaultSchemaName = getConnectionSchemaName();
-            if (defaultSchemaName != null) {
-                Scope.getCurrentScope().getLog(getClass()).info("Set default schema name to " + defaultSchemaName);
+            synchronized (this) {
+                if (defaultSchemaName == null) {
+                    defaultSchemaName = getConnectionSchemaName();
+                    if (defaultSchemaName != null) {
+                        Scope.getCurrentScope().getLog(getClass()).info("Set default schema name to " + defaultSchemaName);
+                    }
+                }
             }
         }
 
@@ -732,18 +745,23 @@ public abstract class AbstractJdbcDatabase implements Database {
     public boolean isCaseSensitive() {
         if (caseSensitive == null) {
             if ((connection != null) && (connection instanceof JdbcConnection)) {
-                try {
-                    caseSensitive = ((JdbcConnection) connection).getUnderlyingConnection().getMetaData().supportsMixedCaseIdentifiers();
-                } catch (SQLException e) {
-                    Scope.getCurrentScope().getLog(getClass()).warning("Cannot determine case sensitivity from JDBC driver", e);
+                synchronized (this) {
+                    if (caseSensitive == null) {
+                        try {
+                            caseSensitive = ((JdbcConnection) connection).getUnderlyingConnection().getMetaData().supportsMixedCaseIdentifiers();
+                        } catch (SQLException e) {
+                            Scope.getCurrentScope().getLog(getClass()).warning("Cannot determine case sensitivity from JDBC driver", e);
+                        }
+                    }
                 }
             }
         }
 
-        if (caseSensitive == null) {
+        final Boolean isCaseSensitive = caseSensitive;
+        if (isCaseSensitive == null) {
             return false;
         } else {
-            return caseSensitive;
+            return isCaseSensitive;
         }
     }
 
@@ -41,6 +41,8 @@ public class OfflineConnection implements DatabaseConnection {
     private DatabaseSnapshot snapshot;
     private OutputLiquibaseSql outputLiquibaseSql = OutputLiquibaseSql.NONE;
     private String changeLogFile = "databasechangelog.csv";
+    private boolean appendOnlyHistory;
+    private ChangeLogHistoryService changeLogHistoryService;
     private boolean caseSensitive;
     private String productName;
     private String productVersion;
@@ -101,6 +103,8 @@ public class OfflineConnection implements DatabaseConnection {
                     this.caseSensitive = Boolean.parseBoolean(paramEntry.getValue());
                 } else if ("changeLogFile".equals(paramEntry.getKey())) {
                     this.changeLogFile = paramEntry.getValue();
+                } else if ("appendOnlyHistory".equals(paramEntry.getKey())) {
+                    this.appendOnlyHistory = Boolean.parseBoolean(paramEntry.getValue());
                 } else if ("outputLiquibaseSql".equals(paramEntry.getKey())) {
                     this.outputLiquibaseSql = OutputLiquibaseSql.fromString(paramEntry.getValue());
                 } else if ("snapshot".equals(paramEntry.getKey())) {
@@ -175,14 +179,17 @@ public class OfflineConnection implements DatabaseConnection {
             }
         }
 
-        Scope.getCurrentScope().getSingleton(ChangeLogHistoryServiceFactory.class).registerForDatabase(database, createChangeLogHistoryService(database));
+        changeLogHistoryService = createChangeLogHistoryService(database);
+        Scope.getCurrentScope().getSingleton(ChangeLogHistoryServiceFactory.class).registerForDatabase(database, changeLogHistoryService);
     }
 
     protected ChangeLogHistoryService createChangeLogHistoryService(Database database) {
-        return new OfflineChangeLogHistoryService(database, new File(changeLogFile),
+        OfflineChangeLogHistoryService service = new OfflineChangeLogHistoryService(database, new File(changeLogFile),
                 outputLiquibaseSql != OutputLiquibaseSql.NONE, // Output DML
                 outputLiquibaseSql == OutputLiquibaseSql.ALL   // Output DDL
         );
+        service.setAppendOnly(appendOnlyHistory);
+        return service;
     }
 
     /**
@@ -216,7 +223,10 @@ public class OfflineConnection implements DatabaseConnection {
 
     @Override
     public void close() throws DatabaseException {
-        //nothing
+        if (changeLogHistoryService != null) {
+            // writes out the history an append-only service kept in its journal
+            changeLogHistoryService.reset();
+        }
     }
 
     @Override
@@ -93,26 +93,32 @@ public abstract class AbstractDb2Database extends AbstractJdbcDatabase {
             return ((OfflineConnection) getConnection()).getSchema();
         }
 
-        Statement stmt = null;
-        ResultSet rs = null;
-        try {
-            stmt = ((JdbcConnection) getConnection()).createStatement();
-            rs = stmt.executeQuery("select current schema from sysibm.sysdummy1");
-            if (rs.next()) {
-                String result = rs.getString(1);
-                if (result != null) {
-                    this.defaultSchemaName = StringUtil.trimToNull(result);
-                } else {
-                    this.defaultSchemaName = StringUtil.trimToNull(super.getDefaultSchemaName());
+        synchronized (this) {
+            if (defaultSchemaName != null) {
+                return defaultSchemaName;
+            }
+
+            Statement stmt = null;
+            ResultSet rs = null;
+            try {
+                stmt = ((JdbcConnection) getConnection()).createStatement();
+                rs = stmt.executeQuery("select current schema from sysibm.sysdummy1");
+                if (rs.next()) {
+                    String result = rs.getString(1);
+                    if (result != null) {
+                        this.defaultSchemaName = StringUtil.trimToNull(result);
+                    } else {
+                        this.defaultSchemaName = StringUtil.trimToNull(super.getDefaultSchemaName());
+                    }
                 }
+            } catch (Exception e) {
+                throw new RuntimeException("Could not determine current schema", e);
+            } finally {
+                JdbcUtil.close(rs, stmt);
             }
-        } catch (Exception e) {
-            throw new RuntimeException("Could not determine current schema", e);
-        } finally {
-            JdbcUtil.close(rs, stmt);
-        }
 
-        return defaultSchemaName;
+            return defaultSchemaName;
+        }
     }
 
     @Override
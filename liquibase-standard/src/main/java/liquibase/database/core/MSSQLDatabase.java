@@ -467,21 +467,26 @@ public class MSSQLDatabase extends AbstractJdbcDatabase {
     @Override
     public boolean isCaseSensitive() {
         if (caseSensitive == null) {
-            try {
-                if (getConnection() instanceof JdbcConnection) {
-                    String catalog = getConnection().getCatalog();
-                    String sql = String.format("SELECT CONVERT([sysname], DATABASEPROPERTYEX(N'%s', 'Collation'))", escapeStringForDatabase(catalog));
-                    String collation = Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", this)
-                        .queryForObject(new RawParameterizedSqlStatement(sql), String.class);
-                    caseSensitive = (collation != null) && !collation.contains("_CI_");
-                } else if (getConnection() instanceof OfflineConnection) {
-                    caseSensitive = ((OfflineConnection) getConnection()).isCaseSensitive();
+            synchronized (this) {
+                if (caseSensitive == null) {
+                    try {
+                        if (getConnection() instanceof JdbcConnection) {
+                            String catalog = getConnection().getCatalog();
+                            String sql = String.format("SELECT CONVERT([sysname], DATABASEPROPERTYEX(N'%s', 'Collation'))", escapeStringForDatabase(catalog));
+                            String collation = Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", this)
+                                .queryForObject(new RawParameterizedSqlStatement(sql), String.class);
+                            caseSensitive = (collation != null) && !collation.contains("_CI_");
+                        } else if (getConnection() instanceof OfflineConnection) {
+                            caseSensitive = ((OfflineConnection) getConnection()).isCaseSensitive();
+                        }
+                    } catch (DatabaseException e) {
+                        Scope.getCurrentScope().getLog(getClass()).warning("Cannot determine case sensitivity from MSSQL", e);
+                    }
                 }
-            } catch (DatabaseException e) {
-                Scope.getCurrentScope().getLog(getClass()).warning("Cannot determine case sensitivity from MSSQL", e);
             }
         }
-        return (caseSensitive != null) && caseSensitive;
+        final Boolean isCaseSensitive = caseSensitive;
+        return (isCaseSensitive != null) && isCaseSensitive;
     }
 
     @Override
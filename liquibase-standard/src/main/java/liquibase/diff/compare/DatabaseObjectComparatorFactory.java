@@ -10,15 +10,17 @@ import liquibase.structure.core.Schema;
 import liquibase.util.StringUtil;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class DatabaseObjectComparatorFactory {
 
-    private static DatabaseObjectComparatorFactory instance;
+    private static volatile DatabaseObjectComparatorFactory instance;
 
     private final List<DatabaseObjectComparator> comparators = new ArrayList<>();
 
-    private final Map<String, List<DatabaseObjectComparator>> validComparatorsByClassAndDatabase = new HashMap<>();
-    private final Map<String, DatabaseObjectComparatorChain> comparatorChainsByClassAndDatabase = new HashMap<>();
+    // diffs can compare objects from several threads
+    private final Map<String, List<DatabaseObjectComparator>> validComparatorsByClassAndDatabase = new ConcurrentHashMap<>();
+    private final Map<String, DatabaseObjectComparatorChain> comparatorChainsByClassAndDatabase = new ConcurrentHashMap<>();
 
     private DatabaseObjectComparatorFactory() {
         try {
@@ -35,11 +37,17 @@ public class DatabaseObjectComparatorFactory {
     /**
      * Return singleton DatabaseObjectComparatorFactory
      */
-    public static synchronized DatabaseObjectComparatorFactory getInstance() {
-        if (instance == null) {
-            instance = new DatabaseObjectComparatorFactory();
+    public static DatabaseObjectComparatorFactory getInstance() {
+        DatabaseObjectComparatorFactory factory = instance;
+        if (factory == null) {
+            synchronized (DatabaseObjectComparatorFactory.class) {
+                if (instance == null) {
+                    instance = new DatabaseObjectComparatorFactory();
+                }
+                factory = instance;
+            }
         }
-        return instance;
+        return factory;
     }
 
     public static synchronized void reset() {
@@ -1,5 +1,6 @@
 package liquibase.diff.core;
 
+import liquibase.GlobalConfiguration;
 import liquibase.database.Database;
 import liquibase.diff.DiffGenerator;
 import liquibase.diff.DiffResult;
@@ -16,7 +17,12 @@ import liquibase.structure.DatabaseObject;
 import liquibase.structure.core.Schema;
 import org.apache.commons.lang3.StringUtils;
 
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 public class StandardDiffGenerator implements DiffGenerator {
 
@@ -64,6 +70,12 @@ public class StandardDiffGenerator implements DiffGenerator {
 
     }
 
+    /**
+     * Compares the objects of the given type. Both snapshots are partitioned by comparator hash up front, so every
+     * object is only matched against the objects sharing one of its hashes, and the matching and comparing is spread
+     * over {@link GlobalConfiguration#DIFF_THREADS} threads. The results are added to the diff result afterwards, so
+     * they do not depend on the number of threads.
+     */
     protected <T extends DatabaseObject> void compareObjectType(Class<T> type, DatabaseSnapshot referenceSnapshot, DatabaseSnapshot comparisonSnapshot, DiffResult diffResult) {
 
         Database comparisonDatabase = comparisonSnapshot.getDatabase();
@@ -71,46 +83,31 @@ public class StandardDiffGenerator implements DiffGenerator {
 
         CompareControl.SchemaComparison[] schemaComparisons = diffResult.getCompareControl().getSchemaComparisons();
         if (schemaComparisons != null) {
+            HashPartitions<T> comparisonPartitions = new HashPartitions<>(comparisonSnapshot, comparisonSnapshot.get(type));
+            HashPartitions<T> referencePartitions = new HashPartitions<>(referenceSnapshot, referenceSnapshot.get(type));
+
             for (CompareControl.SchemaComparison schemaComparison : schemaComparisons) {
-                for (T referenceObject : referenceSnapshot.get(type)) {
-                    Schema referenceObjectSchema = referenceObject.getSchema();
-                    if ((referenceObjectSchema != null) && (referenceObjectSchema.getName() != null)) { //don't filter out null-named schemas. May actually be catalog-level objects that should be included
-                        if (!StringUtils.trimToEmpty(
-                            referenceObjectSchema.toCatalogAndSchema().standardize(referenceDatabase).getSchemaName())
-                            .equalsIgnoreCase(
-                                StringUtils.trimToEmpty(schemaComparison.getReferenceSchema()
-                                .standardize(referenceDatabase).getSchemaName()))) {
-                            continue;
-                        }
-                    }
-                    T comparisonObject = comparisonSnapshot.get(referenceObject);
+                List<T> referenceObjects = filter(referencePartitions.getObjects(), referenceObject -> isInReferenceSchema(referenceObject, schemaComparison, referenceDatabase));
+                List<ObjectDifferences> differences = inParallel(referenceObjects, referenceObject -> {
+                    T comparisonObject = comparisonPartitions.find(referenceObject);
                     if (comparisonObject == null) {
-                        diffResult.addMissingObject(referenceObject);
-                    } else {
-                        ObjectDifferences differences = DatabaseObjectComparatorFactory.getInstance().findDifferences(referenceObject, comparisonObject, comparisonDatabase, diffResult.getCompareControl());
-                        if (differences.hasDifferences()) {
-                            diffResult.addChangedObject(referenceObject, differences);
-                        }
+                        return null;
+                    }
+                    return DatabaseObjectComparatorFactory.getInstance().findDifferences(referenceObject, comparisonObject, comparisonDatabase, diffResult.getCompareControl());
+                });
+                for (int i = 0; i < referenceObjects.size(); i++) {
+                    if (differences.get(i) == null) {
+                        diffResult.addMissingObject(referenceObjects.get(i));
+                    } else if (differences.get(i).hasDifferences()) {
+                        diffResult.addChangedObject(referenceObjects.get(i), differences.get(i));
                     }
                 }
                 //
-                for (T comparisonObject : comparisonSnapshot.get(type)) {
-                    Schema comparisonObjectSchema = comparisonObject.getSchema();
-                    if (comparisonObjectSchema != null) {
-                        String comparisonObjectSchemaName = StringUtils.trimToEmpty(comparisonObjectSchema.toCatalogAndSchema().standardize(comparisonDatabase).getSchemaName());
-                        String schemaComparisonName1 = StringUtils.trimToEmpty(schemaComparison.getComparisonSchema().standardize(comparisonDatabase).getSchemaName());
-                        String schemaComparisonName2 = StringUtils.trimToEmpty(schemaComparison.getReferenceSchema().standardize(comparisonDatabase).getSchemaName());
-
-                        if (comparisonObjectSchemaName.isEmpty() && !schemaComparisonName1.isEmpty() && !schemaComparisonName2.isEmpty()) {
-                            comparisonObjectSchemaName = StringUtils.trimToEmpty(comparisonObjectSchema.getName());
-                        }
-                        if (!(comparisonObjectSchemaName.equalsIgnoreCase(schemaComparisonName1) || comparisonObjectSchemaName.equals(schemaComparisonName2))) {
-                            continue;
-                        }
-                    }
-
-                    if (referenceSnapshot.get(comparisonObject) == null) {
-                        diffResult.addUnexpectedObject(comparisonObject);
+                List<T> comparisonObjects = filter(comparisonPartitions.getObjects(), comparisonObject -> isInComparisonSchema(comparisonObject, schemaComparison, comparisonDatabase));
+                List<Boolean> unexpected = inParallel(comparisonObjects, comparisonObject -> referencePartitions.find(comparisonObject) == null);
+                for (int i = 0; i < comparisonObjects.size(); i++) {
+                    if (unexpected.get(i)) {
+                        diffResult.addUnexpectedObject(comparisonObjects.get(i));
                     }
                 }
             }
@@ -119,4 +116,145 @@ public class StandardDiffGenerator implements DiffGenerator {
         }
 
     }
+
+    private boolean isInReferenceSchema(DatabaseObject referenceObject, CompareControl.SchemaComparison schemaComparison, Database referenceDatabase) {
+        Schema referenceObjectSchema = referenceObject.getSchema();
+        if ((referenceObjectSchema != null) && (referenceObjectSchema.getName() != null)) { //don't filter out null-named schemas. May actually be catalog-level objects that should be included
+            return StringUtils.trimToEmpty(
+                referenceObjectSchema.toCatalogAndSchema().standardize(referenceDatabase).getSchemaName())
+                .equalsIgnoreCase(
+                    StringUtils.trimToEmpty(schemaComparison.getReferenceSchema()
+                    .standardize(referenceDatabase).getSchemaName()));
+        }
+        return true;
+    }
+
+    private boolean isInComparisonSchema(DatabaseObject comparisonObject, CompareControl.SchemaComparison schemaComparison, Database comparisonDatabase) {
+        Schema comparisonObjectSchema = comparisonObject.getSchema();
+        if (comparisonObjectSchema != null) {
+            String comparisonObjectSchemaName = StringUtils.trimToEmpty(comparisonObjectSchema.toCatalogAndSchema().standardize(comparisonDatabase).getSchemaName());
+            String schemaComparisonName1 = StringUtils.trimToEmpty(schemaComparison.getComparisonSchema().standardize(comparisonDatabase).getSchemaName());
+            String schemaComparisonName2 = StringUtils.trimToEmpty(schemaComparison.getReferenceSchema().standardize(comparisonDatabase).getSchemaName());
+
+            if (comparisonObjectSchemaName.isEmpty() && !schemaComparisonName1.isEmpty() && !schemaComparisonName2.isEmpty()) {
+                comparisonObjectSchemaName = StringUtils.trimToEmpty(comparisonObjectSchema.getName());
+            }
+            return comparisonObjectSchemaName.equalsIgnoreCase(schemaComparisonName1) || comparisonObjectSchemaName.equals(schemaComparisonName2);
+        }
+        return true;
+    }
+
+    private <T> List<T> filter(List<T> objects, Predicate<T> predicate) {
+        List<Boolean> matches = inParallel(objects, predicate::test);
+        List<T> matching = new ArrayList<>();
+        for (int i = 0; i < objects.size(); i++) {
+            if (matches.get(i)) {
+                matching.add(objects.get(i));
+            }
+        }
+        return matching;
+    }
+
+    /**
+     * Applies the given function to all objects, in parallel if {@link GlobalConfiguration#DIFF_THREADS} is above 1,
+     * and returns the results in the order of the objects.
+     */
+    protected <T, R> List<R> inParallel(List<T> objects, Function<T, R> function) {
+        Integer threads = GlobalConfiguration.DIFF_THREADS.getCurrentValue();
+        if (threads == null || threads <= 1 || objects.size() < 2) {
+            List<R> results = new ArrayList<>(objects.size());
+            for (T object : objects) {
+                results.add(function.apply(object));
+            }
+            return results;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(Math.min(threads, objects.size()));
+        try {
+            return pool.submit(() -> objects.parallelStream().map(function).collect(Collectors.toList())).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UnexpectedLiquibaseException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new UnexpectedLiquibaseException(e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * The objects of one type in a snapshot, grouped by their comparator hashes the same way
+     * {@link liquibase.structure.DatabaseObjectCollection} groups them, so {@link #find(DatabaseObject)} returns what
+     * {@link DatabaseSnapshot#get(DatabaseObject)} would. Read only once built, so it can be shared between threads.
+     */
+    private static class HashPartitions<T extends DatabaseObject> {
+        /**
+         * The order {@link liquibase.structure.DatabaseObjectCollection} looks through partitions in: smallest first,
+         * then by their string representation. Partitions comparing equal are only looked through once, as there.
+         */
+        private static final Comparator<Partition<?>> SEARCH_ORDER = Comparator.<Partition<?>>comparingInt(partition -> partition.objects.size())
+                .thenComparing(partition -> partition.description);
+
+        private final Database database;
+        private final CompareControl.SchemaComparison[] schemaComparisons;
+        private final List<T> objects;
+        private final Map<String, Partition<T>> partitions = new HashMap<>();
+
+        private HashPartitions(DatabaseSnapshot snapshot, Set<T> objects) {
+            this.database = snapshot.getDatabase();
+            this.schemaComparisons = snapshot.getSchemaComparisons();
+            this.objects = new ArrayList<>(objects);
+            Map<String, Set<T>> objectsByHash = new HashMap<>();
+            for (T object : this.objects) {
+                for (String hash : DatabaseObjectComparatorFactory.getInstance().hash(object, null, database)) {
+                    objectsByHash.computeIfAbsent(hash, k -> new HashSet<>()).add(object);
+                }
+            }
+            objectsByHash.forEach((hash, partition) -> partitions.put(hash, new Partition<>(partition)));
+        }
+
+        public List<T> getObjects() {
+            return objects;
+        }
+
+        /**
+         * Returns the object that is the same as the given example, looking through the partitions of its hashes in
+         * {@link #SEARCH_ORDER}.
+         */
+        public T find(DatabaseObject example) {
+            SortedSet<Partition<?>> candidates = new TreeSet<>(SEARCH_ORDER);
+            for (String hash : DatabaseObjectComparatorFactory.getInstance().hash(example, null, database)) {
+                Partition<T> partition = partitions.get(hash);
+                if (partition != null) {
+                    candidates.add(partition);
+                }
+            }
+
+            for (Partition<?> partition : candidates) {
+                for (DatabaseObject object : partition.objects) {
+                    if (DatabaseObjectComparatorFactory.getInstance().isSameObject(object, example, schemaComparisons, database)) {
+                        //noinspection unchecked
+                        return (T) object;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * The objects sharing a hash, with their string representation computed once since the partition does not change.
+     */
+    private static class Partition<T extends DatabaseObject> {
+        private final Set<T> objects;
+        private final String description;
+
+        private Partition(Set<T> objects) {
+            this.objects = objects;
+            this.description = objects.toString();
+        }
+    }
 }
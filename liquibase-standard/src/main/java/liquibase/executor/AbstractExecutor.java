@@ -3,6 +3,7 @@ package liquibase.executor;
 import liquibase.Scope;
 import liquibase.change.AbstractSQLChange;
 import liquibase.change.Change;
+import liquibase.change.ChangeWithStreamingStatements;
 import liquibase.change.core.RawSQLChange;
 import liquibase.changelog.ChangeSet;
 import liquibase.database.Database;
@@ -131,7 +132,19 @@ public abstract class AbstractExecutor implements Executor {
 
     @Override
     public void execute(Change change, List<SqlVisitor> sqlVisitors) throws DatabaseException {
-        SqlStatement[] sqlStatements = change.generateStatements(database);
+        if ((change instanceof ChangeWithStreamingStatements) &&
+                ((ChangeWithStreamingStatements) change).supportsStatementStreaming(database)) {
+            ((ChangeWithStreamingStatements) change).streamStatements(database,
+                    statements -> execute(change, statements, sqlVisitors));
+            return;
+        }
+        execute(change, change.generateStatements(database), sqlVisitors);
+    }
+
+    /**
+     * Executes the given statements which were generated by the given change.
+     */
+    protected void execute(Change change, SqlStatement[] sqlStatements, List<SqlVisitor> sqlVisitors) throws DatabaseException {
         if (sqlStatements != null) {
             for (SqlStatement statement : sqlStatements) {
                 if (statement.skipOnUnsupported() && !SqlGeneratorFactory.getInstance().supports(statement, database)) {
@@ -11,6 +11,9 @@ import liquibase.exception.DatabaseException;
 import liquibase.executor.AbstractExecutor;
 import liquibase.listener.SqlListener;
 import liquibase.logging.Logger;
+import liquibase.metrics.MetricTimer;
+import liquibase.metrics.MetricType;
+import liquibase.metrics.MetricsService;
 import liquibase.servicelocator.PrioritizedService;
 import liquibase.sql.CallableSql;
 import liquibase.sql.Sql;
@@ -163,19 +166,31 @@ public class JdbcExecutor extends AbstractExecutor {
 
             String finalSql = applyVisitors((RawParameterizedSqlStatement) sql, sqlVisitors);
 
+            MetricTimer metricTimer = startStatementMetric(finalSql);
             try (PreparedStatement pstmt = factory.create(finalSql)) {
                 setParameters(pstmt, (RawParameterizedSqlStatement) sql);
                 pstmt.execute();
 
                 return;
             } catch (SQLException e) {
+                metricTimer.failed();
                 throw new DatabaseException(e);
+            } finally {
+                metricTimer.stop();
             }
         }
 
 
         if (sql instanceof ExecutablePreparedStatement) {
-            ((ExecutablePreparedStatement) sql).execute(new PreparedStatementFactory((JdbcConnection) database.getConnection()));
+            MetricTimer metricTimer = startStatementMetric(sql.getClass().getSimpleName());
+            try {
+                ((ExecutablePreparedStatement) sql).execute(new PreparedStatementFactory((JdbcConnection) database.getConnection()));
+            } catch (DatabaseException | RuntimeException e) {
+                metricTimer.failed();
+                throw e;
+            } finally {
+                metricTimer.stop();
+            }
             return;
         }
         if (sql instanceof CompoundStatement) {
@@ -188,6 +203,13 @@ public class JdbcExecutor extends AbstractExecutor {
         execute(new ExecuteStatementCallback(sql, sqlVisitors), sqlVisitors);
     }
 
+    /**
+     * Starts measuring the execution of one SQL statement, see {@link MetricsService}.
+     */
+    private static MetricTimer startStatementMetric(String sql) {
+        return Scope.getCurrentScope().getSingleton(MetricsService.class).start(MetricType.SQL_STATEMENT, sql);
+    }
+
     private void setParameters(final PreparedStatement pstmt, final RawParameterizedSqlStatement sql) throws SQLException {
         final List<Object> parameters = sql.getParameters();
         for (int i = 0; i < parameters.size(); i++) {
@@ -407,6 +429,7 @@ public class JdbcExecutor extends AbstractExecutor {
                 }
             }
 
+            MetricTimer metricTimer = startStatementMetric(stmtText);
             try {
                 if (sql instanceof CallableSql) {
                     CallableStatement call = null;
@@ -433,7 +456,10 @@ public class JdbcExecutor extends AbstractExecutor {
                     }
                 }
             } catch (Exception e) {
+                metricTimer.failed();
                 throw new DatabaseException(e.getMessage() + " [Failed SQL: " + getErrorCode(e) + sql.toSql() + "]", e);
+            } finally {
+                metricTimer.stop();
             }
         }
     }
@@ -511,17 +537,20 @@ public class JdbcExecutor extends AbstractExecutor {
                 if (statement.contains("?")) {
                     stmt.setEscapeProcessing(false);
                 }
+                MetricTimer metricTimer = startStatementMetric(statement);
                 try {
                     //if execute returns false, we can retrieve the affected rows count
                     // (true used when resultset is returned)
                     if (!stmt.execute(statement)) {
                         int updateCount = stmt.getUpdateCount();
                         addUpdateCountToScope(updateCount);
+                        metricTimer.setRowCount(updateCount);
                         if (isDML(statement)) {
                             log.log(sqlLogLevel, updateCount + " row(s) affected", null);
                         }
                     }
                 } catch (Throwable e) {
+                    metricTimer.failed().stop();
                     throw new DatabaseException(e.getMessage() + " [Failed SQL: " + getErrorCode(e) + statement + "]", e);
                 }
                 try {
@@ -538,8 +567,10 @@ public class JdbcExecutor extends AbstractExecutor {
                     } while (updateCount != -1);
 
                 } catch (Exception e) {
+                    metricTimer.failed().stop();
                     throw new DatabaseException(e.getMessage() + " [Failed SQL: " + getErrorCode(e) + statement + "]", e);
                 }
+                metricTimer.stop();
             }
             return null;
         }
@@ -4,6 +4,7 @@ import liquibase.configuration.AutoloadedConfigurations;
 import liquibase.configuration.ConfigurationDefinition;
 import liquibase.configuration.ConfigurationValueConverter;
 import liquibase.logging.LogFormat;
+import liquibase.logging.core.AsyncLogService;
 import liquibase.util.StringUtil;
 
 import java.util.Arrays;
@@ -27,6 +28,9 @@ public class LiquibaseCommandLineConfiguration implements AutoloadedConfiguratio
     public static final ConfigurationDefinition<String> LOG_FILE;
     public static final ConfigurationDefinition<Boolean> MIRROR_CONSOLE_MESSAGES_TO_LOG;
     public static final ConfigurationDefinition<LogFormat> LOG_FORMAT;
+    public static final ConfigurationDefinition<Boolean> ASYNC_LOGGING;
+    public static final ConfigurationDefinition<Integer> ASYNC_LOG_CAPACITY;
+    public static final ConfigurationDefinition<AsyncLogService.OverflowPolicy> ASYNC_LOG_OVERFLOW_POLICY;
     public static final ConfigurationDefinition<String> OUTPUT_FILE;
     public static final ConfigurationDefinition<Boolean> SHOULD_RUN;
     public static final ConfigurationDefinition<ArgumentConverter> ARGUMENT_CONVERTER;
@@ -122,6 +126,21 @@ public class LiquibaseCommandLineConfiguration implements AutoloadedConfiguratio
                 })
                 .build();
 
+        ASYNC_LOGGING = builder.define("asyncLogging", Boolean.class)
+                .setDescription("If true, log messages are written by a background thread so commands do not wait for log output. Only applies to the \"" + LogFormat.TEXT + "\" log format.")
+                .setDefaultValue(false)
+                .build();
+
+        ASYNC_LOG_CAPACITY = builder.define("asyncLogCapacity", Integer.class)
+                .setDescription("Number of log messages buffered for the background thread when asyncLogging is enabled")
+                .setDefaultValue(AsyncLogService.DEFAULT_CAPACITY)
+                .build();
+
+        ASYNC_LOG_OVERFLOW_POLICY = builder.define("asyncLogOverflowPolicy", AsyncLogService.OverflowPolicy.class)
+                .setDescription("What to do when the asyncLogging buffer is full. BLOCK waits for space, DROP drops messages below WARNING and reports how many were dropped.")
+                .setDefaultValue(AsyncLogService.OverflowPolicy.BLOCK)
+                .build();
+
         ADD_EMPTY_MDC_VALUES = builder.define("addEmptyMdcValues", Boolean.class)
                 .setDescription("If true, a subset of the MdcKeys, as defined by product, will be set to empty strings upon system startup.")
                 .setDefaultValue(true)
@@ -60,4 +60,12 @@ public class ServletConfigurationValueProvider extends AbstractConfigurationValu
 
         return null;
     }
+
+    /**
+     * JNDI entries and servlet context init parameters do not change while the application runs.
+     */
+    @Override
+    public Object getValuesVersion(String... keyAndAliases) {
+        return 0;
+    }
 }
@@ -0,0 +1,178 @@
+package liquibase.lockservice;
+
+import liquibase.GlobalConfiguration;
+import liquibase.Scope;
+import liquibase.database.Database;
+import liquibase.database.OfflineConnection;
+import liquibase.exception.DatabaseException;
+import liquibase.exception.LockException;
+import liquibase.executor.jvm.ChangelogJdbcMdcListener;
+import liquibase.sqlgenerator.SqlGeneratorFactory;
+import liquibase.statement.SqlStatement;
+import liquibase.statement.core.AcquireAdvisoryLockStatement;
+import liquibase.statement.core.ReleaseAdvisoryLockStatement;
+import liquibase.util.MD5Util;
+
+/**
+ * {@link LockService} that queues Liquibase instances on a native session advisory lock (pg_advisory_lock, GET_LOCK,
+ * sp_getapplock or DBMS_LOCK) before taking the lock in the databasechangeloglock table. Waiting instances block
+ * inside the database until the holder is done instead of repeatedly updating the lock table, and the database frees
+ * the advisory lock by itself if the holding session dies.
+ * <p>
+ * The lock table stays the source of truth, so instances that do not use advisory locks are still kept out.
+ * If the advisory lock cannot be requested, for example because the user lacks the required privileges, or the lock
+ * table is held by such an instance, the lock table is polled with jittered exponential backoff that starts at
+ * {@link #INITIAL_BACKOFF_MILLIS} and is capped at {@link #getChangeLogLockRecheckTime()}.
+ * <p>
+ * Only selected by {@link LockServiceFactory} if {@link GlobalConfiguration#CHANGELOGLOCK_USE_ADVISORY_LOCK} is enabled.
+ */
+public class AdvisoryLockService extends StandardLockService {
+
+    protected static final long INITIAL_BACKOFF_MILLIS = 100;
+
+    private boolean hasAdvisoryLock;
+
+    public AdvisoryLockService() {
+        //Empty constructor
+    }
+
+    @Override
+    public int getPriority() {
+        return PRIORITY_DATABASE;
+    }
+
+    @Override
+    public boolean supports(Database database) {
+        if (!GlobalConfiguration.CHANGELOGLOCK_USE_ADVISORY_LOCK.getCurrentValue()) {
+            return false;
+        }
+        if (database.getConnection() == null || database.getConnection() instanceof OfflineConnection) {
+            return false;
+        }
+        return SqlGeneratorFactory.getInstance().supports(new AcquireAdvisoryLockStatement("liquibase", 0), database);
+    }
+
+    public boolean hasAdvisoryLock() {
+        return hasAdvisoryLock;
+    }
+
+    @Override
+    public void waitForLock() throws LockException {
+        if (hasChangeLogLock) {
+            return;
+        }
+        long timeToGiveUp = System.currentTimeMillis() + (getChangeLogLockWaitTime() * 1000 * 60);
+
+        if (!hasAdvisoryLock) {
+            hasAdvisoryLock = acquireAdvisoryLock(timeToGiveUp - System.currentTimeMillis());
+        }
+
+        boolean locked = acquireLock();
+        int attempt = 0;
+        while (!locked && System.currentTimeMillis() < timeToGiveUp) {
+            if (attempt == 0) {
+                reportWaitingForLock();
+            }
+            try {
+                Thread.sleep(Math.max(1, Math.min(getBackoffMillis(attempt++), timeToGiveUp - System.currentTimeMillis())));
+            } catch (InterruptedException e) {
+                // Restore thread interrupt status
+                Thread.currentThread().interrupt();
+                break;
+            }
+            locked = acquireLock();
+        }
+
+        if (!locked) {
+            releaseAdvisoryLock();
+            throw createLockNotAcquiredException();
+        }
+    }
+
+    @Override
+    public void releaseLock() throws LockException {
+        try {
+            super.releaseLock();
+        } finally {
+            releaseAdvisoryLock();
+        }
+    }
+
+    @Override
+    public void reset() {
+        releaseAdvisoryLock();
+        super.reset();
+    }
+
+    /**
+     * Returns how long to sleep before the given retry of the lock table: exponentially growing up to the recheck time,
+     * with the upper half randomized so instances that started together do not keep retrying together.
+     */
+    protected long getBackoffMillis(int attempt) {
+        long maxBackoff = Math.max(INITIAL_BACKOFF_MILLIS, getChangeLogLockRecheckTime() * 1000);
+        long backoff = Math.min(maxBackoff, INITIAL_BACKOFF_MILLIS << Math.min(attempt, 30));
+        long half = backoff / 2;
+        return half + (long) (random.nextDouble() * (backoff - half));
+    }
+
+    /**
+     * Blocks in the database until the advisory lock is acquired or the timeout expires.
+     *
+     * @return true if the lock was acquired, false if it timed out or advisory locks cannot be used
+     */
+    protected boolean acquireAdvisoryLock(long timeoutMillis) {
+        if (timeoutMillis <= 0) {
+            return false;
+        }
+        SqlStatement statement = new AcquireAdvisoryLockStatement(getAdvisoryLockName(database), timeoutMillis);
+        try {
+            database.rollback();
+            Scope.getCurrentScope().getLog(getClass()).fine("Requesting changelog advisory lock " + getAdvisoryLockName(database));
+            boolean acquired = ChangelogJdbcMdcListener.query(database, ex -> ex.queryForInt(statement)) == 1;
+            database.commit();
+            if (acquired) {
+                Scope.getCurrentScope().getLog(getClass()).fine("Acquired changelog advisory lock " + getAdvisoryLockName(database));
+            }
+            return acquired;
+        } catch (DatabaseException e) {
+            Scope.getCurrentScope().getLog(getClass()).warning("Could not acquire changelog advisory lock, polling the lock table instead: " + e.getMessage(), e);
+            return false;
+        } finally {
+            try {
+                database.rollback();
+            } catch (DatabaseException e) {
+                Scope.getCurrentScope().getLog(getClass()).warning("Failed to rollback", e);
+            }
+        }
+    }
+
+    /**
+     * Releases the advisory lock if this service holds it. Failures are only logged since the database releases the
+     * lock anyway once the session ends.
+     */
+    protected void releaseAdvisoryLock() {
+        if (!hasAdvisoryLock) {
+            return;
+        }
+        hasAdvisoryLock = false;
+        try {
+            SqlStatement statement = new ReleaseAdvisoryLockStatement(getAdvisoryLockName(database));
+            ChangelogJdbcMdcListener.execute(database, ex -> ex.execute(statement));
+            database.commit();
+            Scope.getCurrentScope().getLog(getClass()).fine("Released changelog advisory lock " + getAdvisoryLockName(database));
+        } catch (DatabaseException e) {
+            Scope.getCurrentScope().getLog(getClass()).warning("Failed to release changelog advisory lock: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * The advisory lock is named after the lock table, so separate Liquibase schemas in one database do not block each other.
+     */
+    protected String getAdvisoryLockName(Database database) {
+        return "liquibase_" + MD5Util.computeMD5(database.escapeTableName(
+                database.getLiquibaseCatalogName(),
+                database.getLiquibaseSchemaName(),
+                database.getDatabaseChangeLogLockTableName()
+        ));
+    }
+}
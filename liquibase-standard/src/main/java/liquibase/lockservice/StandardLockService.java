@@ -24,6 +24,9 @@ import liquibase.executor.jvm.ChangelogJdbcMdcListener;
 import liquibase.logging.mdc.MdcKey;
 import liquibase.logging.mdc.MdcObject;
 import liquibase.logging.mdc.MdcValue;
+import liquibase.metrics.MetricTimer;
+import liquibase.metrics.MetricType;
+import liquibase.metrics.MetricsService;
 import liquibase.snapshot.InvalidExampleException;
 import liquibase.snapshot.SnapshotGeneratorFactory;
 import liquibase.sql.Sql;
@@ -259,43 +262,66 @@ public class StandardLockService implements LockService {
         boolean locked = false;
         long timeToGiveUp = new Date().getTime() + (getChangeLogLockWaitTime() * 1000 * 60);
 
-        locked = acquireLock();
-        do {
-            if (!locked) {
-                try {
-                    //
-                    // Use the ConsoleUIService to prevent mirroring of this message to log
-                    //
-                    Scope.child(Scope.Attr.ui.name(), new ConsoleUIService(),  () -> {
-                        Scope.getCurrentScope().getUI().sendMessage("Waiting for changelog lock....");
-                    });
-                } catch (Exception ignore) {
-                    // continue on
-                }
-                Scope.getCurrentScope().getLog(getClass()).info("Waiting for changelog lock....");
-                try {
-                    Thread.sleep(getChangeLogLockRecheckTime() * 1000);
-                } catch (InterruptedException e) {
-                    // Restore thread interrupt status
-                    Thread.currentThread().interrupt();
+        MetricTimer metricTimer = Scope.getCurrentScope().getSingleton(MetricsService.class)
+                .start(MetricType.LOCK_WAIT, database.getDatabaseChangeLogLockTableName());
+        try {
+            locked = acquireLock();
+            do {
+                if (!locked) {
+                    reportWaitingForLock();
+                    try {
+                        Thread.sleep(getChangeLogLockRecheckTime() * 1000);
+                    } catch (InterruptedException e) {
+                        // Restore thread interrupt status
+                        Thread.currentThread().interrupt();
+                    }
                 }
+                locked = acquireLock();
+            } while (!locked && (new Date().getTime() < timeToGiveUp));
+        } finally {
+            if (!locked) {
+                metricTimer.failed();
             }
-            locked = acquireLock();
-        } while (!locked && (new Date().getTime() < timeToGiveUp));
+            metricTimer.stop();
+        }
 
         if (!locked) {
-            DatabaseChangeLogLock[] locks = listLocks();
-            String lockedBy;
-            if (locks.length > 0) {
-                DatabaseChangeLogLock lock = locks[0];
-                lockedBy = lock.getLockedBy() + " since " +
-                        DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT)
-                                .format(lock.getLockGranted());
-            } else {
-                lockedBy = "UNKNOWN";
-            }
-            throw new LockException("Could not acquire change log lock.  Currently locked by " + lockedBy);
+            throw createLockNotAcquiredException();
+        }
+    }
+
+    /**
+     * Tells the user that the lock is held by someone else and this instance is waiting for it.
+     */
+    protected void reportWaitingForLock() {
+        try {
+            //
+            // Use the ConsoleUIService to prevent mirroring of this message to log
+            //
+            Scope.child(Scope.Attr.ui.name(), new ConsoleUIService(),  () -> {
+                Scope.getCurrentScope().getUI().sendMessage("Waiting for changelog lock....");
+            });
+        } catch (Exception ignore) {
+            // continue on
+        }
+        Scope.getCurrentScope().getLog(getClass()).info("Waiting for changelog lock....");
+    }
+
+    /**
+     * Builds the exception thrown when the lock could not be acquired within the wait time, naming the current holder.
+     */
+    protected LockException createLockNotAcquiredException() throws LockException {
+        DatabaseChangeLogLock[] locks = listLocks();
+        String lockedBy;
+        if (locks.length > 0) {
+            DatabaseChangeLogLock lock = locks[0];
+            lockedBy = lock.getLockedBy() + " since " +
+                    DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT)
+                            .format(lock.getLockGranted());
+        } else {
+            lockedBy = "UNKNOWN";
         }
+        return new LockException("Could not acquire change log lock.  Currently locked by " + lockedBy);
     }
 
     @Override
@@ -0,0 +1,352 @@
+package liquibase.logging.core;
+
+import liquibase.logging.LogService;
+import liquibase.logging.Logger;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+
+/**
+ * {@link LogService} that adds the messages sent to its loggers to a bounded, lock-free ring buffer, which a background
+ * thread writes to the loggers of another log service. The logging thread only pays for adding the message to the
+ * buffer, while formatting and writing the message happen on the background thread.
+ * <p>
+ * Messages are written in the order they were added, with the time and thread they were logged from when the other
+ * service is a {@link JavaLogService}. The background thread does not see the scope or the MDC of the logging thread,
+ * so only wrap log services whose output does not depend on them. What happens when the buffer is full is controlled by
+ * the {@link OverflowPolicy}.
+ * <p>
+ * Call {@link #close()} to write the buffered messages before the process exits. Messages logged after that are written
+ * directly.
+ */
+public class AsyncLogService extends AbstractLogService {
+
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    private static final long WRITER_PARK_NANOS = 10_000_000;
+    private static final long FULL_PARK_NANOS = 100_000;
+    private static final long CLOSE_TIMEOUT_MILLIS = 10_000;
+
+    /**
+     * What to do with a message when the buffer is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Wait until the background thread has made space for the message.
+         */
+        BLOCK,
+        /**
+         * Drop messages below {@link Level#WARNING}. More severe messages wait like with {@link #BLOCK}.
+         */
+        DROP,
+    }
+
+    private final LogService delegate;
+    private final OverflowPolicy overflowPolicy;
+    private final RingBuffer buffer;
+    private final Logger log;
+    private final Thread writer;
+
+    private final AtomicLong addedMessageCount = new AtomicLong();
+    private final AtomicLong writtenMessageCount = new AtomicLong();
+    private final AtomicLong droppedMessageCount = new AtomicLong();
+    private long reportedDroppedMessageCount;
+
+    private volatile boolean writerWaiting;
+    private volatile boolean closed;
+
+    public AsyncLogService(LogService delegate) {
+        this(delegate, DEFAULT_CAPACITY, OverflowPolicy.BLOCK);
+    }
+
+    /**
+     * @param capacity how many messages the buffer holds. Rounded up to a power of two.
+     */
+    public AsyncLogService(LogService delegate, int capacity, OverflowPolicy overflowPolicy) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity of the log buffer must be positive, but was " + capacity);
+        }
+        this.delegate = delegate;
+        this.overflowPolicy = overflowPolicy;
+        this.buffer = new RingBuffer(capacity);
+        this.log = delegate.getLog(AsyncLogService.class);
+
+        this.writer = new Thread(this::writeMessages, "liquibase-log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public int getPriority() {
+        return PRIORITY_NOT_APPLICABLE;
+    }
+
+    @Override
+    public Logger getLog(Class clazz) {
+        return new AsyncLogger(delegate.getLog(clazz));
+    }
+
+    /**
+     * Returns the log service the messages are written to.
+     */
+    public LogService getDelegate() {
+        return delegate;
+    }
+
+    public int getCapacity() {
+        return buffer.capacity();
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Returns how many messages were dropped because the buffer was full.
+     */
+    public long getDroppedMessageCount() {
+        return droppedMessageCount.get();
+    }
+
+    /**
+     * Waits until the messages added before this call are written.
+     */
+    public void flush() {
+        long added = addedMessageCount.get();
+        while (writtenMessageCount.get() < added && writer.isAlive()) {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+        }
+        if (!writer.isAlive()) {
+            writeBufferedMessages();
+        }
+    }
+
+    /**
+     * Writes the buffered messages, stops the background thread and closes the wrapped log service.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writeBufferedMessages();
+        reportDroppedMessages();
+        delegate.close();
+    }
+
+    private void add(Message message) {
+        if (closed) {
+            write(message);
+            return;
+        }
+        while (!buffer.offer(message)) {
+            if (overflowPolicy == OverflowPolicy.DROP && message.level.intValue() < Level.WARNING.intValue()) {
+                droppedMessageCount.incrementAndGet();
+                return;
+            }
+            if (closed || Thread.currentThread() == writer) {
+                write(message);
+                return;
+            }
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+        }
+        addedMessageCount.incrementAndGet();
+        if (writerWaiting) {
+            LockSupport.unpark(writer);
+        }
+        if (closed) {
+            // the writer may have stopped before the message was added
+            writeBufferedMessages();
+        }
+    }
+
+    private void writeMessages() {
+        while (true) {
+            Message message = buffer.poll();
+            if (message != null) {
+                write(message);
+                continue;
+            }
+            reportDroppedMessages();
+            if (closed) {
+                return;
+            }
+            writerWaiting = true;
+            if (buffer.isEmpty() && !closed) {
+                LockSupport.parkNanos(this, WRITER_PARK_NANOS);
+            }
+            writerWaiting = false;
+        }
+    }
+
+    private void writeBufferedMessages() {
+        Message message;
+        while ((message = buffer.poll()) != null) {
+            write(message);
+        }
+    }
+
+    private void write(Message message) {
+        try {
+            message.write();
+        } catch (RuntimeException e) {
+            // a failing logger must not stop the messages of the other loggers
+            try {
+                log.warning("Cannot write log message: " + e.getMessage(), e);
+            } catch (RuntimeException logFailure) {
+                e.addSuppressed(logFailure);
+                e.printStackTrace(System.err);
+            }
+        } finally {
+            writtenMessageCount.incrementAndGet();
+        }
+    }
+
+    private synchronized void reportDroppedMessages() {
+        long dropped = droppedMessageCount.get();
+        if (dropped > reportedDroppedMessageCount) {
+            log.warning((dropped - reportedDroppedMessageCount) + " log messages were dropped because the log buffer was full");
+            reportedDroppedMessageCount = dropped;
+        }
+    }
+
+    private final class AsyncLogger extends AbstractLogger {
+
+        private final Logger logger;
+
+        private AsyncLogger(Logger logger) {
+            this.logger = logger;
+        }
+
+        @Override
+        public void log(Level level, String message, Throwable e) {
+            if (level == Level.OFF) {
+                return;
+            }
+            if (logger instanceof JavaLogger && !((JavaLogger) logger).isLoggable(level)) {
+                return;
+            }
+            add(new Message(logger, level, message, e));
+        }
+
+        @Override
+        public void close() throws Exception {
+            flush();
+            logger.close();
+        }
+    }
+
+    private static final class Message {
+        private final Logger logger;
+        private final Level level;
+        private final String message;
+        private final Throwable throwable;
+        private final Instant instant;
+        private final long threadId;
+
+        private Message(Logger logger, Level level, String message, Throwable throwable) {
+            this.logger = logger;
+            this.level = level;
+            this.message = message;
+            this.throwable = throwable;
+            this.instant = Instant.now();
+            this.threadId = Thread.currentThread().getId();
+        }
+
+        private void write() {
+            if (logger instanceof JavaLogger) {
+                ((JavaLogger) logger).log(level, message, throwable, instant, threadId);
+            } else {
+                logger.log(level, message, throwable);
+            }
+        }
+    }
+
+    /**
+     * Bounded multi-producer, multi-consumer queue. Each slot has a sequence number telling whether it can be written
+     * (equal to the position of the next offer) or read (one more than that), so offering and polling only need a
+     * compare-and-set on the position.
+     */
+    private static final class RingBuffer {
+
+        private final int mask;
+        private final AtomicLongArray sequences;
+        private final Message[] messages;
+        private final AtomicLong offerPosition = new AtomicLong();
+        private final AtomicLong pollPosition = new AtomicLong();
+
+        private RingBuffer(int capacity) {
+            int size = 1;
+            while (size < capacity) {
+                size <<= 1;
+            }
+            this.mask = size - 1;
+            this.sequences = new AtomicLongArray(size);
+            this.messages = new Message[size];
+            for (int i = 0; i < size; i++) {
+                sequences.set(i, i);
+            }
+        }
+
+        private int capacity() {
+            return messages.length;
+        }
+
+        private boolean offer(Message message) {
+            long position = offerPosition.get();
+            while (true) {
+                int index = (int) (position & mask);
+                long difference = sequences.get(index) - position;
+                if (difference == 0) {
+                    if (offerPosition.compareAndSet(position, position + 1)) {
+                        messages[index] = message;
+                        sequences.set(index, position + 1);
+                        return true;
+                    }
+                    position = offerPosition.get();
+                } else if (difference < 0) {
+                    return false;
+                } else {
+                    position = offerPosition.get();
+                }
+            }
+        }
+
+        private Message poll() {
+            long position = pollPosition.get();
+            while (true) {
+                int index = (int) (position & mask);
+                long difference = sequences.get(index) - (position + 1);
+                if (difference == 0) {
+                    if (pollPosition.compareAndSet(position, position + 1)) {
+                        Message message = messages[index];
+                        messages[index] = null;
+                        sequences.set(index, position + mask + 1);
+                        return message;
+                    }
+                    position = pollPosition.get();
+                } else if (difference < 0) {
+                    return null;
+                } else {
+                    position = pollPosition.get();
+                }
+            }
+        }
+
+        private boolean isEmpty() {
+            return pollPosition.get() >= offerPosition.get();
+        }
+    }
+}
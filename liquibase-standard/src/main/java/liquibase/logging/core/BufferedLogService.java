@@ -2,16 +2,24 @@ package liquibase.logging.core;
 
 import liquibase.logging.Logger;
 import liquibase.util.ISODateFormat;
+import lombok.AccessLevel;
 import lombok.Getter;
 
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
-import java.util.Date;
-import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 
+/**
+ * Keeps log messages in memory so they can be returned by {@link #getLogAsString(Level)}.
+ * <p>
+ * The buffer is bounded by the max length given to the constructor: a message is only kept while the messages of its
+ * level and above are shorter than that. Since {@link #getLogAsString(Level)} never returns more than {@link #MAX_LOG_LENGTH}
+ * characters, the default bound does not change what it returns.
+ */
 @Getter
 @Deprecated
 public class BufferedLogService extends AbstractLogService {
@@ -19,7 +27,28 @@ public class BufferedLogService extends AbstractLogService {
     // Truncate the return value at 10MB = 10,000,000 bytes
     //
     public static final int MAX_LOG_LENGTH = 10000000;
-    private final List<BufferedLogMessage> log = new CopyOnWriteArrayList<>();
+    @Getter(AccessLevel.NONE)
+    private final Queue<BufferedLogMessage> log = new ConcurrentLinkedQueue<>();
+
+    private final long maxLength;
+    /**
+     * Length of the buffered messages by {@link Level#intValue()}.
+     */
+    @Getter(AccessLevel.NONE)
+    private final SortedMap<Integer, Long> lengthByLevel = new TreeMap<>();
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong droppedMessageCount = new AtomicLong();
+
+    public BufferedLogService() {
+        this(MAX_LOG_LENGTH);
+    }
+
+    /**
+     * @param maxLength how many characters of messages to keep for each level and the levels above it
+     */
+    public BufferedLogService(long maxLength) {
+        this.maxLength = maxLength;
+    }
 
 
     @Override
@@ -63,8 +92,35 @@ public class BufferedLogService extends AbstractLogService {
         return returnLog.toString();
     }
 
+    /**
+     * Returns a copy of the buffered messages.
+     */
+    public List<BufferedLogMessage> getLog() {
+        return new ArrayList<>(log);
+    }
+
+    /**
+     * Returns how many messages were not kept because the buffer was full.
+     */
+    public long getDroppedMessageCount() {
+        return droppedMessageCount.get();
+    }
+
     public void addLog(BufferedLogMessage log) {
-        this.log.add(log);
+        int level = log.getLevel().intValue();
+        long length = log.getMessage() == null ? 0 : log.getMessage().length();
+        synchronized (lengthByLevel) {
+            long lengthAtOrAboveLevel = 0;
+            for (long levelLength : lengthByLevel.tailMap(level).values()) {
+                lengthAtOrAboveLevel += levelLength;
+            }
+            if (lengthAtOrAboveLevel >= maxLength) {
+                droppedMessageCount.incrementAndGet();
+                return;
+            }
+            lengthByLevel.merge(level, length, Long::sum);
+            this.log.add(log);
+        }
     }
 
     @Getter
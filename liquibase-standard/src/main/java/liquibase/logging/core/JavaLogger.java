@@ -2,7 +2,9 @@ package liquibase.logging.core;
 
 import liquibase.logging.LogMessageFilter;
 
+import java.time.Instant;
 import java.util.logging.Level;
+import java.util.logging.LogRecord;
 
 /**
  * The default logger for Liquibase. Routes messages through {@link java.util.logging.Logger}.
@@ -36,4 +38,24 @@ public class JavaLogger extends AbstractLogger {
         }
         logger.logp(level, className, null, message, e);
     }
+
+    boolean isLoggable(Level level) {
+        return !level.equals(Level.OFF) && logger.isLoggable(level);
+    }
+
+    /**
+     * Logs a message that was created at the given time on the given thread, like {@link AsyncLogService} does.
+     */
+    void log(Level level, String message, Throwable e, Instant instant, long threadId) {
+        if (!isLoggable(level)) {
+            return;
+        }
+        LogRecord record = new LogRecord(level, message);
+        record.setLoggerName(logger.getName());
+        record.setSourceClassName(className);
+        record.setThrown(e);
+        record.setInstant(instant);
+        record.setLongThreadID(threadId);
+        logger.log(record);
+    }
 }
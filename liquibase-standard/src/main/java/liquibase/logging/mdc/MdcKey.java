@@ -13,6 +13,7 @@ public class MdcKey {
     public static final String LIQUIBASE_SCHEMA_NAME = "liquibaseSchemaName";
     public static final String CHANGESET_OPERATION_START_TIME = "changesetOperationStart";
     public static final String CHANGESET_OPERATION_STOP_TIME = "changesetOperationStop";
+    public static final String CHANGESET_OPERATION_DURATION = "changesetOperationDuration";
     public static final String OPERATION_START_TIME = "operationStart";
     public static final String OPERATION_STOP_TIME = "operationStop";
     public static final String CHANGESET_SQL = "changesetSql";
@@ -13,6 +13,10 @@ import java.util.Objects;
 public class MdcChangesetExtended extends MdcChangeset {
     private String deploymentId;
     private String changesetOutcome;
+    /**
+     * How long the changeset took to execute in milliseconds, or null if that is not known.
+     */
+    private Long changesetOperationDuration;
 
     public MdcChangesetExtended(String changesetId, String changesetAuthor, String changesetFilepath, String deploymentId, String changesetOutcome) {
         super(changesetId, changesetAuthor, changesetFilepath);
@@ -20,12 +24,19 @@ public class MdcChangesetExtended extends MdcChangeset {
         this.changesetOutcome = changesetOutcome;
     }
 
+    public MdcChangesetExtended(String changesetId, String changesetAuthor, String changesetFilepath, String deploymentId, String changesetOutcome,
+                                Long changesetOperationDuration) {
+        this(changesetId, changesetAuthor, changesetFilepath, deploymentId, changesetOutcome);
+        this.changesetOperationDuration = changesetOperationDuration;
+    }
+
     public static MdcChangesetExtended fromChangeset(ChangeSet changeSet) {
         return new MdcChangesetExtended(
                 changeSet.getId(),
                 changeSet.getAuthor(),
                 changeSet.getFilePath(),
                 Objects.toString(changeSet.getAttribute("deploymentId")),
-                Objects.toString(changeSet.getAttribute("updateExecType")));
+                Objects.toString(changeSet.getAttribute("updateExecType")),
+                changeSet.getExecutionMilliseconds() < 0 ? null : changeSet.getExecutionMilliseconds());
     }
 }
@@ -0,0 +1,102 @@
+package liquibase.metrics;
+
+import liquibase.changelog.ChangeSet;
+
+import java.util.*;
+
+/**
+ * Collects the SQL statements changesets execute during one update for its summary and report: the slowest statements,
+ * and the number of statements and affected rows of each changeset. Statements Liquibase runs for itself, like the
+ * writes to the databasechangelog table, are not collected.
+ * <p>
+ * Only work done on the thread that created it is collected, so that updates running at the same time on other
+ * threads do not show up in each other's report. Register it with {@link MetricsService#addListener(MetricsListener)}
+ * while the update runs.
+ */
+public class ExecutionTimings implements MetricsListener {
+
+    /**
+     * Scope key under which the update makes its timings available to the summary.
+     */
+    public static final String SCOPE_KEY = "liquibase.executionTimings";
+
+    private final int slowestStatementCount;
+    private final Thread thread = Thread.currentThread();
+    private final PriorityQueue<Metric> slowestStatements = new PriorityQueue<>(Comparator.comparingLong(Metric::getDurationNanos));
+    private final Map<String, ChangeSetTotals> changeSetTotals = new HashMap<>();
+
+    /**
+     * @param slowestStatementCount how many of the slowest statements to keep
+     */
+    public ExecutionTimings(int slowestStatementCount) {
+        this.slowestStatementCount = slowestStatementCount;
+    }
+
+    /**
+     * Only changesets and their statements are measured for the timings, not the other work of the update.
+     */
+    @Override
+    public Set<MetricType> getMetricTypes() {
+        return EnumSet.of(MetricType.CHANGE_SET_EXECUTION, MetricType.SQL_STATEMENT);
+    }
+
+    @Override
+    public void recorded(Metric metric) {
+        if (Thread.currentThread() != thread) {
+            return;
+        }
+        if (metric.getChangeSetId() == null) {
+            return;
+        }
+        if (metric.getType() == MetricType.SQL_STATEMENT) {
+            slowestStatements.add(metric);
+            if (slowestStatements.size() > slowestStatementCount) {
+                slowestStatements.poll();
+            }
+            if (metric.getRowCount() >= 0) {
+                getTotals(metric.getChangeSetFile(), metric.getChangeSetId(), metric.getChangeSetAuthor()).rowsAffected += metric.getRowCount();
+            }
+        } else if (metric.getType() == MetricType.CHANGE_SET_EXECUTION) {
+            getTotals(metric.getChangeSetFile(), metric.getChangeSetId(), metric.getChangeSetAuthor()).statementCount += metric.getStatementCount();
+        }
+    }
+
+    /**
+     * Returns the slowest statements executed by changesets, slowest first.
+     */
+    public List<Metric> getSlowestStatements() {
+        List<Metric> slowest = new ArrayList<>(slowestStatements);
+        slowest.sort(Comparator.comparingLong(Metric::getDurationNanos).reversed());
+        return slowest;
+    }
+
+    /**
+     * Returns the number of SQL statements the given changeset executed, or null if it was not executed.
+     */
+    public Integer getStatementCount(ChangeSet changeSet) {
+        ChangeSetTotals totals = changeSetTotals.get(key(changeSet.getFilePath(), changeSet.getId(), changeSet.getAuthor()));
+        return totals == null ? null : totals.statementCount;
+    }
+
+    /**
+     * Returns the number of rows the statements of the given changeset reported as affected, or null if it was not
+     * executed.
+     */
+    public Long getRowsAffected(ChangeSet changeSet) {
+        ChangeSetTotals totals = changeSetTotals.get(key(changeSet.getFilePath(), changeSet.getId(), changeSet.getAuthor()));
+        return totals == null ? null : totals.rowsAffected;
+    }
+
+    private ChangeSetTotals getTotals(String filePath, String id, String author) {
+        return changeSetTotals.computeIfAbsent(key(filePath, id, author), k -> new ChangeSetTotals());
+    }
+
+    private static String key(String filePath, String id, String author) {
+        return filePath + "::" + id + "::" + author;
+    }
+
+    private static class ChangeSetTotals {
+        private int statementCount;
+        private long rowsAffected;
+    }
+}
@@ -0,0 +1,135 @@
+package liquibase.metrics;
+
+import jdk.jfr.*;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The JDK Flight Recorder events {@link MetricsService} records. Only loaded when the <code>jdk.jfr</code> module is
+ * available, see {@link MetricsService}.
+ */
+class JfrMetricEvents {
+
+    private final Map<MetricType, EventType> eventTypes = new EnumMap<>(MetricType.class);
+
+    JfrMetricEvents() {
+        eventTypes.put(MetricType.CHANGE_SET_EXECUTION, EventType.getEventType(ChangeSetExecutionEvent.class));
+        eventTypes.put(MetricType.SQL_STATEMENT, EventType.getEventType(SqlStatementEvent.class));
+        eventTypes.put(MetricType.LOCK_WAIT, EventType.getEventType(LockWaitEvent.class));
+        eventTypes.put(MetricType.HISTORY_READ, EventType.getEventType(HistoryReadEvent.class));
+        eventTypes.put(MetricType.CHANGELOG_PARSE, EventType.getEventType(ChangeLogParseEvent.class));
+        eventTypes.put(MetricType.SNAPSHOT_QUERY, EventType.getEventType(SnapshotQueryEvent.class));
+    }
+
+    boolean isEnabled(MetricType type) {
+        return eventTypes.get(type).isEnabled();
+    }
+
+    /**
+     * Returns a started event of the given type, or null if no recording enables it.
+     */
+    Object begin(MetricType type) {
+        if (!isEnabled(type)) {
+            return null;
+        }
+        MetricEvent event;
+        switch (type) {
+            case CHANGE_SET_EXECUTION:
+                event = new ChangeSetExecutionEvent();
+                break;
+            case SQL_STATEMENT:
+                event = new SqlStatementEvent();
+                break;
+            case LOCK_WAIT:
+                event = new LockWaitEvent();
+                break;
+            case HISTORY_READ:
+                event = new HistoryReadEvent();
+                break;
+            case CHANGELOG_PARSE:
+                event = new ChangeLogParseEvent();
+                break;
+            default:
+                event = new SnapshotQueryEvent();
+        }
+        event.begin();
+        return event;
+    }
+
+    void commit(Object started, Metric metric) {
+        MetricEvent event = (MetricEvent) started;
+        event.end();
+        if (event.shouldCommit()) {
+            event.subject = metric.getSubject();
+            event.changeSetId = metric.getChangeSetId();
+            event.changeSetAuthor = metric.getChangeSetAuthor();
+            event.changeSetFile = metric.getChangeSetFile();
+            event.statementCount = metric.getStatementCount();
+            event.rowCount = metric.getRowCount();
+            event.failed = metric.isFailed();
+            event.commit();
+        }
+    }
+
+    @Category("Liquibase")
+    @StackTrace(false)
+    abstract static class MetricEvent extends Event {
+        @Label("Subject")
+        String subject;
+
+        @Label("Changeset ID")
+        String changeSetId;
+
+        @Label("Changeset Author")
+        String changeSetAuthor;
+
+        @Label("Changeset File")
+        String changeSetFile;
+
+        @Label("Statement Count")
+        int statementCount;
+
+        @Label("Row Count")
+        long rowCount;
+
+        @Label("Failed")
+        boolean failed;
+    }
+
+    @Name("liquibase.ChangeSetExecution")
+    @Label("Changeset Execution")
+    @Description("Execution of a changeset. The subject is the changelog file.")
+    static class ChangeSetExecutionEvent extends MetricEvent {
+    }
+
+    @Name("liquibase.SqlStatement")
+    @Label("SQL Statement")
+    @Description("Execution of one SQL statement. The subject is the SQL.")
+    static class SqlStatementEvent extends MetricEvent {
+    }
+
+    @Name("liquibase.LockWait")
+    @Label("Lock Wait")
+    @Description("Waiting for the changelog lock.")
+    static class LockWaitEvent extends MetricEvent {
+    }
+
+    @Name("liquibase.HistoryRead")
+    @Label("History Read")
+    @Description("Reading the databasechangelog table.")
+    static class HistoryReadEvent extends MetricEvent {
+    }
+
+    @Name("liquibase.ChangeLogParse")
+    @Label("Changelog Parse")
+    @Description("Parsing a changelog file and the files it includes. The subject is the file.")
+    static class ChangeLogParseEvent extends MetricEvent {
+    }
+
+    @Name("liquibase.SnapshotQuery")
+    @Label("Snapshot Query")
+    @Description("A query reading database metadata for a snapshot. The subject is the extractor class.")
+    static class SnapshotQueryEvent extends MetricEvent {
+    }
+}
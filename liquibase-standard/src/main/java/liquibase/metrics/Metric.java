@@ -0,0 +1,61 @@
+package liquibase.metrics;
+
+import lombok.Getter;
+
+/**
+ * One measured piece of work, passed to {@link MetricsListener}s when it is done.
+ */
+@Getter
+public class Metric {
+
+    private final MetricType type;
+
+    /**
+     * What the work was done on, see {@link MetricType}. May be null.
+     */
+    private final String subject;
+
+    /**
+     * The changeset the work was done for, or null if it was not done while executing a changeset.
+     */
+    private final String changeSetId;
+    private final String changeSetAuthor;
+    private final String changeSetFile;
+
+    /**
+     * The number of SQL statements executed, see {@link MetricType}.
+     */
+    private final int statementCount;
+
+    /**
+     * The number of rows read, or -1 if the work does not read rows.
+     */
+    private final long rowCount;
+
+    private final long durationNanos;
+
+    /**
+     * True if the work ended with an exception.
+     */
+    private final boolean failed;
+
+    Metric(MetricType type, String subject, String changeSetId, String changeSetAuthor, String changeSetFile,
+           int statementCount, long rowCount, long durationNanos, boolean failed) {
+        this.type = type;
+        this.subject = subject;
+        this.changeSetId = changeSetId;
+        this.changeSetAuthor = changeSetAuthor;
+        this.changeSetFile = changeSetFile;
+        this.statementCount = statementCount;
+        this.rowCount = rowCount;
+        this.durationNanos = durationNanos;
+        this.failed = failed;
+    }
+
+    @Override
+    public String toString() {
+        return type + (subject == null ? "" : " " + subject)
+                + (changeSetId == null ? "" : " [" + changeSetFile + "::" + changeSetId + "::" + changeSetAuthor + "]")
+                + " took " + (durationNanos / 1_000_000) + "ms" + (failed ? " and failed" : "");
+    }
+}
@@ -0,0 +1,109 @@
+package liquibase.metrics;
+
+import liquibase.changelog.ChangeSet;
+
+/**
+ * Measures one piece of work started by {@link MetricsService}. Not thread-safe, a timer is meant to be used by the
+ * thread that started it:
+ * <pre>
+ * MetricTimer timer = Scope.getCurrentScope().getSingleton(MetricsService.class).start(MetricType.SQL_STATEMENT, sql);
+ * try {
+ *     ...
+ * } catch (Exception e) {
+ *     timer.failed();
+ *     throw e;
+ * } finally {
+ *     timer.stop();
+ * }
+ * </pre>
+ */
+public class MetricTimer {
+
+    /**
+     * Returned when nothing is measured. All methods do nothing.
+     */
+    static final MetricTimer DISABLED = new MetricTimer(null, null, null, null, null);
+
+    private final MetricsService service;
+    private final MetricType type;
+    private final ChangeSet changeSet;
+    private final MetricTimer previous;
+    private final Object jfrEvent;
+    private final long startNanos;
+
+    private String subject;
+    private int statementCount;
+    private long rowCount = -1;
+    private boolean failed;
+    private boolean stopped;
+
+    MetricTimer(MetricsService service, MetricType type, String subject, ChangeSet changeSet, MetricTimer previous) {
+        this.service = service;
+        this.type = type;
+        this.subject = subject;
+        this.changeSet = changeSet;
+        this.previous = previous;
+        if (service == null) {
+            this.jfrEvent = null;
+            this.startNanos = 0;
+        } else {
+            this.statementCount = type == MetricType.SQL_STATEMENT ? 1 : 0;
+            this.jfrEvent = service.beginJfrEvent(type);
+            this.startNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Replaces the subject given when the timer was started, for when it is only known once the work is done.
+     */
+    public MetricTimer setSubject(String subject) {
+        this.subject = subject;
+        return this;
+    }
+
+    public MetricTimer setRowCount(long rowCount) {
+        this.rowCount = rowCount;
+        return this;
+    }
+
+    /**
+     * Marks the work as failed.
+     */
+    public MetricTimer failed() {
+        this.failed = true;
+        return this;
+    }
+
+    /**
+     * Stops measuring and reports the work. Calling it again does nothing.
+     */
+    public void stop() {
+        if (service == null || stopped) {
+            return;
+        }
+        stopped = true;
+        long duration = System.nanoTime() - startNanos;
+        Metric metric = new Metric(type, subject,
+                changeSet == null ? null : changeSet.getId(),
+                changeSet == null ? null : changeSet.getAuthor(),
+                changeSet == null ? null : changeSet.getFilePath(),
+                statementCount, rowCount, duration, failed);
+        service.stopped(this, metric, jfrEvent);
+    }
+
+    void addStatement() {
+        statementCount++;
+    }
+
+    MetricType getType() {
+        return type;
+    }
+
+    ChangeSet getChangeSet() {
+        return changeSet;
+    }
+
+    MetricTimer getPrevious() {
+        return previous;
+    }
+}
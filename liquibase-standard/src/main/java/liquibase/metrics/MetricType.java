@@ -0,0 +1,39 @@
+package liquibase.metrics;
+
+/**
+ * The kinds of work {@link MetricsService} measures.
+ */
+public enum MetricType {
+
+    /**
+     * Executing a changeset, from {@link liquibase.changelog.ChangeSet#execute}. The statement count is the number of
+     * SQL statements executed for it.
+     */
+    CHANGE_SET_EXECUTION,
+
+    /**
+     * Executing one SQL statement through {@link liquibase.executor.jvm.JdbcExecutor}. The subject is the SQL.
+     */
+    SQL_STATEMENT,
+
+    /**
+     * Waiting for the changelog lock in {@link liquibase.lockservice.StandardLockService#waitForLock()}.
+     */
+    LOCK_WAIT,
+
+    /**
+     * Reading the databasechangelog table. The subject is the table and the row count the number of rows read.
+     */
+    HISTORY_READ,
+
+    /**
+     * Parsing a changelog file, including the files it includes. The subject is the file.
+     */
+    CHANGELOG_PARSE,
+
+    /**
+     * Running the query of a snapshot {@link liquibase.snapshot.ResultSetCache.ResultSetExtractor}. The subject is the
+     * extractor class and the row count the number of rows it returned.
+     */
+    SNAPSHOT_QUERY
+}
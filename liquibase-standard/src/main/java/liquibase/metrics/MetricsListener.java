@@ -0,0 +1,27 @@
+package liquibase.metrics;
+
+import liquibase.plugin.Plugin;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Receives the {@link Metric}s measured by {@link MetricsService}. Implementations are found through
+ * <code>META-INF/services/liquibase.metrics.MetricsListener</code> or registered with
+ * {@link MetricsService#addListener(MetricsListener)}.
+ * <p>
+ * Listeners are called on the thread that did the work, right after it is done, so they should return quickly. They
+ * may be called from several threads at once.
+ */
+public interface MetricsListener extends Plugin {
+
+    void recorded(Metric metric);
+
+    /**
+     * Returns the types of work this listener wants to receive. Only these types are measured on its behalf, so
+     * listeners interested in a few types should not return all of them.
+     */
+    default Set<MetricType> getMetricTypes() {
+        return EnumSet.allOf(MetricType.class);
+    }
+}
@@ -0,0 +1,134 @@
+package liquibase.metrics;
+
+import liquibase.Scope;
+import liquibase.SingletonObject;
+import liquibase.changelog.ChangeSet;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Measures migration work and reports it as JDK Flight Recorder events and to the registered {@link MetricsListener}s.
+ * <p>
+ * The JFR events are named <code>liquibase.ChangeSetExecution</code>, <code>liquibase.SqlStatement</code>,
+ * <code>liquibase.LockWait</code>, <code>liquibase.HistoryRead</code>, <code>liquibase.ChangeLogParse</code> and
+ * <code>liquibase.SnapshotQuery</code>, in the "Liquibase" category. They are recorded by any running recording that
+ * enables them, for example one started with <code>--monitor-performance</code> or <code>-XX:StartFlightRecording</code>.
+ * <p>
+ * When no listener {@link MetricsListener#getMetricTypes() wants} the type of work and no recording enables its event,
+ * {@link #start(MetricType, String)} returns a timer that does nothing, so measuring costs next to nothing unless
+ * someone is looking.
+ */
+public class MetricsService implements SingletonObject {
+
+    private final List<MetricsListener> listeners = new CopyOnWriteArrayList<>();
+    private final JfrMetricEvents jfrEvents = createJfrEvents();
+    private final ThreadLocal<MetricTimer> currentChangeSet = new ThreadLocal<>();
+    /**
+     * The types at least one listener wants, recomputed whenever the listeners change.
+     */
+    private volatile Set<MetricType> listenedTypes = EnumSet.noneOf(MetricType.class);
+
+    private MetricsService() {
+        listeners.addAll(Scope.getCurrentScope().getServiceLocator().findInstances(MetricsListener.class));
+        updateListenedTypes();
+    }
+
+    /**
+     * Classes referring to JFR are only loaded once it is known to be available, it is not part of every runtime.
+     */
+    private static JfrMetricEvents createJfrEvents() {
+        try {
+            Class.forName("jdk.jfr.Event");
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+        return new JfrMetricEvents();
+    }
+
+    public void addListener(MetricsListener listener) {
+        listeners.add(listener);
+        updateListenedTypes();
+    }
+
+    public void removeListener(MetricsListener listener) {
+        listeners.remove(listener);
+        updateListenedTypes();
+    }
+
+    private synchronized void updateListenedTypes() {
+        Set<MetricType> types = EnumSet.noneOf(MetricType.class);
+        for (MetricsListener listener : listeners) {
+            types.addAll(listener.getMetricTypes());
+        }
+        listenedTypes = types;
+    }
+
+    public List<MetricsListener> getListeners() {
+        return listeners;
+    }
+
+    /**
+     * Starts measuring work of the given type. The returned timer must be stopped, usually in a finally block.
+     * Work started while a changeset is executed on the same thread is attributed to that changeset.
+     */
+    public MetricTimer start(MetricType type, String subject) {
+        MetricTimer changeSetTimer = currentChangeSet.get();
+        if (type == MetricType.SQL_STATEMENT && changeSetTimer != null) {
+            changeSetTimer.addStatement();
+        }
+        if (!isEnabled(type)) {
+            return MetricTimer.DISABLED;
+        }
+        return new MetricTimer(this, type, subject, changeSetTimer == null ? null : changeSetTimer.getChangeSet(), null);
+    }
+
+    /**
+     * Starts measuring the execution of the given changeset on this thread, until the returned timer is stopped.
+     * The timer counts the SQL statements executed meanwhile.
+     */
+    public MetricTimer startChangeSet(ChangeSet changeSet) {
+        if (!isEnabled(MetricType.CHANGE_SET_EXECUTION)) {
+            return MetricTimer.DISABLED;
+        }
+        MetricTimer timer = new MetricTimer(this, MetricType.CHANGE_SET_EXECUTION, changeSet.getFilePath(), changeSet, currentChangeSet.get());
+        currentChangeSet.set(timer);
+        return timer;
+    }
+
+    /**
+     * Returns true if work of the given type is measured at all right now.
+     */
+    public boolean isEnabled(MetricType type) {
+        return listenedTypes.contains(type) || (jfrEvents != null && jfrEvents.isEnabled(type));
+    }
+
+    Object beginJfrEvent(MetricType type) {
+        return jfrEvents == null ? null : jfrEvents.begin(type);
+    }
+
+    void stopped(MetricTimer timer, Metric metric, Object jfrEvent) {
+        if (timer.getType() == MetricType.CHANGE_SET_EXECUTION) {
+            if (timer.getPrevious() == null) {
+                currentChangeSet.remove();
+            } else {
+                currentChangeSet.set(timer.getPrevious());
+            }
+        }
+        if (jfrEvent != null) {
+            jfrEvents.commit(jfrEvent, metric);
+        }
+        for (MetricsListener listener : listeners) {
+            if (!listener.getMetricTypes().contains(metric.getType())) {
+                continue;
+            }
+            try {
+                listener.recorded(metric);
+            } catch (Exception e) {
+                Scope.getCurrentScope().getLog(getClass()).fine("Metrics listener " + listener.getClass().getName() + " failed: " + e.getMessage(), e);
+            }
+        }
+    }
+}
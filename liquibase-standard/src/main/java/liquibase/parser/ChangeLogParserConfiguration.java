@@ -15,6 +15,8 @@ public class ChangeLogParserConfiguration implements AutoloadedConfigurations {
     public static final ConfigurationDefinition<MissingIncludeConfiguration> ON_MISSING_INCLUDE_CHANGELOG;
     public static final ConfigurationDefinition<Boolean> ERROR_ON_CIRCULAR_INCLUDE_ALL;
     public static final ConfigurationDefinition<MissingIncludeConfiguration> ON_MISSING_SQL_FILE;
+    public static final ConfigurationDefinition<String> PARSED_CHANGELOG_CACHE_FILE;
+    public static final ConfigurationDefinition<Integer> INCLUDE_PARSE_THREADS;
 
     static {
         ConfigurationDefinition.Builder builder = new ConfigurationDefinition.Builder("liquibase");
@@ -56,6 +58,15 @@ public class ChangeLogParserConfiguration implements AutoloadedConfigurations {
                 .setDefaultValue(MissingIncludeConfiguration.FAIL)
                 .setHidden(true)
                 .build();
+
+        PARSED_CHANGELOG_CACHE_FILE = builder.define("parsedChangelogCacheFile", String.class)
+                .setDescription("Path to a file used to cache the parsed contents of XML, YAML and JSON changelog files between runs. A cached file is only reused while its content is unchanged. Not used if not set.")
+                .build();
+
+        INCLUDE_PARSE_THREADS = builder.define("includeParseThreads", Integer.class)
+                .setDescription("Number of threads used to read the files of an include or includeAll ahead of time. The changelogs are still processed one after the other in the order they are included. 1 reads every file only when it is included.")
+                .setDefaultValue(1)
+                .build();
     }
 
     public enum MissingPropertyMode {
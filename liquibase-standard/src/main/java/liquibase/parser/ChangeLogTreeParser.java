@@ -0,0 +1,21 @@
+package liquibase.parser;
+
+import liquibase.exception.ChangeLogParseException;
+
+/**
+ * Implemented by {@link ChangeLogParser}s that first read a changelog file into a tree which only depends on the
+ * content of the file, not on the {@link liquibase.changelog.ChangeLogParameters} or other changelog files.
+ * Such files can be read ahead of time, see {@link ParsedChangeLogCache#readAhead(java.util.Collection, liquibase.resource.ResourceAccessor, int)}.
+ */
+public interface ChangeLogTreeParser {
+
+    /**
+     * Reads the given content into the same tree the parser builds from the file while parsing it.
+     * Must be safe to call from several threads at once.
+     *
+     * @param physicalChangeLogLocation the file the content was read from, used in error messages
+     * @param content                   the content of the file
+     * @throws ChangeLogParseException if the content cannot be read
+     */
+    Object parseTree(String physicalChangeLogLocation, byte[] content) throws ChangeLogParseException;
+}
@@ -0,0 +1,528 @@
+package liquibase.parser;
+
+import liquibase.Scope;
+import liquibase.SingletonObject;
+import liquibase.parser.core.ParsedNode;
+import liquibase.parser.core.ParsedNodeException;
+import liquibase.resource.Resource;
+import liquibase.resource.ResourceAccessor;
+import liquibase.util.LiquibaseUtil;
+import liquibase.util.StreamUtil;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Keeps the trees changelog parsers read from changelog files in a binary cache file, so files that did not change
+ * since an earlier run do not need to be parsed again.
+ * <p>
+ * The cache is only used when {@link ChangeLogParserConfiguration#PARSED_CHANGELOG_CACHE_FILE} is set. There is one
+ * entry per parser and file, holding the parsed tree and a SHA-256 digest of the content it was parsed from. An entry
+ * is only used while the file still has exactly that content. The trees are cached before any changelog parameters
+ * are expanded, so they do not depend on the parameters in effect.
+ * <p>
+ * The cache file is read in one go when it is loaded and each tree is only decoded when it is asked for. Every call to
+ * {@link #get(String, String, byte[])} returns a new copy of the tree, so callers are free to modify it.
+ * <p>
+ * Independent of the cache file, {@link #readAhead(Collection, ResourceAccessor, int)} parses files that are about to be
+ * included on several threads and keeps their trees in memory until the parser asks for them.
+ */
+public class ParsedChangeLogCache implements SingletonObject {
+
+    private static final int MAGIC = 0x4C425043;
+    private static final int FORMAT_VERSION = 1;
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte TRUE = 2;
+    private static final byte FALSE = 3;
+    private static final byte INTEGER = 4;
+    private static final byte LONG = 5;
+    private static final byte DOUBLE = 6;
+    private static final byte FLOAT = 7;
+    private static final byte BIG_INTEGER = 8;
+    private static final byte BIG_DECIMAL = 9;
+    private static final byte DATE = 10;
+    private static final byte BYTES = 11;
+    private static final byte LIST = 12;
+    private static final byte SET = 13;
+    private static final byte MAP = 14;
+    private static final byte NODE = 15;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Object> readAheadTrees = new ConcurrentHashMap<>();
+    private Path loadedFrom;
+    private volatile boolean modified;
+
+    private ParsedChangeLogCache() {
+    }
+
+    /**
+     * Returns true if {@link ChangeLogParserConfiguration#PARSED_CHANGELOG_CACHE_FILE} is set.
+     */
+    public boolean isEnabled() {
+        return getConfiguredCacheFile() != null;
+    }
+
+    /**
+     * Returns a copy of the tree cached for the given parser and file, or null if there is none for exactly this content.
+     *
+     * @param parser  identifies the parser and with it the kind of tree
+     * @param path    the path of the parsed file
+     * @param content the current content of the file
+     */
+    public Object get(String parser, String path, byte[] content) {
+        Path cacheFile = getConfiguredCacheFile();
+        if (cacheFile == null) {
+            return null;
+        }
+        synchronized (this) {
+            load(cacheFile);
+        }
+        Entry entry = entries.get(parser + "\t" + path);
+        if (entry == null || !entry.digest.equals(digest(content))) {
+            return null;
+        }
+        try {
+            return new Decoder(entry.data).read();
+        } catch (RuntimeException | ParsedNodeException e) {
+            Scope.getCurrentScope().getLog(getClass()).fine("Cannot read cached tree for " + path + ", parsing it again: " + e.getMessage(), e);
+            entries.remove(parser + "\t" + path, entry);
+            modified = true;
+            return null;
+        }
+    }
+
+    /**
+     * Caches the tree the given parser read from the given content. Trees containing values of types the cache cannot
+     * store are not cached.
+     *
+     * @param tree a {@link ParsedNode} or a tree of maps, collections and simple values
+     */
+    public void put(String parser, String path, byte[] content, Object tree) {
+        Path cacheFile = getConfiguredCacheFile();
+        if (cacheFile == null) {
+            return;
+        }
+        synchronized (this) {
+            load(cacheFile);
+        }
+        byte[] data;
+        try {
+            data = new Encoder().encode(tree);
+        } catch (IllegalArgumentException | IOException e) {
+            Scope.getCurrentScope().getLog(getClass()).fine("Not caching parsed tree for " + path + ": " + e.getMessage(), e);
+            return;
+        }
+        entries.put(parser + "\t" + path, new Entry(digest(content), ByteBuffer.wrap(data)));
+        modified = true;
+    }
+
+    /**
+     * Parses the given changelog files on up to the given number of threads, so their parsers can
+     * {@link #takeReadAhead(String, String) take} the trees instead of reading the files when they are included.
+     * Only files handled by a {@link ChangeLogTreeParser} are read. Files that cannot be read or parsed are skipped,
+     * so the error is reported when the file is parsed in order.
+     *
+     * @param paths the files in the form they will be passed to the parser
+     */
+    public void readAhead(Collection<String> paths, ResourceAccessor resourceAccessor, int threads) {
+        Set<String> toRead = new LinkedHashSet<>(paths);
+        if (threads <= 1 || toRead.size() < 2) {
+            return;
+        }
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (String path : toRead) {
+            tasks.add(() -> {
+                readAhead(path, resourceAccessor);
+                return null;
+            });
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, tasks.size()));
+        try {
+            for (Future<Void> result : executor.invokeAll(tasks)) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    Scope.getCurrentScope().getLog(getClass()).fine("Cannot read changelog ahead of time: " + e.getCause().getMessage(), e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void readAhead(String path, ResourceAccessor resourceAccessor) throws Exception {
+        Resource resource = resourceAccessor.get(path);
+        if (!resource.exists()) {
+            return;
+        }
+        ChangeLogParser parser = ChangeLogParserFactory.getInstance().getParser(path, resourceAccessor);
+        if (!(parser instanceof ChangeLogTreeParser)) {
+            return;
+        }
+        String parserName = parser.getClass().getName();
+        byte[] content;
+        try (InputStream stream = resource.openInputStream()) {
+            content = StreamUtil.readStream(stream);
+        }
+        Object tree = get(parserName, path, content);
+        if (tree == null) {
+            tree = ((ChangeLogTreeParser) parser).parseTree(path, content);
+            put(parserName, path, content, tree);
+        }
+        if (tree != null) {
+            readAheadTrees.put(parserName + "\t" + path, tree);
+        }
+    }
+
+    /**
+     * Returns and forgets the tree read ahead for the given parser and file, or null if there is none.
+     */
+    public Object takeReadAhead(String parser, String path) {
+        if (readAheadTrees.isEmpty()) {
+            return null;
+        }
+        return readAheadTrees.remove(parser + "\t" + path);
+    }
+
+    /**
+     * Called once a root changelog and everything it includes has been parsed. Drops trees that were read ahead but
+     * never used and saves the cache file.
+     */
+    public void rootChangeLogParsed() {
+        readAheadTrees.clear();
+        save();
+    }
+
+    /**
+     * Writes the cache back to {@link ChangeLogParserConfiguration#PARSED_CHANGELOG_CACHE_FILE} if anything changed
+     * since it was loaded. Failures are logged rather than thrown since the cache only affects performance.
+     */
+    public synchronized void save() {
+        if (!modified || loadedFrom == null) {
+            return;
+        }
+        try {
+            Path parent = loadedFrom.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path tempFile = Files.createTempFile(parent, loadedFrom.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                writeString(out, LiquibaseUtil.getBuildVersion());
+                List<Map.Entry<String, Entry>> toWrite = new ArrayList<>(entries.entrySet());
+                out.writeInt(toWrite.size());
+                for (Map.Entry<String, Entry> mapEntry : toWrite) {
+                    writeString(out, mapEntry.getKey());
+                    writeString(out, mapEntry.getValue().digest);
+                    ByteBuffer data = mapEntry.getValue().data.duplicate();
+                    byte[] bytes = new byte[data.remaining()];
+                    data.get(bytes);
+                    out.writeInt(bytes.length);
+                    out.write(bytes);
+                }
+            }
+            try {
+                Files.move(tempFile, loadedFrom, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, loadedFrom, StandardCopyOption.REPLACE_EXISTING);
+            }
+            modified = false;
+        } catch (IOException e) {
+            Scope.getCurrentScope().getLog(getClass()).warning("Cannot write parsed changelog cache file " + loadedFrom + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Discards all cached trees held in memory. The cache file is read again on next use.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        readAheadTrees.clear();
+        loadedFrom = null;
+        modified = false;
+    }
+
+    private Path getConfiguredCacheFile() {
+        String configured = ChangeLogParserConfiguration.PARSED_CHANGELOG_CACHE_FILE.getCurrentValue();
+        if (configured == null || configured.trim().isEmpty()) {
+            return null;
+        }
+        return Paths.get(configured.trim());
+    }
+
+    private void load(Path cacheFile) {
+        if (cacheFile.equals(loadedFrom)) {
+            return;
+        }
+        if (loadedFrom != null) {
+            save();
+            entries.clear();
+        }
+        loadedFrom = cacheFile;
+        modified = false;
+        if (!Files.isRegularFile(cacheFile)) {
+            return;
+        }
+
+        Map<String, Entry> loaded = new HashMap<>();
+        try {
+            // read into the heap rather than mapping the file, since save() replaces the file and that fails on some
+            // platforms while a mapping of it is alive
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(cacheFile));
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION || !LiquibaseUtil.getBuildVersion().equals(readString(buffer))) {
+                Scope.getCurrentScope().getLog(getClass()).fine("Parsed changelog cache file " + cacheFile + " was written by a different version, ignoring it");
+                return;
+            }
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++) {
+                String key = readString(buffer);
+                String digest = readString(buffer);
+                int length = buffer.getInt();
+                loaded.put(key, new Entry(digest, buffer.slice(buffer.position(), length)));
+                buffer.position(buffer.position() + length);
+            }
+            entries.putAll(loaded);
+        } catch (IOException | RuntimeException e) {
+            Scope.getCurrentScope().getLog(getClass()).warning("Cannot read parsed changelog cache file " + cacheFile + ", ignoring it: " + e.getMessage(), e);
+        }
+    }
+
+    private static String digest(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            StringBuilder result = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                result.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return result.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static class Entry {
+        private final String digest;
+        private final ByteBuffer data;
+
+        private Entry(String digest, ByteBuffer data) {
+            this.digest = digest;
+            this.data = data;
+        }
+    }
+
+    /**
+     * Writes a tree as a table of the distinct strings it contains followed by the tree itself, with every string
+     * replaced by its index in the table.
+     */
+    private static class Encoder {
+        private final Map<String, Integer> stringIndexes = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(body);
+
+        private byte[] encode(Object tree) throws IOException {
+            write(tree);
+            out.flush();
+
+            ByteArrayOutputStream result = new ByteArrayOutputStream(body.size() + (strings.size() * 16));
+            DataOutputStream resultOut = new DataOutputStream(result);
+            resultOut.writeInt(strings.size());
+            for (String string : strings) {
+                writeString(resultOut, string);
+            }
+            resultOut.flush();
+            body.writeTo(result);
+            return result.toByteArray();
+        }
+
+        private void write(Object value) throws IOException {
+            if (value == null) {
+                out.writeByte(NULL);
+            } else if (value instanceof String) {
+                out.writeByte(STRING);
+                writeStringIndex((String) value);
+            } else if (value instanceof Boolean) {
+                out.writeByte((Boolean) value ? TRUE : FALSE);
+            } else if (value.getClass() == Integer.class) {
+                out.writeByte(INTEGER);
+                out.writeInt((Integer) value);
+            } else if (value.getClass() == Long.class) {
+                out.writeByte(LONG);
+                out.writeLong((Long) value);
+            } else if (value.getClass() == Double.class) {
+                out.writeByte(DOUBLE);
+                out.writeDouble((Double) value);
+            } else if (value.getClass() == Float.class) {
+                out.writeByte(FLOAT);
+                out.writeFloat((Float) value);
+            } else if (value.getClass() == BigInteger.class) {
+                out.writeByte(BIG_INTEGER);
+                writeStringIndex(value.toString());
+            } else if (value.getClass() == BigDecimal.class) {
+                out.writeByte(BIG_DECIMAL);
+                writeStringIndex(value.toString());
+            } else if (value.getClass() == Date.class) {
+                out.writeByte(DATE);
+                out.writeLong(((Date) value).getTime());
+            } else if (value instanceof byte[]) {
+                out.writeByte(BYTES);
+                out.writeInt(((byte[]) value).length);
+                out.write((byte[]) value);
+            } else if (value instanceof List) {
+                out.writeByte(LIST);
+                writeAll((List<?>) value);
+            } else if (value instanceof Set) {
+                out.writeByte(SET);
+                writeAll((Set<?>) value);
+            } else if (value instanceof Map) {
+                out.writeByte(MAP);
+                out.writeInt(((Map<?, ?>) value).size());
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                    write(entry.getKey());
+                    write(entry.getValue());
+                }
+            } else if (value.getClass() == ParsedNode.class) {
+                ParsedNode node = (ParsedNode) value;
+                out.writeByte(NODE);
+                writeStringIndex(node.getNamespace());
+                writeStringIndex(node.getName());
+                writeStringIndex(node.getParsedNamespace());
+                write(node.getValue());
+                writeAll(node.getChildren());
+            } else {
+                throw new IllegalArgumentException("Cannot cache values of type " + value.getClass().getName());
+            }
+        }
+
+        private void writeAll(Collection<?> values) throws IOException {
+            out.writeInt(values.size());
+            for (Object value : values) {
+                write(value);
+            }
+        }
+
+        private void writeStringIndex(String value) throws IOException {
+            if (value == null) {
+                out.writeInt(-1);
+                return;
+            }
+            Integer index = stringIndexes.get(value);
+            if (index == null) {
+                index = strings.size();
+                strings.add(value);
+                stringIndexes.put(value, index);
+            }
+            out.writeInt(index);
+        }
+    }
+
+    private static class Decoder {
+        private final ByteBuffer in;
+        private final String[] strings;
+
+        private Decoder(ByteBuffer data) {
+            this.in = data.duplicate();
+            this.strings = new String[in.getInt()];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = readString(in);
+            }
+        }
+
+        private Object read() throws ParsedNodeException {
+            byte type = in.get();
+            switch (type) {
+                case NULL:
+                    return null;
+                case STRING:
+                    return readStringIndex();
+                case TRUE:
+                    return Boolean.TRUE;
+                case FALSE:
+                    return Boolean.FALSE;
+                case INTEGER:
+                    return in.getInt();
+                case LONG:
+                    return in.getLong();
+                case DOUBLE:
+                    return in.getDouble();
+                case FLOAT:
+                    return in.getFloat();
+                case BIG_INTEGER:
+                    return new BigInteger(readStringIndex());
+                case BIG_DECIMAL:
+                    return new BigDecimal(readStringIndex());
+                case DATE:
+                    return new Date(in.getLong());
+                case BYTES:
+                    byte[] bytes = new byte[in.getInt()];
+                    in.get(bytes);
+                    return bytes;
+                case LIST:
+                    return readAll(new ArrayList<>());
+                case SET:
+                    return readAll(new LinkedHashSet<>());
+                case MAP:
+                    int size = in.getInt();
+                    Map<Object, Object> map = new LinkedHashMap<>();
+                    for (int i = 0; i < size; i++) {
+                        map.put(read(), read());
+                    }
+                    return map;
+                case NODE:
+                    ParsedNode node = new ParsedNode(readStringIndex(), readStringIndex());
+                    node.setParsedNamespace(readStringIndex());
+                    node.setValue(read());
+                    int children = in.getInt();
+                    for (int i = 0; i < children; i++) {
+                        node.addChild((ParsedNode) read());
+                    }
+                    return node;
+                default:
+                    throw new IllegalStateException("Unknown value type " + type);
+            }
+        }
+
+        private <T extends Collection<Object>> T readAll(T collection) throws ParsedNodeException {
+            int size = in.getInt();
+            for (int i = 0; i < size; i++) {
+                collection.add(read());
+            }
+            return collection;
+        }
+
+        private String readStringIndex() {
+            int index = in.getInt();
+            return index < 0 ? null : strings[index];
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package liquibase.parser.core.xml;
 
+import liquibase.Scope;
 import liquibase.changelog.ChangeLogParameters;
 import liquibase.changelog.DatabaseChangeLog;
 import liquibase.exception.ChangeLogParseException;
 import liquibase.parser.ChangeLogParser;
+import liquibase.parser.ParsedChangeLogCache;
 import liquibase.parser.core.ParsedNode;
 import liquibase.resource.ResourceAccessor;
 
@@ -12,20 +14,27 @@ public abstract class AbstractChangeLogParser implements ChangeLogParser {
     @Override
     public DatabaseChangeLog parse(String physicalChangeLogLocation, ChangeLogParameters changeLogParameters,
                                    ResourceAccessor resourceAccessor) throws ChangeLogParseException {
-        ParsedNode parsedNode = parseToNode(physicalChangeLogLocation, changeLogParameters, resourceAccessor);
-        if (parsedNode == null) {
-            return null;
-        }
-
         DatabaseChangeLog changeLog = new DatabaseChangeLog(DatabaseChangeLog.normalizePath(physicalChangeLogLocation));
-        changeLog.setChangeLogParameters(changeLogParameters);
         try {
-            changeLog.load(parsedNode, resourceAccessor);
-        } catch (Exception e) {
-            throw new ChangeLogParseException(e);
-        }
+            ParsedNode parsedNode = parseToNode(physicalChangeLogLocation, changeLogParameters, resourceAccessor);
+            if (parsedNode == null) {
+                return null;
+            }
 
-        return changeLog;
+            changeLog.setChangeLogParameters(changeLogParameters);
+            try {
+                changeLog.load(parsedNode, resourceAccessor);
+            } catch (Exception e) {
+                throw new ChangeLogParseException(e);
+            }
+
+            return changeLog;
+        } finally {
+            if (changeLog.getRootChangeLog() == changeLog) {
+                // all included changelogs have been parsed by now, or parsing them failed
+                Scope.getCurrentScope().getSingleton(ParsedChangeLogCache.class).rootChangeLogParsed();
+            }
+        }
     }
 
     protected abstract ParsedNode parseToNode(String physicalChangeLogLocation, ChangeLogParameters changeLogParameters,
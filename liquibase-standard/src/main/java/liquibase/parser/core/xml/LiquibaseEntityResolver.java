@@ -47,9 +47,7 @@ public class LiquibaseEntityResolver implements EntityResolver2 {
                 .replace("http://www.liquibase.org/xml/ns/migrator/", "http://www.liquibase.org/xml/ns/dbchangelog/")
                 .replaceFirst("https?://", "");
 
-        if (shouldWarnOnMismatchedXsdVersion && !hasWarnedAboutMismatchedXsdVersion) {
-            warnForMismatchedXsdVersion(systemId);
-        }
+        warnIfMismatchedXsdVersion(systemId);
 
         InputStream stream = null;
         URL resourceUri = getSearchClassloader().getResource(path);
@@ -90,6 +88,16 @@ public class LiquibaseEntityResolver implements EntityResolver2 {
         return new CombinedClassLoader();
     }
 
+    /**
+     * Warns about the XSD version like {@link #resolveEntity(String, String, String, String)} does for schemas that are
+     * not resolved again because they are already compiled.
+     */
+    void warnIfMismatchedXsdVersion(String systemId) {
+        if (shouldWarnOnMismatchedXsdVersion && !hasWarnedAboutMismatchedXsdVersion) {
+            warnForMismatchedXsdVersion(systemId);
+        }
+    }
+
     /**
      * Print a warning message to the logs and UI if the build version does not match the XSD version. This is a best
      * effort check, this method will never throw an exception.
@@ -4,6 +4,8 @@ import liquibase.GlobalConfiguration;
 import liquibase.Scope;
 import liquibase.changelog.ChangeLogParameters;
 import liquibase.exception.ChangeLogParseException;
+import liquibase.parser.ChangeLogTreeParser;
+import liquibase.parser.ParsedChangeLogCache;
 import liquibase.parser.core.ParsedNode;
 import liquibase.parser.core.ParserSupportedFileExtension;
 import liquibase.resource.Resource;
@@ -12,17 +14,26 @@ import liquibase.util.BomAwareInputStream;
 import liquibase.util.FileUtil;
 import liquibase.util.LiquibaseUtil;
 import liquibase.util.StreamUtil;
+import liquibase.util.StringUtil;
 import org.xml.sax.*;
+import org.xml.sax.helpers.DefaultHandler;
 
 import javax.xml.XMLConstants;
+import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
+import javax.xml.validation.Schema;
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.regex.Pattern;
 
-public class XMLChangeLogSAXParser extends AbstractChangeLogParser {
+public class XMLChangeLogSAXParser extends AbstractChangeLogParser implements ChangeLogTreeParser {
 
     public static final String LIQUIBASE_SCHEMA_VERSION;
     private final SAXParserFactory saxParserFactory;
@@ -38,29 +49,49 @@ public class XMLChangeLogSAXParser extends AbstractChangeLogParser {
 
     private final LiquibaseEntityResolver resolver = new LiquibaseEntityResolver();
 
+    /**
+     * Parsers created by {@link #saxParserFactory}, which validate against the schemas the file refers to.
+     */
+    private final SAXParserPool parsers;
+    /**
+     * Non-validating parsers used to find the schemas a file refers to.
+     */
+    private final SAXParserPool schemaLocationParsers;
+    /**
+     * Parsers validating against the schemas compiled from an <code>xsi:schemaLocation</code> value, by that value.
+     */
+    private final Map<String, SAXParserPool> schemaParsers = new ConcurrentHashMap<>();
+
     public XMLChangeLogSAXParser() {
-        saxParserFactory = SAXParserFactory.newInstance();
+        saxParserFactory = createSaxParserFactory();
         saxParserFactory.setValidating(GlobalConfiguration.VALIDATE_XML_CHANGELOG_FILES.getCurrentValue());
-        saxParserFactory.setNamespaceAware(true);
+        parsers = new SAXParserPool(saxParserFactory);
+        schemaLocationParsers = new SAXParserPool(createSaxParserFactory());
+    }
+
+    private SAXParserFactory createSaxParserFactory() {
+        SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setNamespaceAware(true);
         // Unconditional XXE hardening — Liquibase changelogs validate against XSD, not DTD,
         // so DOCTYPE has no legitimate use. Applied regardless of secureParsing to provide
         // defense-in-depth even when users opt out of secure mode.
-        trySetFactoryFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
-        trySetFactoryFeature("http://xml.org/sax/features/external-general-entities", false);
-        trySetFactoryFeature("http://xml.org/sax/features/external-parameter-entities", false);
-        trySetFactoryFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+        trySetFactoryFeature(factory, "http://apache.org/xml/features/disallow-doctype-decl", true);
+        trySetFactoryFeature(factory, "http://xml.org/sax/features/external-general-entities", false);
+        trySetFactoryFeature(factory, "http://xml.org/sax/features/external-parameter-entities", false);
+        trySetFactoryFeature(factory, "http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
         if (GlobalConfiguration.SECURE_PARSING.getCurrentValue()) {
             try {
-                saxParserFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+                factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
             } catch (Throwable e) {
                 Scope.getCurrentScope().getLog(getClass()).fine("Cannot enable FEATURE_SECURE_PROCESSING: " + e.getMessage(), e);
             }
         }
+        return factory;
     }
 
-    private void trySetFactoryFeature(String feature, boolean value) {
+    private void trySetFactoryFeature(SAXParserFactory factory, String feature, boolean value) {
         try {
-            saxParserFactory.setFeature(feature, value);
+            factory.setFeature(feature, value);
         } catch (Throwable e) {
             Scope.getCurrentScope().getLog(getClass()).fine(
                     "Cannot set SAX parser factory feature " + feature + "=" + value + ": " + e.getMessage(), e);
@@ -96,38 +127,22 @@ public class XMLChangeLogSAXParser extends AbstractChangeLogParser {
     @Override
     protected ParsedNode parseToNode(String physicalChangeLogLocation, ChangeLogParameters changeLogParameters, ResourceAccessor resourceAccessor) throws ChangeLogParseException {
         try {
-            Resource resource = resourceAccessor.get(physicalChangeLogLocation);
-            SAXParser parser = saxParserFactory.newSAXParser();
-            if (GlobalConfiguration.SECURE_PARSING.getCurrentValue()) {
-                try {
-                    parser.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "http,https"); //need to allow external schemas on http/https to support the liquibase.org xsd files
-                } catch (SAXException e) {
-                    Scope.getCurrentScope().getLog(getClass()).fine("Cannot enable ACCESS_EXTERNAL_SCHEMA: " + e.getMessage(), e);
-                }
+            ParsedChangeLogCache parsedChangeLogCache = Scope.getCurrentScope().getSingleton(ParsedChangeLogCache.class);
+            Object readAhead = parsedChangeLogCache.takeReadAhead(getClass().getName(), physicalChangeLogLocation);
+            if (readAhead instanceof ParsedNode) {
+                return (ParsedNode) readAhead;
             }
-            trySetSchemaLanguageProperty(parser);
-
-            XMLReader xmlReader = parser.getXMLReader();
-            xmlReader.setEntityResolver(resolver);
-            xmlReader.setErrorHandler(new ErrorHandler() {
-                @Override
-                public void warning(SAXParseException exception) throws SAXException {
-                    Scope.getCurrentScope().getLog(getClass()).warning(exception.getMessage());
-                    throw exception;
+            Resource resource = resourceAccessor.get(physicalChangeLogLocation);
+            byte[] content = null;
+            if (parsedChangeLogCache.isEnabled() && resource.exists()) {
+                try (InputStream stream = resource.openInputStream()) {
+                    content = StreamUtil.readStream(stream);
                 }
-
-                @Override
-                public void error(SAXParseException exception) throws SAXException {
-                    Scope.getCurrentScope().getLog(getClass()).severe(exception.getMessage());
-                    throw exception;
+                Object cached = parsedChangeLogCache.get(getClass().getName(), physicalChangeLogLocation, content);
+                if (cached instanceof ParsedNode) {
+                    return (ParsedNode) cached;
                 }
-
-                @Override
-                public void fatalError(SAXParseException exception) throws SAXException {
-                    Scope.getCurrentScope().getLog(getClass()).severe(exception.getMessage());
-                    throw exception;
-                }
-            });
+            }
 
             if (!resource.exists()) {
                 if (physicalChangeLogLocation.startsWith("WEB-INF/classes/")) {
@@ -141,9 +156,21 @@ public class XMLChangeLogSAXParser extends AbstractChangeLogParser {
             }
 
             XMLChangeLogSAXHandler contentHandler = new XMLChangeLogSAXHandler(physicalChangeLogLocation, resourceAccessor, changeLogParameters);
-            xmlReader.setContentHandler(contentHandler);
-            try (InputStream stream = resource.openInputStream()) {
-                xmlReader.parse(new InputSource(new BomAwareInputStream(stream)));
+            if (content == null && saxParserFactory.isValidating()) {
+                // the schemas the file refers to are read from it before it is parsed
+                try (InputStream stream = resource.openInputStream()) {
+                    content = StreamUtil.readStream(stream);
+                }
+            }
+            if (content == null) {
+                try (InputStream stream = resource.openInputStream()) {
+                    parse(stream, null, contentHandler, true);
+                }
+            } else {
+                parse(null, content, contentHandler, true);
+                if (parsedChangeLogCache.isEnabled()) {
+                    parsedChangeLogCache.put(getClass().getName(), physicalChangeLogLocation, content, contentHandler.getDatabaseChangeLogTree());
+                }
             }
 
             return contentHandler.getDatabaseChangeLogTree();
@@ -199,6 +226,147 @@ public class XMLChangeLogSAXParser extends AbstractChangeLogParser {
         }
     }
 
+    @Override
+    public Object parseTree(String physicalChangeLogLocation, byte[] content) throws ChangeLogParseException {
+        try {
+            XMLChangeLogSAXHandler contentHandler = new XMLChangeLogSAXHandler(physicalChangeLogLocation, null, null);
+            parse(null, content, contentHandler, false);
+            return contentHandler.getDatabaseChangeLogTree();
+        } catch (IOException | SAXException | ParserConfigurationException e) {
+            throw new ChangeLogParseException("Error parsing " + physicalChangeLogLocation + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Parses the given stream or content with a pooled parser.
+     * <p>
+     * When the content is given and the parser validates, the schemas the file refers to in its
+     * <code>xsi:schemaLocation</code> are compiled once through {@link XSDSchemaCache} and the file is validated against
+     * them, instead of the parser resolving and compiling them again for every file. Files for which that is not
+     * possible are validated as before.
+     *
+     * @param logErrors whether the error handler also logs what it fails on
+     */
+    private void parse(InputStream stream, byte[] content, ContentHandler contentHandler, boolean logErrors) throws ParserConfigurationException, SAXException, IOException {
+        SAXParserPool pool = null;
+        if (content != null && saxParserFactory.isValidating()) {
+            pool = getSchemaParsers(content);
+        }
+        if (pool == null) {
+            pool = parsers;
+        }
+        SAXParser parser = pool.take();
+        try {
+            XMLReader xmlReader = configureXmlReader(parser, logErrors);
+            xmlReader.setContentHandler(contentHandler);
+            xmlReader.parse(new InputSource(new BomAwareInputStream(content == null ? stream : new ByteArrayInputStream(content))));
+        } finally {
+            pool.release(parser);
+        }
+    }
+
+    /**
+     * Returns the parsers validating against the compiled schemas the content refers to, or null if the content needs
+     * to be validated by {@link #parsers}.
+     */
+    private SAXParserPool getSchemaParsers(byte[] content) throws ParserConfigurationException, SAXException {
+        String schemaLocation = readSchemaLocation(content);
+        if (schemaLocation == null) {
+            return null;
+        }
+        SAXParserPool pool = schemaParsers.get(schemaLocation);
+        if (pool == null) {
+            Schema schema = Scope.getCurrentScope().getSingleton(XSDSchemaCache.class).getSchema(schemaLocation, resolver);
+            if (schema == null) {
+                return null;
+            }
+            SAXParserFactory factory = createSaxParserFactory();
+            factory.setSchema(schema);
+            pool = schemaParsers.computeIfAbsent(schemaLocation, location -> new SAXParserPool(factory));
+        }
+        String[] locationPairs = schemaLocation.split(" ");
+        for (int i = 1; i < locationPairs.length; i += 2) {
+            resolver.warnIfMismatchedXsdVersion(locationPairs[i]);
+        }
+        return pool;
+    }
+
+    /**
+     * Returns the <code>xsi:schemaLocation</code> of the root element with its entries separated by single spaces, or
+     * null if the root element has none, also refers to a schema without namespace or cannot be read.
+     */
+    private String readSchemaLocation(byte[] content) throws ParserConfigurationException, SAXException {
+        SAXParser parser = schemaLocationParsers.take();
+        try {
+            XMLReader xmlReader = parser.getXMLReader();
+            DefaultHandler handler = new DefaultHandler() {
+                @Override
+                public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
+                    if (attributes.getValue(XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI, "noNamespaceSchemaLocation") != null) {
+                        throw new RootElementRead(null);
+                    }
+                    throw new RootElementRead(attributes.getValue(XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI, "schemaLocation"));
+                }
+            };
+            xmlReader.setContentHandler(handler);
+            xmlReader.setErrorHandler(handler);
+            xmlReader.parse(new InputSource(new BomAwareInputStream(new ByteArrayInputStream(content))));
+        } catch (RootElementRead e) {
+            String schemaLocation = StringUtil.trimToNull(e.schemaLocation);
+            return schemaLocation == null ? null : String.join(" ", schemaLocation.split("\\s+"));
+        } catch (SAXException | IOException e) {
+            //the file is parsed and reported as it was before
+        } finally {
+            schemaLocationParsers.release(parser);
+        }
+        return null;
+    }
+
+    /**
+     * Sets up the reader of the parser with the resolver and an error handler that fails on any warning or error.
+     *
+     * @param logErrors whether the error handler also logs what it fails on
+     */
+    private XMLReader configureXmlReader(SAXParser parser, boolean logErrors) throws SAXException {
+        if (GlobalConfiguration.SECURE_PARSING.getCurrentValue()) {
+            try {
+                parser.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "http,https"); //need to allow external schemas on http/https to support the liquibase.org xsd files
+            } catch (SAXException e) {
+                Scope.getCurrentScope().getLog(getClass()).fine("Cannot enable ACCESS_EXTERNAL_SCHEMA: " + e.getMessage(), e);
+            }
+        }
+        trySetSchemaLanguageProperty(parser);
+
+        XMLReader xmlReader = parser.getXMLReader();
+        xmlReader.setEntityResolver(resolver);
+        xmlReader.setErrorHandler(new ErrorHandler() {
+            @Override
+            public void warning(SAXParseException exception) throws SAXException {
+                if (logErrors) {
+                    Scope.getCurrentScope().getLog(getClass()).warning(exception.getMessage());
+                }
+                throw exception;
+            }
+
+            @Override
+            public void error(SAXParseException exception) throws SAXException {
+                if (logErrors) {
+                    Scope.getCurrentScope().getLog(getClass()).severe(exception.getMessage());
+                }
+                throw exception;
+            }
+
+            @Override
+            public void fatalError(SAXParseException exception) throws SAXException {
+                if (logErrors) {
+                    Scope.getCurrentScope().getLog(getClass()).severe(exception.getMessage());
+                }
+                throw exception;
+            }
+        });
+        return xmlReader;
+    }
+
     /**
      * Attempts to set the "schemaLanguage" property of the given parser, but ignores any errors that may occur if the parser
      * does not recognize this property.
@@ -271,6 +439,48 @@ public class XMLChangeLogSAXParser extends AbstractChangeLogParser {
         }
     }
 
+    /**
+     * Parsers created by one factory, kept for reuse once they are reset.
+     */
+    private static class SAXParserPool {
+        private final SAXParserFactory factory;
+        private final Queue<SAXParser> idleParsers = new ConcurrentLinkedQueue<>();
+
+        SAXParserPool(SAXParserFactory factory) {
+            this.factory = factory;
+        }
+
+        SAXParser take() throws ParserConfigurationException, SAXException {
+            SAXParser parser = idleParsers.poll();
+            if (parser == null) {
+                synchronized (factory) {
+                    parser = factory.newSAXParser();
+                }
+            }
+            return parser;
+        }
+
+        void release(SAXParser parser) {
+            try {
+                parser.reset();
+            } catch (UnsupportedOperationException e) {
+                return;
+            }
+            idleParsers.add(parser);
+        }
+    }
+
+    /**
+     * Stops reading a file once its root element has been read.
+     */
+    private static class RootElementRead extends SAXException {
+        private final String schemaLocation;
+
+        RootElementRead(String schemaLocation) {
+            this.schemaLocation = schemaLocation;
+        }
+    }
+
     protected InputStream openChangeLogFile(String physicalChangeLogLocation, ResourceAccessor resourceAccessor) throws IOException {
         return resourceAccessor.getExisting(physicalChangeLogLocation).openInputStream();
     }
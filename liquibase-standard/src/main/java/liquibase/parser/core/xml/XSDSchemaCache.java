@@ -0,0 +1,117 @@
+package liquibase.parser.core.xml;
+
+import liquibase.GlobalConfiguration;
+import liquibase.Scope;
+import liquibase.SingletonObject;
+import org.w3c.dom.ls.DOMImplementationLS;
+import org.w3c.dom.ls.LSInput;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.Source;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the XSD schemas XML changelogs are validated against, compiled once for every distinct
+ * <code>xsi:schemaLocation</code> value. The schemas are looked up through {@link LiquibaseEntityResolver}, the same way
+ * the parser looks them up while validating a file.
+ * <p>
+ * Compiled schemas are immutable and thread-safe, so they are shared by all parsers and threads.
+ */
+public class XSDSchemaCache implements SingletonObject {
+
+    private final Map<String, Optional<Schema>> schemas = new ConcurrentHashMap<>();
+
+    private XSDSchemaCache() {
+    }
+
+    /**
+     * Returns the schema compiled from the given <code>xsi:schemaLocation</code> value, or null if it cannot be
+     * compiled. In that case the file should be validated the way the parser does it without a compiled schema, so that
+     * the problem is reported the same way as before.
+     */
+    Schema getSchema(String schemaLocation, LiquibaseEntityResolver resolver) {
+        return schemas.computeIfAbsent(schemaLocation, location -> Optional.ofNullable(compile(location, resolver))).orElse(null);
+    }
+
+    /**
+     * Drops all compiled schemas.
+     */
+    public void clear() {
+        schemas.clear();
+    }
+
+    private Schema compile(String schemaLocation, LiquibaseEntityResolver resolver) {
+        String[] locationPairs = schemaLocation.split(" ");
+        if (locationPairs.length % 2 != 0) {
+            return null;
+        }
+        List<InputStream> streams = new ArrayList<>();
+        try {
+            List<Source> sources = new ArrayList<>();
+            for (int i = 1; i < locationPairs.length; i += 2) {
+                String systemId = locationPairs[i];
+                InputSource resolved = resolver.resolveEntity(null, null, null, systemId);
+                if (resolved == null || resolved.getByteStream() == null) {
+                    sources.add(new StreamSource(systemId));
+                } else {
+                    streams.add(resolved.getByteStream());
+                    sources.add(new StreamSource(resolved.getByteStream(), systemId));
+                }
+            }
+            return createSchemaFactory(resolver).newSchema(sources.toArray(new Source[0]));
+        } catch (Exception e) {
+            Scope.getCurrentScope().getLog(getClass()).fine("Cannot compile XSD schemas " + schemaLocation + ": " + e.getMessage(), e);
+            return null;
+        } finally {
+            for (InputStream stream : streams) {
+                try {
+                    stream.close();
+                } catch (IOException e) {
+                    Scope.getCurrentScope().getLog(getClass()).fine("Cannot close XSD stream: " + e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    private SchemaFactory createSchemaFactory(LiquibaseEntityResolver resolver) throws Exception {
+        SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+        if (GlobalConfiguration.SECURE_PARSING.getCurrentValue()) {
+            schemaFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            schemaFactory.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "http,https");
+        }
+        DOMImplementationLS domImplementation = (DOMImplementationLS) DocumentBuilderFactory.newInstance().newDocumentBuilder().getDOMImplementation();
+        schemaFactory.setResourceResolver((type, namespaceURI, publicId, systemId, baseURI) -> {
+            InputSource resolved;
+            try {
+                resolved = resolver.resolveEntity(null, publicId, baseURI, systemId);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (SAXException e) {
+                throw new IllegalStateException(e);
+            }
+            if (resolved == null) {
+                return null;
+            }
+            LSInput input = domImplementation.createLSInput();
+            input.setByteStream(resolved.getByteStream());
+            input.setPublicId(publicId);
+            input.setSystemId(systemId);
+            input.setBaseURI(baseURI);
+            return input;
+        });
+        return schemaFactory;
+    }
+}
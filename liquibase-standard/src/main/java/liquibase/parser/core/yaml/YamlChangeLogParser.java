@@ -9,24 +9,31 @@ import liquibase.exception.ChangeLogParseException;
 import liquibase.exception.LiquibaseException;
 import liquibase.exception.UnexpectedLiquibaseException;
 import liquibase.parser.ChangeLogParser;
+import liquibase.parser.ChangeLogTreeParser;
+import liquibase.parser.ParsedChangeLogCache;
 import liquibase.parser.core.ParsedNode;
 import liquibase.resource.Resource;
 import liquibase.resource.ResourceAccessor;
 import liquibase.util.FileUtil;
+import liquibase.util.StreamUtil;
 import org.yaml.snakeyaml.LoaderOptions;
 import org.yaml.snakeyaml.Yaml;
 import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.nodes.ScalarNode;
 import org.yaml.snakeyaml.nodes.Tag;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
 
-public class YamlChangeLogParser extends YamlParser implements ChangeLogParser {
+public class YamlChangeLogParser extends YamlParser implements ChangeLogParser, ChangeLogTreeParser {
 
     @Override
     public DatabaseChangeLog parse(String physicalChangeLogLocation, ChangeLogParameters changeLogParameters, ResourceAccessor resourceAccessor) throws ChangeLogParseException {
         Yaml yaml = CustomTimestampSafeConstructor.createYaml();
+        DatabaseChangeLog changeLog = new DatabaseChangeLog(DatabaseChangeLog.normalizePath(physicalChangeLogLocation));
+        ParsedChangeLogCache parsedChangeLogCache = Scope.getCurrentScope().getSingleton(ParsedChangeLogCache.class);
 
         try {
             Resource changelog = resourceAccessor.get(physicalChangeLogLocation);
@@ -34,68 +41,121 @@ public class YamlChangeLogParser extends YamlParser implements ChangeLogParser {
                 throw new ChangeLogParseException(physicalChangeLogLocation + " does not exist");
             }
 
-            Map parsedYaml;
-            try (InputStream changeLogStream = changelog.openInputStream()) {
-                parsedYaml = parseYamlStream(physicalChangeLogLocation, yaml, changeLogStream);
-            }
-
-            if ((parsedYaml == null) || parsedYaml.isEmpty()) {
-                throw new ChangeLogParseException("Empty file " + physicalChangeLogLocation);
+            ParsedNode databaseChangeLogNode = null;
+            Map parsedYaml = null;
+            Object readAhead = parsedChangeLogCache.takeReadAhead(getClass().getName(), physicalChangeLogLocation);
+            if (readAhead instanceof Map) {
+                parsedYaml = (Map) readAhead;
+            } else if (parsedChangeLogCache.isEnabled()) {
+                byte[] content;
+                try (InputStream changeLogStream = changelog.openInputStream()) {
+                    content = StreamUtil.readStream(changeLogStream);
+                }
+                Object cached = parsedChangeLogCache.get(getClass().getName(), physicalChangeLogLocation, content);
+                if (cached instanceof Map) {
+                    parsedYaml = (Map) cached;
+                } else {
+                    parsedYaml = parseYamlStream(physicalChangeLogLocation, yaml, new ByteArrayInputStream(content));
+                    parsedChangeLogCache.put(getClass().getName(), physicalChangeLogLocation, content, parsedYaml);
+                }
+            } else {
+                try (InputStream changeLogStream = changelog.openInputStream()) {
+                    databaseChangeLogNode = new YamlChangeLogStreamReader(this, changeLogParameters, resourceAccessor, changeLog).read(changeLogStream);
+                }
+                if (databaseChangeLogNode == null) {
+                    try (InputStream changeLogStream = changelog.openInputStream()) {
+                        parsedYaml = parseYamlStream(physicalChangeLogLocation, yaml, changeLogStream);
+                    }
+                }
             }
-            DatabaseChangeLog changeLog = new DatabaseChangeLog(DatabaseChangeLog.normalizePath(physicalChangeLogLocation));
 
-            if (!parsedYaml.containsKey(DATABASE_CHANGE_LOG)) {
-                throw new ChangeLogParseException("Could not find databaseChangeLog node");
+            if (databaseChangeLogNode == null) {
+                databaseChangeLogNode = toParsedNode(physicalChangeLogLocation, parsedYaml, changeLogParameters, resourceAccessor, changeLog);
             }
-
-            Object rootList = parsedYaml.get(DATABASE_CHANGE_LOG);
-            if (rootList == null) {
+            if (databaseChangeLogNode == null) {
                 changeLog.setChangeLogParameters(changeLogParameters);
                 return changeLog;
             }
 
-            if (!(rootList instanceof List)) {
-                throw new ChangeLogParseException("databaseChangeLog does not contain a list of entries. Each changeSet must begin ' - changeSet:'");
+            changeLog.setChangeLogParameters(changeLogParameters);
+            changeLog.load(databaseChangeLogNode, resourceAccessor);
+
+            return changeLog;
+        } catch (ChangeLogParseException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ChangeLogParseException("Error parsing " + physicalChangeLogLocation + " : " + e.getMessage(), e);
+        } finally {
+            if (changeLog.getRootChangeLog() == changeLog) {
+                // all included changelogs have been parsed by now, or parsing them failed
+                parsedChangeLogCache.rootChangeLogParsed();
             }
+        }
+    }
 
-            for (Object obj : (List) rootList) {
-                if (obj instanceof Map) {
-                    if (((Map<?, ?>) obj).containsKey("property")) {
-                        Map property = (Map) ((Map<?, ?>) obj).get("property");
-                        ContextExpression context = new ContextExpression((String) property.get("context"));
-                        Labels labels = new Labels((String) property.get("labels"));
+    /**
+     * Sets the properties defined in the loaded document, expands the parameters in it and converts it to the
+     * databaseChangeLog node. Returns null if the databaseChangeLog entry is empty.
+     */
+    private ParsedNode toParsedNode(String physicalChangeLogLocation, Map parsedYaml, ChangeLogParameters changeLogParameters,
+                                    ResourceAccessor resourceAccessor, DatabaseChangeLog changeLog) throws Exception {
+        if ((parsedYaml == null) || parsedYaml.isEmpty()) {
+            throw new ChangeLogParseException("Empty file " + physicalChangeLogLocation);
+        }
 
-                        Boolean global = getGlobalParam(property);
+        if (!parsedYaml.containsKey(DATABASE_CHANGE_LOG)) {
+            throw new ChangeLogParseException("Could not find databaseChangeLog node");
+        }
 
-                        if (property.containsKey("name")) {
-                            Object value = property.get("value");
+        Object rootList = parsedYaml.get(DATABASE_CHANGE_LOG);
+        if (rootList == null) {
+            return null;
+        }
 
-                            changeLogParameters.set((String) property.get("name"), value, context, labels, (String) property.get("dbms"), global, changeLog);
-                        } else if (property.containsKey("file")) {
-                            loadChangeLogParametersFromFile(changeLogParameters, resourceAccessor, changeLog, property,
-                                    context, labels, global);
-                        }
-                    }
+        if (!(rootList instanceof List)) {
+            throw new ChangeLogParseException("databaseChangeLog does not contain a list of entries. Each changeSet must begin ' - changeSet:'");
+        }
+
+        for (Object obj : (List) rootList) {
+            if (obj instanceof Map) {
+                if (((Map<?, ?>) obj).containsKey("property")) {
+                    setProperty((Map) ((Map<?, ?>) obj).get("property"), changeLogParameters, resourceAccessor, changeLog);
                 }
             }
+        }
 
 
-            replaceParameters(parsedYaml, changeLogParameters, changeLog);
+        replaceParameters(parsedYaml, changeLogParameters, changeLog);
 
-            changeLog.setChangeLogParameters(changeLogParameters);
-            ParsedNode databaseChangeLogNode = new ParsedNode(null, DATABASE_CHANGE_LOG);
-            databaseChangeLogNode.setValue(rootList);
+        ParsedNode databaseChangeLogNode = new ParsedNode(null, DATABASE_CHANGE_LOG);
+        databaseChangeLogNode.setValue(rootList);
+        return databaseChangeLogNode;
+    }
 
-            changeLog.load(databaseChangeLogNode, resourceAccessor);
+    /**
+     * Sets the changelog parameters defined by the given property entry of the changelog.
+     */
+    void setProperty(Map property, ChangeLogParameters changeLogParameters, ResourceAccessor resourceAccessor, DatabaseChangeLog changeLog) throws IOException, LiquibaseException {
+        ContextExpression context = new ContextExpression((String) property.get("context"));
+        Labels labels = new Labels((String) property.get("labels"));
 
-            return changeLog;
-        } catch (ChangeLogParseException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new ChangeLogParseException("Error parsing " + physicalChangeLogLocation + " : " + e.getMessage(), e);
+        Boolean global = getGlobalParam(property);
+
+        if (property.containsKey("name")) {
+            Object value = property.get("value");
+
+            changeLogParameters.set((String) property.get("name"), value, context, labels, (String) property.get("dbms"), global, changeLog);
+        } else if (property.containsKey("file")) {
+            loadChangeLogParametersFromFile(changeLogParameters, resourceAccessor, changeLog, property,
+                    context, labels, global);
         }
     }
 
+    @Override
+    public Object parseTree(String physicalChangeLogLocation, byte[] content) throws ChangeLogParseException {
+        return parseYamlStream(physicalChangeLogLocation, CustomTimestampSafeConstructor.createYaml(), new ByteArrayInputStream(content));
+    }
+
     private Map parseYamlStream(String physicalChangeLogLocation, Yaml yaml, InputStream changeLogStream) throws ChangeLogParseException {
         Map parsedYaml;
         try {
@@ -185,7 +245,7 @@ public class YamlChangeLogParser extends YamlParser implements ChangeLogParser {
         }
     }
 
-    private static class CustomTimestampSafeConstructor extends SafeConstructor {
+    static class CustomTimestampSafeConstructor extends SafeConstructor {
         /**
          * Create an instance
          *
@@ -197,7 +257,18 @@ public class YamlChangeLogParser extends YamlParser implements ChangeLogParser {
         }
 
         private static Yaml createYaml() {
-            return new Yaml(new CustomTimestampSafeConstructor(createLoaderOptions()));
+            return new Yaml(create());
+        }
+
+        static CustomTimestampSafeConstructor create() {
+            return new CustomTimestampSafeConstructor(createLoaderOptions());
+        }
+
+        /**
+         * Constructs the value of a single scalar the same way it is constructed when loading a whole document.
+         */
+        Object constructScalarValue(ScalarNode node) {
+            return getConstructor(node).construct(node);
         }
     }
 }
@@ -0,0 +1,299 @@
+package liquibase.parser.core.yaml;
+
+import liquibase.changelog.ChangeLogParameters;
+import liquibase.changelog.DatabaseChangeLog;
+import liquibase.parser.ChangeLogParser;
+import liquibase.parser.core.ParsedNode;
+import liquibase.resource.ResourceAccessor;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.events.*;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.reader.UnicodeReader;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import java.io.InputStream;
+import java.util.*;
+
+/**
+ * Reads a YAML or JSON changelog from SnakeYAML's event stream straight into the {@link ParsedNode} tree
+ * {@link YamlChangeLogParser} builds from the loaded document, without holding the document as nested maps and lists
+ * first.
+ * <p>
+ * The result is the same as loading the document, setting the properties it defines and expanding the parameters in
+ * all values before converting it. Properties are set as soon as their entry has been read, but values containing an
+ * expression are only expanded once the whole file has been read. A local property may be redefined further down in
+ * the file and the last definition wins, so expanding a value before all properties are known could give a different
+ * result.
+ * <p>
+ * Documents using anchors, aliases, merge keys, explicitly tagged collections, non-string or duplicate keys, nested
+ * sequences or several documents are not read here. {@link #read(InputStream)} returns null for them, as well as for
+ * anything SnakeYAML cannot parse, and the parser falls back to loading the whole document so that all of them are
+ * handled or reported exactly as before.
+ */
+class YamlChangeLogStreamReader {
+
+    private static final String PROPERTY = "property";
+
+    private final YamlChangeLogParser parser;
+    private final YamlChangeLogParser.CustomTimestampSafeConstructor constructor;
+    private final Resolver resolver = new Resolver();
+    private final ChangeLogParameters changeLogParameters;
+    private final DatabaseChangeLog changeLog;
+    private final ResourceAccessor resourceAccessor;
+
+    private final List<ParsedNode> deferredNodes = new ArrayList<>();
+    private final List<Object> deferredValues = new ArrayList<>();
+    private Iterator<Event> events;
+
+    YamlChangeLogStreamReader(YamlChangeLogParser parser, ChangeLogParameters changeLogParameters,
+                              ResourceAccessor resourceAccessor, DatabaseChangeLog changeLog) {
+        this.parser = parser;
+        this.constructor = YamlChangeLogParser.CustomTimestampSafeConstructor.create();
+        this.changeLogParameters = changeLogParameters;
+        this.resourceAccessor = resourceAccessor;
+        this.changeLog = changeLog;
+    }
+
+    /**
+     * Returns the databaseChangeLog node read from the given stream, or null if the document needs to be loaded as a
+     * whole instead.
+     */
+    ParsedNode read(InputStream stream) throws Exception {
+        events = new Yaml(constructor).parse(new UnicodeReader(stream)).iterator();
+        ParsedNode databaseChangeLogNode;
+        try {
+            databaseChangeLogNode = readDocument();
+        } catch (UnsupportedDocumentException | YAMLException e) {
+            return null;
+        }
+        for (int i = 0; i < deferredNodes.size(); i++) {
+            deferredNodes.get(i).setValue(expandAll(deferredValues.get(i)));
+        }
+        return databaseChangeLogNode;
+    }
+
+    private ParsedNode readDocument() throws Exception {
+        expect(StreamStartEvent.class);
+        expect(DocumentStartEvent.class);
+        ParsedNode databaseChangeLogNode = null;
+        readMappingStart(next());
+        Set<String> keys = new HashSet<>();
+        Event event;
+        while (!((event = next()) instanceof MappingEndEvent)) {
+            String key = readKey(event, keys);
+            if (ChangeLogParser.DATABASE_CHANGE_LOG.equals(key)) {
+                Event value = next();
+                if (!(value instanceof SequenceStartEvent)) {
+                    throw new UnsupportedDocumentException();
+                }
+                readSequenceStart(value);
+                databaseChangeLogNode = new ParsedNode(null, ChangeLogParser.DATABASE_CHANGE_LOG);
+                readSequence(databaseChangeLogNode, true);
+            } else {
+                readObject(next());
+            }
+        }
+        expect(DocumentEndEvent.class);
+        expect(StreamEndEvent.class);
+        if (databaseChangeLogNode == null) {
+            throw new UnsupportedDocumentException();
+        }
+        return databaseChangeLogNode;
+    }
+
+    private ParsedNode readNode(String name, Event event) throws Exception {
+        ParsedNode node = new ParsedNode(null, name);
+        if (event instanceof ScalarEvent) {
+            setValue(node, Collections.singletonList(readScalar((ScalarEvent) event)));
+        } else if (event instanceof MappingStartEvent) {
+            readMappingStart(event);
+            readMapping(node, false);
+        } else if (event instanceof SequenceStartEvent) {
+            readSequenceStart(event);
+            readSequence(node, false);
+        } else {
+            throw new UnsupportedDocumentException();
+        }
+        return node;
+    }
+
+    /**
+     * Adds the entries of a mapping as children of the given node. Property entries of the changelog are set in the
+     * changelog parameters as soon as they have been read.
+     */
+    private void readMapping(ParsedNode node, boolean changeLogEntry) throws Exception {
+        Set<String> keys = new HashSet<>();
+        Event event;
+        while (!((event = next()) instanceof MappingEndEvent)) {
+            String key = readKey(event, keys);
+            if (changeLogEntry && PROPERTY.equals(key)) {
+                Object property = readObject(next());
+                if (!(property instanceof Map)) {
+                    throw new UnsupportedDocumentException();
+                }
+                parser.setProperty((Map) property, changeLogParameters, resourceAccessor, changeLog);
+                ParsedNode propertyNode = new ParsedNode(null, key);
+                node.addChild(propertyNode);
+                defer(propertyNode, property);
+            } else {
+                node.addChild(readNode(key, next()));
+            }
+        }
+    }
+
+    /**
+     * Adds mappings in a sequence as children of the given node and sets the scalars in it as its value, like
+     * {@link ParsedNode#setValue(Object)} does for a list.
+     */
+    private void readSequence(ParsedNode node, boolean changeLogEntries) throws Exception {
+        List<Object> values = new ArrayList<>();
+        Event event;
+        while (!((event = next()) instanceof SequenceEndEvent)) {
+            if (event instanceof MappingStartEvent) {
+                readMappingStart(event);
+                readMapping(node, changeLogEntries);
+            } else if (event instanceof ScalarEvent) {
+                values.add(readScalar((ScalarEvent) event));
+            } else {
+                throw new UnsupportedDocumentException();
+            }
+        }
+        if (!values.isEmpty()) {
+            setValue(node, values);
+        }
+    }
+
+    /**
+     * Sets the values on the node, or defers them to the end if they contain an expression.
+     */
+    private void setValue(ParsedNode node, List<Object> values) throws Exception {
+        Object value = values.size() == 1 ? values.get(0) : values;
+        for (Object item : values) {
+            if (item instanceof String && ((String) item).contains("${")) {
+                defer(node, value);
+                return;
+            }
+        }
+        node.setValue(value);
+    }
+
+    private void defer(ParsedNode node, Object originalValue) {
+        deferredNodes.add(node);
+        deferredValues.add(originalValue);
+    }
+
+    private Object expandAll(Object value) throws Exception {
+        if (value instanceof String) {
+            return changeLogParameters.expandExpressions((String) value, changeLog);
+        }
+        parser.replaceParameters(value, changeLogParameters, changeLog);
+        return value;
+    }
+
+    /**
+     * Reads a node into the maps, lists and values SnakeYAML loads it as.
+     */
+    private Object readObject(Event event) throws Exception {
+        if (event instanceof ScalarEvent) {
+            return readScalar((ScalarEvent) event);
+        } else if (event instanceof MappingStartEvent) {
+            readMappingStart(event);
+            Map<Object, Object> map = new LinkedHashMap<>();
+            Set<String> keys = new HashSet<>();
+            Event entry;
+            while (!((entry = next()) instanceof MappingEndEvent)) {
+                map.put(readKey(entry, keys), readObject(next()));
+            }
+            return map;
+        } else if (event instanceof SequenceStartEvent) {
+            readSequenceStart(event);
+            List<Object> list = new ArrayList<>();
+            Event item;
+            while (!((item = next()) instanceof SequenceEndEvent)) {
+                list.add(readObject(item));
+            }
+            return list;
+        }
+        throw new UnsupportedDocumentException();
+    }
+
+    private String readKey(Event event, Set<String> keys) throws UnsupportedDocumentException {
+        if (!(event instanceof ScalarEvent)) {
+            throw new UnsupportedDocumentException();
+        }
+        ScalarEvent scalar = (ScalarEvent) event;
+        if (scalar.getAnchor() != null) {
+            throw new UnsupportedDocumentException();
+        }
+        ScalarNode node = toNode(scalar);
+        if (node.getTag().equals(Tag.MERGE)) {
+            throw new UnsupportedDocumentException();
+        }
+        Object key = constructor.constructScalarValue(node);
+        if (!(key instanceof String) || !keys.add((String) key)) {
+            throw new UnsupportedDocumentException();
+        }
+        return (String) key;
+    }
+
+    private Object readScalar(ScalarEvent event) throws UnsupportedDocumentException {
+        if (event.getAnchor() != null) {
+            throw new UnsupportedDocumentException();
+        }
+        return constructor.constructScalarValue(toNode(event));
+    }
+
+    /**
+     * Resolves the tag of the scalar the same way SnakeYAML's composer does.
+     */
+    private ScalarNode toNode(ScalarEvent event) {
+        String tag = event.getTag();
+        if (tag == null || tag.equals("!")) {
+            Tag resolved = resolver.resolve(NodeId.scalar, event.getValue(), event.getImplicit().canOmitTagInPlainScalar());
+            return new ScalarNode(resolved, true, event.getValue(), event.getStartMark(), event.getEndMark(), event.getScalarStyle());
+        }
+        return new ScalarNode(new Tag(tag), false, event.getValue(), event.getStartMark(), event.getEndMark(), event.getScalarStyle());
+    }
+
+    private void readMappingStart(Event event) throws UnsupportedDocumentException {
+        if (!(event instanceof MappingStartEvent) || !isPlain((CollectionStartEvent) event, Tag.MAP)) {
+            throw new UnsupportedDocumentException();
+        }
+    }
+
+    private void readSequenceStart(Event event) throws UnsupportedDocumentException {
+        if (!isPlain((CollectionStartEvent) event, Tag.SEQ)) {
+            throw new UnsupportedDocumentException();
+        }
+    }
+
+    private static boolean isPlain(CollectionStartEvent event, Tag defaultTag) {
+        String tag = event.getTag();
+        return event.getAnchor() == null && (tag == null || tag.equals("!") || tag.equals(defaultTag.getValue()));
+    }
+
+    private void expect(Class<? extends Event> type) throws UnsupportedDocumentException {
+        if (!type.isInstance(next())) {
+            throw new UnsupportedDocumentException();
+        }
+    }
+
+    private Event next() throws UnsupportedDocumentException {
+        if (!events.hasNext()) {
+            throw new UnsupportedDocumentException();
+        }
+        return events.next();
+    }
+
+    /**
+     * Thrown when the document uses something only loading it as a whole handles.
+     */
+    private static class UnsupportedDocumentException extends Exception {
+        UnsupportedDocumentException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package liquibase.report;
 
 import liquibase.changelog.ChangeSet;
+import liquibase.metrics.ExecutionTimings;
+import liquibase.metrics.Metric;
 import liquibase.util.CollectionUtil;
 import liquibase.util.StringUtil;
 import lombok.Data;
@@ -23,8 +25,20 @@ public class ChangesetInfo {
     private int failedChangesetCount;
     private final List<IndividualChangesetInfo> changesetInfoList = new ArrayList<>();
     private final List<PendingChangesetInfo> pendingChangesetInfoList = new ArrayList<>();
+    /**
+     * The slowest statements executed, slowest first
+     */
+    private final List<SlowStatementInfo> slowestStatementInfoList = new ArrayList<>();
 
     public void addAllToChangesetInfoList(List<ChangeSet> changeSets, boolean isRollback) {
+        addAllToChangesetInfoList(changeSets, isRollback, null);
+    }
+
+    /**
+     * Adds the given changesets, with the number of statements and affected rows collected in the given timings if
+     * they are not null.
+     */
+    public void addAllToChangesetInfoList(List<ChangeSet> changeSets, boolean isRollback, ExecutionTimings executionTimings) {
         if (changeSets != null) {
             for (ChangeSet deployedChangeSet : changeSets) {
                 String changesetOutcome;
@@ -62,7 +76,10 @@ public class ChangesetInfo {
                         deployedChangeSet.getContextFilter() == null ? null : deployedChangeSet.getContextFilter().getOriginalString(),
                         buildAttributesString(deployedChangeSet),
                         generatedSql,
-                        contentType
+                        contentType,
+                        deployedChangeSet.getExecutionMilliseconds() < 0 ? null : deployedChangeSet.getExecutionMilliseconds(),
+                        executionTimings == null ? null : executionTimings.getStatementCount(deployedChangeSet),
+                        executionTimings == null ? null : executionTimings.getRowsAffected(deployedChangeSet)
                 ));
             }
         }
@@ -120,10 +137,27 @@ public class ChangesetInfo {
         }
     }
 
+    /**
+     * Sets the slowest statements collected in the given timings.
+     */
+    public void setSlowestStatements(ExecutionTimings executionTimings) {
+        slowestStatementInfoList.clear();
+        for (Metric statement : executionTimings.getSlowestStatements()) {
+            slowestStatementInfoList.add(new SlowStatementInfo(
+                    statement.getSubject(),
+                    statement.getChangeSetFile() + "::" + statement.getChangeSetId() + "::" + statement.getChangeSetAuthor(),
+                    statement.getDurationNanos() / 1_000_000,
+                    statement.getRowCount() < 0 ? null : statement.getRowCount()));
+        }
+    }
+
     public void suppressSql() {
         for (IndividualChangesetInfo individualChangesetInfo : this.changesetInfoList) {
             individualChangesetInfo.getGeneratedSql().clear();
             individualChangesetInfo.getGeneratedSql().add("SQL Suppressed");
         }
+        for (SlowStatementInfo slowStatementInfo : this.slowestStatementInfoList) {
+            slowStatementInfo.setSql("SQL Suppressed");
+        }
     }
 }
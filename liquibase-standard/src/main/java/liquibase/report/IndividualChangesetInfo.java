@@ -22,6 +22,25 @@ public class IndividualChangesetInfo {
     private List<String> attributes;
     private List<String> generatedSql;
     private String contentType;
+    /**
+     * How long the changeset took to execute, or null if that is not known.
+     */
+    private Long executionMilliseconds;
+    /**
+     * The number of SQL statements the changeset executed, or null if they were not counted.
+     */
+    private Integer statementCount;
+    /**
+     * The number of rows the statements of the changeset reported as affected, or null if they were not counted.
+     */
+    private Long rowsAffected;
+
+    public IndividualChangesetInfo(int index, String changesetAuthor, String changesetId, String changelogFile, String comment,
+                                   Boolean success, String changesetOutcome, String errorMsg, String labels, String contexts,
+                                   List<String> attributes, List<String> generatedSql, String contentType) {
+        this(index, changesetAuthor, changesetId, changelogFile, comment, success, changesetOutcome, errorMsg, labels, contexts,
+                attributes, generatedSql, contentType, null, null, null);
+    }
 
     /**
      * Used in the report template. Do not remove.
@@ -0,0 +1,19 @@
+package liquibase.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class SlowStatementInfo {
+    private String sql;
+    /**
+     * The changeset that executed the statement, as file::id::author
+     */
+    private String changeset;
+    private long durationMilliseconds;
+    /**
+     * The number of rows the statement reported as affected, or null if it did not report any.
+     */
+    private Long rowsAffected;
+}
@@ -5,11 +5,26 @@ import liquibase.exception.ServiceNotFoundException;
 import liquibase.logging.Logger;
 import liquibase.util.SystemUtil;
 
+import java.lang.ref.SoftReference;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
+/**
+ * Finds services with {@link ServiceLoader}. The providers {@link ServiceLoader#stream()} finds are kept per class
+ * loader and service type, so later lookups neither scan the classpath nor parse the <code>META-INF/services</code>
+ * files again, while module <code>provides</code> declarations and static <code>provider()</code> methods keep working.
+ * Every lookup still returns new instances. Call {@link #reset()} if providers are added to a class loader that has
+ * already been searched.
+ */
 public class StandardServiceLocator implements ServiceLocator {
 
+    /**
+     * Providers by service type, by class loader. The providers reference their class loader, so they are only softly
+     * reachable to let class loaders that are no longer used be garbage collected.
+     */
+    private final Map<ClassLoader, SoftReference<Map<Class<?>, List<ServiceLoader.Provider<?>>>>> providers = new WeakHashMap<>();
+
     @Override
     public int getPriority() {
         return PRIORITY_DEFAULT;
@@ -20,14 +35,9 @@ public class StandardServiceLocator implements ServiceLocator {
         List<T> allInstances = new ArrayList<>();
 
         final Logger log = Scope.getCurrentScope().getLog(getClass());
-        final Iterator<T> services = ServiceLoader.load(interfaceType, Scope.getCurrentScope().getClassLoader(true)).iterator();
-        // Guard hasNext() too: ServiceLoader may throw LinkageError (e.g. NoClassDefFoundError) from it.
-        while (true) {
+        for (ServiceLoader.Provider<?> provider : getProviders(interfaceType, Scope.getCurrentScope().getClassLoader(true))) {
             try {
-                if (!services.hasNext()) {
-                    break;
-                }
-                final T service = services.next();
+                final T service = interfaceType.cast(provider.get());
                 log.fine("Loaded "+interfaceType.getName()+" instance "+service.getClass().getName());
                 allInstances.add(service);
             } catch (Throwable e) {
@@ -39,6 +49,57 @@ public class StandardServiceLocator implements ServiceLocator {
 
     }
 
+    /**
+     * Forgets the providers found so far, so the next lookups search the class loaders again.
+     */
+    public void reset() {
+        synchronized (providers) {
+            providers.clear();
+        }
+    }
+
+    /**
+     * Returns the providers of the given service type the class loader can see, in the order {@link ServiceLoader}
+     * finds them.
+     */
+    private List<ServiceLoader.Provider<?>> getProviders(Class<?> interfaceType, ClassLoader classLoader) {
+        Map<Class<?>, List<ServiceLoader.Provider<?>>> byType;
+        synchronized (providers) {
+            SoftReference<Map<Class<?>, List<ServiceLoader.Provider<?>>>> reference = providers.get(classLoader);
+            byType = reference == null ? null : reference.get();
+            if (byType == null) {
+                byType = new ConcurrentHashMap<>();
+                providers.put(classLoader, new SoftReference<>(byType));
+            }
+        }
+
+        List<ServiceLoader.Provider<?>> found = byType.get(interfaceType);
+        if (found == null) {
+            found = new ArrayList<>();
+            boolean failed = false;
+            // Guard every step: ServiceLoader may throw ServiceConfigurationError or LinkageError (e.g.
+            // NoClassDefFoundError) for a single provider and still find the ones after it.
+            Spliterator<? extends ServiceLoader.Provider<?>> lookup = ServiceLoader.load(interfaceType, classLoader).stream().spliterator();
+            while (true) {
+                try {
+                    if (!lookup.tryAdvance(found::add)) {
+                        break;
+                    }
+                } catch (Throwable e) {
+                    failed = true;
+                    new ServiceLoadExceptionHandler().handleException(e);
+                }
+            }
+            if (failed) {
+                // not kept, so the broken providers are reported again on the next lookup
+                return found;
+            }
+            found = Collections.unmodifiableList(found);
+            byType.put(interfaceType, found);
+        }
+        return found;
+    }
+
     /**
      * Exception handler for when a service cannot be loaded. Created as an inner class so logs can be suppressed if desired.
      */
@@ -1,25 +1,62 @@
 package liquibase.snapshot;
 
-import java.util.Map;
+import java.util.*;
 
+/**
+ * A row of database metadata held by {@link ResultSetCache}.
+ * <p>
+ * Snapshots of large schemas keep hundreds of thousands of rows in memory, so rows do not hold a map each. Rows read
+ * from the same result set share one {@link Columns} dictionary from column name to position and only store their
+ * values in an array. Columns added later through {@link #set(String, Object)} are kept in a small per-row map.
+ */
 public class CachedRow {
-    private final Map<String, Object> row;
+    private final Columns columns;
+    private final Object[] values;
+    private Map<String, Object> addedValues;
 
     public CachedRow(Map<String, Object> row) {
-        this.row = row;
+        this.columns = new Columns(row.keySet());
+        this.values = row.values().toArray();
+    }
+
+    /**
+     * Creates a row whose values are in the order of the given columns. The array is used as is, not copied.
+     */
+    public CachedRow(Columns columns, Object[] values) {
+        if (values.length != columns.size()) {
+            throw new IllegalArgumentException("Expected " + columns.size() + " values but got " + values.length);
+        }
+        this.columns = columns;
+        this.values = values;
+    }
+
+    private Object getValue(String columnName) {
+        int index = columns.indexOf(columnName);
+        if (index >= 0) {
+            return values[index];
+        }
+        return addedValues == null ? null : addedValues.get(columnName);
     }
 
     @SuppressWarnings("unchecked")
     public <T> T get(String columnName) {
-        return (T) row.get(columnName);
+        return (T) getValue(columnName);
     }
 
     public void set(String columnName, Object value) {
-        row.put(columnName, value);
+        int index = columns.indexOf(columnName);
+        if (index >= 0) {
+            values[index] = value;
+        } else {
+            if (addedValues == null) {
+                addedValues = new HashMap<>(4);
+            }
+            addedValues.put(columnName, value);
+        }
     }
 
     public boolean containsColumn(String columnName) {
-        return row.containsKey(columnName);
+        return columns.indexOf(columnName) >= 0 || (addedValues != null && addedValues.containsKey(columnName));
     }
 
     public String getString(String columnName) {
@@ -27,7 +64,7 @@ public class CachedRow {
     }
 
     public Integer getInt(String columnName) {
-        Object o = row.get(columnName);
+        Object o = getValue(columnName);
         if (o instanceof Number) {
             return ((Number) o).intValue();
         } else if (o instanceof String) {
@@ -44,7 +81,7 @@ public class CachedRow {
     }
 
     public Short getShort(String columnName) {
-        Object o = row.get(columnName);
+        Object o = getValue(columnName);
         if (o instanceof Number) {
             return ((Number) o).shortValue();
         } else if (o instanceof String) {
@@ -54,7 +91,7 @@ public class CachedRow {
     }
 
     public Boolean getBoolean(String columnName) {
-        Object o = row.get(columnName);
+        Object o = getValue(columnName);
         if (o instanceof Number) {
             return ((Number) o).longValue() != 0;
         }
@@ -76,10 +113,42 @@ public class CachedRow {
      * @return {@code true} if the column value is 'YES', {@code false} otherwise; or {@code null} if the column value is {@code null}
      */
     public Boolean yesNoToBoolean(String columnName) {
-        Object o = row.get(columnName);
+        Object o = getValue(columnName);
         if (o instanceof String && "YES".equalsIgnoreCase((String)o)) {
             return Boolean.TRUE;
         }
         return getBoolean(columnName);
     }
+
+    /**
+     * The column names of a result set, shared by all rows read from it.
+     */
+    public static final class Columns {
+        private final String[] names;
+        private final Map<String, Integer> indexes;
+
+        public Columns(Collection<String> names) {
+            this.names = names.toArray(new String[0]);
+            this.indexes = new HashMap<>((int) (this.names.length / 0.75f) + 1);
+            for (int i = 0; i < this.names.length; i++) {
+                indexes.put(this.names[i], i);
+            }
+        }
+
+        /**
+         * Returns the position of the given column, or -1 if there is no such column.
+         */
+        public int indexOf(String columnName) {
+            Integer index = indexes.get(columnName);
+            return index == null ? -1 : index;
+        }
+
+        public int size() {
+            return names.length;
+        }
+
+        public List<String> getNames() {
+            return Collections.unmodifiableList(Arrays.asList(names));
+        }
+    }
 }
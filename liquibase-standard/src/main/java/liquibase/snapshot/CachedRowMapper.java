@@ -0,0 +1,55 @@
+package liquibase.snapshot;
+
+import liquibase.executor.jvm.ColumnMapRowMapper;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps each row of a metadata result set to a {@link CachedRow}. All rows share one {@link CachedRow.Columns}
+ * dictionary, and short string values, which in metadata are mostly repeated catalog, schema, table and type names,
+ * are deduplicated so each distinct value is held only once per result set.
+ * <p>
+ * A mapper keeps state for the result set it reads, so a new instance must be used for each result set.
+ */
+public class CachedRowMapper extends ColumnMapRowMapper {
+
+    /**
+     * Longer strings, such as remarks and view definitions, are rarely repeated and not worth remembering.
+     */
+    private static final int MAX_SHARED_STRING_LENGTH = 128;
+
+    private CachedRow.Columns columns;
+    private final Map<String, String> sharedStrings = new HashMap<>();
+
+    public CachedRowMapper(boolean caseSensitiveDatabase) {
+        super(caseSensitiveDatabase);
+    }
+
+    @Override
+    public Object mapRow(ResultSet rs, int rowNum) throws SQLException {
+        if (columns == null) {
+            ResultSetMetaData metaData = rs.getMetaData();
+            List<String> names = new ArrayList<>(metaData.getColumnCount());
+            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                names.add(getColumnKey(metaData.getColumnLabel(i)));
+            }
+            columns = new CachedRow.Columns(names);
+        }
+
+        Object[] values = new Object[columns.size()];
+        for (int i = 0; i < values.length; i++) {
+            Object value = getColumnValue(rs, i + 1);
+            if (value instanceof String && ((String) value).length() <= MAX_SHARED_STRING_LENGTH) {
+                value = sharedStrings.computeIfAbsent((String) value, s -> s);
+            }
+            values[i] = value;
+        }
+        return new CachedRow(columns, values);
+    }
+}
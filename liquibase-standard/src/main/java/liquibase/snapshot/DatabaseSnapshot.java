@@ -105,6 +105,8 @@ public abstract class DatabaseSnapshot implements LiquibaseSerializable {
                 }
             }
 
+            prefetch(examples);
+
             if (getDatabase().supports(Catalog.class)) {
                 for (Catalog catalog : catalogs) {
                     this.snapshotControl.addType(catalog.getClass(), database);
@@ -119,6 +121,13 @@ public abstract class DatabaseSnapshot implements LiquibaseSerializable {
         }
     }
 
+    /**
+     * Called before the given examples are included, so subclasses can read metadata ahead of time, for example in
+     * parallel. Implementations must not change what the snapshot ends up containing. Does nothing by default.
+     */
+    protected void prefetch(DatabaseObject[] examples) throws DatabaseException {
+    }
+
     /**
      * Searches the current snapshot content for the given examples. Returns a new DatabaseSnapshot
      * containing a clone of every object from the examples array that was found.
@@ -275,10 +284,7 @@ public abstract class DatabaseSnapshot implements LiquibaseSerializable {
     }
 
     public ResultSetCache getResultSetCache(String key) {
-        if (!resultSetCaches.containsKey(key)) {
-            resultSetCaches.put(key, new ResultSetCache());
-        }
-        return resultSetCaches.get(key);
+        return resultSetCaches.computeIfAbsent(key, k -> new ResultSetCache());
     }
 
     /**
@@ -580,12 +586,7 @@ public abstract class DatabaseSnapshot implements LiquibaseSerializable {
 
 
     protected SnapshotGeneratorChain createGeneratorChain(Class<? extends DatabaseObject> databaseObjectType, Database database) {
-        SortedSet<SnapshotGenerator> generators = SnapshotGeneratorFactory.getInstance().getGenerators(databaseObjectType, database);
-        if ((generators == null) || generators.isEmpty()) {
-            return null;
-        }
-        //noinspection unchecked
-        return new SnapshotGeneratorChain(generators);
+        return SnapshotGeneratorFactory.getInstance().createGeneratorChain(databaseObjectType, database);
     }
 
     private boolean isKnownNull(DatabaseObject example) {
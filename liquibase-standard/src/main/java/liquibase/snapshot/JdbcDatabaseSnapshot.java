@@ -1,6 +1,7 @@
 package liquibase.snapshot;
 
 import liquibase.CatalogAndSchema;
+import liquibase.GlobalConfiguration;
 import liquibase.Scope;
 import liquibase.database.AbstractJdbcDatabase;
 import liquibase.database.Database;
@@ -12,15 +13,17 @@ import liquibase.exception.DatabaseException;
 import liquibase.executor.jvm.ColumnMapRowMapper;
 import liquibase.executor.jvm.RowMapperNotNullConstraintsResultSetExtractor;
 import liquibase.structure.DatabaseObject;
-import liquibase.structure.core.Catalog;
-import liquibase.structure.core.Schema;
-import liquibase.structure.core.Table;
-import liquibase.structure.core.View;
+import liquibase.structure.core.*;
 import liquibase.util.JdbcUtil;
 import liquibase.util.StringUtil;
 
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
 
@@ -29,7 +32,8 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
 
     private CachingDatabaseMetaData cachingDatabaseMetaData;
 
-    private Map<String, CachedRow> cachedExpressionMap = null;
+    // assigned lazily, possibly while the super constructor prefetches metadata, so it must not have an initializer
+    private Map<String, CachedRow> cachedExpressionMap;
 
     private Set<String> userDefinedTypes;
 
@@ -53,6 +57,108 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
         return cachingDatabaseMetaData;
     }
 
+    /**
+     * Reads the table, view, column, index, foreign key and unique constraint metadata of the example schemas through
+     * up to {@link GlobalConfiguration#SNAPSHOT_THREADS} additional connections at once and stores it in the same
+     * {@link ResultSetCache}s the snapshot generators read from. The generators then find the rows they would have
+     * queried one type after another already cached, so the snapshot contents do not change.
+     * <p>
+     * Only done for databases registered in the {@link SnapshotConnectionRegistry}. Metadata that could not be read
+     * ahead of time is read through the main connection as usual.
+     */
+    @Override
+    protected void prefetch(DatabaseObject[] examples) {
+        Integer threads = GlobalConfiguration.SNAPSHOT_THREADS.getCurrentValue();
+        if (threads == null || threads <= 1 || !(getDatabase() instanceof AbstractJdbcDatabase)) {
+            return;
+        }
+        SnapshotConnectionRegistry.DatabaseOpener opener = Scope.getCurrentScope().getSingleton(SnapshotConnectionRegistry.class).getOpener(getDatabase());
+        if (opener == null) {
+            Scope.getCurrentScope().getLog(getClass()).fine("Not reading snapshot metadata in parallel since the connection was not opened by Liquibase");
+            return;
+        }
+        List<Schema> schemas = new ArrayList<>();
+        for (DatabaseObject example : examples) {
+            if (example instanceof Schema) {
+                schemas.add((Schema) example);
+            }
+        }
+
+        AbstractJdbcDatabase database = (AbstractJdbcDatabase) getDatabase();
+        SnapshotControl snapshotControl = getSnapshotControl();
+        List<MetadataPrefetch> prefetches = new ArrayList<>();
+        if (snapshotControl.shouldInclude(Table.class)) {
+            prefetches.add((metaData, schema) -> metaData.getTables(database.getJdbcCatalogName(schema), database.getJdbcSchemaName(schema), null));
+        }
+        if (snapshotControl.shouldInclude(View.class)) {
+            prefetches.add((metaData, schema) -> metaData.getViews(database.getJdbcCatalogName(schema), database.getJdbcSchemaName(schema), null));
+        }
+        if (snapshotControl.shouldInclude(Column.class)) {
+            prefetches.add((metaData, schema) -> {
+                metaData.getColumns(database.getJdbcCatalogName(schema), database.getJdbcSchemaName(schema), null, null);
+                metaData.getNotNullConst(schema.getCatalogName(), schema.getName(), null);
+            });
+        }
+        if (snapshotControl.shouldInclude(Index.class)) {
+            prefetches.add((metaData, schema) -> metaData.getIndexInfo(database.getJdbcCatalogName(schema), database.getJdbcSchemaName(schema), null, null));
+        }
+        if (snapshotControl.shouldInclude(ForeignKey.class)) {
+            prefetches.add((metaData, schema) -> metaData.getForeignKeys(database.getJdbcCatalogName(schema), database.getJdbcSchemaName(schema), null, null));
+        }
+        if (snapshotControl.shouldInclude(UniqueConstraint.class)) {
+            prefetches.add((metaData, schema) -> metaData.getUniqueConstraints(schema.getCatalogName(), schema.getName(), null));
+        }
+        if (schemas.isEmpty() || prefetches.size() < 2) {
+            return;
+        }
+
+        // every result set cache is only filled by a single thread, which also keeps columns and not null constraints together
+        int workerCount = Math.min(threads, prefetches.size());
+        List<Callable<Void>> workers = new ArrayList<>(workerCount);
+        for (int worker = 0; worker < workerCount; worker++) {
+            List<MetadataPrefetch> assigned = new ArrayList<>();
+            for (int i = worker; i < prefetches.size(); i += workerCount) {
+                assigned.add(prefetches.get(i));
+            }
+            workers.add(() -> {
+                prefetch(opener, schemas, assigned);
+                return null;
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(workerCount);
+        try {
+            for (Future<Void> future : executor.invokeAll(workers)) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    Scope.getCurrentScope().getLog(getClass()).fine("Error reading snapshot metadata in parallel, it will be read again through the main connection", e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void prefetch(SnapshotConnectionRegistry.DatabaseOpener opener, List<Schema> schemas, List<MetadataPrefetch> prefetches) throws Exception {
+        Database helperDatabase = opener.open();
+        try {
+            CachingDatabaseMetaData metaData = new CachingDatabaseMetaData(helperDatabase,
+                    ((JdbcConnection) helperDatabase.getConnection()).getUnderlyingConnection().getMetaData());
+            metaData.prefetching = true;
+            for (MetadataPrefetch prefetch : prefetches) {
+                for (Schema schema : schemas) {
+                    prefetch.run(metaData, schema);
+                }
+            }
+        } finally {
+            Scope.getCurrentScope().getSingleton(liquibase.executor.ExecutorService.class).clearExecutor("jdbc", helperDatabase);
+            helperDatabase.close();
+        }
+    }
+
     public static boolean supportsPartitionKeyCatalog(Database database) throws DatabaseException {
         // Cockroach reports PG 10+ but ships its own catalog subset without pg_partitioned_table.
         return database instanceof PostgresDatabase
@@ -60,10 +166,16 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
                 && database.getDatabaseMajorVersion() >= 10;
     }
 
+    @FunctionalInterface
+    private interface MetadataPrefetch {
+        void run(CachingDatabaseMetaData metaData, Schema schema) throws SQLException, DatabaseException;
+    }
+
     public class CachingDatabaseMetaData {
         private static final String SQL_FILTER_MATCH_ALL = "%";
         private final DatabaseMetaData databaseMetaData;
         private final Database database;
+        private boolean prefetching;
 
         public CachingDatabaseMetaData(Database database, DatabaseMetaData metaData) {
             this.databaseMetaData = metaData;
@@ -74,18 +186,29 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
             return databaseMetaData;
         }
 
+        /**
+         * Returns the rows of the given extractor from the cache, or only caches them ahead of time while prefetching.
+         */
+        private List<CachedRow> fetch(ResultSetCache resultSetCache, ResultSetCache.ResultSetExtractor resultSetExtractor) throws DatabaseException {
+            if (prefetching) {
+                resultSetCache.prefetch(resultSetExtractor);
+                return Collections.emptyList();
+            }
+            return resultSetCache.get(resultSetExtractor);
+        }
+
         public List<CachedRow> getForeignKeys(final String catalogName, final String schemaName, final String tableName,
                                               final String fkName) throws DatabaseException {
             ForeignKeysResultSetCache foreignKeysResultSetCache = new ForeignKeysResultSetCache(database, catalogName, schemaName, tableName, fkName);
             ResultSetCache importedKeys = getResultSetCache("getImportedKeys");
             importedKeys.setBulkTracking(!(database instanceof MSSQLDatabase));
 
-            return importedKeys.get(foreignKeysResultSetCache);
+            return fetch(importedKeys, foreignKeysResultSetCache);
         }
 
         public List<CachedRow> getIndexInfo(final String catalogName, final String schemaName, final String tableName, final String indexName) throws DatabaseException, SQLException {
 
-            return getResultSetCache("getIndexInfo").get(new ResultSetCache.UnionResultSetExtractor(database) {
+            return fetch(getResultSetCache("getIndexInfo"), new ResultSetCache.UnionResultSetExtractor(database) {
 
                 public boolean isBulkFetchMode;
 
@@ -402,7 +525,7 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
             }
             GetColumnResultSetCache getColumnResultSetCache = new GetColumnResultSetCache(database, catalogName,
                     schemaName, tableName, columnName);
-            return getResultSetCache("getColumns").get(getColumnResultSetCache);
+            return fetch(getResultSetCache("getColumns"), getColumnResultSetCache);
         }
 
         /**
@@ -415,7 +538,7 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
             }
             GetNotNullConstraintsResultSetCache getNotNullConstraintsResultSetCache = new GetNotNullConstraintsResultSetCache(database, catalogName,
                     schemaName, tableName);
-            return getResultSetCache("getNotNullConst").get(getNotNullConstraintsResultSetCache);
+            return fetch(getResultSetCache("getNotNullConst"), getNotNullConstraintsResultSetCache);
         }
 
         private class GetColumnResultSetCache extends ResultSetCache.SingleResultSetExtractor {
@@ -459,7 +582,7 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
             protected boolean shouldBulkSelect(String schemaKey, ResultSetCache resultSetCache) {
                 LiquibaseTableNamesFactory liquibaseTableNamesFactory = Scope.getCurrentScope().getSingleton(LiquibaseTableNamesFactory.class);
                 List<String> liquibaseTableNames = liquibaseTableNamesFactory.getLiquibaseTableNames(database);
-                return liquibaseTableNames.stream().noneMatch(tableName::equalsIgnoreCase);
+                return tableName == null || liquibaseTableNames.stream().noneMatch(tableName::equalsIgnoreCase);
             }
 
             @Override
@@ -1131,7 +1254,7 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
             protected boolean shouldBulkSelect(String schemaKey, ResultSetCache resultSetCache) {
                 LiquibaseTableNamesFactory liquibaseTableNamesFactory = Scope.getCurrentScope().getSingleton(LiquibaseTableNamesFactory.class);
                 List<String> liquibaseTableNames = liquibaseTableNamesFactory.getLiquibaseTableNames(database);
-                return liquibaseTableNames.stream().noneMatch(tableName::equalsIgnoreCase);
+                return tableName == null || liquibaseTableNames.stream().noneMatch(tableName::equalsIgnoreCase);
             }
 
             @Override
@@ -1194,8 +1317,12 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
                         }
                     }).extractData(resultSet);
 
-                    for (Map row : result) {
-                        cachedRowList.add(new CachedRow(row));
+                    CachedRow.Columns columns = null;
+                    for (Map<String, Object> row : result) {
+                        if (columns == null) {
+                            columns = new CachedRow.Columns(row.keySet());
+                        }
+                        cachedRowList.add(new CachedRow(columns, row.values().toArray()));
                     }
                 } finally {
                     JdbcUtil.closeResultSet(resultSet);
@@ -1206,7 +1333,7 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
         }
 
         public List<CachedRow> getTables(final String catalogName, final String schemaName, final String table) throws DatabaseException {
-            return getResultSetCache("getTables").get(new ResultSetCache.SingleResultSetExtractor(database) {
+            return fetch(getResultSetCache("getTables"), new ResultSetCache.SingleResultSetExtractor(database) {
 
                 @Override
                 protected boolean shouldBulkSelect(String schemaKey, ResultSetCache resultSetCache) {
@@ -1420,7 +1547,7 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
             } else {
                 view = viewName;
             }
-            return getResultSetCache("getViews").get(new ResultSetCache.SingleResultSetExtractor(database) {
+            return fetch(getResultSetCache("getViews"), new ResultSetCache.SingleResultSetExtractor(database) {
 
                 @Override
                 protected boolean shouldBulkSelect(String schemaKey, ResultSetCache resultSetCache) {
@@ -1783,7 +1910,7 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
         }
 
         public List<CachedRow> getUniqueConstraints(final String catalogName, final String schemaName, final String tableName) throws DatabaseException {
-            return getResultSetCache("getUniqueConstraints").get(new ResultSetCache.SingleResultSetExtractor(database) {
+            return fetch(getResultSetCache("getUniqueConstraints"), new ResultSetCache.SingleResultSetExtractor(database) {
 
                 @Override
                 protected boolean shouldBulkSelect(String schemaKey, ResultSetCache resultSetCache) {
@@ -1829,7 +1956,6 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
                     String jdbcCatalogName = catalogAndSchema.getCatalogName();
                     String jdbcSchemaName = catalogAndSchema.getSchemaName();
 
-                    Database database = getDatabase();
                     List<String> parameters = new ArrayList<>(3);
                     String sql = null;
                     if (database instanceof Ingres9Database) {
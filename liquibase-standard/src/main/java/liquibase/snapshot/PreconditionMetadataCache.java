@@ -0,0 +1,162 @@
+package liquibase.snapshot;
+
+import liquibase.CatalogAndSchema;
+import liquibase.Scope;
+import liquibase.change.AbstractSQLChange;
+import liquibase.change.Change;
+import liquibase.change.core.*;
+import liquibase.change.custom.CustomChangeWrapper;
+import liquibase.database.Database;
+import liquibase.diff.compare.DatabaseObjectComparatorFactory;
+import liquibase.exception.DatabaseException;
+import liquibase.structure.DatabaseObject;
+import liquibase.structure.core.Relation;
+import liquibase.structure.core.Sequence;
+
+import java.util.*;
+
+/**
+ * Answers the existence checks of {@link SnapshotGeneratorFactory#has(DatabaseObject, Database)} and
+ * {@link SnapshotGeneratorFactory#hasIgnoreNested(DatabaseObject, Database)} made while one update runs, so that the
+ * preconditions of all changesets share one snapshot of each schema and object type instead of querying the database
+ * metadata for every check.
+ * <p>
+ * Before a change runs, the tables and other objects it affects are marked as changed and checked against the database
+ * again from then on. Changes whose affected objects are not known, like SQL or custom changes, drop all snapshots. So
+ * do all changes that are not one of the core changes, since only for those the affected objects are known to be
+ * complete.
+ * <p>
+ * The update makes it available to the checks in the scope under {@link #SCOPE_KEY}. It is meant for the thread running
+ * that update only.
+ */
+public class PreconditionMetadataCache {
+
+    /**
+     * Scope key under which the update makes the cache available to existence checks.
+     */
+    public static final String SCOPE_KEY = "liquibase.preconditionMetadataCache";
+
+    private static final String CORE_CHANGE_PACKAGE = "liquibase.change.core.";
+
+    private final Database database;
+    private final Map<String, DatabaseSnapshot> snapshots = new HashMap<>();
+    private final Set<String> changedNames = new HashSet<>();
+
+    public PreconditionMetadataCache(Database database) {
+        this.database = database;
+    }
+
+    /**
+     * Returns true if the existence of the example can be answered from the cached snapshots. Objects in other
+     * databases, objects changed by the update and the Liquibase tables are checked against the database instead.
+     */
+    boolean covers(DatabaseObject example, Database database, List<String> liquibaseTableNames) {
+        if (database != this.database) {
+            return false;
+        }
+        Set<String> names = getNames(example);
+        for (String liquibaseTableName : liquibaseTableNames) {
+            if (names.contains(liquibaseTableName.toLowerCase(Locale.US))) {
+                return false;
+            }
+        }
+        if (!changedNames.isEmpty() && !(example instanceof Relation) && !(example instanceof Sequence) && !hasRelation(example)) {
+            // an index or constraint looked up without its table may belong to any of the changed tables
+            return false;
+        }
+        for (String name : names) {
+            if (changedNames.contains(name)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if an object matching the example is in the snapshot of its schema, taking that snapshot if this is
+     * the first check for that schema and object type.
+     */
+    boolean has(DatabaseObject example, Set<Class<? extends DatabaseObject>> types) throws DatabaseException, InvalidExampleException {
+        CatalogAndSchema catalogAndSchema = (example.getSchema() == null ? database.getDefaultSchema() : example.getSchema().toCatalogAndSchema()).customize(database);
+        String key = example.getClass().getName() + ":" + catalogAndSchema.getCatalogName() + ":" + catalogAndSchema.getSchemaName();
+        DatabaseSnapshot snapshot = snapshots.get(key);
+        if (snapshot == null) {
+            SnapshotControl snapshotControl = new SnapshotControl(database, false, types.toArray(new Class[0]));
+            snapshotControl.setWarnIfObjectNotFound(false);
+            snapshot = SnapshotGeneratorFactory.getInstance().createSnapshot(catalogAndSchema, database, snapshotControl);
+            snapshots.put(key, snapshot);
+        }
+        for (DatabaseObject obj : snapshot.get(example.getClass())) {
+            if (DatabaseObjectComparatorFactory.getInstance().isSameObject(example, obj, null, database)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Marks the objects the given change affects as changed. Call it before the change runs.
+     */
+    public void changeExecuting(Change change, Database database) {
+        if (database != this.database || change instanceof InsertDataChange || change instanceof UpdateDataChange
+                || change instanceof DeleteDataChange || change instanceof LoadDataChange || change instanceof OutputChange
+                || change instanceof EmptyChange || change instanceof TagDatabaseChange) {
+            return;
+        }
+        if (!change.getClass().getName().startsWith(CORE_CHANGE_PACKAGE)
+                || change instanceof AbstractSQLChange || change instanceof CustomChangeWrapper || change instanceof ExecuteShellCommandChange
+                || (change instanceof DropTableChange && Boolean.TRUE.equals(((DropTableChange) change).isCascadeConstraints()))) {
+            clear();
+            return;
+        }
+        Set<DatabaseObject> affectedObjects;
+        try {
+            affectedObjects = change.getAffectedDatabaseObjects(database);
+        } catch (Exception e) {
+            Scope.getCurrentScope().getLog(getClass()).fine("Cannot determine the objects affected by " + change.getSerializedObjectName() + ": " + e.getMessage(), e);
+            affectedObjects = null;
+        }
+        if (affectedObjects == null || affectedObjects.isEmpty()) {
+            clear();
+            return;
+        }
+        for (DatabaseObject affectedObject : affectedObjects) {
+            changedNames.addAll(getNames(affectedObject));
+        }
+    }
+
+    /**
+     * Drops all snapshots and forgets which objects were changed, so that the next checks take new snapshots.
+     */
+    public void clear() {
+        snapshots.clear();
+        changedNames.clear();
+    }
+
+    private static boolean hasRelation(DatabaseObject object) {
+        for (String attribute : object.getAttributes()) {
+            Object value = object.getAttribute(attribute, Object.class);
+            if (value instanceof Relation && ((Relation) value).getName() != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the lower case names of the object and of the tables or views it belongs to.
+     */
+    private static Set<String> getNames(DatabaseObject object) {
+        Set<String> names = new HashSet<>();
+        if (object.getName() != null) {
+            names.add(object.getName().toLowerCase(Locale.US));
+        }
+        for (String attribute : object.getAttributes()) {
+            Object value = object.getAttribute(attribute, Object.class);
+            if (value instanceof Relation && ((Relation) value).getName() != null) {
+                names.add(((Relation) value).getName().toLowerCase(Locale.US));
+            }
+        }
+        return names;
+    }
+}
@@ -1,13 +1,16 @@
 package liquibase.snapshot;
 
 import liquibase.CatalogAndSchema;
+import liquibase.Scope;
 import liquibase.database.Database;
 import liquibase.database.core.InformixDatabase;
 import liquibase.database.jvm.JdbcConnection;
 import liquibase.exception.DatabaseException;
 import liquibase.exception.UnexpectedLiquibaseException;
-import liquibase.executor.jvm.ColumnMapRowMapper;
 import liquibase.executor.jvm.RowMapperResultSetExtractor;
+import liquibase.metrics.MetricTimer;
+import liquibase.metrics.MetricType;
+import liquibase.metrics.MetricsService;
 import liquibase.structure.core.Catalog;
 import liquibase.structure.core.Schema;
 import liquibase.util.JdbcUtil;
@@ -58,7 +61,7 @@ public class ResultSetCache {
                     cache.clear();
                 }
 
-                results = resultSetExtractor.bulkFetch();
+                results = fetch(resultSetExtractor, true);
                 didBulkQuery.put(schemaKey, bulkTracking);
                 bulkQueried = true;
             } else {
@@ -69,7 +72,7 @@ public class ResultSetCache {
                     previousCount = 0;
                 }
                 timesSingleQueried.put(schemaKey, previousCount + 1);
-                results = resultSetExtractor.fastFetch();
+                results = fetch(resultSetExtractor, false);
             }
 
             for (CachedRow row : results) {
@@ -102,6 +105,32 @@ public class ResultSetCache {
         }
     }
 
+    private List<CachedRow> fetch(ResultSetExtractor resultSetExtractor, boolean bulk) throws SQLException, DatabaseException {
+        MetricTimer metricTimer = Scope.getCurrentScope().getSingleton(MetricsService.class)
+                .start(MetricType.SNAPSHOT_QUERY, resultSetExtractor.getClass().getName());
+        try {
+            List<CachedRow> results = bulk ? resultSetExtractor.bulkFetch() : resultSetExtractor.fastFetch();
+            metricTimer.setRowCount(results.size());
+            return results;
+        } catch (SQLException | DatabaseException | RuntimeException e) {
+            metricTimer.failed();
+            throw e;
+        } finally {
+            metricTimer.stop();
+        }
+    }
+
+    /**
+     * Runs the bulk query of the given extractor and caches its rows, unless they are already cached or the extractor
+     * would not bulk select them. Lets rows be read ahead of time, for example through another connection.
+     */
+    public void prefetch(ResultSetExtractor resultSetExtractor) throws DatabaseException {
+        String schemaKey = resultSetExtractor.wantedKeyParameters().createSchemaKey(resultSetExtractor.database);
+        if (resultSetExtractor.shouldBulkSelect(schemaKey, this)) {
+            get(resultSetExtractor);
+        }
+    }
+
     public <T> T getInfo(String key, Class<T> type) {
         return (T) info.get(key);
     }
@@ -287,9 +316,9 @@ public class ResultSetCache {
         protected List<CachedRow> extract(ResultSet resultSet, final boolean informixIndexTrimHint)
                 throws SQLException {
             resultSet.setFetchSize(database.getFetchSize());
-            List<CachedRow> returnList = new ArrayList<>();
+            List<CachedRow> returnList;
             try {
-                List<Map> result = (List<Map>) new RowMapperResultSetExtractor(new ColumnMapRowMapper(database.isCaseSensitive()) {
+                returnList = (List<CachedRow>) new RowMapperResultSetExtractor(new CachedRowMapper(database.isCaseSensitive()) {
                     @Override
                     protected Object getColumnValue(ResultSet rs, int index) throws SQLException {
                         Object value = super.getColumnValue(rs, index);
@@ -313,10 +342,6 @@ public class ResultSetCache {
                         return value;
                     }
                 }).extractData(resultSet);
-
-                for (Map row : result) {
-                    returnList.add(new CachedRow(row));
-                }
             } finally {
                 // This ResultSet is often obtained directly from a DatabaseMetaData call
                 // (e.g. getColumns/getTables/getImportedKeys), so the caller keeps no reference
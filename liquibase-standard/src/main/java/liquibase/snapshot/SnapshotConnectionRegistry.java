@@ -0,0 +1,55 @@
+package liquibase.snapshot;
+
+import liquibase.SingletonObject;
+import liquibase.database.Database;
+import liquibase.exception.DatabaseException;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Knows how to open additional connections to the databases Liquibase connected to itself, so
+ * {@link JdbcDatabaseSnapshot} can read metadata through several connections at once when
+ * {@link liquibase.GlobalConfiguration#SNAPSHOT_THREADS} is above 1.
+ * <p>
+ * Databases created around an existing connection, for example one passed in by an application, are never
+ * registered and are always snapshotted through their own connection only.
+ */
+public class SnapshotConnectionRegistry implements SingletonObject {
+
+    private final Map<Database, DatabaseOpener> openers = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private SnapshotConnectionRegistry() {
+    }
+
+    /**
+     * Registers how to open another database equivalent to the given one: same connection settings, default and
+     * liquibase catalogs and schemas.
+     */
+    public void register(Database database, DatabaseOpener opener) {
+        openers.put(database, opener);
+    }
+
+    /**
+     * Forgets the given database. Must be called before the database is closed.
+     */
+    public void unregister(Database database) {
+        openers.remove(database);
+    }
+
+    /**
+     * Returns how to open another database equivalent to the given one, or null if that is not known.
+     */
+    public DatabaseOpener getOpener(Database database) {
+        return openers.get(database);
+    }
+
+    @FunctionalInterface
+    public interface DatabaseOpener {
+        /**
+         * Opens a new database with its own connection. The caller is responsible for closing it.
+         */
+        Database open() throws DatabaseException;
+    }
+}
@@ -30,6 +30,16 @@ public class SnapshotGeneratorChain {
         }
     }
 
+    /**
+     * Creates a chain of the given generators, which are already sorted and do not include replaced generators. The
+     * array is not copied and must not be changed afterwards.
+     */
+    static SnapshotGeneratorChain of(SnapshotGenerator[] snapshotGenerators) {
+        SnapshotGeneratorChain chain = new SnapshotGeneratorChain(null);
+        chain.snapshotGenerators = Arrays.asList(snapshotGenerators).iterator();
+        return chain;
+    }
+
     /**
      * This calls all the non-replaced {@link SnapshotGenerator} in the chain, by comparison order.
      * <p>
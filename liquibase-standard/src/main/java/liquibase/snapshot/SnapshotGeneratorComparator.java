@@ -1,26 +1,30 @@
 package liquibase.snapshot;
 
-import liquibase.database.Database;
-import liquibase.structure.DatabaseObject;
-
 import java.util.Comparator;
+import java.util.Map;
 
+/**
+ * Sorts snapshot generators by their priority for one object type and database, highest first, using the priorities
+ * the generators returned when asked once. Generators that were not asked have no priority.
+ */
 class SnapshotGeneratorComparator implements Comparator<SnapshotGenerator> {
 
-    private final Class<? extends DatabaseObject> objectType;
-    private final Database database;
+    private final Map<SnapshotGenerator, Integer> priorities;
 
-    public SnapshotGeneratorComparator(Class<? extends DatabaseObject> objectType, Database database) {
-        this.objectType = objectType;
-        this.database = database;
+    public SnapshotGeneratorComparator(Map<SnapshotGenerator, Integer> priorities) {
+        this.priorities = priorities;
     }
 
     @Override
     public int compare(SnapshotGenerator o1, SnapshotGenerator o2) {
-        int result = -1 * Integer.compare(o1.getPriority(objectType, database), o2.getPriority(objectType, database));
+        int result = -1 * Integer.compare(getPriority(o1), getPriority(o2));
         if (result == 0) {
             return o1.getClass().getName().compareTo(o2.getClass().getName());
         }
         return result;
     }
+
+    private int getPriority(SnapshotGenerator generator) {
+        return priorities.getOrDefault(generator, SnapshotGenerator.PRIORITY_NONE);
+    }
 }
@@ -19,6 +19,8 @@ import liquibase.structure.core.*;
 import liquibase.util.LiquibaseUtil;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static liquibase.snapshot.SnapshotGenerator.PRIORITY_NONE;
 
@@ -26,7 +28,8 @@ public class SnapshotGeneratorFactory {
 
     private static SnapshotGeneratorFactory instance;
 
-    private final List<SnapshotGenerator> generators = new ArrayList<>();
+    private final List<SnapshotGenerator> generators = new CopyOnWriteArrayList<>();
+    private volatile Map<GeneratorKey, ResolvedGenerators> resolvedGenerators = new ConcurrentHashMap<>();
     protected static final String SUPPORTS_METHOD_REQUIRED_MESSAGE = "%s class does not properly implement the 'getPriority(Class<? extends DatabaseObject>, Database)' method and may incorrectly override other snapshot generators causing unexpected behavior. Please report this to the Liquibase developers or if you are developing this change please fix it ;)";
 
     protected SnapshotGeneratorFactory() {
@@ -96,10 +99,12 @@ public class SnapshotGeneratorFactory {
 
     public void register(SnapshotGenerator generator) {
         generators.add(generator);
+        resolvedGenerators = new ConcurrentHashMap<>();
     }
 
     public void unregister(SnapshotGenerator generator) {
         generators.remove(generator);
+        resolvedGenerators = new ConcurrentHashMap<>();
     }
 
     public void unregister(Class generatorClass) {
@@ -113,19 +118,49 @@ public class SnapshotGeneratorFactory {
         unregister(toRemove);
     }
 
+    /**
+     * Returns the generators for the given object type and database, highest priority first. The returned set is shared
+     * and cannot be modified.
+     */
     protected SortedSet<SnapshotGenerator> getGenerators(Class<? extends DatabaseObject> generatorClass, Database database) {
-        SortedSet<SnapshotGenerator> validGenerators = new TreeSet<>(new SnapshotGeneratorComparator(generatorClass, database));
+        return resolveGenerators(generatorClass, database).generators;
+    }
 
-        /*
-         * Query all SnapshotGenerators if they consider themselves applicable for the generatorClass (e.g. a Table)
-         * for a specific Database (e.g. MSSQL, Oracle, Postgres...)
-         */
-        for (SnapshotGenerator generator : generators) {
-            if (generator.getPriority(generatorClass, database) > 0) {
-                validGenerators.add(generator);
+    /**
+     * Creates a chain of the generators for the given object type and database, or returns null if there are none.
+     */
+    SnapshotGeneratorChain createGeneratorChain(Class<? extends DatabaseObject> generatorClass, Database database) {
+        ResolvedGenerators resolved = resolveGenerators(generatorClass, database);
+        if (resolved.generators.isEmpty()) {
+            return null;
+        }
+        return SnapshotGeneratorChain.of(resolved.chain);
+    }
+
+    /**
+     * Returns the generators for the given object type and database class, asking the registered generators for their
+     * priority only the first time. The generators are resolved again after a generator is registered or unregistered.
+     */
+    private ResolvedGenerators resolveGenerators(Class<? extends DatabaseObject> generatorClass, Database database) {
+        Map<GeneratorKey, ResolvedGenerators> resolved = resolvedGenerators;
+        GeneratorKey key = new GeneratorKey(generatorClass, database == null ? null : database.getClass());
+        ResolvedGenerators result = resolved.get(key);
+        if (result == null) {
+            /*
+             * Query all SnapshotGenerators if they consider themselves applicable for the generatorClass (e.g. a Table)
+             * for a specific Database (e.g. MSSQL, Oracle, Postgres...)
+             */
+            Map<SnapshotGenerator, Integer> priorities = new HashMap<>();
+            for (SnapshotGenerator generator : generators) {
+                int priority = generator.getPriority(generatorClass, database);
+                if (priority > 0) {
+                    priorities.put(generator, priority);
+                }
             }
+            result = new ResolvedGenerators(priorities);
+            resolved.put(key, result);
         }
-        return validGenerators;
+        return result;
     }
 
     /**
@@ -253,6 +288,11 @@ public class SnapshotGeneratorFactory {
             return true;
         }
 
+        PreconditionMetadataCache preconditionMetadataCache = Scope.getCurrentScope().get(PreconditionMetadataCache.SCOPE_KEY, PreconditionMetadataCache.class);
+        if (preconditionMetadataCache != null && preconditionMetadataCache.covers(example, database, liquibaseTableNames)) {
+            return preconditionMetadataCache.has(example, types);
+        }
+
         SnapshotControl snapshotControl = new SnapshotControl(database, false, types.toArray(new Class[0]));
         snapshotControl.setWarnIfObjectNotFound(false);
         snapshotControl.setSearchNestedObjects(searchNestedObjects);
@@ -481,4 +521,61 @@ public class SnapshotGeneratorFactory {
             }
         });
     }
+
+    private static final class GeneratorKey {
+        private final Class<? extends DatabaseObject> objectType;
+        private final Class<? extends Database> databaseClass;
+
+        private GeneratorKey(Class<? extends DatabaseObject> objectType, Class<? extends Database> databaseClass) {
+            this.objectType = objectType;
+            this.databaseClass = databaseClass;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof GeneratorKey)) {
+                return false;
+            }
+            GeneratorKey that = (GeneratorKey) o;
+            return (objectType == that.objectType) && (databaseClass == that.databaseClass);
+        }
+
+        @Override
+        public int hashCode() {
+            return (31 * Objects.hashCode(objectType)) + Objects.hashCode(databaseClass);
+        }
+    }
+
+    /**
+     * The generators found for one object type and database class, highest priority first, and the same generators
+     * without the ones replaced by another generator, ready to be chained.
+     */
+    private static final class ResolvedGenerators {
+        private final SortedSet<SnapshotGenerator> generators;
+        private final SnapshotGenerator[] chain;
+
+        private ResolvedGenerators(Map<SnapshotGenerator, Integer> priorities) {
+            SortedSet<SnapshotGenerator> sorted = new TreeSet<>(new SnapshotGeneratorComparator(priorities));
+            sorted.addAll(priorities.keySet());
+            this.generators = Collections.unmodifiableSortedSet(sorted);
+
+            Set<Class<? extends SnapshotGenerator>> replaced = new HashSet<>();
+            for (SnapshotGenerator generator : sorted) {
+                Class<? extends SnapshotGenerator>[] replaces = generator.replaces();
+                if (replaces != null) {
+                    replaced.addAll(Arrays.asList(replaces));
+                }
+            }
+            List<SnapshotGenerator> chain = new ArrayList<>();
+            for (SnapshotGenerator generator : sorted) {
+                if (!replaced.contains(generator.getClass())) {
+                    chain.add(generator);
+                }
+            }
+            this.chain = chain.toArray(new SnapshotGenerator[0]);
+        }
+    }
 }
@@ -14,6 +14,8 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static liquibase.sqlgenerator.SqlGenerator.EMPTY_SQL;
@@ -22,15 +24,18 @@ import static liquibase.sqlgenerator.SqlGenerator.EMPTY_SQL;
  * SqlGeneratorFactory is a singleton registry of SqlGenerators.
  * Use the register(SqlGenerator) method to add custom SqlGenerators,
  * and the getBestGenerator() method to retrieve the SqlGenerator that should be used for a given SqlStatement.
+ * <p>
+ * Lookups do not lock: the generators found for a statement class, database and major version are kept in an
+ * immutable {@link ResolutionTable} that is replaced as a whole whenever a generator is registered or unregistered.
  */
 public class SqlGeneratorFactory {
 
-    private static SqlGeneratorFactory instance;
+    private static volatile SqlGeneratorFactory instance;
     //caches for expensive reflection based calls that slow down Liquibase initialization: CORE-1207
-    private final Map<Class<?>, Type[]> genericInterfacesCache = new HashMap<>();
-    private final Map<Class<?>, Type> genericSuperClassCache = new HashMap<>();
-    private final List<SqlGenerator> generators = new ArrayList<>();
-    private final Map<String, SortedSet<SqlGenerator>> generatorsByKey = new HashMap<>();
+    private final Map<Class<?>, Type[]> genericInterfacesCache = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Type> genericSuperClassCache = new ConcurrentHashMap<>();
+    private final List<SqlGenerator> generators = new GeneratorList();
+    private volatile ResolutionTable resolutionTable = new ResolutionTable(0, Collections.emptyList());
     public static final String GENERATED_SQL_ARRAY_SCOPE_KEY = "generatedSqlArray";
 
     private SqlGeneratorFactory() {
@@ -46,11 +51,18 @@ public class SqlGeneratorFactory {
     /**
      * Return singleton SqlGeneratorFactory
      */
-    public static synchronized SqlGeneratorFactory getInstance() {
-        if (instance == null) {
-            instance = new SqlGeneratorFactory();
+    public static SqlGeneratorFactory getInstance() {
+        SqlGeneratorFactory result = instance;
+        if (result == null) {
+            synchronized (SqlGeneratorFactory.class) {
+                result = instance;
+                if (result == null) {
+                    result = new SqlGeneratorFactory();
+                    instance = result;
+                }
+            }
         }
-        return instance;
+        return result;
     }
 
     public static synchronized void reset() {
@@ -59,10 +71,6 @@ public class SqlGeneratorFactory {
 
 
     public void register(SqlGenerator generator) {
-        if (this.generators.size() == 0) {
-            //handle case in tests where we clear out the generators
-            this.generatorsByKey.clear();
-        }
         generators.add(generator);
     }
 
@@ -70,7 +78,7 @@ public class SqlGeneratorFactory {
         generators.remove(generator);
     }
 
-    public void unregister(Class generatorClass) {
+    public synchronized void unregister(Class generatorClass) {
         SqlGenerator toRemove = null;
         for (SqlGenerator existingGenerator : generators) {
             if (existingGenerator.getClass().equals(generatorClass)) {
@@ -85,7 +93,10 @@ public class SqlGeneratorFactory {
         return generators;
     }
 
-    public synchronized SortedSet<SqlGenerator> getGenerators(SqlStatement statement, Database database) {
+    /**
+     * Returns the generators for the given statement, highest priority first. The returned set is shared and cannot be modified.
+     */
+    public SortedSet<SqlGenerator> getGenerators(SqlStatement statement, Database database) {
         String databaseName = null;
         if (database == null) {
             databaseName = "NULL";
@@ -104,18 +115,16 @@ public class SqlGeneratorFactory {
             }
         }
 
-        String key = statement.getClass().getName()+":"+ databaseName+":"+ version;
-
-        if (generatorsByKey.containsKey(key) && !generatorsByKey.get(key).isEmpty()) {
-            SortedSet<SqlGenerator> result = new TreeSet<>(new SqlGeneratorComparator());
-            result.addAll(generatorsByKey.get(key));
-            result.retainAll(getGenerators());
-            return result;
+        ResolutionTable table = resolutionTable;
+        ResolutionKey key = new ResolutionKey(statement.getClass(), databaseName, version);
+        SortedSet<SqlGenerator> resolved = table.generatorsByKey.get(key);
+        if (resolved != null) {
+            return resolved;
         }
 
         SortedSet<SqlGenerator> validGenerators = new TreeSet<>(new SqlGeneratorComparator());
 
-        for (SqlGenerator generator : getGenerators()) {
+        for (SqlGenerator generator : table.generators) {
             Class clazz = generator.getClass();
             Type classType = null;
             while (clazz != null) {
@@ -137,25 +146,29 @@ public class SqlGeneratorFactory {
                 clazz = clazz.getSuperclass();
             }
         }
-        generatorsByKey.put(key, validGenerators);
-        return validGenerators;
+        // empty results are not kept, in case a generator starts supporting the statement later on
+        if (validGenerators.isEmpty()) {
+            return validGenerators;
+        }
+        // not computeIfAbsent: supports() may look up the generators of other statements
+        resolved = Collections.unmodifiableSortedSet(validGenerators);
+        SortedSet<SqlGenerator> existing = table.generatorsByKey.putIfAbsent(key, resolved);
+        return existing == null ? resolved : existing;
     }
 
     private Type[] getGenericInterfaces(Class<?> clazz) {
-        if(genericInterfacesCache.containsKey(clazz)) {
-            return genericInterfacesCache.get(clazz);
-        }
-        Type[] genericInterfaces = clazz.getGenericInterfaces();
-        genericInterfacesCache.put(clazz, genericInterfaces);
-        return genericInterfaces;
+        return genericInterfacesCache.computeIfAbsent(clazz, Class::getGenericInterfaces);
     }
 
     private Type getGenericSuperclass(Class<?> clazz) {
-        if(genericSuperClassCache.containsKey(clazz)) {
-            return genericSuperClassCache.get(clazz);
+        // Object and interfaces have no superclass, and null cannot be cached
+        Type genericSuperclass = genericSuperClassCache.get(clazz);
+        if (genericSuperclass == null) {
+            genericSuperclass = clazz.getGenericSuperclass();
+            if (genericSuperclass != null) {
+                genericSuperClassCache.put(clazz, genericSuperclass);
+            }
         }
-        Type genericSuperclass = clazz.getGenericSuperclass();
-        genericSuperClassCache.put(clazz, genericSuperclass);
         return genericSuperclass;
     }
 
@@ -297,4 +310,121 @@ public class SqlGeneratorFactory {
         }
         return affectedObjects;
     }
+
+    /**
+     * The registered generators at one point in time together with the generators found for each statement class,
+     * database and major version so far. A new table is created whenever the registered generators change, so a
+     * lookup that started against an older table only ever adds to that table.
+     */
+    private static final class ResolutionTable {
+        private final long version;
+        private final List<SqlGenerator> generators;
+        private final Map<ResolutionKey, SortedSet<SqlGenerator>> generatorsByKey = new ConcurrentHashMap<>();
+
+        private ResolutionTable(long version, List<SqlGenerator> generators) {
+            this.version = version;
+            this.generators = Collections.unmodifiableList(new ArrayList<>(generators));
+        }
+    }
+
+    private static final class ResolutionKey {
+        private final Class<?> statementClass;
+        private final String databaseName;
+        private final int majorVersion;
+
+        private ResolutionKey(Class<?> statementClass, String databaseName, int majorVersion) {
+            this.statementClass = statementClass;
+            this.databaseName = databaseName;
+            this.majorVersion = majorVersion;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ResolutionKey)) {
+                return false;
+            }
+            ResolutionKey that = (ResolutionKey) o;
+            return (majorVersion == that.majorVersion) && (statementClass == that.statementClass) && Objects.equals(databaseName, that.databaseName);
+        }
+
+        @Override
+        public int hashCode() {
+            return (31 * ((31 * statementClass.hashCode()) + Objects.hashCode(databaseName))) + majorVersion;
+        }
+    }
+
+    /**
+     * The registered generators. Every change, including ones made through {@link #getGenerators()}, replaces the
+     * {@link ResolutionTable}. Changes are serialized on the factory, reads are not.
+     */
+    private final class GeneratorList extends AbstractList<SqlGenerator> {
+        private final List<SqlGenerator> delegate = new CopyOnWriteArrayList<>();
+
+        @Override
+        public SqlGenerator get(int index) {
+            return delegate.get(index);
+        }
+
+        @Override
+        public int size() {
+            return delegate.size();
+        }
+
+        @Override
+        public Iterator<SqlGenerator> iterator() {
+            return delegate.iterator();
+        }
+
+        @Override
+        public void add(int index, SqlGenerator generator) {
+            synchronized (SqlGeneratorFactory.this) {
+                delegate.add(index, generator);
+                changed();
+            }
+        }
+
+        @Override
+        public SqlGenerator set(int index, SqlGenerator generator) {
+            synchronized (SqlGeneratorFactory.this) {
+                SqlGenerator previous = delegate.set(index, generator);
+                changed();
+                return previous;
+            }
+        }
+
+        @Override
+        public SqlGenerator remove(int index) {
+            synchronized (SqlGeneratorFactory.this) {
+                SqlGenerator removed = delegate.remove(index);
+                changed();
+                return removed;
+            }
+        }
+
+        @Override
+        public boolean remove(Object generator) {
+            synchronized (SqlGeneratorFactory.this) {
+                boolean removed = delegate.remove(generator);
+                if (removed) {
+                    changed();
+                }
+                return removed;
+            }
+        }
+
+        @Override
+        public void clear() {
+            synchronized (SqlGeneratorFactory.this) {
+                delegate.clear();
+                changed();
+            }
+        }
+
+        private void changed() {
+            resolutionTable = new ResolutionTable(resolutionTable.version + 1, delegate);
+        }
+    }
 }
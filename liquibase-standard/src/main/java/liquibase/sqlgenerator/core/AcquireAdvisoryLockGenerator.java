@@ -0,0 +1,91 @@
+package liquibase.sqlgenerator.core;
+
+import liquibase.database.Database;
+import liquibase.database.core.CockroachDatabase;
+import liquibase.database.core.MSSQLDatabase;
+import liquibase.database.core.MySQLDatabase;
+import liquibase.database.core.OracleDatabase;
+import liquibase.database.core.PostgresDatabase;
+import liquibase.exception.ValidationErrors;
+import liquibase.sql.Sql;
+import liquibase.sql.UnparsedSql;
+import liquibase.sqlgenerator.SqlGeneratorChain;
+import liquibase.statement.core.AcquireAdvisoryLockStatement;
+
+import java.nio.charset.StandardCharsets;
+
+public class AcquireAdvisoryLockGenerator extends AbstractSqlGenerator<AcquireAdvisoryLockStatement> {
+
+    /**
+     * Lock ids from 1073741824 on are reserved for DBMS_LOCK.ALLOCATE_UNIQUE on Oracle.
+     */
+    private static final int ORACLE_MAX_LOCK_ID = 1073741823;
+
+    @Override
+    public boolean supports(AcquireAdvisoryLockStatement statement, Database database) {
+        return supportsAdvisoryLocks(database);
+    }
+
+    @Override
+    public ValidationErrors validate(AcquireAdvisoryLockStatement statement, Database database, SqlGeneratorChain sqlGeneratorChain) {
+        ValidationErrors validationErrors = new ValidationErrors();
+        validationErrors.checkRequiredField("lockName", statement.getLockName());
+        return validationErrors;
+    }
+
+    @Override
+    public Sql[] generateSql(AcquireAdvisoryLockStatement statement, Database database, SqlGeneratorChain sqlGeneratorChain) {
+        // a timeout of 0 means "wait forever" on PostgreSQL and "do not wait" elsewhere, so always wait at least a little
+        long timeoutMillis = Math.max(1, statement.getTimeoutMillis());
+        long timeoutSeconds = Math.max(1, (timeoutMillis + 999) / 1000);
+        String lockName = database.escapeStringForDatabase(statement.getLockName());
+
+        String sql;
+        if (database instanceof PostgresDatabase) {
+            // the CASE makes sure lock_timeout is set before the lock is requested; set_config(..., true) only lasts
+            // until the end of the transaction while the advisory lock itself is held until it is released
+            sql = "SELECT CASE WHEN set_config('lock_timeout', '" + timeoutMillis + "ms', true) IS NULL THEN 0 " +
+                    "ELSE length(pg_advisory_lock(" + getLockId(statement.getLockName()) + ")::text) + 1 END";
+        } else if (database instanceof MySQLDatabase) {
+            sql = "SELECT GET_LOCK('" + lockName + "', " + timeoutSeconds + ")";
+        } else if (database instanceof MSSQLDatabase) {
+            sql = "SET NOCOUNT ON; " +
+                    "DECLARE @result INT; " +
+                    "EXEC @result = sp_getapplock @Resource = N'" + lockName + "', @LockMode = 'Exclusive', @LockOwner = 'Session', @LockTimeout = " + timeoutMillis + "; " +
+                    "SET NOCOUNT OFF; " +
+                    "SELECT CASE WHEN @result >= 0 THEN 1 ELSE 0 END";
+        } else {
+            // 6 is DBMS_LOCK.X_MODE, 4 means this session already holds the lock
+            sql = "SELECT CASE DBMS_LOCK.REQUEST(" + getOracleLockId(statement.getLockName()) + ", 6, " + timeoutSeconds + ") " +
+                    "WHEN 0 THEN 1 WHEN 4 THEN 1 ELSE 0 END FROM DUAL";
+        }
+        return new Sql[]{new UnparsedSql(sql)};
+    }
+
+    /**
+     * Returns true if advisory locks can be generated for the given database.
+     * CockroachDB accepts pg_advisory_lock but does not actually lock anything.
+     */
+    public static boolean supportsAdvisoryLocks(Database database) {
+        return (database instanceof PostgresDatabase && !(database instanceof CockroachDatabase))
+                || database instanceof MySQLDatabase
+                || database instanceof MSSQLDatabase
+                || database instanceof OracleDatabase;
+    }
+
+    /**
+     * Numeric id for databases that identify advisory locks by number, derived from the lock name with 64-bit FNV-1a.
+     */
+    static long getLockId(String lockName) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : lockName.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= (b & 0xff);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    static long getOracleLockId(String lockName) {
+        return Math.floorMod(getLockId(lockName), ORACLE_MAX_LOCK_ID + 1L);
+    }
+}
@@ -0,0 +1,43 @@
+package liquibase.sqlgenerator.core;
+
+import liquibase.database.Database;
+import liquibase.database.core.MSSQLDatabase;
+import liquibase.database.core.MySQLDatabase;
+import liquibase.database.core.PostgresDatabase;
+import liquibase.exception.ValidationErrors;
+import liquibase.sql.Sql;
+import liquibase.sql.UnparsedSql;
+import liquibase.sqlgenerator.SqlGeneratorChain;
+import liquibase.statement.core.ReleaseAdvisoryLockStatement;
+
+public class ReleaseAdvisoryLockGenerator extends AbstractSqlGenerator<ReleaseAdvisoryLockStatement> {
+
+    @Override
+    public boolean supports(ReleaseAdvisoryLockStatement statement, Database database) {
+        return AcquireAdvisoryLockGenerator.supportsAdvisoryLocks(database);
+    }
+
+    @Override
+    public ValidationErrors validate(ReleaseAdvisoryLockStatement statement, Database database, SqlGeneratorChain sqlGeneratorChain) {
+        ValidationErrors validationErrors = new ValidationErrors();
+        validationErrors.checkRequiredField("lockName", statement.getLockName());
+        return validationErrors;
+    }
+
+    @Override
+    public Sql[] generateSql(ReleaseAdvisoryLockStatement statement, Database database, SqlGeneratorChain sqlGeneratorChain) {
+        String lockName = database.escapeStringForDatabase(statement.getLockName());
+
+        String sql;
+        if (database instanceof PostgresDatabase) {
+            sql = "SELECT pg_advisory_unlock(" + AcquireAdvisoryLockGenerator.getLockId(statement.getLockName()) + ")";
+        } else if (database instanceof MySQLDatabase) {
+            sql = "SELECT RELEASE_LOCK('" + lockName + "')";
+        } else if (database instanceof MSSQLDatabase) {
+            sql = "EXEC sp_releaseapplock @Resource = N'" + lockName + "', @LockOwner = 'Session'";
+        } else {
+            sql = "SELECT DBMS_LOCK.RELEASE(" + AcquireAdvisoryLockGenerator.getOracleLockId(statement.getLockName()) + ") FROM DUAL";
+        }
+        return new Sql[]{new UnparsedSql(sql)};
+    }
+}
@@ -0,0 +1,26 @@
+package liquibase.statement.core;
+
+import liquibase.statement.AbstractSqlStatement;
+
+/**
+ * Requests a session level advisory lock with the given name, waiting up to the given timeout for it to become free.
+ * Querying the statement returns 1 if the lock was acquired and 0 if it timed out.
+ */
+public class AcquireAdvisoryLockStatement extends AbstractSqlStatement {
+
+    private final String lockName;
+    private final long timeoutMillis;
+
+    public AcquireAdvisoryLockStatement(String lockName, long timeoutMillis) {
+        this.lockName = lockName;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public String getLockName() {
+        return lockName;
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+}
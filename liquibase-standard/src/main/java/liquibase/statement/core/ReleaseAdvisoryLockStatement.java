@@ -0,0 +1,19 @@
+package liquibase.statement.core;
+
+import liquibase.statement.AbstractSqlStatement;
+
+/**
+ * Releases a session level advisory lock acquired with {@link AcquireAdvisoryLockStatement}.
+ */
+public class ReleaseAdvisoryLockStatement extends AbstractSqlStatement {
+
+    private final String lockName;
+
+    public ReleaseAdvisoryLockStatement(String lockName) {
+        this.lockName = lockName;
+    }
+
+    public String getLockName() {
+        return lockName;
+    }
+}
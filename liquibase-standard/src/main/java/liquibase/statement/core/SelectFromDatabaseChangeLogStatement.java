@@ -87,6 +87,21 @@ public class SelectFromDatabaseChangeLogStatement extends AbstractSqlStatement {
         }
     }
 
+    @Getter
+    public static class ByOrderExecutedGreaterThan implements WhereClause {
+
+        private final int orderExecuted;
+
+        public ByOrderExecutedGreaterThan(int orderExecuted) {
+            this.orderExecuted = orderExecuted;
+        }
+
+        @Override
+        public String generateSql(Database database) {
+            return String.format(" WHERE %s > %d", database.escapeColumnName(null, null, null, "ORDEREXECUTED"), getOrderExecuted());
+        }
+    }
+
     @Data
     public static class ByCheckSumNotNullAndNotLike implements WhereClause {
         private final int notLikeCheckSumVersion;
@@ -19,6 +19,8 @@ import liquibase.exception.LiquibaseException;
 import liquibase.logging.mdc.MdcKey;
 import liquibase.logging.mdc.MdcObject;
 import liquibase.logging.mdc.customobjects.UpdateSummary;
+import liquibase.metrics.ExecutionTimings;
+import liquibase.metrics.Metric;
 import liquibase.report.ShowSummaryGenerator;
 import liquibase.report.ShowSummaryGeneratorFactory;
 import lombok.Data;
@@ -145,7 +147,7 @@ public class ShowSummaryUtil {
         UpdateSummaryDetails summaryDetails =
            showSummary(changeLog, statusVisitor, skippedChangeSets,
                        skippedBecauseOfLicenseChangeSets, skippedBecauseOfOsMismatchChangeSets, skippedBecauseOfPreconditionsChangeSets,
-                       filterDenied, outputStream, showSummaryOutput, runChangeLogIterator, changeExecListener);
+                       filterDenied, outputStream, showSummary, showSummaryOutput, runChangeLogIterator, changeExecListener);
         summaryDetails.getSummary().setValue(showSummary.toString());
         boolean shouldPrintDetailTable =
            showSummary != UpdateSummaryEnum.SUMMARY &&
@@ -415,6 +417,7 @@ public class ShowSummaryUtil {
                                                     List<ChangeSet> skippedBecauseOfPreconditionsChangeSets,
                                                     List<ChangeSetStatus> filterDenied,
                                                     OutputStream outputStream,
+                                                    UpdateSummaryEnum showSummary,
                                                     UpdateSummaryOutputEnum showSummaryOutput,
                                                     ChangeLogIterator runChangeLogIterator,
                                                     ChangeExecListener changeExecListener) throws LiquibaseException {
@@ -489,6 +492,10 @@ public class ShowSummaryUtil {
             builder.append(System.lineSeparator());
         }
 
+        if (showSummary == UpdateSummaryEnum.VERBOSE) {
+            appendSlowestStatements(builder);
+        }
+
         String outputMessage = builder.toString();
         writeMessage(outputMessage, showSummaryOutput, outputStream);
         UpdateSummaryDetails updateSummaryDetails = new UpdateSummaryDetails();
@@ -497,6 +504,30 @@ public class ShowSummaryUtil {
         return updateSummaryDetails;
     }
 
+    //
+    // List the slowest statements the update collected, if any
+    //
+    private static void appendSlowestStatements(StringBuilder builder) {
+        ExecutionTimings executionTimings = Scope.getCurrentScope().get(ExecutionTimings.SCOPE_KEY, ExecutionTimings.class);
+        if (executionTimings == null || executionTimings.getSlowestStatements().isEmpty()) {
+            return;
+        }
+        builder.append(System.lineSeparator());
+        builder.append("SLOWEST STATEMENTS");
+        builder.append(System.lineSeparator());
+        for (Metric statement : executionTimings.getSlowestStatements()) {
+            String sql = StringUtil.trimToEmpty(statement.getSubject()).replaceAll("\\s+", " ");
+            if (sql.length() > 100) {
+                sql = sql.substring(0, 97) + "...";
+            }
+            builder.append(String.format("%8d ms  %s", statement.getDurationNanos() / 1_000_000, sql));
+            builder.append(System.lineSeparator());
+            builder.append(String.format("             in %s::%s::%s", statement.getChangeSetFile(), statement.getChangeSetId(), statement.getChangeSetAuthor()));
+            builder.append(System.lineSeparator());
+        }
+        builder.append(System.lineSeparator());
+    }
+
     private static int calculatePreviouslyRun(StatusVisitor statusVisitor) {
         return (int) statusVisitor.getStatuses().stream().filter(
                 s -> s.getFilterResults().stream().anyMatch(
@@ -0,0 +1,91 @@
+package liquibase.change
+
+import liquibase.GlobalConfiguration
+import liquibase.Scope
+import liquibase.resource.PathResource
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.function.Supplier
+
+class ResourceCheckSumCacheTest extends Specification {
+
+    @TempDir
+    Path tempDir
+
+    def cache = Scope.getCurrentScope().getSingleton(ResourceCheckSumCache)
+
+    def setup() {
+        cache.clear()
+    }
+
+    def cleanup() {
+        cache.clear()
+    }
+
+    def "computes the checksum every time when no cache file is configured"() {
+        when:
+        def file = tempDir.resolve("data.csv")
+        Files.write(file, "a,b\n1,2\n".bytes)
+        def resource = new PathResource("data.csv", file)
+        def computations = 0
+        Supplier<CheckSum> computation = { computations++; CheckSum.compute("data") }
+
+        cache.getCheckSum(resource, "test", computation)
+        cache.getCheckSum(resource, "test", computation)
+
+        then:
+        computations == 2
+    }
+
+    def "reuses cached checksums until the file changes"() {
+        when:
+        def cacheFile = tempDir.resolve("checksums.cache")
+        def file = tempDir.resolve("data.csv")
+        Files.write(file, "a,b\n1,2\n".bytes)
+        def resource = new PathResource("data.csv", file)
+        def computations = 0
+        Supplier<CheckSum> computation = { computations++; CheckSum.compute(new String(Files.readAllBytes(file))) }
+
+        def results = Scope.child([(GlobalConfiguration.CHECKSUM_CACHE_FILE.key): cacheFile.toString()], {
+            def first = cache.getCheckSum(resource, "test", computation)
+            def second = cache.getCheckSum(resource, "test", computation)
+            def otherVariant = cache.getCheckSum(resource, "other", computation)
+            Files.write(file, "a,b\n1,2\n3,4\n".bytes)
+            def changed = cache.getCheckSum(resource, "test", computation)
+            return [first, second, otherVariant, changed]
+        } as Scope.ScopedRunnerWithReturn)
+
+        then:
+        computations == 3
+        results[0] == results[1]
+        results[2] == results[0]
+        results[3] != results[0]
+    }
+
+    def "cached checksums are saved to and read back from the cache file"() {
+        when:
+        def cacheFile = tempDir.resolve("checksums.cache")
+        def file = tempDir.resolve("data.csv")
+        Files.write(file, "a,b\n1,2\n".bytes)
+        def resource = new PathResource("data.csv", file)
+        def computations = 0
+        Supplier<CheckSum> computation = { computations++; CheckSum.compute("data") }
+
+        def results = Scope.child([(GlobalConfiguration.CHECKSUM_CACHE_FILE.key): cacheFile.toString()], {
+            def first = cache.getCheckSum(resource, "test", computation)
+            cache.save()
+            cache.clear()
+            def second = cache.getCheckSum(resource, "test", computation)
+            return [first, second]
+        } as Scope.ScopedRunnerWithReturn)
+
+        then:
+        Files.exists(cacheFile)
+        Files.readAllLines(cacheFile).size() == 1
+        computations == 1
+        results[0] == results[1]
+    }
+}
@@ -4,6 +4,7 @@ import liquibase.ChecksumVersion
 import liquibase.GlobalConfiguration
 import liquibase.Scope
 import liquibase.change.ChangeStatus
+import liquibase.change.ResourceCheckSumCache
 import liquibase.change.StandardChangeTest
 import liquibase.changelog.ChangeSet
 import liquibase.changelog.DatabaseChangeLog
@@ -31,8 +32,10 @@ import liquibase.structure.core.Table
 import liquibase.test.JUnitResourceAccessor
 import liquibase.test.TestContext
 import liquibase.util.csv.CSVReader
+import spock.lang.TempDir
 import spock.lang.Unroll
 
+import java.nio.file.Path
 import java.sql.Date
 import java.sql.Time
 import java.sql.Timestamp
@@ -45,6 +48,9 @@ class LoadDataChangeTest extends StandardChangeTest {
     MSSQLDatabase mssqlDb
     MockDatabase mockDb
 
+    @TempDir
+    Path tempDir
+
     def setup() {
         ResourceAccessor resourceAccessor = TestContext.getInstance().getTestResourceAccessor()
         String offlineUrl
@@ -394,6 +400,33 @@ class LoadDataChangeTest extends StandardChangeTest {
         ChecksumVersion.latest() | "9:55d574d66869989f7208b9f05b7409bb" | "9:b0cc70905a4b9db9211c05392fd08f08"
     }
 
+    @Unroll
+    def "generateChecksum returns the same value from the checksum cache - #version"(ChecksumVersion version, String expectedChecksum) {
+        when:
+        def cache = Scope.getCurrentScope().getSingleton(ResourceCheckSumCache)
+        cache.clear()
+        LoadDataChange refactoring = new LoadDataChange()
+        refactoring.setSchemaName("SCHEMA_NAME")
+        refactoring.setTableName("TABLE_NAME")
+        refactoring.setFile("liquibase/change/core/sample.data1.csv")
+
+        def checksums = Scope.child([
+                (Scope.Attr.checksumVersion.name())          : version,
+                (GlobalConfiguration.CHECKSUM_CACHE_FILE.key): tempDir.resolve("checksums.cache").toString()
+        ], {
+            return [refactoring.generateCheckSum().toString(), refactoring.generateCheckSum().toString()]
+        } as Scope.ScopedRunnerWithReturn<List<String>>)
+        cache.clear()
+
+        then:
+        checksums == [expectedChecksum, expectedChecksum]
+
+        where:
+        version | expectedChecksum
+        ChecksumVersion.V8 | "8:a91f2379b2b3b4c4a5a571b8e7409081"
+        ChecksumVersion.latest() | "9:55d574d66869989f7208b9f05b7409bb"
+    }
+
     @Override
     protected boolean canUseStandardGenerateCheckSumTest() {
         return false
@@ -1065,4 +1098,28 @@ class LoadDataChangeTest extends StandardChangeTest {
             return []
         }
     }
+
+    def "streamStatements passes rows to the handler in chunks of LOAD_DATA_STREAMING_CHUNK_SIZE"() {
+        when:
+        LoadDataChange change = new LoadDataChange()
+        change.setSchemaName("SCHEMA_NAME")
+        change.setTableName("TABLE_NAME")
+        change.setFile("liquibase/change/core/sample.data1.csv")
+
+        List<SqlStatement[]> chunks = []
+        boolean streamingSupported
+        Scope.child([(GlobalConfiguration.LOAD_DATA_STREAMING.key): true, (GlobalConfiguration.LOAD_DATA_STREAMING_CHUNK_SIZE.key): 1], {
+            streamingSupported = change.supportsStatementStreaming(new MSSQLDatabase())
+            change.streamStatements(new MSSQLDatabase(), { statements -> chunks.add(statements) })
+        } as Scope.ScopedRunner)
+
+        then:
+        streamingSupported
+        !change.supportsStatementStreaming(new MSSQLDatabase())
+        chunks.size() == 2
+        chunks[0].length == 1
+        ((InsertSetStatement) chunks[0][0]).getStatementsArray().length == 1
+        ((InsertStatement) ((InsertSetStatement) chunks[0][0]).getStatementsArray()[0]).getColumnValue("username") == "bjohnson"
+        ((InsertStatement) ((InsertSetStatement) chunks[1][0]).getStatementsArray()[0]).getColumnValue("username") == "jdoe"
+    }
 }
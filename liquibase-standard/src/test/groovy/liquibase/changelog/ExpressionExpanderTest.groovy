@@ -36,6 +36,9 @@ class ExpressionExpanderTest extends Specification {
                 (ChangeLogParserConfiguration.SUPPORT_PROPERTY_ESCAPING.key): true,
         ], { ->
             assert new ExpressionExpander(params).expandExpressions(input, changelog) == expected
+            if (input != null) {
+                assert read(new ExpressionExpander(params).expandingReader(oneCharAtATime(input), changelog)) == expected
+            }
         } as Scope.ScopedRunner)
 
         where:
@@ -104,4 +107,52 @@ class ExpressionExpanderTest extends Specification {
         "One valid \${param1} one invalid \${unset}" | "Could not resolve expression `\${unset}` in file test/file.xml"
 
     }
+
+    def "expanding reader streams text with many expressions"() {
+        when:
+        def params = new ChangeLogParameters()
+        params.set("schema", "app")
+        def changelog = new DatabaseChangeLog("test/file.sql")
+        def line = "insert into \${schema}.person values (1, 'cost: \$5 {not an expression}');\n"
+        def text = line * 5000
+
+        then:
+        read(new ExpressionExpander(params).expandingReader(new StringReader(text), changelog)) == new ExpressionExpander(params).expandExpressions(text, changelog)
+    }
+
+    def "expanding reader reports unknown properties when it reaches them"() {
+        when:
+        def params = new ChangeLogParameters()
+        def changelog = new DatabaseChangeLog("test/file.sql")
+        def reader = Scope.child([(ChangeLogParserConfiguration.MISSING_PROPERTY_MODE.key): ERROR], {
+            def expandingReader = new ExpressionExpander(params).expandingReader(new StringReader("select 1;\nselect '\${unset}';"), changelog)
+            def start = new char[10]
+            assert expandingReader.read(start, 0, 10) == 10
+            read(expandingReader)
+        } as Scope.ScopedRunnerWithReturn)
+
+        then:
+        def e = thrown(UnknownChangeLogParameterException)
+        e.message == "Could not resolve expression `\${unset}` in file test/file.sql"
+    }
+
+    private static String read(Reader reader) {
+        def result = new StringBuilder()
+        def buffer = new char[3]
+        int read
+        while ((read = reader.read(buffer, 0, buffer.length)) >= 0) {
+            result.append(buffer, 0, read)
+        }
+        return result.toString()
+    }
+
+    private static Reader oneCharAtATime(String text) {
+        def reader = new StringReader(text)
+        return new FilterReader(reader) {
+            @Override
+            int read(char[] buffer, int offset, int length) throws IOException {
+                return super.read(buffer, offset, Math.min(1, length))
+            }
+        }
+    }
 }
@@ -2,6 +2,7 @@ package liquibase.changelog.visitor
 
 import liquibase.GlobalConfiguration
 import liquibase.Scope
+import liquibase.change.CheckSum
 import liquibase.change.ColumnConfig
 import liquibase.change.core.CreateTableChange
 import liquibase.change.core.OutputChange
@@ -334,4 +335,56 @@ class ValidatingVisitorTest extends Specification {
         then:
         handler.validationPassed()
     }
+
+    void "precomputeCheckSums computes the checksums of ran changesets on other threads"() {
+        when:
+        def callingThread = Thread.currentThread()
+        def checkSumThreads = Collections.synchronizedList(new ArrayList<Thread>())
+        def changeLog = new DatabaseChangeLog("path/changelog")
+        def ran = new ArrayList<RanChangeSet>()
+        for (int i = 0; i < 4; i++) {
+            def changeSet = new ChangeSet("$i", "testAuthor", false, false, "path/changelog", null, null, changeLog)
+            changeSet.addChange(new OutputChange() {
+                @Override
+                CheckSum generateCheckSum() {
+                    checkSumThreads.add(Thread.currentThread())
+                    return super.generateCheckSum()
+                }
+            })
+            changeLog.addChangeSet(changeSet)
+            ran.add(new RanChangeSet(changeSet))
+            changeSet.clearCheckSum()
+        }
+        checkSumThreads.clear()
+
+        def handler = new ValidatingVisitor(ran)
+        Scope.child([(GlobalConfiguration.VALIDATE_CHECKSUM_THREADS.key): 2], {
+            handler.precomputeCheckSums(changeLog, new MockDatabase(), [])
+        } as Scope.ScopedRunner)
+        def precomputed = new ArrayList<Thread>(checkSumThreads)
+        for (ChangeSet changeSet : changeLog.getChangeSets()) {
+            handler.visit(changeSet, changeLog, new MockDatabase(), null)
+        }
+
+        then:
+        precomputed.size() == 4
+        !precomputed.contains(callingThread)
+        checkSumThreads.size() == 4
+        handler.validationPassed()
+    }
+
+    void "precomputeCheckSums does nothing with a single thread"() {
+        when:
+        def changeLog = new DatabaseChangeLog("path/changelog")
+        def changeSet = new ChangeSet("1", "testAuthor", false, false, "path/changelog", null, null, changeLog)
+        changeSet.addChange(new OutputChange())
+        changeLog.addChangeSet(changeSet)
+        def ran = [new RanChangeSet(changeSet)]
+        changeSet.clearCheckSum()
+
+        new ValidatingVisitor(ran).precomputeCheckSums(changeLog, new MockDatabase(), [])
+
+        then:
+        changeSet.checkSum == null
+    }
 }
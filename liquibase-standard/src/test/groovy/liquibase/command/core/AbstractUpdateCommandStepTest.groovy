@@ -18,10 +18,19 @@ import liquibase.executor.ExecutorService
 import liquibase.executor.jvm.JdbcExampleExecutor
 import liquibase.lockservice.LockService
 import liquibase.lockservice.LockServiceFactory
+import liquibase.report.UpdateReportParameters
+import liquibase.resource.DirectoryResourceAccessor
 import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.file.Files
+import java.nio.file.Path
 
 class AbstractUpdateCommandStepTest extends Specification {
 
+    @TempDir
+    Path tempDir
+
     def executorService = Scope.getCurrentScope().getSingleton(ExecutorService.class)
     def changeLogHistoryServiceFactory = Scope.getCurrentScope().getSingleton(ChangeLogHistoryServiceFactory.class)
 
@@ -177,4 +186,49 @@ class AbstractUpdateCommandStepTest extends Specification {
         !executorService.getExecutor("jdbc", databaseA).is(overrideA)
         resets["A"] == 1
     }
+
+    def "update reports the slowest statements and the statements of each changeset"() {
+        given:
+        Files.write(tempDir.resolve("changelog.sql"), """--liquibase formatted sql
+--changeset test:1
+create table slow_a (id int);
+insert into slow_a values (1);
+insert into slow_a values (2);
+--changeset test:2
+create table slow_b (id int);
+""".bytes)
+        def output = new ByteArrayOutputStream()
+
+        when:
+        def results = Scope.child([(Scope.Attr.resourceAccessor.name()): new DirectoryResourceAccessor(tempDir)], {
+            new CommandScope(UpdateCommandStep.COMMAND_NAME)
+                    .addArgumentValue("url", "jdbc:h2:mem:slowest_statements")
+                    .addArgumentValue("changelogFile", "changelog.sql")
+                    .addArgumentValue("showSummary", "verbose")
+                    .setOutput(output)
+                    .execute()
+        } as Scope.ScopedRunnerWithReturn)
+        def report = (UpdateReportParameters) results.getResult("updateReport")
+
+        then:
+        def changesets = report.changesetInfo.changesetInfoList
+        changesets*.changesetId == ["1", "2"]
+        changesets*.statementCount == [3, 1]
+        changesets*.rowsAffected == [2, 0]
+        changesets.every { it.executionMilliseconds != null }
+
+        def slowest = report.changesetInfo.slowestStatementInfoList
+        slowest*.sql.toSet() == ["create table slow_a (id int)", "insert into slow_a values (1)", "insert into slow_a values (2)", "create table slow_b (id int)"].toSet()
+        slowest.find { it.sql == "insert into slow_a values (1)" }.changeset == "changelog.sql::1::test"
+        slowest.find { it.sql == "insert into slow_a values (1)" }.rowsAffected == 1
+        slowest*.durationMilliseconds == slowest*.durationMilliseconds.sort(false).reverse()
+
+        output.toString().contains("SLOWEST STATEMENTS")
+        output.toString().contains("in changelog.sql::2::test")
+
+        cleanup:
+        Scope.child([(Scope.Attr.resourceAccessor.name()): new DirectoryResourceAccessor(tempDir)], {
+            new CommandScope(DropAllCommandStep.COMMAND_NAME).addArgumentValue("url", "jdbc:h2:mem:slowest_statements").execute()
+        } as Scope.ScopedRunnerWithReturn)
+    }
 }
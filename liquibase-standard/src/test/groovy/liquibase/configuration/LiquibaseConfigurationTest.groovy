@@ -189,6 +189,99 @@ class LiquibaseConfigurationTest extends Specification {
         int getPrecedence() { return precedence }
     }
 
+    def "definition values are only resolved again when the configured values change"() {
+        given:
+        def definition = new ConfigurationDefinition.Builder("test").define("resolvedOnce", String).setDefaultValue("default").build()
+        def modifier = new CountingModifier()
+        def modifierFactory = Scope.currentScope.getSingleton(ConfiguredValueModifierFactory)
+        modifierFactory.register(modifier)
+
+        when:
+        def initial = (1..3).collect { definition.currentValue }
+        def initialResolutions = modifier.count
+
+        System.setProperty("test.resolvedOnce", "From system")
+        def changed = (1..3).collect { definition.currentValue }
+        def changedResolutions = modifier.count
+
+        def unrelatedScope = Scope.child(["test.other": "value"], {
+            (1..3).collect { definition.currentValue }
+        } as Scope.ScopedRunnerWithReturn)
+        def unrelatedScopeResolutions = modifier.count
+
+        def scoped = Scope.child(["test.resolvedOnce": "From scope"], {
+            (1..3).collect { definition.currentValue }
+        } as Scope.ScopedRunnerWithReturn)
+        def scopedResolutions = modifier.count
+        def afterScope = definition.currentValue
+
+        System.setProperty("test.resolved-once", "Other spelling")
+        System.clearProperty("test.resolvedOnce")
+        def otherSpelling = (1..3).collect { definition.currentValue }
+        System.setProperty("test.resolved-once", "Changed")
+        def otherSpellingChanged = definition.currentValue
+
+        then:
+        initial == ["default"] * 3
+        initialResolutions == 1
+        changed == ["From system"] * 3
+        changedResolutions == 2
+        unrelatedScope == ["From system"] * 3
+        unrelatedScopeResolutions == 2
+        scoped == ["From scope"] * 3
+        scopedResolutions == 3
+        afterScope == "From system"
+        otherSpelling == ["Other spelling"] * 3
+        otherSpellingChanged == "Changed"
+        modifier.count == 7
+
+        cleanup:
+        System.clearProperty("test.resolvedOnce")
+        System.clearProperty("test.resolved-once")
+        modifierFactory.unregister(modifier)
+    }
+
+    def "definition values are resolved on every read while a provider cannot tell whether its values changed"() {
+        given:
+        def definition = new ConfigurationDefinition.Builder("test").define("resolvedEveryTime", String).build()
+        def values = ["test.resolvedEveryTime": "first"]
+        def provider = new AbstractConfigurationValueProvider() {
+            @Override
+            int getPrecedence() { return 300 }
+
+            @Override
+            ProvidedValue getProvidedValue(String... keyAndAliases) {
+                return new ProvidedValue(keyAndAliases[0], keyAndAliases[0], values[keyAndAliases[0]], "Test provider", this)
+            }
+        }
+        def configuration = Scope.currentScope.getSingleton(LiquibaseConfiguration)
+        configuration.registerProvider(provider)
+
+        when:
+        def first = definition.currentValue
+        values["test.resolvedEveryTime"] = "second"
+        def second = definition.currentValue
+
+        then:
+        first == "first"
+        second == "second"
+
+        cleanup:
+        configuration.unregisterProvider(provider)
+    }
+
+    def "getCurrentConfiguredValue of a definition can be overridden without changing later values"() {
+        given:
+        def definition = new ConfigurationDefinition.Builder("test").define("overriddenCopy", String).setDefaultValue("default").build()
+
+        when:
+        definition.currentConfiguredValue.override("changed", "Test")
+
+        then:
+        definition.currentValue == "default"
+        definition.currentConfiguredValue.value == "default"
+    }
+
     def "autoRegisters and sorts providers"() {
         expect:
         Scope.getCurrentScope().getSingleton(LiquibaseConfiguration).configurationValueProviders*.getClass()*.getName().contains("liquibase.configuration.core.SystemPropertyValueProvider")
@@ -219,6 +312,20 @@ class LiquibaseConfigurationTest extends Specification {
     }
 
 
+    class CountingModifier implements ConfiguredValueModifier<String> {
+        int count
+
+        @Override
+        int getOrder() {
+            return 100
+        }
+
+        @Override
+        void override(ConfiguredValue<String> configuredValue) {
+            count++
+        }
+    }
+
     class TestModifier implements ConfiguredValueModifier<String> {
         @Override
         int getOrder() {
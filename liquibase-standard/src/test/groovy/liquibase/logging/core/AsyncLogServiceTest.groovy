@@ -0,0 +1,206 @@
+package liquibase.logging.core
+
+import liquibase.logging.Logger
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.logging.Handler
+import java.util.logging.Level
+import java.util.logging.LogRecord
+
+class AsyncLogServiceTest extends Specification {
+
+    def "messages are written in order by the background thread"() {
+        given:
+        def bufferedLogService = new BufferedLogService()
+        def asyncLogService = new AsyncLogService(bufferedLogService, 16, AsyncLogService.OverflowPolicy.BLOCK)
+        def logger = asyncLogService.getLog(AsyncLogServiceTest)
+
+        when:
+        (1..1000).each { logger.info("message $it") }
+        asyncLogService.flush()
+
+        then:
+        bufferedLogService.log*.message == (1..1000).collect { "message $it".toString() }
+        asyncLogService.droppedMessageCount == 0
+
+        cleanup:
+        asyncLogService.close()
+    }
+
+    def "messages from several threads are all written"() {
+        given:
+        def bufferedLogService = new BufferedLogService()
+        def asyncLogService = new AsyncLogService(bufferedLogService, 8, AsyncLogService.OverflowPolicy.BLOCK)
+        def threads = (1..4).collect { thread ->
+            new Thread({
+                def logger = asyncLogService.getLog(AsyncLogServiceTest)
+                (1..500).each { logger.info("$thread-$it") }
+            })
+        }
+
+        when:
+        threads*.start()
+        threads*.join()
+        asyncLogService.close()
+
+        then:
+        bufferedLogService.log.size() == 2000
+        (1..4).every { thread ->
+            bufferedLogService.log*.message.findAll { it.startsWith("$thread-") } == (1..500).collect { "$thread-$it".toString() }
+        }
+    }
+
+    def "the drop policy drops messages below warning while the buffer is full"() {
+        given:
+        def writing = new CountDownLatch(1)
+        def release = new CountDownLatch(1)
+        def written = Collections.synchronizedList([])
+        def delegate = new AbstractLogService() {
+            @Override
+            int getPriority() {
+                return PRIORITY_NOT_APPLICABLE
+            }
+
+            @Override
+            Logger getLog(Class clazz) {
+                return new AbstractLogger() {
+                    @Override
+                    void log(Level level, String message, Throwable e) {
+                        if (message == "blocking") {
+                            writing.countDown()
+                            release.await(10, TimeUnit.SECONDS)
+                        }
+                        written.add(message)
+                    }
+
+                    @Override
+                    void close() throws Exception {
+                    }
+                }
+            }
+        }
+        def asyncLogService = new AsyncLogService(delegate, 2, AsyncLogService.OverflowPolicy.DROP)
+        def logger = asyncLogService.getLog(AsyncLogServiceTest)
+
+        when:
+        logger.info("blocking")
+        writing.await(10, TimeUnit.SECONDS)
+        logger.info("kept 1")
+        logger.info("kept 2")
+        logger.fine("dropped")
+        logger.info("dropped")
+        def warningThread = Thread.start { logger.warning("warning") }
+        release.countDown()
+        warningThread.join()
+        asyncLogService.close()
+
+        then:
+        written.take(3) == ["blocking", "kept 1", "kept 2"]
+        written.drop(3) as Set == ["warning", "2 log messages were dropped because the log buffer was full"] as Set
+        asyncLogService.droppedMessageCount == 2
+    }
+
+    def "a logger that fails is reported through the wrapped log service"() {
+        given:
+        def written = Collections.synchronizedList([])
+        def delegate = new AbstractLogService() {
+            @Override
+            int getPriority() {
+                return PRIORITY_NOT_APPLICABLE
+            }
+
+            @Override
+            Logger getLog(Class clazz) {
+                return new AbstractLogger() {
+                    @Override
+                    void log(Level level, String message, Throwable e) {
+                        if (message == "failing") {
+                            throw new IllegalStateException("broken logger")
+                        }
+                        written.add([clazz, level, message, e?.message])
+                    }
+
+                    @Override
+                    void close() throws Exception {
+                    }
+                }
+            }
+        }
+        def asyncLogService = new AsyncLogService(delegate, 4, AsyncLogService.OverflowPolicy.BLOCK)
+        def logger = asyncLogService.getLog(AsyncLogServiceTest)
+
+        when:
+        logger.info("failing")
+        logger.info("next")
+        asyncLogService.close()
+
+        then:
+        written == [[AsyncLogService, Level.WARNING, "Cannot write log message: broken logger", "broken logger"],
+                    [AsyncLogServiceTest, Level.INFO, "next", null]]
+    }
+
+    def "java loggers keep the time and thread the message was logged from"() {
+        given:
+        def records = Collections.synchronizedList([])
+        def handler = new Handler() {
+            @Override
+            void publish(LogRecord record) {
+                records.add(record)
+            }
+
+            @Override
+            void flush() {
+            }
+
+            @Override
+            void close() {
+            }
+        }
+        def utilLogger = java.util.logging.Logger.getLogger("liquibase.asynctest")
+        utilLogger.setUseParentHandlers(false)
+        utilLogger.setLevel(Level.INFO)
+        utilLogger.addHandler(handler)
+        def javaLogService = new JavaLogService() {
+            @Override
+            protected String getLogName(Class clazz) {
+                return "liquibase.asynctest"
+            }
+        }
+        def asyncLogService = new AsyncLogService(javaLogService)
+        def logger = asyncLogService.getLog(AsyncLogServiceTest)
+        def before = java.time.Instant.now()
+
+        when:
+        logger.info("logged")
+        logger.fine("not loggable")
+        asyncLogService.close()
+
+        then:
+        records.size() == 1
+        records[0].message == "logged"
+        records[0].loggerName == "liquibase.asynctest"
+        records[0].sourceClassName == "liquibase.asynctest"
+        records[0].longThreadID == Thread.currentThread().id
+        !records[0].instant.isBefore(before)
+
+        cleanup:
+        utilLogger.removeHandler(handler)
+    }
+
+    def "messages logged after close are written directly"() {
+        given:
+        def bufferedLogService = new BufferedLogService()
+        def asyncLogService = new AsyncLogService(bufferedLogService)
+        def logger = asyncLogService.getLog(AsyncLogServiceTest)
+
+        when:
+        logger.info("before")
+        asyncLogService.close()
+        logger.info("after")
+
+        then:
+        bufferedLogService.log*.message == ["before", "after"]
+    }
+}
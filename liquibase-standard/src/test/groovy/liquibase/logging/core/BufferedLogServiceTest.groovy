@@ -31,4 +31,21 @@ class BufferedLogServiceTest extends Specification {
         logOutput != null
         logOutput.length() == 10000000
     }
+
+    def "messages are dropped once the messages of their level and above reach the max length"() {
+        when:
+        def bufferedLogService = new BufferedLogService(10)
+        def logger = bufferedLogService.getLog(BufferedLogServiceTest)
+        logger.fine("fine-12345")
+        logger.fine("fine-dropped")
+        logger.info("info-12345")
+        logger.info("info-dropped")
+        logger.severe("severe-kept")
+
+        then:
+        bufferedLogService.log*.message == ["fine-12345", "info-12345", "severe-kept"]
+        bufferedLogService.droppedMessageCount == 2
+        bufferedLogService.getLogAsString(Level.INFO).contains("info-12345")
+        !bufferedLogService.getLogAsString(Level.INFO).contains("fine-12345")
+    }
 }
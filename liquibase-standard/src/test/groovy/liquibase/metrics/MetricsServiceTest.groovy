@@ -0,0 +1,164 @@
+package liquibase.metrics
+
+import jdk.jfr.Recording
+import jdk.jfr.consumer.RecordingFile
+import liquibase.Scope
+import liquibase.change.core.RawSQLChange
+import liquibase.changelog.ChangeSet
+import liquibase.changelog.DatabaseChangeLog
+import liquibase.database.core.H2Database
+import liquibase.database.jvm.JdbcConnection
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.file.Path
+import java.sql.DriverManager
+
+class MetricsServiceTest extends Specification {
+
+    @TempDir
+    Path tempDir
+
+    List<Metric> recorded = Collections.synchronizedList([])
+    MetricsListener listener = { Metric metric -> recorded.add(metric) } as MetricsListener
+
+    def cleanup() {
+        Scope.currentScope.getSingleton(MetricsService).removeListener(listener)
+    }
+
+    def "nothing is measured without listeners or recordings"() {
+        expect:
+        Scope.currentScope.getSingleton(MetricsService).start(MetricType.SQL_STATEMENT, "select 1") == MetricTimer.DISABLED
+    }
+
+    def "executing a changeset reports the changeset and each statement"() {
+        given:
+        def metrics = Scope.currentScope.getSingleton(MetricsService)
+        metrics.addListener(listener)
+        def connection = DriverManager.getConnection("jdbc:h2:mem:metrics_service;DB_CLOSE_DELAY=-1")
+        def database = new H2Database()
+        database.setConnection(new JdbcConnection(connection))
+        def changeLog = new DatabaseChangeLog("com/example/changelog.xml")
+        def changeSet = new ChangeSet("1", "test", false, false, "com/example/changelog.xml", null, null, changeLog)
+        changeSet.addChange(new RawSQLChange("create table metrics_a (id int); create table metrics_b (id int)"))
+
+        when:
+        changeSet.execute(changeLog, null, database)
+
+        then:
+        def statements = recorded.findAll { it.type == MetricType.SQL_STATEMENT }
+        statements*.subject == ["create table metrics_a (id int)", "create table metrics_b (id int)"]
+        statements.every { it.changeSetId == "1" && it.changeSetAuthor == "test" && it.changeSetFile == "com/example/changelog.xml" && !it.failed }
+
+        def changeSetMetric = recorded.find { it.type == MetricType.CHANGE_SET_EXECUTION }
+        changeSetMetric.changeSetId == "1"
+        changeSetMetric.statementCount == 2
+        changeSetMetric.durationNanos >= statements.sum { it.durationNanos }
+        !changeSetMetric.failed
+
+        cleanup:
+        connection?.createStatement()?.execute("DROP ALL OBJECTS")
+        database?.close()
+    }
+
+    def "a failing statement marks the statement and its changeset as failed"() {
+        given:
+        def metrics = Scope.currentScope.getSingleton(MetricsService)
+        metrics.addListener(listener)
+        def changeSet = new ChangeSet("2", "test", false, false, "changelog.xml", null, null, null)
+
+        when:
+        def changeSetTimer = metrics.startChangeSet(changeSet)
+        metrics.start(MetricType.SQL_STATEMENT, "select 1").stop()
+        metrics.start(MetricType.SQL_STATEMENT, "select x").failed().stop()
+        changeSetTimer.failed().stop()
+        metrics.start(MetricType.SQL_STATEMENT, "select 2").stop()
+
+        then:
+        recorded*.type == [MetricType.SQL_STATEMENT, MetricType.SQL_STATEMENT, MetricType.CHANGE_SET_EXECUTION, MetricType.SQL_STATEMENT]
+        recorded*.failed == [false, true, true, false]
+        recorded[2].statementCount == 2
+        recorded[3].changeSetId == null
+    }
+
+    def "a changeset whose executor cannot be set up does not stay the current changeset"() {
+        given:
+        def metrics = Scope.currentScope.getSingleton(MetricsService)
+        metrics.addListener(listener)
+        def database = new H2Database()
+        def changeLog = new DatabaseChangeLog("changelog.xml")
+        def changeSet = new ChangeSet("3", "test", false, false, "changelog.xml", null, null, changeLog)
+        changeSet.setRunWith("unknownExecutor")
+
+        when:
+        changeSet.execute(changeLog, null, database)
+
+        then:
+        thrown(Exception)
+
+        when:
+        metrics.start(MetricType.SQL_STATEMENT, "select 1").stop()
+
+        then:
+        recorded.find { it.type == MetricType.SQL_STATEMENT }.changeSetId == null
+    }
+
+    def "only the types listeners want are measured"() {
+        given:
+        def metrics = Scope.currentScope.getSingleton(MetricsService)
+        def timings = new ExecutionTimings(5)
+        metrics.addListener(timings)
+
+        expect:
+        metrics.isEnabled(MetricType.SQL_STATEMENT)
+        metrics.isEnabled(MetricType.CHANGE_SET_EXECUTION)
+        metrics.start(MetricType.SNAPSHOT_QUERY, "tables") == MetricTimer.DISABLED
+        metrics.start(MetricType.LOCK_WAIT, "DATABASECHANGELOGLOCK") == MetricTimer.DISABLED
+
+        cleanup:
+        metrics.removeListener(timings)
+    }
+
+    def "listener failures do not fail the work"() {
+        given:
+        def metrics = Scope.currentScope.getSingleton(MetricsService)
+        def failing = { Metric metric -> throw new RuntimeException("broken listener") } as MetricsListener
+        metrics.addListener(failing)
+        metrics.addListener(listener)
+
+        when:
+        metrics.start(MetricType.LOCK_WAIT, "DATABASECHANGELOGLOCK").stop()
+
+        then:
+        recorded*.type == [MetricType.LOCK_WAIT]
+
+        cleanup:
+        metrics.removeListener(failing)
+    }
+
+    def "measured work is recorded as JFR events"() {
+        given:
+        def metrics = Scope.currentScope.getSingleton(MetricsService)
+        def file = tempDir.resolve("metrics.jfr")
+        def recording = new Recording()
+        recording.enable("liquibase.ChangeLogParse")
+        recording.start()
+
+        when:
+        def enabled = metrics.isEnabled(MetricType.CHANGELOG_PARSE)
+        metrics.start(MetricType.CHANGELOG_PARSE, "changelog.xml").stop()
+        recording.stop()
+        recording.dump(file)
+
+        then:
+        enabled
+        !metrics.isEnabled(MetricType.SQL_STATEMENT)
+        def events = RecordingFile.readAllEvents(file).findAll { it.eventType.name == "liquibase.ChangeLogParse" }
+        events.size() == 1
+        events[0].getString("subject") == "changelog.xml"
+        !events[0].getBoolean("failed")
+
+        cleanup:
+        recording?.close()
+    }
+}
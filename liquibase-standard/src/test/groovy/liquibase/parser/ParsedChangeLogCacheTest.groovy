@@ -0,0 +1,270 @@
+package liquibase.parser
+
+import liquibase.ChecksumVersion
+import liquibase.Scope
+import liquibase.changelog.ChangeLogParameters
+import liquibase.changelog.DatabaseChangeLog
+import liquibase.exception.ChangeLogParseException
+import liquibase.parser.core.ParsedNode
+import liquibase.resource.DirectoryResourceAccessor
+import spock.lang.Specification
+import spock.lang.TempDir
+import spock.lang.Unroll
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+class ParsedChangeLogCacheTest extends Specification {
+
+    @TempDir
+    Path tempDir
+
+    def cache = Scope.getCurrentScope().getSingleton(ParsedChangeLogCache)
+
+    def setup() {
+        cache.clear()
+    }
+
+    def cleanup() {
+        cache.clear()
+    }
+
+    def "nothing is cached when no cache file is configured"() {
+        when:
+        def content = "databaseChangeLog: []".bytes
+        cache.put("parser", "changelog.yaml", content, [databaseChangeLog: []])
+
+        then:
+        !cache.isEnabled()
+        cache.get("parser", "changelog.yaml", content) == null
+    }
+
+    def "cached trees are returned as copies until the content changes"() {
+        when:
+        def cacheFile = tempDir.resolve("changelogs.cache")
+        def content = "original".bytes
+        def tree = [databaseChangeLog: [[changeSet: [id: "1", author: "test", runAlways: true, order: 3, big: 12345678901L,
+                                                      ratio: 1.5d, created: new Date(1000), values: ["a", null, "a"]]]]]
+
+        def results = Scope.child([(ChangeLogParserConfiguration.PARSED_CHANGELOG_CACHE_FILE.key): cacheFile.toString()], {
+            cache.put("parser", "changelog.yaml", content, tree)
+            def first = cache.get("parser", "changelog.yaml", content)
+            first.databaseChangeLog[0].changeSet.id = "modified"
+            def second = cache.get("parser", "changelog.yaml", content)
+            def changed = cache.get("parser", "changelog.yaml", "changed".bytes)
+            def otherParser = cache.get("otherParser", "changelog.yaml", content)
+            return [second, changed, otherParser]
+        } as Scope.ScopedRunnerWithReturn)
+
+        then:
+        results[0] == tree
+        results[1] == null
+        results[2] == null
+    }
+
+    def "parsed nodes are saved to and read back from the cache file"() {
+        when:
+        def cacheFile = tempDir.resolve("changelogs.cache")
+        def node = new ParsedNode(null, "databaseChangeLog")
+        node.setParsedNamespace("ns")
+        node.addChild(new ParsedNode(null, "changeSet").addChild(null, "id", "1").addChild(null, "author", "test"))
+        def content = "<databaseChangeLog/>".bytes
+
+        def result = Scope.child([(ChangeLogParserConfiguration.PARSED_CHANGELOG_CACHE_FILE.key): cacheFile.toString()], {
+            cache.put("parser", "changelog.xml", content, node)
+            cache.save()
+            cache.clear()
+            return cache.get("parser", "changelog.xml", content)
+        } as Scope.ScopedRunnerWithReturn) as ParsedNode
+
+        then:
+        Files.exists(cacheFile)
+        result.name == "databaseChangeLog"
+        result.parsedNamespace == "ns"
+        result.children*.name == ["changeSet"]
+        result.getChild(null, "changeSet").getChildValue(null, "id") == "1"
+        result.getChild(null, "changeSet").getChildValue(null, "author") == "test"
+    }
+
+    def "changelogs parsed from the cache are the same as parsed from the files"() {
+        when:
+        def cacheFile = tempDir.resolve("changelogs.cache")
+        def changelogDir = Files.createDirectory(tempDir.resolve("changelogs"))
+        Files.write(changelogDir.resolve("root.xml"), """<?xml version="1.0" encoding="UTF-8"?>
+<databaseChangeLog xmlns="http://www.liquibase.org/xml/ns/dbchangelog"
+                   xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+                   xsi:schemaLocation="http://www.liquibase.org/xml/ns/dbchangelog http://www.liquibase.org/xml/ns/dbchangelog/dbchangelog-latest.xsd">
+    <property name="table.name" value="person"/>
+    <changeSet id="1" author="test">
+        <createTable tableName="\${table.name}">
+            <column name="id" type="int"/>
+        </createTable>
+    </changeSet>
+    <include file="included.yaml" relativeToChangelogFile="true"/>
+</databaseChangeLog>
+""".bytes)
+        Files.write(changelogDir.resolve("included.yaml"), """databaseChangeLog:
+  - changeSet:
+      id: 2
+      author: test
+      changes:
+        - addColumn:
+            tableName: \${table.name}
+            columns:
+              - column:
+                  name: name
+                  type: varchar(50)
+""".bytes)
+        def resourceAccessor = new DirectoryResourceAccessor(changelogDir)
+
+        def uncached = describe(ChangeLogParserFactory.instance.getParser("root.xml", resourceAccessor)
+                .parse("root.xml", new ChangeLogParameters(), resourceAccessor))
+        def cachedTrees = Scope.child([(ChangeLogParserConfiguration.PARSED_CHANGELOG_CACHE_FILE.key): cacheFile.toString()], {
+            ChangeLogParserFactory.instance.getParser("root.xml", resourceAccessor).parse("root.xml", new ChangeLogParameters(), resourceAccessor)
+            cache.clear()
+            def fromCache = describe(ChangeLogParserFactory.instance.getParser("root.xml", resourceAccessor)
+                    .parse("root.xml", new ChangeLogParameters(), resourceAccessor))
+            def root = cache.get("liquibase.parser.core.xml.XMLChangeLogSAXParser", "root.xml", Files.readAllBytes(changelogDir.resolve("root.xml")))
+            def included = cache.get("liquibase.parser.core.yaml.YamlChangeLogParser", "included.yaml", Files.readAllBytes(changelogDir.resolve("included.yaml")))
+            return [fromCache, root, included]
+        } as Scope.ScopedRunnerWithReturn)
+
+        then:
+        Files.exists(cacheFile)
+        cachedTrees[0] == uncached
+        uncached.size() == 2
+        cachedTrees[1] instanceof ParsedNode
+        cachedTrees[2] instanceof Map
+    }
+
+    def "read ahead trees are taken once"() {
+        when:
+        def changelogDir = Files.createDirectory(tempDir.resolve("changelogs"))
+        Files.write(changelogDir.resolve("a.xml"), xmlChangeLog('<changeSet id="1" author="test"><sql>select 1</sql></changeSet>').bytes)
+        Files.write(changelogDir.resolve("b.yaml"), "databaseChangeLog: []".bytes)
+        Files.write(changelogDir.resolve("broken.xml"), "<databaseChangeLog>".bytes)
+        def resourceAccessor = new DirectoryResourceAccessor(changelogDir)
+        cache.readAhead(["a.xml", "b.yaml", "broken.xml", "missing.xml"], resourceAccessor, 4)
+
+        then:
+        cache.takeReadAhead("liquibase.parser.core.xml.XMLChangeLogSAXParser", "a.xml") instanceof ParsedNode
+        cache.takeReadAhead("liquibase.parser.core.xml.XMLChangeLogSAXParser", "a.xml") == null
+        cache.takeReadAhead("liquibase.parser.core.yaml.YamlChangeLogParser", "b.yaml") instanceof Map
+        cache.takeReadAhead("liquibase.parser.core.xml.XMLChangeLogSAXParser", "broken.xml") == null
+        cache.takeReadAhead("liquibase.parser.core.xml.XMLChangeLogSAXParser", "missing.xml") == null
+    }
+
+    def "changelogs with includes read ahead are the same as parsed one by one"() {
+        when:
+        def changelogDir = Files.createDirectory(tempDir.resolve("changelogs"))
+        Files.createDirectory(changelogDir.resolve("all"))
+        Files.write(changelogDir.resolve("root.xml"), xmlChangeLog("""
+    <property name="table.name" value="person"/>
+    <property name="second" value="b"/>
+    <include file="a.xml" relativeToChangelogFile="true"/>
+    <include file="\${second}.yaml" relativeToChangelogFile="true"/>
+    <include file="c.yaml" relativeToChangelogFile="true"/>
+    <includeAll path="all" relativeToChangelogFile="true"/>
+""").bytes)
+        Files.write(changelogDir.resolve("a.xml"), xmlChangeLog("""
+    <property name="column.name" value="name"/>
+    <changeSet id="1" author="test">
+        <createTable tableName="\${table.name}">
+            <column name="id" type="int"/>
+        </createTable>
+    </changeSet>
+""").bytes)
+        Files.write(changelogDir.resolve("b.yaml"), yamlChangeLog("2", "\${column.name}").bytes)
+        Files.write(changelogDir.resolve("c.yaml"), yamlChangeLog("3", "email").bytes)
+        Files.write(changelogDir.resolve("all/d.yaml"), yamlChangeLog("4", "\${column.name}_d").bytes)
+        Files.write(changelogDir.resolve("all/e.xml"), xmlChangeLog('<changeSet id="5" author="test"><dropColumn tableName="\${table.name}" columnName="email"/></changeSet>').bytes)
+        def resourceAccessor = new DirectoryResourceAccessor(changelogDir)
+
+        def parse = { int threads ->
+            Scope.child([(ChangeLogParserConfiguration.INCLUDE_PARSE_THREADS.key): threads], {
+                describe(ChangeLogParserFactory.instance.getParser("root.xml", resourceAccessor)
+                        .parse("root.xml", new ChangeLogParameters(), resourceAccessor))
+            } as Scope.ScopedRunnerWithReturn)
+        }
+        def oneByOne = parse(1)
+        def readAhead = parse(4)
+
+        then:
+        readAhead == oneByOne
+        oneByOne.size() == 5
+        oneByOne.collect { it.split("::")[0] } == ["a.xml", "b.yaml", "c.yaml", "all/d.yaml", "all/e.xml"]
+    }
+
+    @Unroll
+    def "read ahead trees are dropped when parsing #root fails"() {
+        when:
+        def changelogDir = Files.createDirectory(tempDir.resolve("changelogs"))
+        Files.write(changelogDir.resolve("root.xml"), xmlChangeLog("""
+    <include file="broken.xml" relativeToChangelogFile="true"/>
+    <include file="a.xml" relativeToChangelogFile="true"/>
+    <include file="b.yaml" relativeToChangelogFile="true"/>
+""").bytes)
+        Files.write(changelogDir.resolve("root.yaml"), """databaseChangeLog:
+  - include: {file: broken.xml, relativeToChangelogFile: true}
+  - include: {file: a.xml, relativeToChangelogFile: true}
+  - include: {file: b.yaml, relativeToChangelogFile: true}
+""".bytes)
+        Files.write(changelogDir.resolve("broken.xml"), "<databaseChangeLog>".bytes)
+        Files.write(changelogDir.resolve("a.xml"), xmlChangeLog('<changeSet id="1" author="test"><sql>select 1</sql></changeSet>').bytes)
+        Files.write(changelogDir.resolve("b.yaml"), yamlChangeLog("2", "name").bytes)
+        def resourceAccessor = new DirectoryResourceAccessor(changelogDir)
+
+        def parse = { String file, int threads ->
+            Scope.child([(ChangeLogParserConfiguration.INCLUDE_PARSE_THREADS.key): threads], {
+                ChangeLogParserFactory.instance.getParser(file, resourceAccessor).parse(file, new ChangeLogParameters(), resourceAccessor)
+            } as Scope.ScopedRunnerWithReturn)
+        }
+        def failure = null
+        try {
+            parse(root, 4)
+        } catch (ChangeLogParseException e) {
+            failure = e
+        }
+        Files.write(changelogDir.resolve("a.xml"), xmlChangeLog('<changeSet id="1-changed" author="test"><sql>select 1</sql></changeSet>').bytes)
+        Files.write(changelogDir.resolve("b.yaml"), yamlChangeLog("2-changed", "name").bytes)
+        def a = parse("a.xml", 1) as DatabaseChangeLog
+        def b = parse("b.yaml", 1) as DatabaseChangeLog
+
+        then:
+        failure != null
+        a.changeSets*.id == ["1-changed"]
+        b.changeSets*.id == ["2-changed"]
+
+        where:
+        root << ["root.xml", "root.yaml"]
+    }
+
+    private static String xmlChangeLog(String body) {
+        return """<?xml version="1.0" encoding="UTF-8"?>
+<databaseChangeLog xmlns="http://www.liquibase.org/xml/ns/dbchangelog"
+                   xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+                   xsi:schemaLocation="http://www.liquibase.org/xml/ns/dbchangelog http://www.liquibase.org/xml/ns/dbchangelog/dbchangelog-latest.xsd">
+${body}
+</databaseChangeLog>
+"""
+    }
+
+    private static String yamlChangeLog(String id, String columnName) {
+        return """databaseChangeLog:
+  - changeSet:
+      id: ${id}
+      author: test
+      changes:
+        - addColumn:
+            tableName: \${table.name}
+            columns:
+              - column:
+                  name: ${columnName}
+                  type: varchar(50)
+"""
+    }
+
+    private static List<String> describe(DatabaseChangeLog changeLog) {
+        return changeLog.changeSets.collect { it.filePath + "::" + it.id + "::" + it.generateCheckSum(ChecksumVersion.latest()) }
+    }
+}
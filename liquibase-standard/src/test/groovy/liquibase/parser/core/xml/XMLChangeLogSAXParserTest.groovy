@@ -167,6 +167,44 @@ class XMLChangeLogSAXParserTest extends Specification {
     }
 
 
+    def "files referring to the same schemas are validated against the schemas compiled once"() {
+        given:
+        def valid = INVALID_XML.replace("<iDontKnowWhatImDoing />", "<changeSet id=\"1\" author=\"example\"><output>hello</output></changeSet>")
+        def resourceAccessor = new MockResourceAccessor(["com/example/valid.xml": valid, "com/example/invalid.xml": INVALID_XML])
+        def parser = new XMLChangeLogSAXParser()
+        def schemaCache = Scope.currentScope.getSingleton(XSDSchemaCache)
+        def schemaLocation = "http://www.liquibase.org/xml/ns/dbchangelog http://www.liquibase.org/xml/ns/dbchangelog/dbchangelog-latest.xsd"
+
+        when:
+        def changeLogs = (1..3).collect { parser.parse("com/example/valid.xml", new ChangeLogParameters(), resourceAccessor) }
+
+        then:
+        changeLogs*.changeSets*.size() == [1, 1, 1]
+        schemaCache.getSchema(schemaLocation, new LiquibaseEntityResolver()).is(schemaCache.getSchema(schemaLocation, new LiquibaseEntityResolver()))
+
+        when:
+        parser.parse("com/example/invalid.xml", new ChangeLogParameters(), resourceAccessor)
+
+        then:
+        def e = thrown(ChangeLogParseException)
+        e.message.contains("Error parsing line")
+        e.message.contains("iDontKnowWhatImDoing")
+    }
+
+    def "files referring to schemas that cannot be compiled are reported as before"() {
+        given:
+        def file = "com/example/unknown-xsd.xml"
+        def resourceAccessor = new MockResourceAccessor([(file): INVALID_XML.replace("dbchangelog-latest.xsd", "dbchangelog-unknown.xsd")])
+
+        when:
+        new XMLChangeLogSAXParser().parse(file, new ChangeLogParameters(), resourceAccessor)
+
+        then:
+        def e = thrown(ChangeLogParseException)
+        e.message.contains("Unable to resolve xml entity http://www.liquibase.org/xml/ns/dbchangelog/dbchangelog-unknown.xsd")
+    }
+
+
     def "setting validation flag to false will cause the XML to not be validated"() {
         given:
         def file = "com/example/invalid.xml"
@@ -0,0 +1,158 @@
+package liquibase.parser.core.yaml
+
+import liquibase.ChecksumVersion
+import liquibase.Scope
+import liquibase.changelog.ChangeLogParameters
+import liquibase.changelog.DatabaseChangeLog
+import liquibase.exception.ChangeLogParseException
+import liquibase.parser.ChangeLogParserConfiguration
+import liquibase.parser.ChangeLogParserFactory
+import liquibase.parser.ParsedChangeLogCache
+import liquibase.resource.DirectoryResourceAccessor
+import spock.lang.Specification
+import spock.lang.TempDir
+import spock.lang.Unroll
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+class YamlChangeLogStreamReaderTest extends Specification {
+
+    @TempDir
+    Path tempDir
+
+    def cleanup() {
+        Scope.getCurrentScope().getSingleton(ParsedChangeLogCache).clear()
+    }
+
+    @Unroll
+    def "changelog read from the event stream is the same as loaded as a whole: #file"() {
+        when:
+        Files.write(tempDir.resolve(file), content.bytes)
+        Files.write(tempDir.resolve("table.properties"), "table.prefix=t_".bytes)
+        def resourceAccessor = new DirectoryResourceAccessor(tempDir)
+        def streamed = tempDir.resolve(file).withInputStream {
+            new YamlChangeLogStreamReader(new YamlChangeLogParser(), new ChangeLogParameters(), resourceAccessor, new DatabaseChangeLog(file)).read(it)
+        }
+
+        then:
+        (streamed != null) == readFromStream
+        describe(file, resourceAccessor, false) == describe(file, resourceAccessor, true)
+
+        where:
+        file                | readFromStream | content
+        "properties.yaml"   | true           | '''databaseChangeLog:
+  - changeSet:
+      id: 1
+      author: ${author}
+      comment: ${later} and ${unknown}
+      changes:
+        - createTable:
+            tableName: ${table.prefix}${table}
+            remarks: 2018-03-09 08:41:31
+            columns:
+              - column: {name: id, type: int, constraints: {primaryKey: true}}
+              - column: {name: name, type: "varchar(${length})"}
+  - property: {name: table, value: person}
+  - property: {name: author, value: "${table}_owner"}
+  - property: {name: later, value: late}
+  - property: {name: length, value: 50}
+  - property: {file: table.properties, relativeToChangelogFile: true}
+  - changeSet:
+      id: 2
+      author: test
+      labels: a, b
+      runOnChange: true
+      changes:
+        - sql: select '${table}' from dual
+'''
+        "changelog.json"    | true           | '''{"databaseChangeLog": [
+  {"property": {"name": "table", "value": "person"}},
+  {"changeSet": {"id": "1", "author": "test", "changes": [
+    {"addColumn": {"tableName": "${table}", "columns": [{"column": {"name": "email", "type": "varchar(100)"}}]}}
+  ]}}
+]}
+'''
+        "anchors.yaml"      | false          | '''databaseChangeLog:
+  - changeSet:
+      id: 1
+      author: test
+      changes:
+        - createTable:
+            tableName: a
+            columns: &columns
+              - column: {name: id, type: int}
+  - changeSet:
+      id: 2
+      author: test
+      changes:
+        - createTable:
+            tableName: b
+            columns: *columns
+'''
+    }
+
+    def "unknown parameters are reported the same way as when loaded as a whole"() {
+        when:
+        Files.write(tempDir.resolve("error.yaml"), '''databaseChangeLog:
+  - changeSet:
+      id: 1
+      author: test
+      changes:
+        - sql: select '${known}', '${missing}'
+  - property: {name: known, value: here}
+'''.bytes)
+        def resourceAccessor = new DirectoryResourceAccessor(tempDir)
+        def messages = [false, true].collect { loaded ->
+            try {
+                Scope.child([(ChangeLogParserConfiguration.MISSING_PROPERTY_MODE.key): ChangeLogParserConfiguration.MissingPropertyMode.ERROR], {
+                    describe("error.yaml", resourceAccessor, loaded)
+                } as Scope.ScopedRunnerWithReturn)
+                return null
+            } catch (ChangeLogParseException e) {
+                return e.message
+            }
+        }
+
+        then:
+        messages[0] != null
+        messages[0].contains('${missing}')
+        messages[0] == messages[1]
+    }
+
+    def "a local property redefined later in the file is expanded to its last value everywhere"() {
+        when:
+        Files.write(tempDir.resolve("redefined.yaml"), '''databaseChangeLog:
+  - property: {name: table, value: first, global: false}
+  - changeSet:
+      id: 1
+      author: test
+      comment: ${table}
+      changes:
+        - sql: select '${table}' from dual
+  - property: {name: table, value: second, global: false}
+'''.bytes)
+        def resourceAccessor = new DirectoryResourceAccessor(tempDir)
+        def streamed = describe("redefined.yaml", resourceAccessor, false)
+
+        then:
+        streamed[0].startsWith("1::test::second::")
+        streamed == describe("redefined.yaml", resourceAccessor, true)
+    }
+
+    /**
+     * Parses the file with the parser, loading it as a whole if loaded is true by going through the parsed changelog cache.
+     */
+    private List<String> describe(String file, DirectoryResourceAccessor resourceAccessor, boolean loaded) {
+        def scopeValues = loaded ? [(ChangeLogParserConfiguration.PARSED_CHANGELOG_CACHE_FILE.key): tempDir.resolve("changelogs.cache").toString()] : [:]
+        return Scope.child(scopeValues, {
+            def changeLogParameters = new ChangeLogParameters()
+            def changeLog = ChangeLogParserFactory.instance.getParser(file, resourceAccessor).parse(file, changeLogParameters, resourceAccessor)
+            def description = changeLog.changeSets.collect {
+                [it.id, it.author, it.comments, it.labels?.toString(), it.runOnChange, it.generateCheckSum(ChecksumVersion.latest())].join("::")
+            }
+            description.addAll(["table", "author", "later", "length", "table.prefix"].collect { it + "=" + changeLogParameters.getValue(it, changeLog) })
+            return description
+        } as Scope.ScopedRunnerWithReturn)
+    }
+}
@@ -141,6 +141,59 @@ class StandardServiceLocatorTest extends Specification {
         serviceClassLoader?.close()
     }
 
+    def "findInstances searches every class loader once until reset and creates new instances on every lookup"() {
+        given:
+        def compiler = ToolProvider.getSystemJavaCompiler()
+        Assume.assumeNotNull("JDK JavaCompiler required to build provider fixtures", compiler)
+
+        def classesDir = tempDir.resolve("classes-indexed")
+        Files.createDirectories(classesDir)
+        compileServiceFixtures(classesDir)
+        def servicesFile = "META-INF/services/servicelocator.testfixture.OptionalDependencyService"
+        Files.write(classesDir.resolve(servicesFile), """
+            # comments and blank lines are ignored
+            servicelocator.testfixture.GoodProviderBefore # trailing comment
+
+            servicelocator.testfixture.GoodProviderBefore
+            """.stripIndent().getBytes(StandardCharsets.UTF_8))
+        def otherDir = tempDir.resolve("classes-other")
+        Files.createDirectories(otherDir.resolve("META-INF/services"))
+        Files.write(otherDir.resolve(servicesFile), """
+            servicelocator.testfixture.GoodProviderAfter
+            servicelocator.testfixture.GoodProviderBefore
+            """.stripIndent().getBytes(StandardCharsets.UTF_8))
+
+        URLClassLoader serviceClassLoader = new URLClassLoader(
+                [classesDir.toUri().toURL(), otherDir.toUri().toURL()] as URL[],
+                getClass().getClassLoader()
+        )
+        def serviceType = serviceClassLoader.loadClass("servicelocator.testfixture.OptionalDependencyService")
+
+        def locator = new StandardServiceLocator()
+
+        when:
+        def lookup = {
+            Scope.child([(Scope.Attr.classLoader.name()): serviceClassLoader], {
+                return locator.findInstances(serviceType)
+            } as Scope.ScopedRunnerWithReturn)
+        }
+        def first = lookup()
+        Files.delete(otherDir.resolve(servicesFile))
+        def second = lookup()
+        locator.reset()
+        def afterReset = lookup()
+
+        then:
+        first*.getClass().name == ["servicelocator.testfixture.GoodProviderBefore", "servicelocator.testfixture.GoodProviderAfter"]
+        second*.getClass().name == first*.getClass().name
+        !first[0].is(second[0])
+        !first[1].is(second[1])
+        afterReset*.getClass().name == ["servicelocator.testfixture.GoodProviderBefore"]
+
+        cleanup:
+        serviceClassLoader?.close()
+    }
+
     private void compileServiceFixtures(Path classesDir) {
         def srcDir = tempDir.resolve("src-" + classesDir.fileName)
         def pkgDir = srcDir.resolve("servicelocator/testfixture")
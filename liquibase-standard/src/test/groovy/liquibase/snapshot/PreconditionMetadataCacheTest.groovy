@@ -0,0 +1,182 @@
+package liquibase.snapshot
+
+import liquibase.Scope
+import liquibase.change.AddColumnConfig
+import liquibase.change.ColumnConfig
+import liquibase.change.core.CreateIndexChange
+import liquibase.change.core.CreateTableChange
+import liquibase.change.core.RawSQLChange
+import liquibase.database.core.H2Database
+import liquibase.database.jvm.JdbcConnection
+import liquibase.metrics.Metric
+import liquibase.metrics.MetricType
+import liquibase.metrics.MetricsListener
+import liquibase.metrics.MetricsService
+import liquibase.structure.core.*
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.sql.Connection
+import java.sql.DriverManager
+
+class PreconditionMetadataCacheTest extends Specification {
+
+    @Shared
+    Connection connection
+
+    @Shared
+    H2Database database
+
+    def setupSpec() {
+        connection = DriverManager.getConnection("jdbc:h2:mem:precondition_metadata_cache;DB_CLOSE_DELAY=-1")
+        database = new H2Database()
+        database.setConnection(new JdbcConnection(connection))
+        sql("create table cached_a (id int not null primary key, name varchar(50), code varchar(10) constraint uq_cached_a_code unique)",
+                "create table cached_b (id int, a_id int, constraint fk_cached_b_a foreign key (a_id) references cached_a (id))",
+                "create index idx_cached_b_id on cached_b (id)",
+                "create view cached_view as select id from cached_a",
+                "create sequence cached_seq")
+    }
+
+    def cleanupSpec() {
+        sql("drop all objects")
+        connection.close()
+    }
+
+    @Unroll
+    def "cached existence checks give the same answer as the database: #example"() {
+        when:
+        def cache = new PreconditionMetadataCache(database)
+        def cachedHas = withCache(cache) { SnapshotGeneratorFactory.instance.has(example, database) }
+        def cachedHasIgnoreNested = withCache(cache) { SnapshotGeneratorFactory.instance.hasIgnoreNested(example, database) }
+
+        then:
+        cachedHas == exists
+        cachedHasIgnoreNested == exists
+        SnapshotGeneratorFactory.instance.has(example, database) == exists
+
+        where:
+        example                                                                      | exists
+        table("CACHED_A")                                                            | true
+        table("MISSING")                                                             | false
+        new Column(Table, null, null, "CACHED_A", "NAME")                            | true
+        new Column(Table, null, null, "CACHED_A", "MISSING")                         | false
+        new Index("IDX_CACHED_B_ID", null, null, "CACHED_B")                         | true
+        new Index("IDX_MISSING", null, null, "CACHED_B")                             | false
+        new ForeignKey("FK_CACHED_B_A").setForeignKeyTable(table("CACHED_B"))       | true
+        new ForeignKey("FK_MISSING").setForeignKeyTable(table("CACHED_B"))          | false
+        new PrimaryKey(null, null, null, "CACHED_A")                                 | true
+        new PrimaryKey(null, null, null, "CACHED_B")                                 | false
+        new UniqueConstraint("UQ_CACHED_A_CODE", null, null, "CACHED_A")             | true
+        new View().setName("CACHED_VIEW").setSchema(new Schema(null, null))          | true
+        new Sequence().setName("CACHED_SEQ").setSchema(new Schema(null, null))       | true
+        new Sequence().setName("MISSING_SEQ").setSchema(new Schema(null, null))      | false
+    }
+
+    def "checks of the same schema and object type share one snapshot"() {
+        given:
+        def cache = new PreconditionMetadataCache(database)
+        def snapshotQueries = 0
+        def listener = { Metric metric -> if (metric.type == MetricType.SNAPSHOT_QUERY) snapshotQueries++ } as MetricsListener
+        def metrics = Scope.currentScope.getSingleton(MetricsService)
+        metrics.addListener(listener)
+
+        when:
+        withCache(cache) { SnapshotGeneratorFactory.instance.has(table("CACHED_A"), database) }
+        def firstCheckQueries = snapshotQueries
+        def answers = withCache(cache) {
+            ["CACHED_A", "CACHED_B", "MISSING"].collect { SnapshotGeneratorFactory.instance.has(table(it), database) }
+        }
+
+        then:
+        firstCheckQueries > 0
+        snapshotQueries == firstCheckQueries
+        answers == [true, true, false]
+
+        cleanup:
+        metrics.removeListener(listener)
+    }
+
+    def "objects affected by a change are checked against the database again"() {
+        given:
+        def cache = new PreconditionMetadataCache(database)
+        def createTable = new CreateTableChange(tableName: "CACHED_NEW")
+        createTable.addColumn(new ColumnConfig(name: "id", type: "int"))
+        def createIndex = new CreateIndexChange(indexName: "IDX_CACHED_A_NAME", tableName: "CACHED_A")
+        createIndex.addColumn(new AddColumnConfig(name: "name"))
+
+        expect:
+        !withCache(cache) { SnapshotGeneratorFactory.instance.has(table("CACHED_NEW"), database) }
+        !withCache(cache) { SnapshotGeneratorFactory.instance.has(new Index("IDX_CACHED_A_NAME", null, null, "CACHED_A"), database) }
+
+        when:
+        cache.changeExecuting(createTable, database)
+        cache.changeExecuting(createIndex, database)
+        sql("create table cached_new (id int)", "create index idx_cached_a_name on cached_a (name)")
+
+        then:
+        withCache(cache) { SnapshotGeneratorFactory.instance.has(table("CACHED_NEW"), database) }
+        withCache(cache) { SnapshotGeneratorFactory.instance.has(new Index("IDX_CACHED_A_NAME", null, null, "CACHED_A"), database) }
+        withCache(cache) { SnapshotGeneratorFactory.instance.has(new Index("IDX_CACHED_A_NAME"), database) }
+
+        cleanup:
+        sql("drop table cached_new", "drop index idx_cached_a_name")
+    }
+
+    def "changes with unknown effects drop the snapshots"() {
+        given:
+        def cache = new PreconditionMetadataCache(database)
+
+        expect:
+        !withCache(cache) { SnapshotGeneratorFactory.instance.has(table("CACHED_RAW"), database) }
+
+        when:
+        cache.changeExecuting(new RawSQLChange("create table cached_raw (id int)"), database)
+        sql("create table cached_raw (id int)")
+
+        then:
+        withCache(cache) { SnapshotGeneratorFactory.instance.has(table("CACHED_RAW"), database) }
+
+        cleanup:
+        sql("drop table cached_raw")
+    }
+
+    def "changes from outside the core changes drop the snapshots"() {
+        given:
+        def cache = new PreconditionMetadataCache(database)
+        def extensionChange = new ExtensionCreateTableChange(tableName: "CACHED_EXT")
+        extensionChange.addColumn(new ColumnConfig(name: "id", type: "int"))
+
+        expect:
+        !withCache(cache) { SnapshotGeneratorFactory.instance.has(table("CACHED_EXT_OTHER"), database) }
+
+        when:
+        cache.changeExecuting(extensionChange, database)
+        sql("create table cached_ext (id int)", "create table cached_ext_other (id int)")
+
+        then:
+        withCache(cache) { SnapshotGeneratorFactory.instance.has(table("CACHED_EXT_OTHER"), database) }
+
+        cleanup:
+        sql("drop table cached_ext", "drop table cached_ext_other")
+    }
+
+    private static Table table(String name) {
+        return new Table().setName(name).setSchema(new Schema(null, null)) as Table
+    }
+
+    private void sql(String... statements) {
+        statements.each { statement -> connection.createStatement().withCloseable { it.execute(statement) } }
+    }
+
+    private static <T> T withCache(PreconditionMetadataCache cache, Closure<T> check) {
+        return Scope.child([(PreconditionMetadataCache.SCOPE_KEY): cache], check as Scope.ScopedRunnerWithReturn<T>)
+    }
+
+    /**
+     * Stands for a change of an extension, which may do more than the objects it reports as affected.
+     */
+    static class ExtensionCreateTableChange extends CreateTableChange {
+    }
+}
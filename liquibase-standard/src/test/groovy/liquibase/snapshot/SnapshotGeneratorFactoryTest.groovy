@@ -0,0 +1,107 @@
+package liquibase.snapshot
+
+import liquibase.database.core.H2Database
+import liquibase.database.core.PostgresDatabase
+import liquibase.structure.AbstractDatabaseObject
+import liquibase.structure.DatabaseObject
+import liquibase.structure.core.Schema
+import liquibase.structure.core.Table
+import liquibase.structure.core.View
+import spock.lang.Specification
+
+class SnapshotGeneratorFactoryTest extends Specification {
+
+    def "generators are asked for their priority once per object type and database class"() {
+        given:
+        def factory = new SnapshotGeneratorFactory()
+        def generator = Mock(SnapshotGenerator)
+        factory.register(generator)
+
+        when:
+        def first = factory.getGenerators(Table, new H2Database())
+        def second = factory.getGenerators(Table, new H2Database())
+        factory.getGenerators(View, new H2Database())
+        factory.getGenerators(Table, new PostgresDatabase())
+
+        then:
+        1 * generator.getPriority(Table, { it instanceof H2Database }) >> SnapshotGenerator.PRIORITY_ADDITIONAL
+        1 * generator.getPriority(View, _) >> SnapshotGenerator.PRIORITY_NONE
+        1 * generator.getPriority(Table, { it instanceof PostgresDatabase }) >> SnapshotGenerator.PRIORITY_NONE
+        first.is(second)
+        first.contains(generator)
+    }
+
+    def "registering and unregistering a generator resolves the generators again"() {
+        given:
+        def factory = new SnapshotGeneratorFactory()
+        def database = new H2Database()
+        def generator = new VisitedSnapshotGenerator(Table)
+        def before = factory.getGenerators(Table, database)
+
+        when:
+        factory.register(generator)
+        def registered = factory.getGenerators(Table, database)
+        factory.unregister(generator)
+        def unregistered = factory.getGenerators(Table, database)
+
+        then:
+        !before.contains(generator)
+        registered.contains(generator)
+        !unregistered.contains(generator)
+    }
+
+    def "generators are sorted by priority and replaced generators are left out of the chain"() {
+        given:
+        def factory = new SnapshotGeneratorFactory()
+        def database = new H2Database()
+        def replaced = new DifferentObjectReturnedGenerator(ChainTestObject)
+        def replacing = new ReplacingSnapshotGenerator(ChainTestObject, DifferentObjectReturnedGenerator)
+        def highest = Stub(SnapshotGenerator) {
+            getPriority(ChainTestObject, _) >> SnapshotGenerator.PRIORITY_DATABASE + 1
+            snapshot(*_) >> { args -> args[0].setAttribute("highest", true); args[0] }
+        }
+        [replaced, replacing, highest].each { factory.register(it) }
+        def snapshotControl = Stub(SnapshotControl) {
+            shouldInclude(_) >> true
+        }
+        def snapshot = Stub(DatabaseSnapshot) {
+            getDatabase() >> database
+            getSnapshotControl() >> snapshotControl
+        }
+        def example = new ChainTestObject()
+
+        when:
+        def generators = factory.getGenerators(ChainTestObject, database)
+        def result = factory.createGeneratorChain(ChainTestObject, database).snapshot(example, snapshot)
+
+        then:
+        generators.first().is(highest)
+        generators.containsAll([replaced, replacing])
+        result.is(example)
+        result.getAttribute("highest", Boolean)
+        result.getAttribute("replacement", String) == "done"
+        factory.createGeneratorChain(ChainTestObject, new PostgresDatabase()) != null
+    }
+
+    static class ChainTestObject extends AbstractDatabaseObject {
+        @Override
+        DatabaseObject[] getContainingObjects() {
+            return null
+        }
+
+        @Override
+        String getName() {
+            return null
+        }
+
+        @Override
+        ChainTestObject setName(String name) {
+            return this
+        }
+
+        @Override
+        Schema getSchema() {
+            return null
+        }
+    }
+}
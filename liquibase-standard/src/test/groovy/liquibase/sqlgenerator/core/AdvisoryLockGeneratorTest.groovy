@@ -0,0 +1,69 @@
+package liquibase.sqlgenerator.core
+
+import liquibase.database.core.CockroachDatabase
+import liquibase.database.core.H2Database
+import liquibase.database.core.MSSQLDatabase
+import liquibase.database.core.MariaDBDatabase
+import liquibase.database.core.MySQLDatabase
+import liquibase.database.core.OracleDatabase
+import liquibase.database.core.PostgresDatabase
+import liquibase.sqlgenerator.SqlGeneratorChain
+import liquibase.sqlgenerator.SqlGeneratorFactory
+import liquibase.statement.core.AcquireAdvisoryLockStatement
+import liquibase.statement.core.ReleaseAdvisoryLockStatement
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class AdvisoryLockGeneratorTest extends Specification {
+
+    @Unroll
+    def "advisory locks are supported on #database.shortName: #expected"() {
+        expect:
+        SqlGeneratorFactory.getInstance().supports(new AcquireAdvisoryLockStatement("lock", 1000), database) == expected
+        SqlGeneratorFactory.getInstance().supports(new ReleaseAdvisoryLockStatement("lock"), database) == expected
+
+        where:
+        database                | expected
+        new PostgresDatabase()  | true
+        new MySQLDatabase()     | true
+        new MariaDBDatabase()   | true
+        new MSSQLDatabase()     | true
+        new OracleDatabase()    | true
+        new CockroachDatabase() | false
+        new H2Database()        | false
+    }
+
+    @Unroll
+    def "acquire and release sql on #database.shortName"() {
+        when:
+        def acquire = new AcquireAdvisoryLockGenerator().generateSql(new AcquireAdvisoryLockStatement("liquibase_lock", 2500), database, new SqlGeneratorChain(null))
+        def release = new ReleaseAdvisoryLockGenerator().generateSql(new ReleaseAdvisoryLockStatement("liquibase_lock"), database, new SqlGeneratorChain(null))
+
+        then:
+        acquire*.toSql() == [expectedAcquire]
+        release*.toSql() == [expectedRelease]
+
+        where:
+        database << [new PostgresDatabase(), new MySQLDatabase(), new MSSQLDatabase(), new OracleDatabase()]
+        expectedAcquire << [
+                "SELECT CASE WHEN set_config('lock_timeout', '2500ms', true) IS NULL THEN 0 ELSE length(pg_advisory_lock(" + AcquireAdvisoryLockGenerator.getLockId("liquibase_lock") + ")::text) + 1 END",
+                "SELECT GET_LOCK('liquibase_lock', 3)",
+                "SET NOCOUNT ON; DECLARE @result INT; EXEC @result = sp_getapplock @Resource = N'liquibase_lock', @LockMode = 'Exclusive', @LockOwner = 'Session', @LockTimeout = 2500; SET NOCOUNT OFF; SELECT CASE WHEN @result >= 0 THEN 1 ELSE 0 END",
+                "SELECT CASE DBMS_LOCK.REQUEST(" + AcquireAdvisoryLockGenerator.getOracleLockId("liquibase_lock") + ", 6, 3) WHEN 0 THEN 1 WHEN 4 THEN 1 ELSE 0 END FROM DUAL",
+        ]
+        expectedRelease << [
+                "SELECT pg_advisory_unlock(" + AcquireAdvisoryLockGenerator.getLockId("liquibase_lock") + ")",
+                "SELECT RELEASE_LOCK('liquibase_lock')",
+                "EXEC sp_releaseapplock @Resource = N'liquibase_lock', @LockOwner = 'Session'",
+                "SELECT DBMS_LOCK.RELEASE(" + AcquireAdvisoryLockGenerator.getOracleLockId("liquibase_lock") + ") FROM DUAL",
+        ]
+    }
+
+    def "oracle lock ids stay out of the range reserved for ALLOCATE_UNIQUE"() {
+        expect:
+        (0..200).every {
+            def id = AcquireAdvisoryLockGenerator.getOracleLockId("liquibase_" + it)
+            id >= 0 && id <= 1073741823
+        }
+    }
+}
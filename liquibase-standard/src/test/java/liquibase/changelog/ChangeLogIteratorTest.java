@@ -2,10 +2,12 @@ package liquibase.changelog;
 
 import liquibase.Contexts;
 import liquibase.RuntimeEnvironment;
+import liquibase.Scope;
 import liquibase.changelog.filter.ChangeSetFilterResult;
 import liquibase.changelog.filter.ContextChangeSetFilter;
 import liquibase.changelog.filter.DbmsChangeSetFilter;
 import liquibase.changelog.visitor.ChangeSetVisitor;
+import liquibase.changelog.visitor.SkippedChangeSetVisitor;
 import liquibase.changelog.visitor.ValidatingVisitor;
 import liquibase.database.Database;
 import liquibase.database.ObjectQuotingStrategy;
@@ -15,6 +17,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
 
@@ -106,6 +109,42 @@ public class ChangeLogIteratorTest {
         assertEquals("1", testChangeLogVisitor.visitedChangeSets.get(2).getId());
     }
 
+    @Test
+    public void runChangeSet_skippedVisitorGetsDeniedReasonInChangeSetScope() throws Exception {
+        RecordingVisitor visitor = new RecordingVisitor();
+
+        ChangeLogIterator iterator = new ChangeLogIterator(changeLog, new ContextChangeSetFilter(new Contexts("test1")), new DbmsChangeSetFilter(new MySQLDatabase()));
+        iterator.run(visitor, new RuntimeEnvironment(null, null, null));
+        assertEquals(Arrays.asList("visit 1 in 1: 2", "skip 2 in 2: 1", "skip 3 in 3: 1", "visit 4 in 4: 2", "visit 5 in 5: 2", "skip 6 in 6: 1", "skip 7 in 7: 1"), visitor.calls);
+        assertNull(Scope.getCurrentScope().get(Scope.Attr.changeSet, ChangeSet.class));
+    }
+
+    private static class RecordingVisitor implements ChangeSetVisitor, SkippedChangeSetVisitor {
+
+        public List<String> calls = new ArrayList<>();
+
+        @Override
+        public Direction getDirection() {
+            return ChangeSetVisitor.Direction.FORWARD;
+        }
+
+        @Override
+        public void visit(ChangeSet changeSet, DatabaseChangeLog databaseChangeLog, Database database, Set<ChangeSetFilterResult> filterResults) {
+            record("visit", changeSet, filterResults);
+        }
+
+        @Override
+        public void skipped(ChangeSet changeSet, DatabaseChangeLog databaseChangeLog, Database database, Set<ChangeSetFilterResult> filterResults) {
+            assertFalse(filterResults.iterator().next().isAccepted());
+            record("skip", changeSet, filterResults);
+        }
+
+        private void record(String call, ChangeSet changeSet, Set<ChangeSetFilterResult> filterResults) {
+            ChangeSet scopeChangeSet = Scope.getCurrentScope().get(Scope.Attr.changeSet, ChangeSet.class);
+            calls.add(call + " " + changeSet.getId() + " in " + scopeChangeSet.getId() + ": " + filterResults.size());
+        }
+    }
+
     private static class TestChangeSetVisitor extends ValidatingVisitor {
 
         public List<ChangeSet> visitedChangeSets = new ArrayList<ChangeSet>();
@@ -1,5 +1,6 @@
 package liquibase.changelog;
 
+import liquibase.ChecksumVersion;
 import liquibase.Contexts;
 import liquibase.LabelExpression;
 import liquibase.Scope;
@@ -9,6 +10,7 @@ import liquibase.database.core.HsqlDatabase;
 import liquibase.executor.ExecutorService;
 import liquibase.executor.LoggingExecutor;
 import liquibase.resource.ClassLoaderResourceAccessor;
+import liquibase.util.csv.CSVReader;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -18,9 +20,12 @@ import java.io.File;
 import java.io.StringWriter;
 import java.io.Writer;
 import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertEquals;
 
@@ -164,6 +169,127 @@ public class OfflineChangeLogHistoryServiceTest {
         fastCheckService.clearCache();
     }
 
+    /**
+     * Test that append-only mode keeps new changesets in the journal until reset and then writes them to the csv file
+     */
+    @Test
+    public void testAppendOnlyWritesJournalUntilReset() throws Exception {
+        // Given
+        File changeLogCsvFile = new File(temporaryFolder.getRoot(), CHANGE_LOG_CSV);
+        File journalFile = new File(temporaryFolder.getRoot(), CHANGE_LOG_CSV + ".journal");
+        OfflineChangeLogHistoryService service = createAppendOnlyService(changeLogCsvFile);
+        service.init();
+        long headerLength = changeLogCsvFile.length();
+
+        // When
+        for (int i = 1; i <= 3; i++) {
+            service.setExecType(createChangeSet("id" + i), ChangeSet.ExecType.EXECUTED);
+        }
+
+        // Assert
+        assertEquals(headerLength, changeLogCsvFile.length());
+        assertTrue(journalFile.exists());
+        assertEquals(3, service.getRanChangeSets().size());
+
+        // When
+        service.reset();
+
+        // Assert
+        assertFalse(journalFile.exists());
+        List<RanChangeSet> ranChangeSets = new OfflineChangeLogHistoryService(service.getDatabase(), changeLogCsvFile, false, false).getRanChangeSets();
+        assertEquals(3, ranChangeSets.size());
+        assertEquals("id1", ranChangeSets.get(0).getId());
+        assertEquals("id3", ranChangeSets.get(2).getId());
+    }
+
+    /**
+     * Test that replaced and removed changesets are journaled and replayed from a journal left behind by an unfinished run
+     */
+    @Test
+    public void testAppendOnlyReplaysJournal() throws Exception {
+        // Given
+        File changeLogCsvFile = new File(temporaryFolder.getRoot(), CHANGE_LOG_CSV);
+        OfflineChangeLogHistoryService service = createAppendOnlyService(changeLogCsvFile);
+        service.init();
+        service.setExecType(createChangeSet("id1"), ChangeSet.ExecType.EXECUTED);
+        service.setExecType(createChangeSet("id2"), ChangeSet.ExecType.EXECUTED);
+        service.reset();
+        String compacted = new String(Files.readAllBytes(changeLogCsvFile.toPath()));
+
+        // When
+        ChangeSet rerun = createChangeSet("id1");
+        rerun.setStoredCheckSum(rerun.generateCheckSum(ChecksumVersion.latest()));
+        service.setExecType(rerun, ChangeSet.ExecType.RERAN);
+        service.removeFromHistory(createChangeSet("id2"));
+        service.setExecType(createChangeSet("id3"), ChangeSet.ExecType.EXECUTED);
+        service.tag("v1");
+
+        // Assert
+        assertEquals(compacted, new String(Files.readAllBytes(changeLogCsvFile.toPath())));
+        OfflineChangeLogHistoryService restarted = createAppendOnlyService(changeLogCsvFile);
+        for (List<RanChangeSet> ranChangeSets : new List[]{service.getRanChangeSets(), restarted.getRanChangeSets()}) {
+            assertEquals(2, ranChangeSets.size());
+            assertEquals("id1", ranChangeSets.get(0).getId());
+            assertEquals(ChangeSet.ExecType.RERAN, ranChangeSets.get(0).getExecType());
+            assertEquals("id3", ranChangeSets.get(1).getId());
+            assertEquals("v1", ranChangeSets.get(1).getTag());
+        }
+
+        // When
+        restarted.init();
+
+        // Assert
+        assertFalse(new File(temporaryFolder.getRoot(), CHANGE_LOG_CSV + ".journal").exists());
+        assertEquals(2, new OfflineChangeLogHistoryService(service.getDatabase(), changeLogCsvFile, false, false).getRanChangeSets().size());
+    }
+
+    /**
+     * Test that replaying a journal that was already compacted into the csv file, as when a run stops before deleting
+     * it, neither duplicates rows nor mixes up rows of a changeset that ran more than once
+     */
+    @Test
+    public void testAppendOnlyReplaysCompactedJournalOnce() throws Exception {
+        // Given
+        File changeLogCsvFile = new File(temporaryFolder.getRoot(), CHANGE_LOG_CSV);
+        File journalFile = new File(temporaryFolder.getRoot(), CHANGE_LOG_CSV + ".journal");
+        OfflineChangeLogHistoryService service = createAppendOnlyService(changeLogCsvFile);
+        service.init();
+        service.setExecType(createChangeSet("id1"), ChangeSet.ExecType.EXECUTED);
+        service.setExecType(createChangeSet("id1"), ChangeSet.ExecType.EXECUTED);
+        service.setExecType(createChangeSet("id2"), ChangeSet.ExecType.EXECUTED);
+        ChangeSet rerun = createChangeSet("id1");
+        rerun.setStoredCheckSum(rerun.generateCheckSum(ChecksumVersion.latest()));
+        service.setExecType(rerun, ChangeSet.ExecType.RERAN);
+        byte[] journal = Files.readAllBytes(journalFile.toPath());
+
+        // When
+        service.reset();
+        Files.write(journalFile.toPath(), journal);
+
+        // Assert
+        OfflineChangeLogHistoryService restarted = createAppendOnlyService(changeLogCsvFile);
+        restarted.init();
+        assertFalse(journalFile.exists());
+        List<RanChangeSet> ranChangeSets = restarted.getRanChangeSets();
+        assertEquals(3, ranChangeSets.size());
+        try (CSVReader csvReader = new CSVReader(Files.newBufferedReader(changeLogCsvFile.toPath()))) {
+            csvReader.readNext();
+            for (int i = 1; i <= 3; i++) {
+                assertEquals(String.valueOf(i), csvReader.readNext()[4]);
+            }
+            assertNull(csvReader.readNext());
+        }
+        assertEquals(ChangeSet.ExecType.RERAN, ranChangeSets.get(0).getExecType());
+        assertEquals(ChangeSet.ExecType.RERAN, ranChangeSets.get(1).getExecType());
+        assertEquals("id2", ranChangeSets.get(2).getId());
+    }
+
+    private OfflineChangeLogHistoryService createAppendOnlyService(File changeLogCsvFile) {
+        OfflineChangeLogHistoryService service = new OfflineChangeLogHistoryService(new HsqlDatabase(), changeLogCsvFile, false, false);
+        service.setAppendOnly(true);
+        return service;
+    }
+
     /**
      * Helper method to get the size of the FastCheck cache using reflection
      */
@@ -178,8 +304,12 @@ public class OfflineChangeLogHistoryServiceTest {
      * Create ChangeLog and ChangeSet
      */
     private ChangeSet createChangeSet() {
+        return createChangeSet("id");
+    }
+
+    private ChangeSet createChangeSet(String id) {
         DatabaseChangeLog databaseChangeLog = new DatabaseChangeLog("/patch/changeLog.xml");
-        ChangeSet changeSet = new ChangeSet("id", "author", false, false, "/path/changeSet.xml", "", "", databaseChangeLog);
+        ChangeSet changeSet = new ChangeSet(id, "author", false, false, "/path/changeSet.xml", "", "", databaseChangeLog);
         databaseChangeLog.addChangeSet(changeSet);
         return changeSet;
     }
@@ -1,9 +1,33 @@
 package liquibase.changelog;
 
+import liquibase.GlobalConfiguration;
+import liquibase.Scope;
+import liquibase.change.core.CreateTableChange;
+import liquibase.change.core.TagDatabaseChange;
+import liquibase.database.Database;
 import liquibase.database.DatabaseConnection;
+import liquibase.database.core.H2Database;
 import liquibase.database.core.MockDatabase;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.DatabaseException;
 import org.junit.Test;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class StandardChangeLogHistoryServiceTest {
@@ -30,4 +54,292 @@ public class StandardChangeLogHistoryServiceTest {
 
         assertThat(service.getNextSequenceValue()).isEqualTo(1);
     }
+
+    /**
+     * getRanChangeSet() looks changesets up by ranChangeSetKey(), so two changesets must share a key exactly when
+     * RanChangeSet.isSameAs() would match them.
+     */
+    @Test
+    public void ranChangeSetKeyMatchesIsSameAs() {
+        RanChangeSet ranChangeSet = new RanChangeSet("com/example/changelog.xml", "Id-1", "Author", null, null, null,
+                ChangeSet.ExecType.EXECUTED, null, null, null, null, null);
+        ChangeSet sameChangeSet = new ChangeSet("id-1", "AUTHOR", false, false, "classpath:/com/Example/changelog.xml", null, null, null);
+        ChangeSet otherChangeSet = new ChangeSet("id-2", "AUTHOR", false, false, "com/example/changelog.xml", null, null, null);
+
+        List<String> ranKey = StandardChangeLogHistoryService.ranChangeSetKey(ranChangeSet.getChangeLog(), ranChangeSet.getId(), ranChangeSet.getAuthor());
+
+        assertThat(ranChangeSet.isSameAs(sameChangeSet)).isTrue();
+        assertThat(StandardChangeLogHistoryService.ranChangeSetKey(sameChangeSet.getFilePath(), sameChangeSet.getId(), sameChangeSet.getAuthor()))
+                .isEqualTo(ranKey);
+        assertThat(ranChangeSet.isSameAs(otherChangeSet)).isFalse();
+        assertThat(StandardChangeLogHistoryService.ranChangeSetKey(otherChangeSet.getFilePath(), otherChangeSet.getId(), otherChangeSet.getAuthor()))
+                .isNotEqualTo(ranKey);
+    }
+
+    /**
+     * The parts of a ranChangeSetKey() must not run into each other, and a missing part must not match an empty one.
+     */
+    @Test
+    public void ranChangeSetKeyKeepsPartsApart() {
+        assertThat(StandardChangeLogHistoryService.ranChangeSetKey("changelog.xml", "a::b", "c"))
+                .isNotEqualTo(StandardChangeLogHistoryService.ranChangeSetKey("changelog.xml", "a", "b::c"));
+        assertThat(StandardChangeLogHistoryService.ranChangeSetKey("changelog.xml", "1", null))
+                .isNotEqualTo(StandardChangeLogHistoryService.ranChangeSetKey("changelog.xml", "1", ""));
+    }
+
+    /**
+     * With incremental history reads enabled, a service that is reset re-uses the rows read before and only queries
+     * the rows added since. Removing rows or tagging requires the whole table to be read again.
+     */
+    @Test
+    public void incrementalHistoryReadOnlyQueriesNewRows() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:incremental_history_read")) {
+            Database database = new H2Database();
+            database.setConnection(new JdbcConnection(connection));
+            Scope.child(GlobalConfiguration.INCREMENTAL_HISTORY_READ.getKey(), true, () -> {
+                StandardChangeLogHistoryService writer = new StandardChangeLogHistoryService();
+                writer.setDatabase(database);
+                writer.init();
+                ChangeSet changeSet1 = new ChangeSet("1", "test", false, false, "changelog.xml", null, null, null);
+                ChangeSet changeSet2 = new ChangeSet("2", "test", false, false, "changelog.xml", null, null, null);
+                ChangeSet changeSet3 = new ChangeSet("3", "test", false, false, "changelog.xml", null, null, null);
+                writer.setExecType(changeSet1, ChangeSet.ExecType.EXECUTED);
+                writer.setExecType(changeSet2, ChangeSet.ExecType.EXECUTED);
+
+                CountingChangeLogHistoryService reader = new CountingChangeLogHistoryService();
+                reader.setDatabase(database);
+                assertThat(ids(reader.getRanChangeSets())).containsExactly("1", "2");
+                assertThat(reader.fullReads).isEqualTo(1);
+
+                reader.reset();
+                assertThat(ids(reader.getRanChangeSets())).containsExactly("1", "2");
+                assertThat(reader.fullReads).isEqualTo(1);
+                assertThat(reader.incrementalReads).isEqualTo(0);
+
+                writer.setExecType(changeSet3, ChangeSet.ExecType.EXECUTED);
+                reader.reset();
+                assertThat(ids(reader.getRanChangeSets())).containsExactly("1", "2", "3");
+                assertThat(reader.fullReads).isEqualTo(1);
+                assertThat(reader.incrementalReads).isEqualTo(1);
+
+                writer.removeFromHistory(changeSet1);
+                reader.reset();
+                assertThat(ids(reader.getRanChangeSets())).containsExactly("2", "3");
+                assertThat(reader.fullReads).isEqualTo(2);
+
+                writer.tag("release");
+                reader.reset();
+                List<RanChangeSet> ranChangeSets = reader.getRanChangeSets();
+                assertThat(ranChangeSets.get(ranChangeSets.size() - 1).getTag()).isEqualTo("release");
+                assertThat(reader.fullReads).isEqualTo(3);
+            });
+        } finally {
+            Scope.getCurrentScope().getSingleton(ChangeLogHistoryCache.class).clear();
+        }
+    }
+
+    /**
+     * The history cache is shared by all services reading the same table, so changing a row one service read must
+     * not change the rows another service gets from the cache.
+     */
+    @Test
+    public void cachedHistoryRowsAreNotShared() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:cached_history_rows")) {
+            Database database = new H2Database();
+            database.setConnection(new JdbcConnection(connection));
+            Scope.child(GlobalConfiguration.INCREMENTAL_HISTORY_READ.getKey(), true, () -> {
+                StandardChangeLogHistoryService writer = new StandardChangeLogHistoryService();
+                writer.setDatabase(database);
+                writer.init();
+                writer.setExecType(new ChangeSet("1", "test", false, false, "changelog.xml", null, null, null), ChangeSet.ExecType.EXECUTED);
+
+                CountingChangeLogHistoryService first = new CountingChangeLogHistoryService();
+                first.setDatabase(database);
+                first.getRanChangeSets().get(0).setTag("changed");
+
+                CountingChangeLogHistoryService second = new CountingChangeLogHistoryService();
+                second.setDatabase(database);
+                List<RanChangeSet> ranChangeSets = second.getRanChangeSets();
+                assertThat(second.fullReads).isEqualTo(0);
+                assertThat(ranChangeSets.get(0).getTag()).isNull();
+                assertThat(ranChangeSets.get(0)).isNotSameAs(first.getRanChangeSets().get(0));
+            });
+        } finally {
+            Scope.getCurrentScope().getSingleton(ChangeLogHistoryCache.class).clear();
+        }
+    }
+
+    /**
+     * Drivers such as PostgreSQL's label unaliased aggregates only by their function name, so the summary query must
+     * not depend on the labels of its columns being distinct.
+     */
+    @Test
+    public void historySummaryDoesNotDependOnAggregateLabels() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:history_summary_labels")) {
+            Database database = new H2Database();
+            database.setConnection(new JdbcConnection(withFunctionNameLabels(connection)));
+            StandardChangeLogHistoryService service = new StandardChangeLogHistoryService();
+            service.setDatabase(database);
+            service.init();
+            service.setExecType(new ChangeSet("1", "test", false, false, "changelog.xml", null, null, null), ChangeSet.ExecType.EXECUTED);
+            service.setExecType(new ChangeSet("2", "test", false, false, "changelog.xml", null, null, null), ChangeSet.ExecType.EXECUTED);
+            service.tag("release");
+
+            ChangeLogHistoryCache.Summary summary = service.queryDatabaseChangeLogSummary();
+
+            assertThat(summary).isEqualTo(new ChangeLogHistoryCache.Summary(2, 2, 1, 2));
+        }
+    }
+
+    /**
+     * Rows inserted through the prepared statement used with historyBatchSize above 1 must look exactly like the
+     * ones inserted through the generated MarkChangeSetRanStatement SQL.
+     */
+    @Test
+    public void preparedHistoryRowsMatchGeneratedRows() throws Exception {
+        assertThat(writeHistory("prepared_history_rows", 10)).isEqualTo(writeHistory("generated_history_rows", 1));
+    }
+
+    /**
+     * While BATCH_HISTORY_WRITES_SCOPE_KEY is set, rows are only committed once historyBatchSize of them are pending
+     * or when flushHistoryBatch() is called.
+     */
+    @Test
+    public void batchedHistoryRowsAreCommittedTogether() throws Exception {
+        String url = "jdbc:h2:mem:batched_history_rows";
+        try (Connection connection = DriverManager.getConnection(url);
+             Connection otherConnection = DriverManager.getConnection(url)) {
+            Database database = new H2Database();
+            database.setConnection(new JdbcConnection(connection));
+            Map<String, Object> scopeValues = new HashMap<>();
+            scopeValues.put(GlobalConfiguration.HISTORY_BATCH_SIZE.getKey(), 3);
+            scopeValues.put(StandardChangeLogHistoryService.BATCH_HISTORY_WRITES_SCOPE_KEY, true);
+            Scope.child(scopeValues, () -> {
+                StandardChangeLogHistoryService service = new StandardChangeLogHistoryService();
+                service.setDatabase(database);
+                service.init();
+                for (int i = 1; i <= 4; i++) {
+                    service.setExecType(new ChangeSet(String.valueOf(i), "test", false, false, "changelog.xml", null, null, null), ChangeSet.ExecType.EXECUTED);
+                }
+                assertThat(countRows(otherConnection)).isEqualTo(3);
+
+                // reading the history from the table sends the pending rows first
+                assertThat(ids(service.getRanChangeSets())).containsExactly("1", "2", "3", "4");
+                assertThat(countRows(otherConnection)).isEqualTo(4);
+
+                service.setExecType(new ChangeSet("5", "test", false, false, "changelog.xml", null, null, null), ChangeSet.ExecType.EXECUTED);
+                assertThat(ids(service.getRanChangeSets())).containsExactly("1", "2", "3", "4", "5");
+                assertThat(countRows(otherConnection)).isEqualTo(4);
+
+                service.flushHistoryBatch();
+                assertThat(countRows(otherConnection)).isEqualTo(5);
+
+                service.reset();
+                assertThat(service.getRanChangeSets().get(4).getOrderExecuted()).isEqualTo(5);
+            });
+        }
+    }
+
+    private static List<Map<String, ?>> writeHistory(String databaseName, int historyBatchSize) throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:" + databaseName)) {
+            Database database = new H2Database();
+            database.setConnection(new JdbcConnection(connection));
+            return Scope.child(Collections.singletonMap(GlobalConfiguration.HISTORY_BATCH_SIZE.getKey(), historyBatchSize), () -> {
+                StandardChangeLogHistoryService service = new StandardChangeLogHistoryService();
+                service.setDatabase(database);
+                service.init();
+
+                ChangeSet plain = new ChangeSet("1", "test", false, false, "changelog.xml", null, null, null);
+                ChangeSet described = new ChangeSet("2", "test", false, false, "changelog.xml", "ctx1", "dev", null);
+                described.setComments("  some comments  ");
+                described.addChange(new CreateTableChange());
+                ChangeSet tagged = new ChangeSet("3", "test", false, false, "changelog.xml", null, null, null);
+                TagDatabaseChange tagChange = new TagDatabaseChange();
+                tagChange.setTag("release");
+                tagged.addChange(tagChange);
+
+                service.setExecType(plain, ChangeSet.ExecType.EXECUTED);
+                service.setExecType(described, ChangeSet.ExecType.MARK_RAN);
+                service.setExecType(tagged, ChangeSet.ExecType.EXECUTED);
+
+                List<Map<String, ?>> rows = service.queryDatabaseChangeLogTable(database);
+                rows.forEach(row -> row.remove("DATEEXECUTED"));
+                return rows;
+            });
+        }
+    }
+
+    private static int countRows(Connection connection) throws Exception {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM DATABASECHANGELOG")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    /**
+     * Wraps the connection so that result set columns are labeled like PostgreSQL does: an aggregate without an alias
+     * only by the lower case function name, everything else by its lower case name.
+     */
+    private static Connection withFunctionNameLabels(Connection connection) {
+        return proxy(Connection.class, connection, (method, result) -> {
+            if (result instanceof Statement) {
+                return withFunctionNameLabels((Statement) result);
+            }
+            return result;
+        });
+    }
+
+    private static Statement withFunctionNameLabels(Statement statement) {
+        return proxy(Statement.class, statement, (method, result) -> {
+            if (result instanceof ResultSet) {
+                ResultSet resultSet = (ResultSet) result;
+                return proxy(ResultSet.class, resultSet, (resultSetMethod, resultSetResult) -> {
+                    if (resultSetResult instanceof ResultSetMetaData) {
+                        return proxy(ResultSetMetaData.class, (ResultSetMetaData) resultSetResult, (metaDataMethod, metaDataResult) -> {
+                            if (metaDataMethod.getName().equals("getColumnLabel")) {
+                                String label = ((String) metaDataResult).toLowerCase(Locale.US);
+                                return label.contains("(") ? label.substring(0, label.indexOf('(')) : label;
+                            }
+                            return metaDataResult;
+                        });
+                    }
+                    return resultSetResult;
+                });
+            }
+            return result;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, BiFunction<Method, Object, Object> resultMapper) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            try {
+                return resultMapper.apply(method, method.invoke(target, args));
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+
+    private static List<String> ids(List<RanChangeSet> ranChangeSets) {
+        return ranChangeSets.stream().map(RanChangeSet::getId).collect(Collectors.toList());
+    }
+
+    private static class CountingChangeLogHistoryService extends StandardChangeLogHistoryService {
+        private int fullReads;
+        private int incrementalReads;
+
+        @Override
+        public List<Map<String, ?>> queryDatabaseChangeLogTable(Database database) throws DatabaseException {
+            fullReads++;
+            return super.queryDatabaseChangeLogTable(database);
+        }
+
+        @Override
+        protected List<Map<String, ?>> queryDatabaseChangeLogTable(Database database, int afterOrderExecuted) throws DatabaseException {
+            incrementalReads++;
+            return super.queryDatabaseChangeLogTable(database, afterOrderExecuted);
+        }
+    }
 }
@@ -0,0 +1,105 @@
+package liquibase.diff.core;
+
+import liquibase.GlobalConfiguration;
+import liquibase.Scope;
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.diff.DiffResult;
+import liquibase.diff.compare.CompareControl;
+import liquibase.diff.output.report.DiffToReport;
+import liquibase.snapshot.DatabaseSnapshot;
+import liquibase.snapshot.SnapshotControl;
+import liquibase.snapshot.SnapshotGeneratorFactory;
+import liquibase.structure.DatabaseObject;
+import liquibase.structure.core.Column;
+import liquibase.structure.core.Index;
+import liquibase.structure.core.Table;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class StandardDiffGeneratorTest {
+
+    private Database referenceDatabase;
+    private Database comparisonDatabase;
+
+    @BeforeEach
+    public void createDatabases() throws Exception {
+        referenceDatabase = open("jdbc:h2:mem:standard_diff_reference",
+                "CREATE TABLE person (id INT PRIMARY KEY, name VARCHAR(50), email VARCHAR(100))",
+                "CREATE TABLE address (id INT PRIMARY KEY, person_id INT, city VARCHAR(50))",
+                "CREATE INDEX idx_address_city ON address (city)",
+                "CREATE TABLE only_in_reference (id INT)");
+        comparisonDatabase = open("jdbc:h2:mem:standard_diff_comparison",
+                "CREATE TABLE person (id INT PRIMARY KEY, name VARCHAR(80))",
+                "CREATE TABLE address (id INT PRIMARY KEY, person_id INT, city VARCHAR(50), zip VARCHAR(10))",
+                "CREATE TABLE only_in_comparison (id INT)");
+    }
+
+    @AfterEach
+    public void closeDatabases() throws Exception {
+        referenceDatabase.close();
+        comparisonDatabase.close();
+    }
+
+    @Test
+    public void findsMissingUnexpectedAndChangedObjects() throws Exception {
+        DiffResult diffResult = diff(1);
+
+        assertEquals("[ONLY_IN_REFERENCE]", names(diffResult.getMissingObjects(Table.class)));
+        assertEquals("[ONLY_IN_COMPARISON]", names(diffResult.getUnexpectedObjects(Table.class)));
+        assertEquals("[EMAIL, ID]", names(diffResult.getMissingObjects(Column.class)));
+        assertEquals("[ID, ZIP]", names(diffResult.getUnexpectedObjects(Column.class)));
+        assertEquals("[NAME]", names(diffResult.getChangedObjects(Column.class).keySet()));
+        assertEquals("[IDX_ADDRESS_CITY]", names(diffResult.getMissingObjects(Index.class)));
+    }
+
+    /**
+     * Comparing the objects on several threads must not change the result.
+     */
+    @Test
+    public void parallelDiffMatchesSerialDiff() throws Exception {
+        assertEquals(report(diff(1)), report(diff(4)));
+    }
+
+    private DiffResult diff(int threads) throws Exception {
+        return Scope.child(Collections.singletonMap(GlobalConfiguration.DIFF_THREADS.getKey(), threads), () -> {
+            DatabaseSnapshot referenceSnapshot = SnapshotGeneratorFactory.getInstance().createSnapshot(referenceDatabase.getDefaultSchema(), referenceDatabase, new SnapshotControl(referenceDatabase));
+            DatabaseSnapshot comparisonSnapshot = SnapshotGeneratorFactory.getInstance().createSnapshot(comparisonDatabase.getDefaultSchema(), comparisonDatabase, new SnapshotControl(comparisonDatabase));
+            return new StandardDiffGenerator().compare(referenceSnapshot, comparisonSnapshot, new CompareControl());
+        });
+    }
+
+    private static String report(DiffResult diffResult) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new DiffToReport(diffResult, new PrintStream(out, true, StandardCharsets.UTF_8.name())).print();
+        return out.toString(StandardCharsets.UTF_8.name());
+    }
+
+    private static String names(Collection<? extends DatabaseObject> objects) {
+        return objects.stream().map(DatabaseObject::getName).sorted().collect(Collectors.toList()).toString();
+    }
+
+    private static Database open(String url, String... statements) throws Exception {
+        Connection connection = DriverManager.getConnection(url);
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+        }
+        return DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection));
+    }
+}
@@ -0,0 +1,71 @@
+package liquibase.lockservice;
+
+import liquibase.GlobalConfiguration;
+import liquibase.Scope;
+import liquibase.database.Database;
+import liquibase.database.DatabaseConnection;
+import liquibase.database.OfflineConnection;
+import liquibase.database.core.H2Database;
+import liquibase.database.core.PostgresDatabase;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AdvisoryLockServiceTest {
+
+    @Test
+    public void supportsOnlyWhenEnabledAndConnected() throws Exception {
+        AdvisoryLockService lockService = new AdvisoryLockService();
+        Database postgres = withConnection(new PostgresDatabase(), Mockito.mock(DatabaseConnection.class));
+
+        assertFalse(lockService.supports(postgres));
+        Scope.child(Collections.singletonMap(GlobalConfiguration.CHANGELOGLOCK_USE_ADVISORY_LOCK.getKey(), true), () -> {
+            assertTrue(lockService.supports(postgres));
+            assertFalse(lockService.supports(withConnection(new H2Database(), Mockito.mock(DatabaseConnection.class))));
+            assertFalse(lockService.supports(withConnection(new PostgresDatabase(), Mockito.mock(OfflineConnection.class))));
+            assertFalse(lockService.supports(new PostgresDatabase()));
+        });
+    }
+
+    @Test
+    public void backoffGrowsExponentiallyUpToRecheckTime() {
+        AdvisoryLockService lockService = new AdvisoryLockService();
+        lockService.setChangeLogLockRecheckTime(2);
+
+        for (int i = 0; i < 100; i++) {
+            assertBetween(50, 100, lockService.getBackoffMillis(0));
+            assertBetween(100, 200, lockService.getBackoffMillis(1));
+            assertBetween(400, 800, lockService.getBackoffMillis(3));
+            assertBetween(1000, 2000, lockService.getBackoffMillis(10));
+            assertBetween(1000, 2000, lockService.getBackoffMillis(Integer.MAX_VALUE));
+        }
+    }
+
+    @Test
+    public void advisoryLockNamesDependOnLockTable() {
+        AdvisoryLockService lockService = new AdvisoryLockService();
+        PostgresDatabase first = new PostgresDatabase();
+        first.setLiquibaseSchemaName("first");
+        PostgresDatabase second = new PostgresDatabase();
+        second.setLiquibaseSchemaName("second");
+
+        assertEquals(lockService.getAdvisoryLockName(first), lockService.getAdvisoryLockName(first));
+        assertFalse(lockService.getAdvisoryLockName(first).equals(lockService.getAdvisoryLockName(second)));
+        assertTrue(lockService.getAdvisoryLockName(first).length() <= 64);
+    }
+
+    private static void assertBetween(long min, long max, long actual) {
+        assertTrue(actual + " should be between " + min + " and " + max, actual >= min && actual <= max);
+    }
+
+    private static <T extends Database> T withConnection(T database, DatabaseConnection connection) {
+        T spy = Mockito.spy(database);
+        Mockito.doReturn(connection).when(spy).getConnection();
+        return spy;
+    }
+}
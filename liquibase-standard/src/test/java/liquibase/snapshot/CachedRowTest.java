@@ -0,0 +1,53 @@
+package liquibase.snapshot;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CachedRowTest {
+
+    @Test
+    public void readsValuesFromMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("TABLE_NAME", "person");
+        map.put("COLUMN_SIZE", "12");
+        map.put("NULLABLE", 1);
+        map.put("REMARKS", null);
+        CachedRow row = new CachedRow(map);
+
+        assertEquals("person", row.getString("TABLE_NAME"));
+        assertEquals(12, row.getInt("COLUMN_SIZE"));
+        assertTrue(row.getBoolean("NULLABLE"));
+        assertNull(row.get("REMARKS"));
+        assertTrue(row.containsColumn("REMARKS"));
+        assertFalse(row.containsColumn("MISSING"));
+        assertNull(row.get("MISSING"));
+    }
+
+    @Test
+    public void rowsShareColumnsButNotValues() {
+        CachedRow.Columns columns = new CachedRow.Columns(Arrays.asList("TABLE_NAME", "COLUMN_NAME"));
+        CachedRow first = new CachedRow(columns, new Object[]{"person", "id"});
+        CachedRow second = new CachedRow(columns, new Object[]{"person", "name"});
+
+        first.set("COLUMN_NAME", "person_id");
+        first.set("ORDINAL_POSITION", 3);
+
+        assertEquals("person_id", first.getString("COLUMN_NAME"));
+        assertEquals(3, first.getInt("ORDINAL_POSITION"));
+        assertTrue(first.containsColumn("ORDINAL_POSITION"));
+        assertEquals("name", second.getString("COLUMN_NAME"));
+        assertFalse(second.containsColumn("ORDINAL_POSITION"));
+        assertEquals(2, columns.size());
+    }
+
+    @Test
+    public void valuesMustMatchColumns() {
+        CachedRow.Columns columns = new CachedRow.Columns(Arrays.asList("TABLE_NAME", "COLUMN_NAME"));
+        assertThrows(IllegalArgumentException.class, () -> new CachedRow(columns, new Object[]{"person"}));
+    }
+}
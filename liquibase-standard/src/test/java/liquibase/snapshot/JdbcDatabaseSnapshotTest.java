@@ -0,0 +1,121 @@
+package liquibase.snapshot;
+
+import liquibase.CatalogAndSchema;
+import liquibase.GlobalConfiguration;
+import liquibase.Scope;
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.DatabaseException;
+import liquibase.serializer.core.string.StringSnapshotSerializerReadable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JdbcDatabaseSnapshotTest {
+
+    private static final String URL = "jdbc:h2:mem:jdbc_database_snapshot;DB_CLOSE_DELAY=-1";
+
+    private Connection setupConnection;
+
+    @BeforeEach
+    public void createSchema() throws Exception {
+        setupConnection = DriverManager.getConnection(URL);
+        try (Statement statement = setupConnection.createStatement()) {
+            statement.execute("CREATE TABLE person (id INT PRIMARY KEY, name VARCHAR(50) NOT NULL, email VARCHAR(100), CONSTRAINT uq_person_email UNIQUE (email))");
+            statement.execute("CREATE TABLE address (id INT PRIMARY KEY, person_id INT, city VARCHAR(50) DEFAULT 'none', " +
+                    "CONSTRAINT fk_address_person FOREIGN KEY (person_id) REFERENCES person (id))");
+            statement.execute("CREATE INDEX idx_address_city ON address (city)");
+            statement.execute("CREATE VIEW person_city AS SELECT p.name, a.city FROM person p JOIN address a ON a.person_id = p.id");
+        }
+    }
+
+    @AfterEach
+    public void dropSchema() throws Exception {
+        try (Statement statement = setupConnection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        setupConnection.close();
+    }
+
+    /**
+     * With snapshotThreads set, the metadata is read through the additional connections before the snapshot is built
+     * and the snapshot comes out the same as when everything is read through the main connection.
+     */
+    @Test
+    public void parallelSnapshotMatchesSerialSnapshot() throws Exception {
+        String serial = snapshot(1, new ArrayList<>(), new AtomicInteger());
+
+        List<String> mainConnectionMetaDataCalls = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger opened = new AtomicInteger();
+        String parallel = snapshot(4, mainConnectionMetaDataCalls, opened);
+
+        assertEquals(serial, parallel);
+        assertEquals(4, opened.get());
+        // H2 reads indexes and foreign keys table by table, so only tables and columns can be read ahead of time
+        assertTrue(Collections.disjoint(mainConnectionMetaDataCalls, List.of("getTables", "getColumns")),
+                "Prefetched metadata was read again through the main connection: " + mainConnectionMetaDataCalls);
+    }
+
+    private String snapshot(int threads, List<String> metaDataCalls, AtomicInteger opened) throws Exception {
+        Database database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(countingConnection(DriverManager.getConnection(URL), metaDataCalls)));
+        SnapshotConnectionRegistry registry = Scope.getCurrentScope().getSingleton(SnapshotConnectionRegistry.class);
+        registry.register(database, () -> {
+            opened.incrementAndGet();
+            try {
+                return DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(DriverManager.getConnection(URL)));
+            } catch (SQLException e) {
+                throw new DatabaseException(e);
+            }
+        });
+        try {
+            return Scope.child(Collections.singletonMap(GlobalConfiguration.SNAPSHOT_THREADS.getKey(), threads), () -> {
+                DatabaseSnapshot snapshot = SnapshotGeneratorFactory.getInstance().createSnapshot(new CatalogAndSchema(null, null), database, new SnapshotControl(database));
+                return new StringSnapshotSerializerReadable().serialize(snapshot, true);
+            });
+        } finally {
+            registry.unregister(database);
+            database.close();
+        }
+    }
+
+    private static Connection countingConnection(Connection connection, List<String> metaDataCalls) {
+        return (Connection) Proxy.newProxyInstance(JdbcDatabaseSnapshotTest.class.getClassLoader(), new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+            try {
+                Object result = method.invoke(connection, args);
+                if (result instanceof DatabaseMetaData) {
+                    DatabaseMetaData metaData = (DatabaseMetaData) result;
+                    return Proxy.newProxyInstance(JdbcDatabaseSnapshotTest.class.getClassLoader(), new Class<?>[]{DatabaseMetaData.class}, (metaDataProxy, metaDataMethod, metaDataArgs) -> {
+                        metaDataCalls.add(metaDataMethod.getName());
+                        if (metaDataMethod.getName().equals("getConnection")) {
+                            return proxy;
+                        }
+                        try {
+                            return metaDataMethod.invoke(metaData, metaDataArgs);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+}
@@ -4,9 +4,12 @@ import liquibase.database.Database;
 import org.junit.jupiter.api.Test;
 
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.Statement;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -29,7 +32,39 @@ public class ResultSetCacheTest {
         when(resultSet.getStatement()).thenReturn(statement);
         when(resultSet.next()).thenReturn(false);
 
-        ResultSetCache.ResultSetExtractor extractor = new ResultSetCache.ResultSetExtractor(database) {
+        ResultSetCache.ResultSetExtractor extractor = createExtractor(database);
+
+        extractor.extract(resultSet);
+
+        verify(resultSet).close();
+        verify(statement).close();
+    }
+
+    @Test
+    public void extractSharesRepeatedStrings() throws Exception {
+        Database database = mock(Database.class);
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(metaData.getColumnCount()).thenReturn(2);
+        when(metaData.getColumnLabel(1)).thenReturn("table_name");
+        when(metaData.getColumnLabel(2)).thenReturn("column_name");
+
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(resultSet.next()).thenReturn(true, true, false);
+        when(resultSet.getObject(1)).thenReturn(new String("person"), new String("person "));
+        when(resultSet.getObject(2)).thenReturn("id", "name");
+
+        List<CachedRow> rows = createExtractor(database).extract(resultSet);
+
+        assertEquals(2, rows.size());
+        assertEquals("person", rows.get(0).getString("TABLE_NAME"));
+        assertEquals("id", rows.get(0).getString("COLUMN_NAME"));
+        assertEquals("name", rows.get(1).getString("COLUMN_NAME"));
+        assertSame(rows.get(0).getString("TABLE_NAME"), rows.get(1).getString("TABLE_NAME"));
+    }
+
+    private static ResultSetCache.ResultSetExtractor createExtractor(Database database) {
+        return new ResultSetCache.ResultSetExtractor(database) {
             @Override
             public boolean bulkContainsSchema(String schemaKey) {
                 return false;
@@ -55,10 +90,5 @@ public class ResultSetCacheTest {
                 return null;
             }
         };
-
-        extractor.extract(resultSet);
-
-        verify(resultSet).close();
-        verify(statement).close();
     }
 }
@@ -11,8 +11,14 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.Assert.*;
 
@@ -104,33 +110,33 @@ public class SqlGeneratorFactoryTest {
         assertEquals(3, factory.getGenerators().size());
     }
 
-//    @Test
-//    public void registerWithCache() {
-//        factory.getGenerators().clear();
-//
-//        assertEquals(0, factory.getGenerators(statement, database).size());
-//
-//        factory.register(new AddAutoIncrementGeneratorHsqlH2());
-//
-//        assertEquals(1, factory.getGenerators(statement, database).size());
-//    }
-
-//    @Test
-//    public void unregisterInstanceWithCache() {
-//        factory.getGenerators().clear();
-//
-//        assertEquals(0, factory.getGenerators(statement, database).size());
-//
-//        AddAutoIncrementGeneratorHsqlH2 sqlGenerator = new AddAutoIncrementGeneratorHsqlH2();
-//
-//        factory.register(new CustomAddAutoIncrementGeneratorHsqlH2());
-//        factory.register(sqlGenerator);
-//
-//        assertEquals(2, factory.getGenerators(statement, database).size());
-//
-//        factory.unregister(sqlGenerator);
-//        assertEquals(1, factory.getGenerators(statement, database).size());
-//    }
+    @Test
+    public void registerWithCache() {
+        factory.getGenerators().clear();
+
+        assertEquals(0, factory.getGenerators(statement, database).size());
+
+        factory.register(new AddAutoIncrementGeneratorHsqlH2());
+
+        assertEquals(1, factory.getGenerators(statement, database).size());
+    }
+
+    @Test
+    public void unregisterInstanceWithCache() {
+        factory.getGenerators().clear();
+
+        assertEquals(0, factory.getGenerators(statement, database).size());
+
+        AddAutoIncrementGeneratorHsqlH2 sqlGenerator = new AddAutoIncrementGeneratorHsqlH2();
+
+        factory.register(new CustomAddAutoIncrementGeneratorHsqlH2());
+        factory.register(sqlGenerator);
+
+        assertEquals(2, factory.getGenerators(statement, database).size());
+
+        factory.unregister(sqlGenerator);
+        assertEquals(1, factory.getGenerators(statement, database).size());
+    }
 
     @Test
     public void unregisterClassWithCache() {
@@ -185,6 +191,35 @@ public class SqlGeneratorFactoryTest {
         assertEquals(1, allGenerators.size());        
     }
 
+    @Test
+    public void repeatedLookupsShareTheResolvedGenerators() {
+        SortedSet<SqlGenerator> first = factory.getGenerators(statement, database);
+        SortedSet<SqlGenerator> second = factory.getGenerators(new AddAutoIncrementStatement(null, null, "address", "id", "int", null, null, null, null), database);
+
+        assertSame(first, second);
+        assertThrows(UnsupportedOperationException.class, () -> first.add(new AddAutoIncrementGeneratorDB2()));
+    }
+
+    @Test
+    public void concurrentLookupsFindTheSameGenerators() throws Exception {
+        SortedSet<SqlGenerator> expected = new TreeSet<>(factory.getGenerators(statement, database));
+        SqlGeneratorFactory.reset();
+        SqlGeneratorFactory freshFactory = SqlGeneratorFactory.getInstance();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<SortedSet<SqlGenerator>>> results = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                results.add(executor.submit(() -> freshFactory.getGenerators(statement, database)));
+            }
+            for (Future<SortedSet<SqlGenerator>> result : results) {
+                assertEquals(expected, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     @LiquibaseService(skip = true)
     private class CustomAddAutoIncrementGeneratorHsqlH2 extends AddAutoIncrementGeneratorHsqlH2 {
 